@@ -5,10 +5,12 @@ import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.boot.autoconfigure.domain.EntityScan;
 import org.springframework.cloud.openfeign.EnableFeignClients;
 import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @EnableFeignClients
 @EntityScan(basePackages = "com.consum.orders.infrastructure.database.entity")
 @EnableJpaRepositories(basePackages = "com.consum.orders.infrastructure.database.repository")
+@EnableScheduling
 @SpringBootApplication
 public class KatasApplication {
 
@@ -1,5 +1,7 @@
 package com.consum.orders.application.config;
 
+import com.consum.orders.infrastructure.service.OrdersClientService;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.cache.interceptor.KeyGenerator;
@@ -12,6 +14,7 @@ import org.springframework.data.redis.cache.RedisCacheWriter;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
 import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.data.redis.serializer.Jackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.JdkSerializationRedisSerializer;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
 
 import java.time.Duration;
@@ -29,14 +32,41 @@ public class CacheConfig {
         return template;
     }
 
+    /**
+     * Plantilla para leer directamente las entradas de la caché de pedidos de la API de Katas. Usa la misma serialización
+     * que RedisCacheManager (claves "nombreCache::clave" y valores serializados con JDK).
+     *
+     * @param redisConnectionFactory conexión a Redis
+     * @return RedisTemplate con la serialización de las cachés
+     */
     @Bean
-    public CacheManager cacheManager(RedisConnectionFactory redisConnectionFactory) {
+    public RedisTemplate<String, Object> cacheEntriesRedisTemplate(RedisConnectionFactory redisConnectionFactory) {
+        RedisTemplate<String, Object> template = new RedisTemplate<>();
+        template.setConnectionFactory(redisConnectionFactory);
+        template.setKeySerializer(new StringRedisSerializer());
+        template.setValueSerializer(new JdkSerializationRedisSerializer(getClass().getClassLoader()));
+        return template;
+    }
+
+    /**
+     * Gestor de cachés en Redis. Las entradas caducan a los 10 minutos, salvo las de la copia de respaldo de los pedidos
+     * de la API de Katas, que se sirven mientras el circuito de la API está abierto y duran más.
+     *
+     * @param redisConnectionFactory conexión a Redis
+     * @param staleTtlHours          horas que se conserva la copia de respaldo de cada pedido
+     * @return CacheManager de Redis
+     */
+    @Bean
+    public CacheManager cacheManager(RedisConnectionFactory redisConnectionFactory,
+                                     @Value("${orders.client.circuit-breaker.stale-ttl-hours:24}") long staleTtlHours) {
         RedisCacheConfiguration cacheConfig = RedisCacheConfiguration.defaultCacheConfig()
                 .entryTtl(Duration.ofMinutes(10))
                 .disableCachingNullValues();
 
         return RedisCacheManager.builder(RedisCacheWriter.nonLockingRedisCacheWriter(redisConnectionFactory))
                 .cacheDefaults(cacheConfig)
+                .withCacheConfiguration(OrdersClientService.CLIENT_ORDER_STALE_CACHE,
+                        cacheConfig.entryTtl(Duration.ofHours(staleTtlHours)))
                 .build();
     }
 
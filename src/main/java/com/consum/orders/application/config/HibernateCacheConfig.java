@@ -0,0 +1,83 @@
+package com.consum.orders.application.config;
+
+import com.consum.orders.infrastructure.database.entity.Orders;
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cache.spi.RegionFactory;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.util.OptionalLong;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Caché de segundo nivel y caché de consultas de Hibernate para la entidad Orders, en memoria del proceso con Caffeine
+ * (a través de JCache). Solo se activa con {@code orders.cache.second-level.enabled=true}; si no, Hibernate no usa
+ * ninguna caché aunque hibernate-jcache esté en el classpath.
+ * <p>
+ * Las regiones se crean aquí con un máximo de entradas y una caducidad, y Hibernate falla al arrancar si le falta
+ * alguna en lugar de crearla sin límites. Las entradas se guardan por referencia, sin copiarlas al leer ni al escribir.
+ */
+@Configuration
+@ConditionalOnProperty(name = "orders.cache.second-level.enabled", havingValue = "true")
+public class HibernateCacheConfig {
+
+    /**
+     * Gestor JCache de Caffeine con las regiones de Hibernate: la de los pedidos, la de los resultados de consultas y
+     * la de las marcas de tiempo de actualización de las tablas, que tiene una entrada por tabla y no se limita.
+     *
+     * @param maxEntries      máximo de pedidos en la región de entidades
+     * @param queryMaxEntries máximo de resultados de consultas
+     * @param ttlSeconds      segundos que dura cada entrada desde que se escribe
+     * @return CacheManager de JCache
+     */
+    @Bean(destroyMethod = "close")
+    public CacheManager hibernateCacheManager(
+            @Value("${orders.cache.second-level.max-entries:100000}") long maxEntries,
+            @Value("${orders.cache.second-level.query-max-entries:100}") long queryMaxEntries,
+            @Value("${orders.cache.second-level.ttl-seconds:600}") long ttlSeconds) {
+        CacheManager cacheManager = Caching.getCachingProvider(CaffeineCachingProvider.class.getName()).getCacheManager();
+        cacheManager.createCache(Orders.CACHE_REGION, region(OptionalLong.of(maxEntries), ttlSeconds));
+        cacheManager.createCache(RegionFactory.DEFAULT_QUERY_RESULTS_REGION_UNQUALIFIED_NAME,
+                region(OptionalLong.of(queryMaxEntries), ttlSeconds));
+        cacheManager.createCache(RegionFactory.DEFAULT_UPDATE_TIMESTAMPS_REGION_UNQUALIFIED_NAME,
+                region(OptionalLong.empty(), 0));
+        return cacheManager;
+    }
+
+    /**
+     * Activa la caché de segundo nivel y la de consultas sobre el gestor de Caffeine, y las estadísticas de Hibernate,
+     * que se publican como métricas de aciertos y fallos.
+     *
+     * @param hibernateCacheManager gestor JCache con las regiones
+     * @return propiedades de Hibernate
+     */
+    @Bean
+    public HibernatePropertiesCustomizer hibernateSecondLevelCache(CacheManager hibernateCacheManager) {
+        return properties -> {
+            properties.put(AvailableSettings.USE_SECOND_LEVEL_CACHE, true);
+            properties.put(AvailableSettings.USE_QUERY_CACHE, true);
+            properties.put(AvailableSettings.CACHE_REGION_FACTORY, "jcache");
+            properties.put(ConfigSettings.CACHE_MANAGER, hibernateCacheManager);
+            properties.put(ConfigSettings.MISSING_CACHE_STRATEGY, "fail");
+            properties.put(AvailableSettings.GENERATE_STATISTICS, true);
+        };
+    }
+
+    static CaffeineConfiguration<Object, Object> region(OptionalLong maximumSize, long ttlSeconds) {
+        CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+        configuration.setMaximumSize(maximumSize);
+        if (ttlSeconds > 0) {
+            configuration.setExpireAfterWrite(OptionalLong.of(TimeUnit.SECONDS.toNanos(ttlSeconds)));
+        }
+        configuration.setStoreByValue(false);
+        return configuration;
+    }
+}
@@ -0,0 +1,51 @@
+package com.consum.orders.application.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Configuration
+public class ImportConfig {
+
+    /**
+     * Pool de hilos dedicado a las etapas del pipeline de importación de pedidos. El número de hilos de cada
+     * etapa lo acota el propio pipeline, por lo que el pool crece bajo demanda.
+     *
+     * @return ExecutorService para las tareas de importación
+     */
+    @Bean(destroyMethod = "shutdown")
+    public ExecutorService importExecutor() {
+        AtomicInteger threadNumber = new AtomicInteger(1);
+        ThreadFactory threadFactory = runnable -> {
+            Thread thread = new Thread(runnable, "orders-import-" + threadNumber.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        };
+        return Executors.newCachedThreadPool(threadFactory);
+    }
+
+    /**
+     * Pool de hilos dedicado a los trabajos de importación asíncronos. Limita cuántos trabajos se ejecutan a la vez;
+     * el resto queda en cola hasta que se libera un hilo. Al parar la aplicación, OrdersImportJobServiceImpl detiene
+     * los trabajos de forma ordenada antes de que se cierre el pool; {@code shutdownNow} solo interrumpe los que no
+     * han terminado en el plazo de {@code orders.import.jobs.shutdown-timeout-seconds}.
+     *
+     * @param maxConcurrentJobs número máximo de trabajos simultáneos
+     * @return ExecutorService para los trabajos de importación
+     */
+    @Bean(destroyMethod = "shutdownNow")
+    public ExecutorService importJobExecutor(@Value("${orders.import.jobs.max-concurrent:1}") int maxConcurrentJobs) {
+        AtomicInteger threadNumber = new AtomicInteger(1);
+        ThreadFactory threadFactory = runnable -> {
+            Thread thread = new Thread(runnable, "orders-import-job-" + threadNumber.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        };
+        return Executors.newFixedThreadPool(maxConcurrentJobs, threadFactory);
+    }
+}
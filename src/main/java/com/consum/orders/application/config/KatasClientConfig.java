@@ -0,0 +1,128 @@
+package com.consum.orders.application.config;
+
+import com.consum.orders.infrastructure.client.resilience.AdaptiveConcurrencyLimiter;
+import com.consum.orders.infrastructure.client.resilience.ConcurrencyLimitedClient;
+import com.consum.orders.infrastructure.client.transport.GzipResponseClient;
+import feign.Capability;
+import feign.Client;
+import feign.http2client.Http2Client;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.httpcomponents.hc5.PoolingHttpClientConnectionManagerMetricsBinder;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.io.HttpClientConnectionManager;
+import org.apache.hc.core5.util.TimeValue;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cloud.openfeign.clientconfig.HttpClient5FeignConfiguration.HttpClientBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Transporte HTTP del cliente de la API de Katas.
+ * <p>
+ * Por defecto Feign usa Apache HttpClient 5 con un pool de conexiones persistentes
+ * ({@code spring.cloud.openfeign.httpclient.*}), que negocia y descomprime gzip. Con
+ * {@code spring.cloud.openfeign.http2client.enabled=true} y {@code spring.cloud.openfeign.httpclient.hc5.enabled=false}
+ * se usa el cliente HTTP/2 de Java, que multiplexa las peticiones sobre una única conexión por host.
+ */
+@Configuration
+public class KatasClientConfig {
+
+    /**
+     * Cierra las conexiones del pool que llevan más tiempo del indicado sin usarse, además de las caducadas.
+     *
+     * @param idleEvictionSeconds segundos de inactividad tras los que se cierra una conexión
+     * @return personalización del HttpClient 5 de Feign
+     */
+    @Bean
+    @ConditionalOnProperty(value = "spring.cloud.openfeign.httpclient.hc5.enabled", havingValue = "true", matchIfMissing = true)
+    public HttpClientBuilderCustomizer katasIdleEvictionCustomizer(
+            @Value("${orders.client.idle-eviction-seconds:30}") long idleEvictionSeconds) {
+        return httpClientBuilder -> httpClientBuilder.evictIdleConnections(TimeValue.ofSeconds(idleEvictionSeconds));
+    }
+
+    /**
+     * Publica las métricas del pool de conexiones (httpcomponents.httpclient.pool.*): conexiones disponibles,
+     * alquiladas y peticiones en espera de conexión. Sin pool (cliente HTTP/2) no registra nada.
+     *
+     * @param connectionManagers gestor de conexiones creado por Spring Cloud OpenFeign, si existe
+     * @return MeterBinder del pool de conexiones
+     */
+    @Bean
+    public MeterBinder katasConnectionPoolMetrics(ObjectProvider<HttpClientConnectionManager> connectionManagers) {
+        return registry -> connectionManagers.ifAvailable(connectionManager -> {
+            if (connectionManager instanceof PoolingHttpClientConnectionManager pool) {
+                new PoolingHttpClientConnectionManagerMetricsBinder(pool, "katas-client", Tags.empty()).bindTo(registry);
+            }
+        });
+    }
+
+    /**
+     * Pool de hilos para las consultas de pedidos por lotes. Su tamaño acota las llamadas simultáneas a la API de
+     * Katas de todas las consultas por lotes en curso.
+     *
+     * @param parallelism número máximo de llamadas simultáneas
+     * @return ExecutorService para las consultas por UUID
+     */
+    @Bean(destroyMethod = "shutdownNow")
+    public ExecutorService orderLookupExecutor(@Value("${orders.batch.parallelism:16}") int parallelism) {
+        AtomicInteger threadNumber = new AtomicInteger(1);
+        ThreadFactory threadFactory = runnable -> {
+            Thread thread = new Thread(runnable, "orders-lookup-" + threadNumber.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        };
+        return Executors.newFixedThreadPool(parallelism, threadFactory);
+    }
+
+    /**
+     * Pool de hilos de las llamadas con hedging de la consulta de un pedido por UUID. Cuando está lleno, la llamada se
+     * hace en el hilo que la pide y sin hedge.
+     *
+     * @param maxThreads número máximo de llamadas con hedging en curso
+     * @return ExecutorService para las llamadas con hedging
+     */
+    @Bean(destroyMethod = "shutdownNow")
+    public ExecutorService orderHedgeExecutor(@Value("${orders.client.hedging.max-threads:64}") int maxThreads) {
+        AtomicInteger threadNumber = new AtomicInteger(1);
+        ThreadFactory threadFactory = runnable -> {
+            Thread thread = new Thread(runnable, "orders-hedge-" + threadNumber.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        };
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(maxThreads, maxThreads, 60, TimeUnit.SECONDS,
+                new SynchronousQueue<>(), threadFactory, new ThreadPoolExecutor.AbortPolicy());
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
+    /**
+     * Decora el transporte del cliente de la API de Katas: añade la negociación gzip al cliente HTTP/2 de Java, que no
+     * descomprime las respuestas, y somete todas las llamadas al límite adaptativo de concurrencia.
+     *
+     * @param limiter        límite adaptativo de llamadas simultáneas
+     * @param limiterEnabled si se aplica el límite adaptativo
+     * @return Capability de Feign que decora el cliente HTTP
+     */
+    @Bean
+    public Capability katasTransportCapability(AdaptiveConcurrencyLimiter limiter,
+                                               @Value("${orders.client.limiter.enabled:true}") boolean limiterEnabled) {
+        return new Capability() {
+            @Override
+            public Client enrich(Client client) {
+                Client transport = client instanceof Http2Client ? new GzipResponseClient(client) : client;
+                return limiterEnabled ? new ConcurrencyLimitedClient(transport, limiter) : transport;
+            }
+        };
+    }
+}
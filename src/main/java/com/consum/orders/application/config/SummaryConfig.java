@@ -0,0 +1,33 @@
+package com.consum.orders.application.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Configuration
+public class SummaryConfig {
+
+    /**
+     * Pool fork/join dedicado al cálculo en paralelo del resumen de pedidos, separado del pool común para no competir
+     * con los parallel streams del resto de la aplicación.
+     *
+     * @param parallelism número de hilos del pool; 0 para usar todos los procesadores disponibles
+     * @return ForkJoinPool para el resumen de pedidos
+     */
+    @Bean(destroyMethod = "shutdown")
+    public ForkJoinPool summaryForkJoinPool(@Value("${orders.summary.parallel.parallelism:0}") int parallelism) {
+        AtomicInteger threadNumber = new AtomicInteger(1);
+        ForkJoinPool.ForkJoinWorkerThreadFactory threadFactory = pool -> {
+            ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+            thread.setName("orders-summary-" + threadNumber.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        };
+        int threads = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+        return new ForkJoinPool(threads, threadFactory, null, false);
+    }
+}
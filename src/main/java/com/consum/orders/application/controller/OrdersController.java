@@ -1,24 +1,56 @@
 package com.consum.orders.application.controller;
 
+import com.consum.orders.application.model.CubeResponse;
+import com.consum.orders.application.model.ImportSummaryResponse;
+import com.consum.orders.application.model.OrdersBatchRequest;
+import com.consum.orders.application.model.OrdersBatchResponse;
 import com.consum.orders.application.model.OrdersListResponse;
 import com.consum.orders.application.model.OrdersSingleResponse;
 import com.consum.orders.application.model.SummaryResponse;
 import com.consum.orders.domain.service.api.OrdersService;
+import com.consum.orders.domain.service.batch.OrdersBatchService;
+import com.consum.orders.domain.service.sync.OrdersSyncService;
+import com.consum.orders.domain.summary.CubeDimension;
+import com.consum.orders.domain.summary.CubeMeasure;
+import com.consum.orders.domain.utils.OrdersPageCursor;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.constraints.Min;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Function;
+
 @RestController
 @Tag(name = "API gestión datos de Pedidos", description = "API para la gestión de los pedidos")
 @RequestMapping("/orders")
 public class OrdersController {
 
     private final OrdersService ordersService;
+    private final OrdersSyncService ordersSyncService;
+    private final OrdersBatchService ordersBatchService;
+    private final int batchMaxSize;
+    private final int pageDefaultSize;
+    private final int pageMaxSize;
 
-    public OrdersController(OrdersService ordersService) {
+    public OrdersController(OrdersService ordersService, OrdersSyncService ordersSyncService,
+                            OrdersBatchService ordersBatchService,
+                            @Value("${orders.batch.max-size:500}") int batchMaxSize,
+                            @Value("${orders.pagination.default-size:100}") int pageDefaultSize,
+                            @Value("${orders.pagination.max-size:1000}") int pageMaxSize) {
         this.ordersService = ordersService;
+        this.ordersSyncService = ordersSyncService;
+        this.ordersBatchService = ordersBatchService;
+        this.batchMaxSize = batchMaxSize;
+        this.pageDefaultSize = pageDefaultSize;
+        this.pageMaxSize = pageMaxSize;
     }
 
     /**
@@ -40,6 +72,126 @@ public class OrdersController {
         return ordersService.importAndSummarizeOrders(page, maxPerPage);
     }
 
+    /**
+     * Endpoint para importar y resumir el catálogo completo de pedidos de la API de Katas.
+     *
+     * @param maxPerPage máximo número de pedidos por página
+     * @return resumen combinado de todos los pedidos importados y métricas de rendimiento
+     */
+    @Operation(summary = "Importar y Resumir todos los pedidos",
+            description = "Recorre todas las páginas de la API de Katas siguiendo los enlaces next, "
+                    + "las guarda en la base de datos y devuelve un resumen combinado.")
+    @GetMapping("/import-summary/all")
+    public ImportSummaryResponse importAndSummarizeAllOrders(
+            @Parameter(description = "Máximo de pedidos por página", example = "100")
+            @RequestParam(defaultValue = "100") @Min(1) String maxPerPage) {
+
+        return ordersSyncService.importAndSummarizeAllOrders(maxPerPage);
+    }
+
+    /**
+     * Endpoint para obtener el resumen de los pedidos de la base de datos, todos o los de un intervalo de fechas.
+     *
+     * @param from primera fecha de pedido del resumen, incluida
+     * @param to   última fecha de pedido del resumen, incluida
+     * @return resumen de los pedidos por región, país, tipo de ítem, canal de ventas y prioridad
+     */
+    @Operation(summary = "Resumir todos los pedidos",
+            description = "Cuenta en la base de datos los pedidos por región, país, tipo de ítem, canal de ventas y "
+                    + "prioridad, sin cargarlos en memoria. Con from o to solo cuenta los pedidos de esas fechas.")
+    @GetMapping("/summary")
+    public SummaryResponse getOrdersSummary(
+            @Parameter(description = "Primera fecha de pedido (incluida)", example = "2014-01-01")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @Parameter(description = "Última fecha de pedido (incluida)", example = "2014-12-31")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        if (from == null && to == null) {
+            return ordersService.getOrdersSummary();
+        }
+        return ordersService.getOrdersSummaryBetween(from, to);
+    }
+
+    /**
+     * Endpoint para reconstruir el resumen materializado de pedidos desde la tabla orders.
+     *
+     * @return resumen de los pedidos tras la reconstrucción
+     */
+    @Operation(summary = "Reconstruir el resumen de pedidos",
+            description = "Vuelve a calcular la tabla order_summary desde los pedidos guardados, para corregir "
+                    + "desviaciones o poblarla por primera vez.")
+    @PostMapping("/summary/rebuild")
+    public SummaryResponse rebuildOrdersSummary() {
+        return ordersService.rebuildOrdersSummary();
+    }
+
+    /**
+     * Endpoint para importar una página de pedidos de la API de Katas y agruparlos por varias dimensiones a la vez.
+     *
+     * @param page       número de página a recuperar
+     * @param maxPerPage máximo número de pedidos por página
+     * @param dimensions dimensiones de agrupación
+     * @param measures   medidas de cada celda
+     * @return cubo de los pedidos importados, o 400 si alguna dimensión o medida no es válida
+     */
+    @Operation(summary = "Importar y agrupar los pedidos por varias dimensiones",
+            description = "Importa pedidos desde la API de Katas, los guarda en la base de datos y devuelve una celda "
+                    + "por cada combinación de valores de las dimensiones con las medidas pedidas.")
+    @GetMapping("/import-cube")
+    public ResponseEntity<CubeResponse> importAndCubeOrders(
+            @Parameter(description = "Números de páginas para la petición", example = "1")
+            @RequestParam(defaultValue = "1") @Min(1) String page,
+            @Parameter(description = "Máximo de pedidos por página", example = "100")
+            @RequestParam(defaultValue = "100") @Min(1) String maxPerPage,
+            @Parameter(description = "Dimensiones: region, country, item_type, sales_channel, order_priority",
+                    example = "region,item_type")
+            @RequestParam List<String> dimensions,
+            @Parameter(description = "Medidas: orders, units_sold, total_revenue, total_cost, total_profit",
+                    example = "orders,total_revenue")
+            @RequestParam(defaultValue = "orders") List<String> measures) {
+        Optional<List<CubeDimension>> cubeDimensions = parse(dimensions, CubeDimension::fromKey);
+        Optional<List<CubeMeasure>> cubeMeasures = parse(measures, CubeMeasure::fromKey);
+        if (cubeDimensions.isEmpty() || cubeMeasures.isEmpty()) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        return ResponseEntity.ok(ordersService.importAndCubeOrders(page, maxPerPage, cubeDimensions.get(),
+                cubeMeasures.get()));
+    }
+
+    /**
+     * Endpoint para agrupar los pedidos de la base de datos por varias dimensiones a la vez.
+     *
+     * @param dimensions dimensiones de agrupación
+     * @param measures   medidas de cada celda
+     * @param from       primera fecha de pedido, incluida
+     * @param to         última fecha de pedido, incluida
+     * @return cubo de los pedidos, o 400 si alguna dimensión o medida no es válida
+     */
+    @Operation(summary = "Agrupar los pedidos por varias dimensiones",
+            description = "Recorre una vez los pedidos de la base de datos y devuelve una celda por cada combinación "
+                    + "de valores de las dimensiones (por ejemplo, región × tipo de ítem) con las medidas pedidas. "
+                    + "Con from o to solo agrupa los pedidos de esas fechas.")
+    @GetMapping("/cube")
+    public ResponseEntity<CubeResponse> getOrdersCube(
+            @Parameter(description = "Dimensiones: region, country, item_type, sales_channel, order_priority",
+                    example = "region,item_type")
+            @RequestParam List<String> dimensions,
+            @Parameter(description = "Medidas: orders, units_sold, total_revenue, total_cost, total_profit",
+                    example = "orders,total_revenue")
+            @RequestParam(defaultValue = "orders") List<String> measures,
+            @Parameter(description = "Primera fecha de pedido (incluida)", example = "2014-01-01")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @Parameter(description = "Última fecha de pedido (incluida)", example = "2014-12-31")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        Optional<List<CubeDimension>> cubeDimensions = parse(dimensions, CubeDimension::fromKey);
+        Optional<List<CubeMeasure>> cubeMeasures = parse(measures, CubeMeasure::fromKey);
+        if (cubeDimensions.isEmpty() || cubeMeasures.isEmpty()) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        return ResponseEntity.ok(ordersService.getOrdersCube(cubeDimensions.get(), cubeMeasures.get(), from, to));
+    }
+
     /**
      * Endpoint para obtener un pedido desde la API de Katas por su UUID
      *
@@ -57,14 +209,67 @@ public class OrdersController {
     }
 
     /**
-     * Endpoint para obtener todos los pedidos de la base datos.
+     * Endpoint para obtener varios pedidos por su UUID en una sola llamada.
      *
-     * @return listado de pedidos
+     * @param ordersBatchRequest UUID de los pedidos
+     * @return resultado de cada UUID en el mismo orden de la petición
      */
-    @Operation(summary = "Obtener pedidos", description = "Recupera la lista de pedidos.")
+    @Operation(summary = "Obtener pedidos por lotes de UUID",
+            description = "Recupera de la caché los pedidos conocidos y pide en paralelo a la API de Katas el resto. "
+                    + "Cada UUID indica su resultado (FOUND, NOT_FOUND, ERROR, TIMEOUT).")
+    @PostMapping("/batch")
+    public ResponseEntity<OrdersBatchResponse> getOrdersByUUIDs(@RequestBody OrdersBatchRequest ordersBatchRequest) {
+        List<String> uuids = ordersBatchRequest.getUuids();
+        if (uuids == null || uuids.isEmpty() || uuids.size() > batchMaxSize) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        return ResponseEntity.ok(ordersBatchService.getOrdersByUUIDs(uuids));
+    }
+
+    /**
+     * Endpoint para obtener los pedidos de la base datos, página a página.
+     *
+     * @param cursor cursor de la página siguiente devuelto en la respuesta anterior
+     * @param size   número de pedidos por página
+     * @return página de pedidos y cursor de la siguiente
+     */
+    @Operation(summary = "Obtener pedidos",
+            description = "Recupera los pedidos ordenados por ID, página a página. Para pedir la página siguiente se "
+                    + "envía el nextCursor de la respuesta anterior; en la última página nextCursor es nulo.")
     @GetMapping()
-    public OrdersListResponse getOrders() {
-        return ordersService.getOrders();
+    public ResponseEntity<OrdersListResponse> getOrders(
+            @Parameter(description = "Cursor de la página siguiente (nextCursor de la respuesta anterior)")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "Pedidos por página", example = "100")
+            @RequestParam(required = false) Integer size) {
+        int pageSize = size != null ? size : pageDefaultSize;
+        if (pageSize < 1 || pageSize > pageMaxSize
+                || (cursor != null && OrdersPageCursor.decode(cursor).isEmpty())) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        return ResponseEntity.ok(ordersService.getOrders(cursor, pageSize));
+    }
+
+    /**
+     * Convierte los nombres de dimensiones o medidas de la petición.
+     *
+     * @param keys   nombres recibidos
+     * @param parser conversión de cada nombre
+     * @param <T>    dimensión o medida
+     * @return lista convertida, o vacío si la lista está vacía, algún nombre no es válido o se repite
+     */
+    private static <T> Optional<List<T>> parse(List<String> keys, Function<String, Optional<T>> parser) {
+        List<T> parsed = new ArrayList<>(keys.size());
+        for (String key : keys) {
+            Optional<T> value = parser.apply(key);
+            if (value.isEmpty() || parsed.contains(value.get())) {
+                return Optional.empty();
+            }
+            parsed.add(value.get());
+        }
+        return parsed.isEmpty() ? Optional.empty() : Optional.of(parsed);
     }
 
-}
\ No newline at end of file
+}
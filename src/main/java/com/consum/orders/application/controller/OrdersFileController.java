@@ -3,13 +3,19 @@ package com.consum.orders.application.controller;
 import com.consum.orders.application.model.OrdersFileResponse;
 import com.consum.orders.domain.service.file.OrdersFileService;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.time.LocalDate;
 
 @Slf4j
 @RestController
@@ -24,21 +30,29 @@ public class OrdersFileController {
     }
 
     /**
-     * Endpoint para generar y descargar un archivo CSV de pedidos.
+     * Endpoint para generar y descargar un archivo CSV de pedidos. El archivo se envía por bloques según se lee de la
+     * base de datos.
      *
+     * @param from primera fecha de pedido del archivo, incluida
+     * @param to   última fecha de pedido del archivo, incluida
      * @return Fichero CSV de los pedidos
      */
     @Operation(summary = "Generar y Descargar CSV de Pedidos",
-            description = "Genera un archivo CSV con los pedidos y lo descarga.")
+            description = "Genera un archivo CSV con los pedidos y lo descarga según se lee de la base de datos. Con "
+                    + "from o to solo incluye los pedidos de esas fechas.")
     @GetMapping("/csv")
-    public ResponseEntity<byte[]> generateAndDownloadCSV() {
+    public ResponseEntity<StreamingResponseBody> generateAndDownloadCSV(
+            @Parameter(description = "Primera fecha de pedido (incluida)", example = "2014-01-01")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @Parameter(description = "Última fecha de pedido (incluida)", example = "2014-12-31")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
 
-        OrdersFileResponse fileResponse = ordersFileService.generateOrderFileCSV();
+        OrdersFileResponse fileResponse = ordersFileService.generateOrderFileCSV(from, to);
 
         return ResponseEntity.ok()
                 .headers(fileResponse.getHeaders())
                 .contentType(MediaType.APPLICATION_OCTET_STREAM)
-                .body(fileResponse.getFileBytes());
+                .body(fileResponse.getContent());
     }
 
 }
@@ -0,0 +1,73 @@
+package com.consum.orders.application.controller;
+
+import com.consum.orders.application.model.ImportJobResponse;
+import com.consum.orders.domain.service.job.OrdersImportJobService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.constraints.Min;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@Tag(name = "Trabajos de importación", description = "API para la importación asíncrona de pedidos")
+@RequestMapping("/orders/import-jobs")
+public class OrdersImportJobController {
+
+    private final OrdersImportJobService ordersImportJobService;
+
+    public OrdersImportJobController(OrdersImportJobService ordersImportJobService) {
+        this.ordersImportJobService = ordersImportJobService;
+    }
+
+    /**
+     * Endpoint para lanzar un trabajo de importación del catálogo completo de pedidos.
+     *
+     * @param maxPerPage máximo número de pedidos por página
+     * @return trabajo de importación creado
+     */
+    @Operation(summary = "Lanzar trabajo de importación",
+            description = "Crea un trabajo que importa en segundo plano todas las páginas de la API de Katas.")
+    @PostMapping
+    public ResponseEntity<ImportJobResponse> startJob(
+            @Parameter(description = "Máximo de pedidos por página", example = "100")
+            @RequestParam(defaultValue = "100") @Min(1) String maxPerPage) {
+
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(ordersImportJobService.startJob(maxPerPage));
+    }
+
+    /**
+     * Endpoint para consultar el estado de un trabajo de importación.
+     *
+     * @param jobId identificador del trabajo
+     * @return estado y avance del trabajo
+     */
+    @Operation(summary = "Consultar trabajo de importación",
+            description = "Devuelve el estado, el punto de control y los totales importados de un trabajo.")
+    @GetMapping("/{jobId}")
+    public ResponseEntity<ImportJobResponse> getJob(
+            @Parameter(description = "Identificador del trabajo") @PathVariable String jobId) {
+
+        return ordersImportJobService.getJob(jobId)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    /**
+     * Endpoint para cancelar un trabajo de importación.
+     *
+     * @param jobId identificador del trabajo
+     * @return estado del trabajo tras solicitar la cancelación
+     */
+    @Operation(summary = "Cancelar trabajo de importación",
+            description = "Detiene el trabajo; las páginas ya guardadas se conservan.")
+    @DeleteMapping("/{jobId}")
+    public ResponseEntity<ImportJobResponse> cancelJob(
+            @Parameter(description = "Identificador del trabajo") @PathVariable String jobId) {
+
+        return ordersImportJobService.cancelJob(jobId)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+}
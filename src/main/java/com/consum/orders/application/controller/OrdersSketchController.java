@@ -0,0 +1,87 @@
+package com.consum.orders.application.controller;
+
+import com.consum.orders.application.model.DistinctCountResponse;
+import com.consum.orders.application.model.HeavyHittersResponse;
+import com.consum.orders.domain.service.sketch.OrdersSketchService;
+import com.consum.orders.domain.summary.CubeDimension;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.YearMonth;
+import java.time.temporal.ChronoUnit;
+import java.util.Optional;
+
+@RestController
+@Tag(name = "Analítica aproximada de pedidos", description = "API de consultas aproximadas sobre los pedidos importados")
+@RequestMapping("/orders/sketch")
+public class OrdersSketchController {
+
+    private final OrdersSketchService ordersSketchService;
+    private final int maxMonths;
+    private final int maxTopK;
+
+    public OrdersSketchController(OrdersSketchService ordersSketchService,
+                                  @Value("${orders.sketch.max-months:120}") int maxMonths,
+                                  @Value("${orders.sketch.top-k.candidates:100}") int maxTopK) {
+        this.ordersSketchService = ordersSketchService;
+        this.maxMonths = maxMonths;
+        this.maxTopK = maxTopK;
+    }
+
+    /**
+     * Endpoint para contar los UUID distintos de los pedidos importados.
+     *
+     * @param country país, o todos si no se indica
+     * @param from    primer mes de pedido, incluido
+     * @param to      último mes de pedido, incluido
+     * @return número aproximado de UUID distintos con su intervalo de error, o 400 si el intervalo no es válido
+     */
+    @Operation(summary = "Contar UUID distintos",
+            description = "Estima con HyperLogLog los UUID distintos importados, en total o de un país, y de todos los "
+                    + "meses o de un intervalo de meses de pedido. Las reimportaciones de un pedido no cuentan dos veces.")
+    @GetMapping("/distinct-uuids")
+    public ResponseEntity<DistinctCountResponse> countDistinctUuids(
+            @Parameter(description = "País", example = "Spain")
+            @RequestParam(required = false) String country,
+            @Parameter(description = "Primer mes de pedido (incluido)", example = "2014-01")
+            @RequestParam(required = false) @DateTimeFormat(pattern = "yyyy-MM") YearMonth from,
+            @Parameter(description = "Último mes de pedido (incluido)", example = "2014-12")
+            @RequestParam(required = false) @DateTimeFormat(pattern = "yyyy-MM") YearMonth to) {
+        if ((from == null) != (to == null)
+                || from != null && (from.isAfter(to) || ChronoUnit.MONTHS.between(from, to) >= maxMonths)) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        return ResponseEntity.ok(ordersSketchService.countDistinctUuids(country, from, to));
+    }
+
+    /**
+     * Endpoint para obtener los valores más frecuentes de una dimensión en los pedidos importados.
+     *
+     * @param dimension dimensión
+     * @param k         número de valores
+     * @return valores más frecuentes con su error máximo, o 400 si la dimensión o k no son válidos
+     */
+    @Operation(summary = "Valores más frecuentes",
+            description = "Estima con un sketch count-min los valores con más pedidos importados de una dimensión. "
+                    + "Cuenta cada importación de un pedido, también las reimportaciones.")
+    @GetMapping("/top")
+    public ResponseEntity<HeavyHittersResponse> getTopValues(
+            @Parameter(description = "Dimensión: region, country, item_type, sales_channel, order_priority",
+                    example = "country")
+            @RequestParam String dimension,
+            @Parameter(description = "Número de valores", example = "10")
+            @RequestParam(defaultValue = "10") int k) {
+        Optional<CubeDimension> cubeDimension = CubeDimension.fromKey(dimension);
+        if (cubeDimension.isEmpty() || k < 1 || k > maxTopK) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        return ResponseEntity.ok(ordersSketchService.getTopValues(cubeDimension.get(), k));
+    }
+}
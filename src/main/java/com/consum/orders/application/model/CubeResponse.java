@@ -0,0 +1,18 @@
+package com.consum.orders.application.model;
+
+import com.consum.orders.domain.dto.CubeDTO;
+import lombok.Builder;
+import lombok.Value;
+
+import java.io.Serial;
+import java.io.Serializable;
+
+@Value
+@Builder
+public class CubeResponse implements Serializable {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    CubeDTO cube;
+}
@@ -0,0 +1,18 @@
+package com.consum.orders.application.model;
+
+import com.consum.orders.domain.dto.DistinctCountDTO;
+import lombok.Builder;
+import lombok.Value;
+
+import java.io.Serial;
+import java.io.Serializable;
+
+@Value
+@Builder
+public class DistinctCountResponse implements Serializable {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    DistinctCountDTO distinctCount;
+}
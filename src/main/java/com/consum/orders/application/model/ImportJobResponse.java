@@ -0,0 +1,44 @@
+package com.consum.orders.application.model;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Builder;
+import lombok.Value;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.util.Date;
+
+@Value
+@Builder
+public class ImportJobResponse implements Serializable {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    @Schema(description = "Identificador del trabajo de importación", example = "5b0c5e4f-8d3a-4a8e-9a51-0f2f3c1a7e11")
+    String jobId;
+
+    @Schema(description = "Estado del trabajo", example = "RUNNING")
+    String status;
+
+    @Schema(description = "Máximo de pedidos por página", example = "100")
+    String maxPerPage;
+
+    @Schema(description = "Última página guardada sin huecos (punto de control)", example = "42")
+    Integer lastCommittedPage;
+
+    @Schema(description = "Páginas importadas", example = "45")
+    Integer importedPages;
+
+    @Schema(description = "Pedidos importados", example = "4500")
+    Long importedOrders;
+
+    @Schema(description = "Mensaje de error si el trabajo ha fallado")
+    String errorMessage;
+
+    @Schema(description = "Fecha de creación del trabajo")
+    Date createdAt;
+
+    @Schema(description = "Fecha de la última actualización del trabajo")
+    Date updatedAt;
+}
@@ -0,0 +1,20 @@
+package com.consum.orders.application.model;
+
+import com.consum.orders.domain.dto.ImportStatsDTO;
+import com.consum.orders.domain.dto.SummaryDTO;
+import lombok.Builder;
+import lombok.Value;
+
+import java.io.Serial;
+import java.io.Serializable;
+
+@Value
+@Builder
+public class ImportSummaryResponse implements Serializable {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    SummaryDTO summary;
+    ImportStatsDTO stats;
+}
@@ -0,0 +1,22 @@
+package com.consum.orders.application.model;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Builder;
+import lombok.Value;
+import lombok.extern.jackson.Jacksonized;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.util.List;
+
+@Value
+@Builder
+@Jacksonized
+public class OrdersBatchRequest implements Serializable {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    @Schema(description = "UUID de los pedidos a consultar", example = "[\"1858f59d-8884-41d7-b4fc-88cfbbf00c53\"]")
+    List<String> uuids;
+}
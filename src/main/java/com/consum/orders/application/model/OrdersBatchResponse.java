@@ -0,0 +1,22 @@
+package com.consum.orders.application.model;
+
+import com.consum.orders.domain.dto.OrdersBatchItemDTO;
+import lombok.Builder;
+import lombok.Value;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.util.List;
+
+@Value
+@Builder
+public class OrdersBatchResponse implements Serializable {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    List<OrdersBatchItemDTO> orders;
+    int cacheHits;
+    int upstreamCalls;
+    long elapsedMillis;
+}
@@ -3,11 +3,12 @@ package com.consum.orders.application.model;
 import lombok.Builder;
 import lombok.Value;
 import org.springframework.http.HttpHeaders;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 @Value
 @Builder
 public class OrdersFileResponse {
 
-    byte[] fileBytes;
+    StreamingResponseBody content;
     HttpHeaders headers;
 }
@@ -1,6 +1,7 @@
 package com.consum.orders.application.model;
 
 import com.consum.orders.domain.dto.OrdersDTO;
+import io.swagger.v3.oas.annotations.media.Schema;
 import lombok.Builder;
 import lombok.Value;
 
@@ -13,7 +14,10 @@ import java.util.List;
 public class OrdersListResponse implements Serializable {
 
     @Serial
-    private static final long serialVersionUID = 1L;
+    private static final long serialVersionUID = 2L;
 
     List<OrdersDTO> orders;
+
+    @Schema(description = "Cursor de la página siguiente; nulo en la última página", example = "NDQzMzY4OTk1")
+    String nextCursor;
 }
@@ -0,0 +1,23 @@
+package com.consum.orders.domain.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Builder;
+import lombok.Value;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.util.Map;
+
+@Value
+@Builder
+public class CubeCellDTO implements Serializable {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    @Schema(description = "Valor de cada dimensión de la celda", example = "{\"region\": \"Europe\", \"item_type\": \"Cereal\"}")
+    Map<String, String> dimensions;
+
+    @Schema(description = "Total de cada medida en la celda", example = "{\"orders\": 12, \"total_revenue\": 20540.75}")
+    Map<String, Number> measures;
+}
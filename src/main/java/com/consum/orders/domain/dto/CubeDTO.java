@@ -0,0 +1,29 @@
+package com.consum.orders.domain.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Builder;
+import lombok.Value;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.util.List;
+
+@Value
+@Builder
+public class CubeDTO implements Serializable {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    @Schema(description = "Dimensiones agrupadas, en el orden de la petición", example = "[\"region\", \"item_type\"]")
+    List<String> dimensions;
+
+    @Schema(description = "Medidas acumuladas, en el orden de la petición", example = "[\"orders\", \"total_revenue\"]")
+    List<String> measures;
+
+    @Schema(description = "Pedidos recorridos", example = "1000")
+    Long orders;
+
+    @Schema(description = "Una celda por cada combinación de valores con pedidos, ordenadas por sus valores")
+    List<CubeCellDTO> cells;
+}
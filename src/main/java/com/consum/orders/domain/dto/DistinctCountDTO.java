@@ -0,0 +1,40 @@
+package com.consum.orders.domain.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Builder;
+import lombok.Value;
+
+import java.io.Serial;
+import java.io.Serializable;
+
+@Value
+@Builder
+public class DistinctCountDTO implements Serializable {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    @Schema(description = "País consultado, o nulo para todos", example = "Spain")
+    String country;
+
+    @Schema(description = "Primer mes de pedido consultado, o nulo para todos", example = "2014-01")
+    String from;
+
+    @Schema(description = "Último mes de pedido consultado, o nulo para todos", example = "2014-12")
+    String to;
+
+    @Schema(description = "UUID distintos estimados", example = "12345")
+    Long estimate;
+
+    @Schema(description = "Error estándar relativo de la estimación", example = "0.0081")
+    Double standardError;
+
+    @Schema(description = "Confianza del intervalo [lowerBound, upperBound]", example = "0.95")
+    Double confidence;
+
+    @Schema(description = "Límite inferior del intervalo", example = "12145")
+    Long lowerBound;
+
+    @Schema(description = "Límite superior del intervalo", example = "12545")
+    Long upperBound;
+}
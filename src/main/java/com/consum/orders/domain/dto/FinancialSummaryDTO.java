@@ -0,0 +1,29 @@
+package com.consum.orders.domain.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Builder;
+import lombok.Value;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.math.BigDecimal;
+
+@Value
+@Builder
+public class FinancialSummaryDTO implements Serializable {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    @Schema(description = "Unidades vendidas", example = "1200")
+    Long unitsSold;
+
+    @Schema(description = "Ingresos totales", example = "60000.00")
+    BigDecimal totalRevenue;
+
+    @Schema(description = "Costo total", example = "12000.00")
+    BigDecimal totalCost;
+
+    @Schema(description = "Beneficio total", example = "48000.00")
+    BigDecimal totalProfit;
+}
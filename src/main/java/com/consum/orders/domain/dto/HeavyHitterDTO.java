@@ -0,0 +1,25 @@
+package com.consum.orders.domain.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Builder;
+import lombok.Value;
+
+import java.io.Serial;
+import java.io.Serializable;
+
+@Value
+@Builder
+public class HeavyHitterDTO implements Serializable {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    @Schema(description = "Valor de la dimensión", example = "Spain")
+    String value;
+
+    @Schema(description = "Apariciones estimadas; nunca menos que las reales", example = "5230")
+    Long estimate;
+
+    @Schema(description = "Apariciones mínimas con la confianza indicada: estimate - errorBound", example = "5130")
+    Long lowerBound;
+}
@@ -0,0 +1,35 @@
+package com.consum.orders.domain.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Builder;
+import lombok.Value;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.util.List;
+
+@Value
+@Builder
+public class HeavyHittersDTO implements Serializable {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    @Schema(description = "Dimensión consultada", example = "country")
+    String dimension;
+
+    @Schema(description = "Pedidos importados sumados al sketch, incluidas las reimportaciones", example = "100000")
+    Long total;
+
+    @Schema(description = "Error máximo relativo al total", example = "0.001")
+    Double epsilon;
+
+    @Schema(description = "Confianza de que ninguna estimación supere su valor real en más de errorBound", example = "0.99")
+    Double confidence;
+
+    @Schema(description = "Error máximo de cada estimación: epsilon · total", example = "100")
+    Long errorBound;
+
+    @Schema(description = "Valores más frecuentes, de mayor a menor estimación")
+    List<HeavyHitterDTO> values;
+}
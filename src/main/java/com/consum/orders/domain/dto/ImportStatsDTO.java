@@ -0,0 +1,35 @@
+package com.consum.orders.domain.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Builder;
+import lombok.Value;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.util.List;
+
+@Value
+@Builder
+public class ImportStatsDTO implements Serializable {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    @Schema(description = "Páginas importadas", example = "250")
+    Integer pages;
+
+    @Schema(description = "Pedidos importados", example = "25000")
+    Long orders;
+
+    @Schema(description = "Duración de la importación en milisegundos", example = "12500")
+    Long elapsedMillis;
+
+    @Schema(description = "Páginas procesadas por segundo", example = "20.0")
+    Double pagesPerSecond;
+
+    @Schema(description = "Pedidos procesados por segundo", example = "2000.0")
+    Double ordersPerSecond;
+
+    @Schema(description = "Métricas de cada etapa del pipeline de importación")
+    List<StageStatsDTO> stages;
+}
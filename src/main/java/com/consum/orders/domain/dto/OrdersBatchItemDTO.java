@@ -0,0 +1,28 @@
+package com.consum.orders.domain.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Builder;
+import lombok.Value;
+
+import java.io.Serial;
+import java.io.Serializable;
+
+@Value
+@Builder
+public class OrdersBatchItemDTO implements Serializable {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    @Schema(description = "UUID solicitado", example = "1858f59d-8884-41d7-b4fc-88cfbbf00c53")
+    String uuid;
+
+    @Schema(description = "Resultado de la búsqueda", example = "FOUND")
+    OrdersBatchItemStatus status;
+
+    @Schema(description = "Pedido encontrado")
+    OrdersDTO order;
+
+    @Schema(description = "Motivo del error, si lo hay", example = "Error de comunicación con el servicio externo.")
+    String error;
+}
@@ -0,0 +1,11 @@
+package com.consum.orders.domain.dto;
+
+/**
+ * Resultado de la búsqueda de un pedido dentro de una consulta por lotes.
+ */
+public enum OrdersBatchItemStatus {
+    FOUND,
+    NOT_FOUND,
+    ERROR,
+    TIMEOUT
+}
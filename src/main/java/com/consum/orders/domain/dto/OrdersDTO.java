@@ -1,6 +1,7 @@
 package com.consum.orders.domain.dto;
 
 import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Value;
 
@@ -9,8 +10,13 @@ import java.io.Serializable;
 import java.math.BigDecimal;
 import java.util.Date;
 
+/**
+ * Pedido expuesto por la API. El constructor con todos los campos es público porque lo usan las consultas de proyección
+ * de {@code OrdersRepository}, en el orden en que se declaran los campos.
+ */
 @Value
 @Builder
+@AllArgsConstructor
 public class OrdersDTO implements Serializable {
 
     @Serial
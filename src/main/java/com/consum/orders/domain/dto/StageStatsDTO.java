@@ -0,0 +1,46 @@
+package com.consum.orders.domain.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Builder;
+import lombok.Value;
+
+import java.io.Serial;
+import java.io.Serializable;
+
+@Value
+@Builder
+public class StageStatsDTO implements Serializable {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    @Schema(description = "Nombre de la etapa", example = "fetch")
+    String stage;
+
+    @Schema(description = "Hilos de la etapa", example = "4")
+    Integer workers;
+
+    @Schema(description = "Capacidad de la cola de entrada de la etapa", example = "8")
+    Integer queueCapacity;
+
+    @Schema(description = "Ocupación máxima observada de la cola de entrada", example = "8")
+    Integer maxQueueOccupancy;
+
+    @Schema(description = "Ocupación media observada de la cola de entrada", example = "5.2")
+    Double avgQueueOccupancy;
+
+    @Schema(description = "Fracción del tiempo en que los hilos de la etapa estuvieron trabajando", example = "0.85")
+    Double busyRatio;
+
+    @Schema(description = "Páginas procesadas por la etapa", example = "250")
+    Long pages;
+
+    @Schema(description = "Pedidos procesados por la etapa", example = "25000")
+    Long orders;
+
+    @Schema(description = "Páginas procesadas por segundo", example = "20.0")
+    Double pagesPerSecond;
+
+    @Schema(description = "Pedidos procesados por segundo", example = "2000.0")
+    Double ordersPerSecond;
+}
@@ -29,4 +29,19 @@ public class SummaryDTO implements Serializable {
 
     @Schema(description = "Resumen de pedidos por prioridad de orden", example = "{\"H\": 6}")
     Map<String, Long> orderPrioritySummary;
+
+    @Schema(description = "Unidades, ingresos, costo y beneficio por región")
+    Map<String, FinancialSummaryDTO> regionFinancials;
+
+    @Schema(description = "Unidades, ingresos, costo y beneficio por país")
+    Map<String, FinancialSummaryDTO> countryFinancials;
+
+    @Schema(description = "Unidades, ingresos, costo y beneficio por tipo de ítem")
+    Map<String, FinancialSummaryDTO> itemTypeFinancials;
+
+    @Schema(description = "Unidades, ingresos, costo y beneficio por canal de ventas")
+    Map<String, FinancialSummaryDTO> salesChannelFinancials;
+
+    @Schema(description = "Unidades, ingresos, costo y beneficio por prioridad de orden")
+    Map<String, FinancialSummaryDTO> orderPriorityFinancials;
 }
@@ -0,0 +1,17 @@
+package com.consum.orders.domain.mapper;
+
+import com.consum.orders.application.model.ImportJobResponse;
+import com.consum.orders.infrastructure.database.entity.ImportJob;
+import org.mapstruct.Mapper;
+
+@Mapper(componentModel = "spring")
+public interface ImportJobMapper {
+
+    /**
+     * Convierte un ImportJob en ImportJobResponse.
+     *
+     * @param importJob Trabajo de importación.
+     * @return ImportJobResponse mapeado desde la entidad.
+     */
+    ImportJobResponse importJobToImportJobResponse(ImportJob importJob);
+}
@@ -1,8 +1,14 @@
 package com.consum.orders.domain.service.api;
 
+import com.consum.orders.application.model.CubeResponse;
 import com.consum.orders.application.model.OrdersListResponse;
 import com.consum.orders.application.model.OrdersSingleResponse;
 import com.consum.orders.application.model.SummaryResponse;
+import com.consum.orders.domain.summary.CubeDimension;
+import com.consum.orders.domain.summary.CubeMeasure;
+
+import java.time.LocalDate;
+import java.util.List;
 
 public interface OrdersService {
 
@@ -10,5 +16,17 @@ public interface OrdersService {
 
     OrdersSingleResponse getOrderByUUID(String uuid);
 
-    OrdersListResponse getOrders();
+    OrdersListResponse getOrders(String cursor, int size);
+
+    SummaryResponse getOrdersSummary();
+
+    SummaryResponse getOrdersSummaryBetween(LocalDate from, LocalDate to);
+
+    SummaryResponse rebuildOrdersSummary();
+
+    CubeResponse importAndCubeOrders(String page, String maxPerPage, List<CubeDimension> dimensions,
+                                     List<CubeMeasure> measures);
+
+    CubeResponse getOrdersCube(List<CubeDimension> dimensions, List<CubeMeasure> measures, LocalDate from,
+                               LocalDate to);
 }
@@ -1,10 +1,16 @@
 package com.consum.orders.domain.service.api;
 
+import com.consum.orders.application.model.CubeResponse;
 import com.consum.orders.application.model.OrdersListResponse;
 import com.consum.orders.application.model.OrdersSingleResponse;
 import com.consum.orders.application.model.SummaryResponse;
+import com.consum.orders.domain.dto.CubeDTO;
 import com.consum.orders.domain.dto.OrdersDTO;
+import com.consum.orders.domain.summary.CubeDimension;
+import com.consum.orders.domain.summary.CubeMeasure;
+import com.consum.orders.domain.summary.OrdersCube;
 import com.consum.orders.domain.utils.OrdersMethods;
+import com.consum.orders.domain.utils.OrdersPageCursor;
 import com.consum.orders.infrastructure.client.dto.ContentClientDTO;
 import com.consum.orders.infrastructure.client.dto.PaginatedOrderClientDTO;
 import com.consum.orders.infrastructure.database.entity.Orders;
@@ -16,7 +22,10 @@ import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDate;
 import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Stream;
 
 @Slf4j
 @Service
@@ -39,17 +48,8 @@ public class OrdersServiceImpl implements OrdersService {
     public SummaryResponse importAndSummarizeOrders(String page, String maxPerPage) {
         log.info("Iniciando proceso de la petición de pedidos, página {}, máximo por página {}", page, maxPerPage);
 
-        // Paso 1: Obtener pedidos desde la API externa
-        log.debug("Obteniendo pedidos de la API de Katas...");
-        PaginatedOrderClientDTO paginatedOrderClientDTO = ordersClientService.getPagedOrdersClient(page, maxPerPage);
-
-        // Paso 2: Convertir a entidades de órdenes y guardar en la base de datos
-        log.debug("Transformando DTOs de pedidos a entidad de la tabla Orders...");
-        List<Orders> ordersClient = ordersMethods.convertToOrders(paginatedOrderClientDTO);
-
-        // Paso 3: Guardar los pedidos en la tabla Orders
-        log.debug("Guardando pedidos en la base de datos...");
-        ordersRepositoryService.saveAllOrders(ordersClient);
+        // Pasos 1 a 3: Obtener los pedidos de la API externa, convertirlos y guardarlos en la tabla Orders
+        List<Orders> ordersClient = importPage(page, maxPerPage);
 
         // Paso 4: Mapeo de datos Orders a OrderResponse
         log.debug("Guardando pedidos en la base de datos...");
@@ -77,15 +77,167 @@ public class OrdersServiceImpl implements OrdersService {
         return OrdersSingleResponse.builder().order(ordersDTO).build();
     }
 
+    /**
+     * Importa una página de pedidos de la API de Katas, igual que {@link #importAndSummarizeOrders}, y devuelve el cubo
+     * de los pedidos importados agrupados por las dimensiones indicadas. El resultado no se guarda en la caché, porque
+     * cada llamada importa de nuevo la página.
+     *
+     * @param page       número de página
+     * @param maxPerPage máximo de pedidos por página
+     * @param dimensions dimensiones de agrupación
+     * @param measures   medidas de cada celda
+     * @return cubo de los pedidos importados
+     */
+    @Override
+    @CacheEvict(value = "orders", allEntries = true)
+    @Transactional
+    public CubeResponse importAndCubeOrders(String page, String maxPerPage, List<CubeDimension> dimensions,
+                                            List<CubeMeasure> measures) {
+        log.info("Iniciando proceso de importar y agrupar pedidos por {}, página {}, máximo por página {}",
+                dimensions, page, maxPerPage);
+
+        List<Orders> ordersClient = importPage(page, maxPerPage);
+        List<OrdersDTO> ordersDTO = ordersMethods.convertToOrdersDTO(ordersClient);
+
+        var cubeDTO = new OrdersCube(dimensions, measures).addAll(ordersDTO).toCubeDTO();
+
+        return CubeResponse.builder().cube(cubeDTO).build();
+    }
+
+    /**
+     * Genera el cubo de los pedidos de la base de datos agrupados por las dimensiones indicadas, recorriendo la tabla
+     * orders una sola vez sin cargarla en memoria. Con from o to solo recorre los pedidos de esas fechas. El cubo se
+     * guarda en la caché por cada combinación de dimensiones, medidas y fechas hasta la siguiente importación.
+     *
+     * @param dimensions dimensiones de agrupación
+     * @param measures   medidas de cada celda
+     * @param from       primera fecha de pedido, o nulo para empezar por el más antiguo
+     * @param to         última fecha de pedido, o nulo para terminar en el más reciente
+     * @return cubo de los pedidos
+     */
+    @Override
+    @Cacheable(value = "orders", key = "'cube:' + #dimensions + ':' + #measures + ':' + #from + ':' + #to")
+    public CubeResponse getOrdersCube(List<CubeDimension> dimensions, List<CubeMeasure> measures, LocalDate from,
+                                      LocalDate to) {
+        log.info("Iniciando proceso de agrupar los pedidos por {} entre {} y {}. Servicio: getOrdersCube",
+                dimensions, from, to);
+
+        Function<Stream<OrdersDTO>, CubeDTO> reader = orders -> {
+            OrdersCube cube = new OrdersCube(dimensions, measures);
+            orders.forEach(cube::add);
+            return cube.toCubeDTO();
+        };
+        var cubeDTO = from == null && to == null
+                ? ordersRepositoryService.streamAll(reader)
+                : ordersRepositoryService.streamBetween(from, to, reader);
+
+        return CubeResponse.builder().cube(cubeDTO).build();
+    }
+
+    /**
+     * Recupera una página de pedidos de la base de datos con paginación por clave: la página empieza después del pedido
+     * codificado en el cursor. Los pedidos se leen proyectados en DTO, y uno más del tamaño de página para saber si hay
+     * página siguiente. Cada página se guarda en la caché con su propia clave.
+     *
+     * @param cursor cursor de la página anterior (nextCursor), o nulo para la primera página
+     * @param size   número de pedidos de la página
+     * @return pedidos de la página y cursor de la siguiente
+     */
+    @Override
+    @Cacheable(value = "orders", key = "'page:' + #size + ':' + (#cursor ?: '')")
+    public OrdersListResponse getOrders(String cursor, int size) {
+        log.info("Iniciando proceso de obtener una página de pedidos de la base de datos. Servicio: getOrders");
+
+        String afterOrderId = cursor == null || cursor.isEmpty() ? "" : OrdersPageCursor.decode(cursor).orElse("");
+        List<OrdersDTO> ordersDTO = ordersRepositoryService.findPageAfter(afterOrderId, size + 1);
+        boolean hasNext = ordersDTO.size() > size;
+        if (hasNext) {
+            ordersDTO = List.copyOf(ordersDTO.subList(0, size));
+        }
+
+        return OrdersListResponse.builder()
+                .orders(ordersDTO)
+                .nextCursor(hasNext ? OrdersPageCursor.encode(ordersDTO.get(size - 1).getOrderId()) : null)
+                .build();
+    }
+
+    /**
+     * Genera el resumen de todos los pedidos de la base de datos. Los conteos se leen del resumen materializado de
+     * order_summary (o se calculan en MySQL con los índices de cada dimensión si está desactivado), sin leer los pedidos
+     * en memoria. El resumen se guarda en la caché hasta la siguiente importación.
+     *
+     * @return resumen de los pedidos por región, país, tipo de ítem, canal de ventas y prioridad
+     */
     @Override
-    @Cacheable("orders")
-    public OrdersListResponse getOrders() {
-        log.info("Iniciando proceso de obtener todos los pedidos de la base de datos. Servicio: getAllOrders");
+    @Cacheable(value = "orders", key = "'summary'")
+    public SummaryResponse getOrdersSummary() {
+        log.info("Iniciando proceso de resumir todos los pedidos de la base de datos. Servicio: getOrdersSummary");
 
-        log.debug("Transformando los pedidos a la respuesta DTO...");
-        var ordersDTO = ordersMethods.convertToOrdersDTO(ordersRepositoryService.findAll());
+        var summaryDTO = ordersMethods.convertToSummary(ordersRepositoryService.countByDimension());
 
-        return OrdersListResponse.builder().orders(ordersDTO).build();
+        return SummaryResponse.builder().summary(summaryDTO).build();
     }
 
+    /**
+     * Genera el resumen de los pedidos de la base de datos con fecha entre from y to, ambas incluidas. Los conteos se
+     * calculan en MySQL sobre las particiones de orders del intervalo. El resumen se guarda en la caché hasta la
+     * siguiente importación.
+     *
+     * @param from primera fecha de pedido, o nulo para empezar por el más antiguo
+     * @param to   última fecha de pedido, o nulo para terminar en el más reciente
+     * @return resumen de los pedidos del intervalo por región, país, tipo de ítem, canal de ventas y prioridad
+     */
+    @Override
+    @Cacheable(value = "orders", key = "'summary:' + #from + ':' + #to")
+    public SummaryResponse getOrdersSummaryBetween(LocalDate from, LocalDate to) {
+        log.info("Iniciando proceso de resumir los pedidos entre {} y {}. Servicio: getOrdersSummaryBetween", from, to);
+
+        var summaryDTO = ordersMethods.convertToSummary(ordersRepositoryService.countByDimensionBetween(from, to));
+
+        return SummaryResponse.builder().summary(summaryDTO).build();
+    }
+
+    /**
+     * Reconstruye el resumen materializado desde la tabla orders y devuelve el resumen resultante. Vacía la caché para
+     * que las siguientes lecturas usen el resumen corregido.
+     *
+     * @return resumen de los pedidos por región, país, tipo de ítem, canal de ventas y prioridad
+     */
+    @Override
+    @CacheEvict(value = "orders", allEntries = true)
+    public SummaryResponse rebuildOrdersSummary() {
+        log.info("Iniciando proceso de reconstruir el resumen de pedidos. Servicio: rebuildOrdersSummary");
+
+        int rows = ordersRepositoryService.rebuildSummary();
+        log.debug("Resumen reconstruido con {} valores", rows);
+
+        var summaryDTO = ordersMethods.convertToSummary(ordersRepositoryService.countByDimension());
+
+        return SummaryResponse.builder().summary(summaryDTO).build();
+    }
+
+    /**
+     * Obtiene una página de pedidos de la API de Katas, la convierte a entidades Orders y la guarda en la base de datos.
+     *
+     * @param page       número de página
+     * @param maxPerPage máximo de pedidos por página
+     * @return pedidos guardados
+     */
+    private List<Orders> importPage(String page, String maxPerPage) {
+        // Paso 1: Obtener pedidos desde la API externa
+        log.debug("Obteniendo pedidos de la API de Katas...");
+        PaginatedOrderClientDTO paginatedOrderClientDTO = ordersClientService.getPagedOrdersClient(page, maxPerPage);
+
+        // Paso 2: Convertir a entidades de órdenes y guardar en la base de datos
+        log.debug("Transformando DTOs de pedidos a entidad de la tabla Orders...");
+        List<Orders> ordersClient = ordersRepositoryService.withoutArchivedOrders(
+                ordersMethods.convertToOrders(paginatedOrderClientDTO));
+
+        // Paso 3: Guardar los pedidos en la tabla Orders
+        log.debug("Guardando pedidos en la base de datos...");
+        ordersRepositoryService.saveAllOrders(ordersClient);
+        ordersMethods.updateSketches(ordersClient);
+
+        return ordersClient;
+    }
 }
@@ -0,0 +1,10 @@
+package com.consum.orders.domain.service.batch;
+
+import com.consum.orders.application.model.OrdersBatchResponse;
+
+import java.util.List;
+
+public interface OrdersBatchService {
+
+    OrdersBatchResponse getOrdersByUUIDs(List<String> uuids);
+}
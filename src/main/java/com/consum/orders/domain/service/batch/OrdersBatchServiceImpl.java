@@ -0,0 +1,130 @@
+package com.consum.orders.domain.service.batch;
+
+import com.consum.orders.application.model.OrdersBatchResponse;
+import com.consum.orders.domain.dto.OrdersBatchItemDTO;
+import com.consum.orders.domain.dto.OrdersBatchItemStatus;
+import com.consum.orders.domain.utils.OrdersMethods;
+import com.consum.orders.infrastructure.client.dto.ContentClientDTO;
+import com.consum.orders.infrastructure.service.OrdersCacheService;
+import com.consum.orders.infrastructure.service.OrdersClientService;
+import feign.FeignException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Servicio de consulta de pedidos por lotes de UUID.
+ * <p>
+ * Primero recupera de Redis, con un único MGET, los pedidos que ya están en la caché; solo los que faltan se piden a la
+ * API de Katas, en paralelo y con un número de llamadas simultáneas acotado por el pool de consultas. Todo el lote
+ * comparte un único plazo: los pedidos que no llegan a tiempo se devuelven como TIMEOUT.
+ */
+@Slf4j
+@Service
+public class OrdersBatchServiceImpl implements OrdersBatchService {
+
+    private final OrdersCacheService ordersCacheService;
+    private final OrdersClientService ordersClientService;
+    private final OrdersMethods ordersMethods;
+    private final ExecutorService orderLookupExecutor;
+    private final long timeoutMillis;
+
+    public OrdersBatchServiceImpl(OrdersCacheService ordersCacheService,
+                                  OrdersClientService ordersClientService,
+                                  OrdersMethods ordersMethods,
+                                  @Qualifier("orderLookupExecutor") ExecutorService orderLookupExecutor,
+                                  @Value("${orders.batch.timeout-ms:3000}") long timeoutMillis) {
+        this.ordersCacheService = ordersCacheService;
+        this.ordersClientService = ordersClientService;
+        this.ordersMethods = ordersMethods;
+        this.orderLookupExecutor = orderLookupExecutor;
+        this.timeoutMillis = timeoutMillis;
+    }
+
+    @Override
+    public OrdersBatchResponse getOrdersByUUIDs(List<String> uuids) {
+        long start = System.nanoTime();
+        long deadline = start + TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+        log.info("Iniciando consulta por lotes de {} pedidos", uuids.size());
+
+        // Paso 1: Recuperar de la caché los pedidos ya conocidos
+        Set<String> distinctUuids = new LinkedHashSet<>(uuids);
+        Map<String, ContentClientDTO> cachedOrders = ordersCacheService.getCachedClientOrders(distinctUuids);
+
+        // Paso 2: Pedir en paralelo a la API de Katas los que faltan
+        Map<String, Future<ContentClientDTO>> pendingOrders = new LinkedHashMap<>();
+        distinctUuids.stream()
+                .filter(uuid -> !cachedOrders.containsKey(uuid))
+                .forEach(uuid -> pendingOrders.put(uuid,
+                        orderLookupExecutor.submit(() -> ordersClientService.getOrderByUUIDClient(uuid))));
+
+        // Paso 3: Resolver cada UUID dentro del plazo del lote
+        Map<String, OrdersBatchItemDTO> resolvedOrders = new LinkedHashMap<>();
+        cachedOrders.forEach((uuid, contentClientDTO) -> resolvedOrders.put(uuid, toItem(uuid, contentClientDTO)));
+        pendingOrders.forEach((uuid, future) -> resolvedOrders.put(uuid, await(uuid, future, deadline)));
+
+        // Paso 4: Devolver los resultados en el orden de la petición
+        List<OrdersBatchItemDTO> orders = uuids.stream().map(resolvedOrders::get).toList();
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        log.info("Consulta por lotes finalizada en {} ms: {} en caché, {} llamadas a la API de Katas",
+                elapsedMillis, cachedOrders.size(), pendingOrders.size());
+
+        return OrdersBatchResponse.builder()
+                .orders(orders)
+                .cacheHits(cachedOrders.size())
+                .upstreamCalls(pendingOrders.size())
+                .elapsedMillis(elapsedMillis)
+                .build();
+    }
+
+    private OrdersBatchItemDTO await(String uuid, Future<ContentClientDTO> future, long deadline) {
+        try {
+            ContentClientDTO contentClientDTO = future.get(Math.max(deadline - System.nanoTime(), 0), TimeUnit.NANOSECONDS);
+            return toItem(uuid, contentClientDTO);
+        } catch (TimeoutException exception) {
+            future.cancel(true);
+            return errorItem(uuid, OrdersBatchItemStatus.TIMEOUT, "Tiempo de espera agotado");
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            future.cancel(true);
+            return errorItem(uuid, OrdersBatchItemStatus.ERROR, "Consulta interrumpida");
+        } catch (ExecutionException exception) {
+            if (exception.getCause() instanceof FeignException.NotFound) {
+                return errorItem(uuid, OrdersBatchItemStatus.NOT_FOUND, "Pedido no encontrado");
+            }
+            log.warn("Error al obtener el pedido {}: {}", uuid, exception.getCause().getMessage());
+            return errorItem(uuid, OrdersBatchItemStatus.ERROR, exception.getCause().getMessage());
+        }
+    }
+
+    private OrdersBatchItemDTO toItem(String uuid, ContentClientDTO contentClientDTO) {
+        if (contentClientDTO == null) {
+            return errorItem(uuid, OrdersBatchItemStatus.NOT_FOUND, "Pedido no encontrado");
+        }
+        try {
+            return OrdersBatchItemDTO.builder()
+                    .uuid(uuid)
+                    .status(OrdersBatchItemStatus.FOUND)
+                    .order(ordersMethods.convertContentClientDTOToOrderDTO(contentClientDTO))
+                    .build();
+        } catch (RuntimeException exception) {
+            return errorItem(uuid, OrdersBatchItemStatus.ERROR, exception.getMessage());
+        }
+    }
+
+    private static OrdersBatchItemDTO errorItem(String uuid, OrdersBatchItemStatus status, String error) {
+        return OrdersBatchItemDTO.builder().uuid(uuid).status(status).error(error).build();
+    }
+}
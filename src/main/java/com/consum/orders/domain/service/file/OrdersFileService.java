@@ -2,8 +2,12 @@ package com.consum.orders.domain.service.file;
 
 import com.consum.orders.application.model.OrdersFileResponse;
 
+import java.time.LocalDate;
+
 public interface OrdersFileService {
 
     OrdersFileResponse generateOrderFileCSV();
 
+    OrdersFileResponse generateOrderFileCSV(LocalDate from, LocalDate to);
+
    }
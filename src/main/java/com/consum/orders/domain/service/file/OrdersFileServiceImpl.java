@@ -1,17 +1,20 @@
 package com.consum.orders.domain.service.file;
 
 import com.consum.orders.application.model.OrdersFileResponse;
+import com.consum.orders.domain.dto.OrdersDTO;
 import com.consum.orders.domain.exception.ProcessingException;
 import com.consum.orders.domain.exception.FileException;
-import com.consum.orders.domain.dto.OrdersDTO;
-import com.consum.orders.domain.mapper.OrdersMapper;
 import com.consum.orders.domain.utils.OrdersFileMethods;
 import com.consum.orders.infrastructure.service.OrdersRepositoryService;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
 
-import java.util.List;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.time.LocalDate;
+import java.util.function.Function;
+import java.util.stream.Stream;
 
 @Slf4j
 @Service
@@ -21,27 +24,61 @@ public class OrdersFileServiceImpl implements OrdersFileService {
 
     private final OrdersRepositoryService ordersRepositoryService;
     private final OrdersFileMethods ordersFileMethods;
-    private final OrdersMapper ordersMapper;
 
     public OrdersFileServiceImpl(OrdersRepositoryService ordersRepositoryService,
-                                 OrdersFileMethods ordersFileMethods,
-                                 OrdersMapper ordersMapper) {
+                                 OrdersFileMethods ordersFileMethods) {
         this.ordersRepositoryService = ordersRepositoryService;
         this.ordersFileMethods = ordersFileMethods;
-        this.ordersMapper = ordersMapper;
     }
 
+    /**
+     * Prepara la descarga del archivo CSV de pedidos. El contenido se escribe cuando se envía la respuesta: cada pedido
+     * pasa de la base de datos a una línea CSV y a la salida sin quedarse en memoria.
+     *
+     * @return cabeceras y contenido del archivo
+     */
     @Override
-    @Cacheable("orders")
     public OrdersFileResponse generateOrderFileCSV() throws ProcessingException {
+        return generateOrderFileCSV(null, null);
+    }
+
+    /**
+     * Prepara la descarga del archivo CSV con los pedidos con fecha entre from y to, ambas incluidas. Con la tabla
+     * particionada por fecha, la lectura solo recorre las particiones del intervalo.
+     *
+     * @param from primera fecha de pedido, o nulo para empezar por el más antiguo
+     * @param to   última fecha de pedido, o nulo para terminar en el más reciente
+     * @return cabeceras y contenido del archivo
+     */
+    @Override
+    public OrdersFileResponse generateOrderFileCSV(LocalDate from, LocalDate to) throws ProcessingException {
+        return OrdersFileResponse.builder()
+                .headers(ordersFileMethods.generateCsvHttpHeaders(FILENAME))
+                .content(outputStream -> writeOrderFileCSV(outputStream, from, to))
+                .build();
+    }
+
+    /**
+     * Escribe en la salida los pedidos de la base de datos en formato CSV: todos si no hay fechas, o los del intervalo.
+     *
+     * @param outputStream salida de la respuesta
+     * @param from         primera fecha de pedido, o nulo
+     * @param to           última fecha de pedido, o nulo
+     */
+    void writeOrderFileCSV(OutputStream outputStream, LocalDate from, LocalDate to) {
         try {
-            List<OrdersDTO> ordersDtoList = ordersRepositoryService.findAll()
-                    .stream()
-                    .map(ordersMapper::ordersToOrderDTO)
-                    .toList();
+            Function<Stream<OrdersDTO>, Long> writer = orders -> {
+                try {
+                    return ordersFileMethods.writeOrderFileCSV(orders, outputStream);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            };
+            long rows = from == null && to == null
+                    ? ordersRepositoryService.streamAll(writer)
+                    : ordersRepositoryService.streamBetween(from, to, writer);
 
-            log.info("Obtenidos {} registros de pedidos de la base de datos", ordersDtoList.size());
-            return ordersFileMethods.generateOrderFileCSV(ordersDtoList, FILENAME);
+            log.info("Escritos {} registros de pedidos de la base de datos en el archivo CSV", rows);
         } catch (Exception e) {
             String errorMessage = "Error inesperado al generar archivo CSV desde la base de datos";
             log.error("{}: {}", errorMessage, e.getMessage());
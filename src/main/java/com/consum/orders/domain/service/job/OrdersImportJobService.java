@@ -0,0 +1,14 @@
+package com.consum.orders.domain.service.job;
+
+import com.consum.orders.application.model.ImportJobResponse;
+
+import java.util.Optional;
+
+public interface OrdersImportJobService {
+
+    ImportJobResponse startJob(String maxPerPage);
+
+    Optional<ImportJobResponse> getJob(String jobId);
+
+    Optional<ImportJobResponse> cancelJob(String jobId);
+}
@@ -0,0 +1,248 @@
+package com.consum.orders.domain.service.job;
+
+import com.consum.orders.application.model.ImportJobResponse;
+import com.consum.orders.domain.mapper.ImportJobMapper;
+import com.consum.orders.domain.service.sync.ImportProgressListener;
+import com.consum.orders.domain.service.sync.OrdersImportPipeline;
+import com.consum.orders.infrastructure.database.entity.ImportJob;
+import com.consum.orders.infrastructure.database.entity.ImportJobStatus;
+import com.consum.orders.infrastructure.service.ImportJobRepositoryService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Servicio de trabajos de importación asíncronos. Cada trabajo ejecuta el pipeline de importación en un pool dedicado
+ * y guarda en MySQL la última página confirmada, de modo que tras una caída o reinicio continúa desde ese punto.
+ * <p>
+ * Al parar la aplicación, los trabajos en marcha terminan las páginas en curso y quedan INTERRUPTED y sin reservar. Cada
+ * instancia solo ejecuta los trabajos que ha reservado ({@link ImportJobRepositoryService#claim(String)}) y renueva su
+ * reserva periódicamente; los de una instancia que se ha caído se reanudan en otra cuando la reserva vence.
+ */
+@Slf4j
+@Service
+public class OrdersImportJobServiceImpl implements OrdersImportJobService, DisposableBean {
+
+    private final ImportJobRepositoryService importJobRepositoryService;
+    private final OrdersImportPipeline ordersImportPipeline;
+    private final ImportJobMapper importJobMapper;
+    private final CacheManager cacheManager;
+    private final ExecutorService importJobExecutor;
+    private final long shutdownTimeoutSeconds;
+
+    private final Map<String, JobProgress> runningJobs = new ConcurrentHashMap<>();
+    private volatile boolean stopping;
+
+    public OrdersImportJobServiceImpl(ImportJobRepositoryService importJobRepositoryService,
+                                      OrdersImportPipeline ordersImportPipeline,
+                                      ImportJobMapper importJobMapper,
+                                      CacheManager cacheManager,
+                                      @Qualifier("importJobExecutor") ExecutorService importJobExecutor,
+                                      @Value("${orders.import.jobs.shutdown-timeout-seconds:30}") long shutdownTimeoutSeconds) {
+        this.importJobRepositoryService = importJobRepositoryService;
+        this.ordersImportPipeline = ordersImportPipeline;
+        this.importJobMapper = importJobMapper;
+        this.cacheManager = cacheManager;
+        this.importJobExecutor = importJobExecutor;
+        this.shutdownTimeoutSeconds = shutdownTimeoutSeconds;
+    }
+
+    @Override
+    public ImportJobResponse startJob(String maxPerPage) {
+        log.info("Iniciando trabajo de importación de pedidos, máximo por página {}", maxPerPage);
+
+        ImportJob importJob = importJobRepositoryService.createJob(maxPerPage);
+        submit(importJob);
+
+        return importJobMapper.importJobToImportJobResponse(importJob);
+    }
+
+    @Override
+    public Optional<ImportJobResponse> getJob(String jobId) {
+        log.debug("Consultando el trabajo de importación {}", jobId);
+        return importJobRepositoryService.findById(jobId).map(importJobMapper::importJobToImportJobResponse);
+    }
+
+    @Override
+    public Optional<ImportJobResponse> cancelJob(String jobId) {
+        log.info("Solicitada la cancelación del trabajo de importación {}", jobId);
+
+        Optional<ImportJob> importJob = importJobRepositoryService.findById(jobId);
+        if (importJob.isEmpty()) {
+            return Optional.empty();
+        }
+
+        JobProgress jobProgress = runningJobs.get(jobId);
+        if (jobProgress != null) {
+            // El hilo del trabajo registra el estado CANCELLED cuando el pipeline se detiene
+            jobProgress.cancel();
+        } else if (isUnfinished(importJob.get())) {
+            importJobRepositoryService.updateStatus(jobId, ImportJobStatus.CANCELLED, null);
+        }
+
+        return getJob(jobId);
+    }
+
+    /**
+     * Reanuda, al arrancar la aplicación, los trabajos que quedaron sin terminar desde su último punto de control. Solo
+     * reanuda los que consigue reservar: los que otra instancia tiene en marcha se quedan en ella.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void resumeUnfinishedJobs() {
+        if (stopping) {
+            return;
+        }
+        importJobRepositoryService.findUnfinishedJobs().stream()
+                .filter(importJob -> !runningJobs.containsKey(importJob.getJobId()))
+                .filter(importJob -> importJobRepositoryService.claim(importJob.getJobId()))
+                .forEach(importJob -> {
+                    log.info("Reanudando el trabajo de importación {} desde la página {}",
+                            importJob.getJobId(), importJob.getLastCommittedPage() + 1);
+                    submit(importJob);
+                });
+    }
+
+    /**
+     * Renueva la reserva de los trabajos de esta instancia y reanuda los que otra instancia ha dejado al caerse.
+     */
+    @Scheduled(fixedDelayString = "${orders.import.jobs.lease-renewal-ms:60000}",
+            initialDelayString = "${orders.import.jobs.lease-renewal-ms:60000}")
+    public void renewLeasesAndResume() {
+        if (stopping) {
+            return;
+        }
+        importJobRepositoryService.renewLeases(List.copyOf(runningJobs.keySet()));
+        resumeUnfinishedJobs();
+    }
+
+    /**
+     * Al parar la aplicación, pide a los trabajos en marcha que se detengan tras guardar las páginas en curso y espera
+     * a que registren el estado INTERRUPTED. Si no terminan a tiempo, el cierre del pool los interrumpe y también
+     * quedan INTERRUPTED.
+     */
+    @Override
+    public void destroy() throws InterruptedException {
+        stopping = true;
+        runningJobs.values().forEach(JobProgress::interrupt);
+        importJobExecutor.shutdown();
+        if (!importJobExecutor.awaitTermination(shutdownTimeoutSeconds, TimeUnit.SECONDS)) {
+            log.warn("Los trabajos de importación no se han detenido en {} segundos", shutdownTimeoutSeconds);
+        }
+    }
+
+    private void submit(ImportJob importJob) {
+        JobProgress jobProgress = new JobProgress(importJob);
+        runningJobs.put(importJob.getJobId(), jobProgress);
+        importJobExecutor.submit(() -> runJob(importJob, jobProgress));
+    }
+
+    private void runJob(ImportJob importJob, JobProgress jobProgress) {
+        String jobId = importJob.getJobId();
+        try {
+            if (jobProgress.isInterrupted()) {
+                importJobRepositoryService.release(jobId, ImportJobStatus.INTERRUPTED);
+                return;
+            }
+            importJobRepositoryService.updateStatus(jobId, ImportJobStatus.RUNNING, null);
+            ordersImportPipeline.run(importJob.getLastCommittedPage() + 1, importJob.getMaxPerPage(), jobProgress);
+
+            if (jobProgress.isInterrupted()) {
+                importJobRepositoryService.release(jobId, ImportJobStatus.INTERRUPTED);
+            } else {
+                ImportJobStatus finalStatus = jobProgress.isCancelled() ? ImportJobStatus.CANCELLED : ImportJobStatus.COMPLETED;
+                importJobRepositoryService.updateStatus(jobId, finalStatus, null);
+            }
+        } catch (Exception exception) {
+            if (stopping) {
+                // La interrupción del hilo al cerrar el pool llega como error del pipeline
+                log.warn("Trabajo de importación {} detenido al parar la aplicación: {}", jobId, exception.getMessage());
+                importJobRepositoryService.release(jobId, ImportJobStatus.INTERRUPTED);
+            } else {
+                log.error("Error en el trabajo de importación {}: {}", jobId, exception.getMessage());
+                importJobRepositoryService.updateStatus(jobId, ImportJobStatus.FAILED, exception.getMessage());
+            }
+        } finally {
+            runningJobs.remove(jobId);
+            Optional.ofNullable(cacheManager.getCache("orders")).ifPresent(Cache::clear);
+        }
+    }
+
+    private boolean isUnfinished(ImportJob importJob) {
+        return importJob.getStatus() == ImportJobStatus.PENDING || importJob.getStatus() == ImportJobStatus.RUNNING
+                || importJob.getStatus() == ImportJobStatus.INTERRUPTED;
+    }
+
+    /**
+     * Avance de un trabajo en ejecución. Las páginas se guardan en desorden, así que el punto de control solo avanza
+     * hasta la última página a partir de la cual no quedan huecos.
+     */
+    private final class JobProgress implements ImportProgressListener {
+
+        private final String jobId;
+        private final TreeMap<Integer, Integer> committedAhead = new TreeMap<>();
+        private int lastCommittedPage;
+        private int importedPages;
+        private long importedOrders;
+        private volatile boolean cancelled;
+        private volatile boolean interrupted;
+
+        private JobProgress(ImportJob importJob) {
+            this.jobId = importJob.getJobId();
+            this.lastCommittedPage = importJob.getLastCommittedPage();
+            this.importedPages = importJob.getImportedPages();
+            this.importedOrders = importJob.getImportedOrders();
+        }
+
+        @Override
+        public synchronized void onPageCommitted(int page, int orders) {
+            committedAhead.put(page, orders);
+
+            boolean advanced = false;
+            while (!committedAhead.isEmpty() && committedAhead.firstKey() == lastCommittedPage + 1) {
+                importedOrders += committedAhead.pollFirstEntry().getValue();
+                importedPages++;
+                lastCommittedPage++;
+                advanced = true;
+            }
+
+            if (advanced) {
+                importJobRepositoryService.updateCheckpoint(jobId, lastCommittedPage, importedPages, importedOrders);
+            }
+        }
+
+        /**
+         * El pipeline se detiene tanto si el trabajo se cancela como si se interrumpe al parar la aplicación.
+         */
+        @Override
+        public boolean isCancelled() {
+            return cancelled || interrupted;
+        }
+
+        private boolean isInterrupted() {
+            return interrupted && !cancelled;
+        }
+
+        private void cancel() {
+            cancelled = true;
+        }
+
+        private void interrupt() {
+            interrupted = true;
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package com.consum.orders.domain.service.sketch;
+
+import com.consum.orders.application.model.DistinctCountResponse;
+import com.consum.orders.application.model.HeavyHittersResponse;
+import com.consum.orders.domain.summary.CubeDimension;
+
+import java.time.YearMonth;
+
+public interface OrdersSketchService {
+
+    DistinctCountResponse countDistinctUuids(String country, YearMonth from, YearMonth to);
+
+    HeavyHittersResponse getTopValues(CubeDimension dimension, int k);
+}
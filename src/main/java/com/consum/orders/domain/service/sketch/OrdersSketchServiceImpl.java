@@ -0,0 +1,88 @@
+package com.consum.orders.domain.service.sketch;
+
+import com.consum.orders.application.model.DistinctCountResponse;
+import com.consum.orders.application.model.HeavyHittersResponse;
+import com.consum.orders.domain.dto.DistinctCountDTO;
+import com.consum.orders.domain.dto.HeavyHitterDTO;
+import com.consum.orders.domain.dto.HeavyHittersDTO;
+import com.consum.orders.domain.sketch.CountMinSketch;
+import com.consum.orders.domain.sketch.HeavyHitters;
+import com.consum.orders.domain.summary.CubeDimension;
+import com.consum.orders.infrastructure.service.OrdersSketchRedisService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.time.YearMonth;
+import java.util.Objects;
+
+/**
+ * Servicio de consultas aproximadas sobre los sketches de los pedidos importados: UUID distintos y valores más
+ * frecuentes, cada uno con los límites de su error.
+ */
+@Slf4j
+@Service
+public class OrdersSketchServiceImpl implements OrdersSketchService {
+
+    /**
+     * Error estándar relativo del HyperLogLog de Redis, con 16384 registros: 1,04 / √16384.
+     */
+    static final double HLL_STANDARD_ERROR = 0.0081;
+    /**
+     * El intervalo de dos errores estándar cubre la cuenta real en torno al 95 % de las veces.
+     */
+    static final double HLL_CONFIDENCE = 0.95;
+    private static final double HLL_INTERVAL = 2 * HLL_STANDARD_ERROR;
+
+    private final OrdersSketchRedisService ordersSketchRedisService;
+
+    public OrdersSketchServiceImpl(OrdersSketchRedisService ordersSketchRedisService) {
+        this.ordersSketchRedisService = ordersSketchRedisService;
+    }
+
+    @Override
+    public DistinctCountResponse countDistinctUuids(String country, YearMonth from, YearMonth to) {
+        log.info("Contando UUID distintos: país {}, de {} a {}", country, from, to);
+
+        long estimate = ordersSketchRedisService.countDistinctUuids(country, from, to);
+        long margin = Math.round(estimate * HLL_INTERVAL);
+
+        return DistinctCountResponse.builder()
+                .distinctCount(DistinctCountDTO.builder()
+                        .country(country)
+                        .from(Objects.toString(from, null))
+                        .to(Objects.toString(to, null))
+                        .estimate(estimate)
+                        .standardError(HLL_STANDARD_ERROR)
+                        .confidence(HLL_CONFIDENCE)
+                        .lowerBound(Math.max(0, estimate - margin))
+                        .upperBound(estimate + margin)
+                        .build())
+                .build();
+    }
+
+    @Override
+    public HeavyHittersResponse getTopValues(CubeDimension dimension, int k) {
+        log.info("Consultando los {} valores más frecuentes de {}", k, dimension.getKey());
+
+        HeavyHitters heavyHitters = ordersSketchRedisService.loadHeavyHitters(dimension);
+        CountMinSketch sketch = heavyHitters.getSketch();
+        long errorBound = sketch.errorBound();
+
+        return HeavyHittersResponse.builder()
+                .heavyHitters(HeavyHittersDTO.builder()
+                        .dimension(dimension.getKey())
+                        .total(sketch.getTotal())
+                        .epsilon(sketch.getEpsilon())
+                        .confidence(1 - sketch.getDelta())
+                        .errorBound(errorBound)
+                        .values(heavyHitters.top(k).stream()
+                                .map(candidate -> HeavyHitterDTO.builder()
+                                        .value(candidate.value())
+                                        .estimate(candidate.estimate())
+                                        .lowerBound(Math.max(0, candidate.estimate() - errorBound))
+                                        .build())
+                                .toList())
+                        .build())
+                .build();
+    }
+}
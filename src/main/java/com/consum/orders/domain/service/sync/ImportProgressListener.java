@@ -0,0 +1,28 @@
+package com.consum.orders.domain.service.sync;
+
+/**
+ * Recibe el avance del pipeline de importación y permite solicitar su cancelación.
+ */
+public interface ImportProgressListener {
+
+    ImportProgressListener NONE = new ImportProgressListener() {
+    };
+
+    /**
+     * Se invoca cuando una página queda guardada en la base de datos. Las páginas pueden confirmarse en desorden.
+     *
+     * @param page   número de página
+     * @param orders pedidos guardados de la página
+     */
+    default void onPageCommitted(int page, int orders) {
+    }
+
+    /**
+     * Indica si el pipeline debe detenerse sin procesar más páginas.
+     *
+     * @return true si se ha solicitado la cancelación
+     */
+    default boolean isCancelled() {
+        return false;
+    }
+}
@@ -0,0 +1,523 @@
+package com.consum.orders.domain.service.sync;
+
+import com.consum.orders.application.model.ImportSummaryResponse;
+import com.consum.orders.domain.dto.ImportStatsDTO;
+import com.consum.orders.domain.dto.SummaryDTO;
+import com.consum.orders.domain.exception.ProcessingException;
+import com.consum.orders.domain.summary.OrdersSummaryAggregator;
+import com.consum.orders.domain.utils.OrdersMethods;
+import com.consum.orders.infrastructure.client.dto.LinksClientDTO;
+import com.consum.orders.infrastructure.client.dto.PaginatedOrderClientDTO;
+import com.consum.orders.infrastructure.client.dto.StreamedPageClientDTO;
+import com.consum.orders.infrastructure.database.entity.Orders;
+import com.consum.orders.infrastructure.service.OrdersClientService;
+import com.consum.orders.infrastructure.service.OrdersRepositoryService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.PessimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Pipeline de importación de pedidos en tres etapas (descarga, transformación y guardado) conectadas por colas acotadas.
+ * <p>
+ * Mientras se descarga la página N+1 se valida la página N y se guarda la N-1. Cuando una cola se llena, la etapa
+ * anterior se bloquea hasta que la siguiente libera hueco, de modo que la memoria en uso queda acotada por la
+ * capacidad de las colas.
+ * <p>
+ * Con el decodificador en streaming activo ({@code orders.import.streaming-decoder}), la etapa de descarga valida y
+ * mapea cada pedido según se lee del cuerpo HTTP y entrega a la etapa de guardado bloques de tamaño fijo
+ * ({@code orders.import.stream-chunk-size}). En ese modo la etapa de transformación no tiene hilos y la memoria por
+ * página queda acotada por el tamaño del bloque, no por el de la página.
+ * <p>
+ * Con LOAD DATA activo ({@code orders.import.local-infile.enabled}), cada hilo de guardado acumula bloques hasta reunir
+ * {@code orders.import.local-infile.threshold-rows} pedidos y los guarda en una sola llamada, de modo que la decisión
+ * de usar LOAD DATA depende del volumen de la importación y no del tamaño de página o de bloque. El grupo nunca pasa de
+ * {@code orders.import.persist-batch-max-rows} pedidos, para que la memoria de cada hilo siga acotada: con un umbral
+ * mayor, el pipeline guarda grupos de ese tamaño con la escritura por lotes. Las páginas se notifican como guardadas
+ * cuando se guarda el grupo que las contiene.
+ * <p>
+ * Los hilos de guardado pueden interbloquearse en MySQL al actualizar el resumen materializado (los
+ * {@code SELECT ... FOR UPDATE} de pedidos nuevos toman bloqueos de hueco). MySQL deshace entonces la transacción de uno
+ * de ellos, que vuelve a guardar su grupo hasta {@code orders.import.deadlock-retries} veces.
+ */
+@Slf4j
+@Component
+public class OrdersImportPipeline {
+
+    private static final long POLL_TIMEOUT_MILLIS = 200;
+
+    private final OrdersClientService ordersClientService;
+    private final OrdersRepositoryService ordersRepositoryService;
+    private final OrdersMethods ordersMethods;
+    private final ExecutorService importExecutor;
+    private final int fetchWorkers;
+    private final int transformWorkers;
+    private final int persistWorkers;
+    private final int queueCapacity;
+    private final boolean streamingDecoder;
+    private final int streamChunkSize;
+    private final int persistBatchMaxRows;
+    private final int deadlockRetries;
+
+    public OrdersImportPipeline(OrdersClientService ordersClientService,
+                                OrdersRepositoryService ordersRepositoryService,
+                                OrdersMethods ordersMethods,
+                                @Qualifier("importExecutor") ExecutorService importExecutor,
+                                @Value("${orders.import.fetch-workers:4}") int fetchWorkers,
+                                @Value("${orders.import.transform-workers:2}") int transformWorkers,
+                                @Value("${orders.import.persist-workers:2}") int persistWorkers,
+                                @Value("${orders.import.queue-capacity:8}") int queueCapacity,
+                                @Value("${orders.import.streaming-decoder:true}") boolean streamingDecoder,
+                                @Value("${orders.import.stream-chunk-size:500}") int streamChunkSize,
+                                @Value("${orders.import.persist-batch-max-rows:5000}") int persistBatchMaxRows,
+                                @Value("${orders.import.deadlock-retries:3}") int deadlockRetries) {
+        this.ordersClientService = ordersClientService;
+        this.ordersRepositoryService = ordersRepositoryService;
+        this.ordersMethods = ordersMethods;
+        this.importExecutor = importExecutor;
+        this.fetchWorkers = fetchWorkers;
+        this.transformWorkers = transformWorkers;
+        this.persistWorkers = persistWorkers;
+        this.queueCapacity = queueCapacity;
+        this.streamingDecoder = streamingDecoder;
+        this.streamChunkSize = streamChunkSize;
+        this.persistBatchMaxRows = persistBatchMaxRows;
+        this.deadlockRetries = deadlockRetries;
+    }
+
+    /**
+     * Importa todas las páginas a partir de la indicada hasta llegar a una página vacía o sin enlace next.
+     *
+     * @param firstPage  primera página a importar
+     * @param maxPerPage máximo de pedidos por página
+     * @return resumen combinado de los pedidos importados y métricas de cada etapa
+     */
+    public ImportSummaryResponse run(int firstPage, String maxPerPage) {
+        return run(firstPage, maxPerPage, ImportProgressListener.NONE);
+    }
+
+    /**
+     * Importa todas las páginas a partir de la indicada, notificando cada página guardada al listener. Si el listener
+     * solicita la cancelación, el pipeline deja de procesar páginas y devuelve el resultado parcial.
+     *
+     * @param firstPage  primera página a importar
+     * @param maxPerPage máximo de pedidos por página
+     * @param listener   receptor del avance de la importación
+     * @return resumen combinado de los pedidos importados y métricas de cada etapa
+     */
+    public ImportSummaryResponse run(int firstPage, String maxPerPage, ImportProgressListener listener) {
+        log.info("Iniciando pipeline de importación desde la página {}: descarga={}, transformación={}, guardado={}, cola={}, streaming={}",
+                firstPage, fetchWorkers, transformWorkers, persistWorkers, queueCapacity, streamingDecoder);
+        return new PipelineRun(firstPage, maxPerPage, listener).execute();
+    }
+
+    /**
+     * @return true si la excepción, o alguna de sus causas, es un interbloqueo o una espera de bloqueo agotada
+     */
+    static boolean isDeadlock(Throwable exception) {
+        for (Throwable cause = exception; cause != null; cause = cause.getCause()) {
+            if (cause instanceof PessimisticLockingFailureException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Estado de una ejecución del pipeline.
+     */
+    private final class PipelineRun {
+
+        private final String maxPerPage;
+        private final ImportProgressListener listener;
+        private final AtomicInteger nextPage;
+        private final AtomicInteger lastPage = new AtomicInteger(Integer.MAX_VALUE);
+        private final AtomicReference<Throwable> failure = new AtomicReference<>();
+
+        private final BlockingQueue<FetchedPage> fetchedPages = new ArrayBlockingQueue<>(queueCapacity);
+        private final BlockingQueue<TransformedPage> transformedPages = new ArrayBlockingQueue<>(queueCapacity);
+        private final int activeTransformWorkers = streamingDecoder ? 0 : transformWorkers;
+        private final AtomicInteger activeFetchers = new AtomicInteger(fetchWorkers);
+        private final AtomicInteger activeTransformers = new AtomicInteger(activeTransformWorkers);
+
+        private final StageMetrics fetchStage = new StageMetrics("fetch", fetchWorkers, 0);
+        private final StageMetrics transformStage = new StageMetrics("transform", activeTransformWorkers, queueCapacity);
+        private final StageMetrics persistStage = new StageMetrics("persist", persistWorkers, queueCapacity);
+        private final AtomicInteger completedPages = new AtomicInteger();
+        private final AtomicLong completedOrders = new AtomicLong();
+        private final int persistBatchRows = Math.min(ordersRepositoryService.getLocalInfileThreshold(), persistBatchMaxRows);
+
+        private final ConcurrentLinkedQueue<OrdersSummaryAggregator> partialSummaries = new ConcurrentLinkedQueue<>();
+
+        private PipelineRun(int firstPage, String maxPerPage, ImportProgressListener listener) {
+            this.maxPerPage = maxPerPage;
+            this.listener = listener;
+            this.nextPage = new AtomicInteger(firstPage);
+        }
+
+        private ImportSummaryResponse execute() {
+            long start = System.nanoTime();
+
+            List<Future<?>> workers = new ArrayList<>();
+            submit(workers, fetchWorkers, this::fetchLoop);
+            submit(workers, activeTransformWorkers, this::transformLoop);
+            submit(workers, persistWorkers, this::persistLoop);
+            awaitAll(workers);
+
+            long elapsedNanos = System.nanoTime() - start;
+            Throwable cause = failure.get();
+            if (cause != null) {
+                log.error("Error en el pipeline de importación: {}", cause.getMessage());
+                if (cause instanceof ProcessingException processingException) {
+                    throw processingException;
+                }
+                throw new ProcessingException("Error en el pipeline de importación de pedidos", cause);
+            }
+            if (listener.isCancelled()) {
+                log.warn("Pipeline de importación cancelado tras guardar {} páginas", completedPages.get());
+            }
+
+            OrdersSummaryAggregator aggregator = new OrdersSummaryAggregator();
+            partialSummaries.forEach(aggregator::merge);
+            SummaryDTO summary = aggregator.toSummaryDTO();
+            ImportStatsDTO stats = buildStats(elapsedNanos);
+            log.info("Pipeline de importación finalizado: {} páginas, {} pedidos en {} ms",
+                    stats.getPages(), stats.getOrders(), stats.getElapsedMillis());
+
+            return ImportSummaryResponse.builder().summary(summary).stats(stats).build();
+        }
+
+        /**
+         * Etapa de descarga: reparte los números de página entre los hilos y detecta el final del catálogo.
+         */
+        private void fetchLoop() {
+            try {
+                boolean morePages = true;
+                while (morePages && !isStopped()) {
+                    int page = nextPage.getAndIncrement();
+                    if (page > lastPage.get()) {
+                        break;
+                    }
+                    morePages = streamingDecoder ? fetchStreamedPage(page) : fetchPage(page);
+                }
+            } catch (Exception exception) {
+                fail(exception);
+            } finally {
+                if (activeFetchers.decrementAndGet() == 0) {
+                    if (streamingDecoder) {
+                        signalEnd(transformedPages, persistWorkers, TransformedPage.END);
+                    } else {
+                        signalEnd(fetchedPages, transformWorkers, FetchedPage.END);
+                    }
+                }
+            }
+        }
+
+        /**
+         * Descarga una página completa y la entrega a la etapa de transformación.
+         *
+         * @param page número de página
+         * @return false si la página está vacía y no quedan más páginas
+         * @throws InterruptedException si el hilo se interrumpe esperando hueco en la cola
+         */
+        private boolean fetchPage(int page) throws InterruptedException {
+            long start = System.nanoTime();
+            PaginatedOrderClientDTO paginatedOrderClientDTO =
+                    ordersClientService.fetchPagedOrdersClient(String.valueOf(page), maxPerPage);
+
+            if (paginatedOrderClientDTO.getContent().isEmpty()) {
+                markEndOfCatalog(page);
+                return false;
+            }
+            if (!hasNextPage(paginatedOrderClientDTO.getLinks())) {
+                lastPage.accumulateAndGet(page, Math::min);
+            }
+
+            fetchStage.record(start, 1, paginatedOrderClientDTO.getContent().size());
+            put(fetchedPages, new FetchedPage(new PageProgress(page), paginatedOrderClientDTO));
+            return true;
+        }
+
+        /**
+         * Descarga una página en streaming: valida y mapea cada pedido según se lee y entrega bloques de tamaño fijo a
+         * la etapa de guardado.
+         *
+         * @param page número de página
+         * @return false si la página está vacía y no quedan más páginas
+         * @throws InterruptedException si el hilo se interrumpe esperando hueco en la cola
+         */
+        private boolean fetchStreamedPage(int page) throws InterruptedException {
+            long start = System.nanoTime();
+            PageProgress pageProgress = new PageProgress(page);
+            List<List<Orders>> chunk = new ArrayList<>(1);
+            chunk.add(new ArrayList<>(streamChunkSize));
+
+            StreamedPageClientDTO streamedPage = ordersClientService.streamPagedOrdersClient(String.valueOf(page), maxPerPage,
+                    contentClientDTO -> {
+                        // Un bloque lleno solo se entrega cuando llega el siguiente pedido: así el último bloque de la
+                        // página nunca está vacío y hereda el bloque pendiente del productor
+                        if (chunk.get(0).size() >= streamChunkSize) {
+                            pageProgress.pendingChunks.incrementAndGet();
+                            emitChunk(pageProgress, chunk.get(0));
+                            chunk.set(0, new ArrayList<>(streamChunkSize));
+                        }
+                        chunk.get(0).add(ordersMethods.convertToOrder(contentClientDTO));
+                    });
+
+            if (streamedPage.getContentSize() == 0) {
+                markEndOfCatalog(page);
+                return false;
+            }
+            if (!hasNextPage(streamedPage.getLinks())) {
+                lastPage.accumulateAndGet(page, Math::min);
+            }
+
+            fetchStage.record(start, 1, streamedPage.getContentSize());
+            emitChunk(pageProgress, chunk.get(0));
+            return true;
+        }
+
+        private void emitChunk(PageProgress pageProgress, List<Orders> orders) {
+            try {
+                put(transformedPages, new TransformedPage(pageProgress, orders));
+            } catch (InterruptedException exception) {
+                Thread.currentThread().interrupt();
+                throw new ProcessingException("Importación interrumpida", exception);
+            }
+        }
+
+        private void markEndOfCatalog(int page) {
+            log.debug("Página {} sin pedidos, fin del catálogo.", page);
+            lastPage.accumulateAndGet(page - 1, Math::min);
+        }
+
+        /**
+         * Etapa de transformación: valida y convierte cada página a entidades Orders, sin los pedidos de meses archivados.
+         */
+        private void transformLoop() {
+            try {
+                FetchedPage fetchedPage;
+                while ((fetchedPage = take(fetchedPages, transformStage)) != null && fetchedPage != FetchedPage.END) {
+                    long start = System.nanoTime();
+                    List<Orders> orders = ordersRepositoryService.withoutArchivedOrders(
+                            ordersMethods.convertToOrders(fetchedPage.content()));
+                    transformStage.record(start, 1, orders.size());
+                    put(transformedPages, new TransformedPage(fetchedPage.progress(), orders));
+                }
+            } catch (Exception exception) {
+                fail(exception);
+            } finally {
+                if (activeTransformers.decrementAndGet() == 0) {
+                    signalEnd(transformedPages, persistWorkers, TransformedPage.END);
+                }
+            }
+        }
+
+        /**
+         * Etapa de guardado: persiste los bloques recibidos, agrupados hasta {@code persistBatchRows} pedidos, y los suma
+         * al resumen parcial del hilo, que se combina con el de los demás hilos al terminar.
+         */
+        private void persistLoop() {
+            OrdersSummaryAggregator partialSummary = new OrdersSummaryAggregator();
+            List<TransformedPage> batch = new ArrayList<>();
+            int batchOrders = 0;
+            try {
+                TransformedPage transformedPage;
+                while ((transformedPage = take(transformedPages, persistStage)) != null && transformedPage != TransformedPage.END) {
+                    batch.add(transformedPage);
+                    batchOrders += transformedPage.orders().size();
+                    if (batchOrders >= persistBatchRows) {
+                        persist(batch, partialSummary);
+                        batchOrders = 0;
+                    }
+                }
+                if (!batch.isEmpty() && failure.get() == null) {
+                    persist(batch, partialSummary);
+                }
+            } catch (Exception exception) {
+                fail(exception);
+            } finally {
+                partialSummaries.add(partialSummary);
+            }
+        }
+
+        private void persist(List<TransformedPage> batch, OrdersSummaryAggregator partialSummary) {
+            long start = System.nanoTime();
+            List<Orders> orders = batch.size() == 1
+                    ? batch.get(0).orders()
+                    : batch.stream().flatMap(transformedPage -> transformedPage.orders().stream()).toList();
+            saveAllOrders(orders);
+            ordersMethods.updateSketches(orders);
+
+            int pagesCompleted = 0;
+            for (TransformedPage transformedPage : batch) {
+                partialSummary.addAllOrders(transformedPage.orders());
+                transformedPage.progress().orders.addAndGet(transformedPage.orders().size());
+                if (releaseChunk(transformedPage.progress())) {
+                    pagesCompleted++;
+                }
+            }
+            persistStage.record(start, pagesCompleted, orders.size());
+            batch.clear();
+        }
+
+        /**
+         * Guarda los pedidos en una transacción, y la repite si MySQL la ha deshecho por un interbloqueo.
+         */
+        private void saveAllOrders(List<Orders> orders) {
+            for (int attempt = 1; ; attempt++) {
+                try {
+                    ordersRepositoryService.saveAllOrders(orders);
+                    return;
+                } catch (ProcessingException exception) {
+                    if (attempt > deadlockRetries || !isDeadlock(exception)) {
+                        throw exception;
+                    }
+                    log.warn("Interbloqueo al guardar {} pedidos, reintento {} de {}", orders.size(), attempt,
+                            deadlockRetries);
+                }
+            }
+        }
+
+        /**
+         * Libera uno de los bloques pendientes de una página. Cuando no quedan bloques pendientes, la página está
+         * completamente guardada y se notifica al listener.
+         *
+         * @param pageProgress avance de la página
+         * @return true si la página ha quedado completamente guardada
+         */
+        private boolean releaseChunk(PageProgress pageProgress) {
+            if (pageProgress.pendingChunks.decrementAndGet() != 0) {
+                return false;
+            }
+            completedPages.incrementAndGet();
+            completedOrders.addAndGet(pageProgress.orders.get());
+            listener.onPageCommitted(pageProgress.page, pageProgress.orders.get());
+            return true;
+        }
+
+        private boolean hasNextPage(LinksClientDTO links) {
+            return links != null && StringUtils.hasText(links.getNext());
+        }
+
+        private <T> void put(BlockingQueue<T> queue, T item) throws InterruptedException {
+            while (!queue.offer(item, POLL_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS)) {
+                if (isStopped()) {
+                    return;
+                }
+            }
+        }
+
+        private <T> T take(BlockingQueue<T> queue, StageMetrics stage) throws InterruptedException {
+            while (true) {
+                int occupancy = queue.size();
+                T item = queue.poll(POLL_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+                if (item != null) {
+                    stage.sampleOccupancy(occupancy);
+                    return item;
+                }
+                if (isStopped()) {
+                    return null;
+                }
+            }
+        }
+
+        private <T> void signalEnd(BlockingQueue<T> queue, int consumers, T end) {
+            try {
+                for (int i = 0; i < consumers; i++) {
+                    put(queue, end);
+                }
+            } catch (InterruptedException exception) {
+                Thread.currentThread().interrupt();
+                fail(exception);
+            }
+        }
+
+        private void fail(Throwable throwable) {
+            if (throwable instanceof InterruptedException) {
+                Thread.currentThread().interrupt();
+            }
+            failure.compareAndSet(null, throwable);
+        }
+
+        private boolean isStopped() {
+            return failure.get() != null || listener.isCancelled();
+        }
+
+        private void submit(List<Future<?>> workers, int count, Runnable loop) {
+            for (int i = 0; i < count; i++) {
+                workers.add(importExecutor.submit(loop));
+            }
+        }
+
+        private void awaitAll(List<Future<?>> workers) {
+            for (Future<?> worker : workers) {
+                try {
+                    worker.get();
+                } catch (InterruptedException exception) {
+                    Thread.currentThread().interrupt();
+                    fail(exception);
+                } catch (ExecutionException exception) {
+                    fail(exception.getCause());
+                }
+            }
+        }
+
+        private ImportStatsDTO buildStats(long elapsedNanos) {
+            double seconds = Math.max(elapsedNanos, 1) / 1_000_000_000d;
+            long pages = completedPages.get();
+            long orders = completedOrders.get();
+
+            return ImportStatsDTO.builder()
+                    .pages((int) pages)
+                    .orders(orders)
+                    .elapsedMillis(elapsedNanos / 1_000_000)
+                    .pagesPerSecond(pages / seconds)
+                    .ordersPerSecond(orders / seconds)
+                    .stages(List.of(fetchStage.toStats(elapsedNanos),
+                            transformStage.toStats(elapsedNanos),
+                            persistStage.toStats(elapsedNanos)))
+                    .build();
+        }
+    }
+
+    /**
+     * Avance de una página dentro del pipeline. Una página puede llegar a la etapa de guardado dividida en varios
+     * bloques; se considera guardada cuando no le quedan bloques pendientes. El contador empieza en uno por el último
+     * bloque de la página, que el productor solo entrega cuando ha terminado de leerla, de modo que la página no se da
+     * por guardada antes de tiempo.
+     */
+    private static final class PageProgress {
+
+        private final int page;
+        private final AtomicInteger pendingChunks = new AtomicInteger(1);
+        private final AtomicInteger orders = new AtomicInteger();
+
+        private PageProgress(int page) {
+            this.page = page;
+        }
+    }
+
+    private record FetchedPage(PageProgress progress, PaginatedOrderClientDTO content) {
+        private static final FetchedPage END = new FetchedPage(null, null);
+    }
+
+    private record TransformedPage(PageProgress progress, List<Orders> orders) {
+        private static final TransformedPage END = new TransformedPage(null, List.of());
+    }
+}
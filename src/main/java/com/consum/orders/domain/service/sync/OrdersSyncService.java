@@ -0,0 +1,8 @@
+package com.consum.orders.domain.service.sync;
+
+import com.consum.orders.application.model.ImportSummaryResponse;
+
+public interface OrdersSyncService {
+
+    ImportSummaryResponse importAndSummarizeAllOrders(String maxPerPage);
+}
@@ -0,0 +1,29 @@
+package com.consum.orders.domain.service.sync;
+
+import com.consum.orders.application.model.ImportSummaryResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.stereotype.Service;
+
+/**
+ * Servicio para la importación completa del catálogo de pedidos de la API de Katas, recorriendo todas las páginas.
+ */
+@Slf4j
+@Service
+public class OrdersSyncServiceImpl implements OrdersSyncService {
+
+    private static final int FIRST_PAGE = 1;
+
+    private final OrdersImportPipeline ordersImportPipeline;
+
+    public OrdersSyncServiceImpl(OrdersImportPipeline ordersImportPipeline) {
+        this.ordersImportPipeline = ordersImportPipeline;
+    }
+
+    @Override
+    @CacheEvict(value = "orders", allEntries = true)
+    public ImportSummaryResponse importAndSummarizeAllOrders(String maxPerPage) {
+        log.info("Iniciando importación completa de pedidos, máximo por página {}", maxPerPage);
+        return ordersImportPipeline.run(FIRST_PAGE, maxPerPage);
+    }
+}
@@ -0,0 +1,71 @@
+package com.consum.orders.domain.service.sync;
+
+import com.consum.orders.domain.dto.StageStatsDTO;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Métricas de una etapa del pipeline de importación: ocupación de su cola de entrada, tiempo de trabajo y volumen procesado.
+ */
+class StageMetrics {
+
+    private final String name;
+    private final int workers;
+    private final int queueCapacity;
+
+    private final AtomicLong pages = new AtomicLong();
+    private final AtomicLong orders = new AtomicLong();
+    private final AtomicLong busyNanos = new AtomicLong();
+    private final AtomicLong occupancySum = new AtomicLong();
+    private final AtomicLong occupancySamples = new AtomicLong();
+    private final AtomicInteger maxOccupancy = new AtomicInteger();
+
+    StageMetrics(String name, int workers, int queueCapacity) {
+        this.name = name;
+        this.workers = workers;
+        this.queueCapacity = queueCapacity;
+    }
+
+    /**
+     * Registra un bloque de pedidos procesado por la etapa.
+     *
+     * @param startNanos      instante de inicio del procesamiento del bloque
+     * @param completedPages  páginas que el bloque completa
+     * @param processedOrders pedidos del bloque
+     */
+    void record(long startNanos, int completedPages, int processedOrders) {
+        busyNanos.addAndGet(System.nanoTime() - startNanos);
+        pages.addAndGet(completedPages);
+        orders.addAndGet(processedOrders);
+    }
+
+    /**
+     * Registra la ocupación de la cola de entrada en el momento de retirar un elemento.
+     *
+     * @param occupancy elementos en la cola
+     */
+    void sampleOccupancy(int occupancy) {
+        occupancySum.addAndGet(occupancy);
+        occupancySamples.incrementAndGet();
+        maxOccupancy.accumulateAndGet(occupancy, Math::max);
+    }
+
+    StageStatsDTO toStats(long elapsedNanos) {
+        double seconds = Math.max(elapsedNanos, 1) / 1_000_000_000d;
+        long samples = occupancySamples.get();
+
+        return StageStatsDTO.builder()
+                .stage(name)
+                .workers(workers)
+                .queueCapacity(queueCapacity)
+                .maxQueueOccupancy(maxOccupancy.get())
+                .avgQueueOccupancy(samples == 0 ? 0d : (double) occupancySum.get() / samples)
+                .busyRatio(workers == 0 ? 0d : busyNanos.get() / ((double) Math.max(elapsedNanos, 1) * workers))
+                .pages(pages.get())
+                .orders(orders.get())
+                .pagesPerSecond(pages.get() / seconds)
+                .ordersPerSecond(orders.get() / seconds)
+                .build();
+    }
+}
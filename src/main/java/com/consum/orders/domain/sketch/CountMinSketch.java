@@ -0,0 +1,167 @@
+package com.consum.orders.domain.sketch;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Sketch count-min: estima cuántas veces ha aparecido cada valor en memoria constante, sin guardar los valores. Cada
+ * valor suma en una celda de cada una de las {@code depth} filas de {@code width} contadores, y su estimación es el
+ * mínimo de esas celdas.
+ * <p>
+ * La estimación nunca es menor que la cuenta real y, con probabilidad {@code 1 - delta}, la supera como mucho en
+ * {@code epsilon · N}, siendo N el total sumado ({@link #errorBound()}). Para ello {@code width = ⌈e / epsilon⌉} y
+ * {@code depth = ⌈ln(1 / delta)⌉}.
+ * <p>
+ * Dos sketches con las mismas dimensiones se combinan sumando sus contadores ({@link #merge(CountMinSketch)}), lo que
+ * permite guardarlos en Redis con incrementos atómicos por celda. Las celdas de cada valor dependen solo del texto y
+ * de las dimensiones, así que son las mismas en todos los nodos. No es seguro para varios hilos.
+ */
+public final class CountMinSketch {
+
+    private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private final double epsilon;
+    private final double delta;
+    private final int width;
+    private final int depth;
+    private final long[] counters;
+    private long total;
+
+    /**
+     * @param epsilon error máximo relativo al total, entre 0 y 1
+     * @param delta   probabilidad de superar el error máximo, entre 0 y 1
+     */
+    public CountMinSketch(double epsilon, double delta) {
+        if (!(epsilon > 0 && epsilon < 1) || !(delta > 0 && delta < 1)) {
+            throw new IllegalArgumentException("Parámetros del sketch count-min no válidos: epsilon=" + epsilon
+                    + ", delta=" + delta);
+        }
+        this.epsilon = epsilon;
+        this.delta = delta;
+        this.width = (int) Math.ceil(Math.E / epsilon);
+        this.depth = (int) Math.ceil(Math.log(1 / delta));
+        this.counters = new long[width * depth];
+    }
+
+    /**
+     * Suma apariciones de un valor.
+     *
+     * @param value valor, no nulo
+     * @param count apariciones a sumar, no negativas
+     */
+    public void add(String value, long count) {
+        for (int cell : cells(value)) {
+            counters[cell] += count;
+        }
+        total += count;
+    }
+
+    /**
+     * @param value valor, no nulo
+     * @return apariciones estimadas del valor, nunca menos que las reales
+     */
+    public long estimate(String value) {
+        long estimate = Long.MAX_VALUE;
+        for (int cell : cells(value)) {
+            estimate = Math.min(estimate, counters[cell]);
+        }
+        return estimate;
+    }
+
+    /**
+     * Devuelve las celdas del valor, una por fila, como índices entre 0 y {@code width · depth - 1}. Se calculan con un
+     * hash FNV-1a de 64 bits del texto partido en dos mitades ({@code h1 + fila · h2}), de modo que las filas se
+     * comportan como funciones hash independientes con un solo recorrido del texto.
+     *
+     * @param value valor, no nulo
+     * @return celda del valor en cada fila
+     */
+    public int[] cells(String value) {
+        long hash = FNV_OFFSET;
+        for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b & 0xff;
+            hash *= FNV_PRIME;
+        }
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32) | 1;
+
+        int[] cells = new int[depth];
+        for (int row = 0; row < depth; row++) {
+            cells[row] = row * width + Math.floorMod(h1 + row * h2, width);
+        }
+        return cells;
+    }
+
+    /**
+     * Suma a este sketch los contadores de otro con las mismas dimensiones.
+     *
+     * @param other sketch parcial
+     */
+    public void merge(CountMinSketch other) {
+        if (other.width != width || other.depth != depth) {
+            throw new IllegalArgumentException("Dimensiones distintas: " + other.width + "x" + other.depth
+                    + " y " + width + "x" + depth);
+        }
+        for (int cell = 0; cell < counters.length; cell++) {
+            counters[cell] += other.counters[cell];
+        }
+        total += other.total;
+    }
+
+    /**
+     * Suma a una celda, por ejemplo al cargar el sketch guardado en Redis.
+     *
+     * @param cell  celda devuelta por {@link #cells(String)}
+     * @param count cantidad a sumar
+     */
+    public void addCell(int cell, long count) {
+        counters[cell] += count;
+    }
+
+    /**
+     * @param cell celda
+     * @return contador de la celda
+     */
+    public long getCell(int cell) {
+        return counters[cell];
+    }
+
+    /**
+     * Suma al total sin pasar por las celdas, por ejemplo al cargar el sketch guardado en Redis.
+     *
+     * @param count cantidad a sumar
+     */
+    public void addTotal(long count) {
+        total += count;
+    }
+
+    /**
+     * @return total de apariciones sumadas
+     */
+    public long getTotal() {
+        return total;
+    }
+
+    /**
+     * @return error máximo de cualquier estimación, {@code ⌈epsilon · N⌉}, con probabilidad {@code 1 - delta}
+     */
+    public long errorBound() {
+        return (long) Math.ceil(epsilon * total);
+    }
+
+    public double getEpsilon() {
+        return epsilon;
+    }
+
+    public double getDelta() {
+        return delta;
+    }
+
+    public int getWidth() {
+        return width;
+    }
+
+    public int getDepth() {
+        return depth;
+    }
+}
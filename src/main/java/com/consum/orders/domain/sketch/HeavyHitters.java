@@ -0,0 +1,108 @@
+package com.consum.orders.domain.sketch;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+/**
+ * Valores más frecuentes (top-K) de un flujo, en memoria constante: un {@link CountMinSketch} estima la frecuencia de
+ * cada valor y un montículo de mínimos conserva los {@code capacity} candidatos con mayor estimación. Cuando llega un
+ * valor que no está en el montículo y su estimación supera la del menor candidato, lo sustituye.
+ * <p>
+ * Dos instancias se combinan sumando sus sketches y volviendo a estimar la unión de sus candidatos con el sketch
+ * combinado ({@link #merge(HeavyHitters)}). No es seguro para varios hilos.
+ */
+public final class HeavyHitters {
+
+    private static final Comparator<Candidate> BY_ESTIMATE =
+            Comparator.comparingLong(Candidate::estimate).thenComparing(Candidate::value, Comparator.reverseOrder());
+
+    private final CountMinSketch sketch;
+    private final int capacity;
+    private final PriorityQueue<Candidate> heap;
+    private final Map<String, Candidate> candidates;
+
+    /**
+     * @param sketch   sketch de frecuencias, vacío o ya cargado
+     * @param capacity número de candidatos que se conservan
+     */
+    public HeavyHitters(CountMinSketch sketch, int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Capacidad de candidatos no válida: " + capacity);
+        }
+        this.sketch = sketch;
+        this.capacity = capacity;
+        this.heap = new PriorityQueue<>(capacity, BY_ESTIMATE);
+        this.candidates = new HashMap<>();
+    }
+
+    /**
+     * Suma apariciones de un valor y lo propone como candidato.
+     *
+     * @param value valor, no nulo
+     * @param count apariciones a sumar
+     */
+    public void add(String value, long count) {
+        sketch.add(value, count);
+        offer(value);
+    }
+
+    /**
+     * Propone un valor como candidato con su estimación actual, sin sumar apariciones; por ejemplo, los candidatos
+     * guardados junto a un sketch cargado de Redis.
+     *
+     * @param value valor, no nulo
+     */
+    public void offer(String value) {
+        Candidate candidate = new Candidate(value, sketch.estimate(value));
+        Candidate current = candidates.get(value);
+        if (current != null) {
+            heap.remove(current);
+        } else if (heap.size() >= capacity) {
+            if (BY_ESTIMATE.compare(candidate, heap.peek()) <= 0) {
+                return;
+            }
+            candidates.remove(heap.poll().value());
+        }
+        heap.add(candidate);
+        candidates.put(value, candidate);
+    }
+
+    /**
+     * Combina con otra instancia: suma los sketches y vuelve a estimar los candidatos de ambas.
+     *
+     * @param other instancia parcial con un sketch de las mismas dimensiones
+     */
+    public void merge(HeavyHitters other) {
+        sketch.merge(other.sketch);
+        List<String> values = new ArrayList<>(candidates.keySet());
+        values.addAll(other.candidates.keySet());
+        heap.clear();
+        candidates.clear();
+        values.forEach(this::offer);
+    }
+
+    /**
+     * @param k número de valores
+     * @return los k candidatos con mayor estimación, de mayor a menor
+     */
+    public List<Candidate> top(int k) {
+        return heap.stream().sorted(BY_ESTIMATE.reversed()).limit(k).toList();
+    }
+
+    public CountMinSketch getSketch() {
+        return sketch;
+    }
+
+    /**
+     * Valor candidato con su frecuencia estimada.
+     *
+     * @param value    valor
+     * @param estimate apariciones estimadas
+     */
+    public record Candidate(String value, long estimate) {
+    }
+}
@@ -0,0 +1,41 @@
+package com.consum.orders.domain.summary;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Conversión entre importes {@link BigDecimal} y céntimos en {@code long}, la representación con la que se acumulan
+ * los importes de los resúmenes. Los importes de orders son {@code DECIMAL(8,2)}, así que con dos decimales la suma en
+ * céntimos es exacta y no reserva un {@code BigDecimal} por cada suma.
+ */
+public final class Cents {
+
+    /**
+     * Decimales de los importes en la tabla orders.
+     */
+    public static final int SCALE = 2;
+
+    private Cents() {
+    }
+
+    /**
+     * Convierte un importe a céntimos, redondeando como MySQL al guardarlo en una columna {@code DECIMAL(8,2)}.
+     *
+     * @param amount importe, o nulo
+     * @return céntimos, o 0 si el importe es nulo
+     */
+    public static long of(BigDecimal amount) {
+        if (amount == null) {
+            return 0;
+        }
+        return amount.setScale(SCALE, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+    }
+
+    /**
+     * @param cents céntimos
+     * @return importe con dos decimales
+     */
+    public static BigDecimal toBigDecimal(long cents) {
+        return BigDecimal.valueOf(cents, SCALE);
+    }
+}
@@ -0,0 +1,58 @@
+package com.consum.orders.domain.summary;
+
+import com.consum.orders.domain.dto.OrdersDTO;
+import com.consum.orders.infrastructure.database.entity.Orders;
+import com.consum.orders.infrastructure.database.projection.OrdersSummaryCount;
+
+import java.util.Arrays;
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * Dimensiones por las que se puede agrupar el cubo de pedidos o consultar los valores más frecuentes.
+ */
+public enum CubeDimension {
+
+    REGION(OrdersSummaryCount.REGION, OrdersDTO::getRegion, Orders::getRegion),
+    COUNTRY(OrdersSummaryCount.COUNTRY, OrdersDTO::getCountry, Orders::getCountry),
+    ITEM_TYPE(OrdersSummaryCount.ITEM_TYPE, OrdersDTO::getItemType, Orders::getItemType),
+    SALES_CHANNEL(OrdersSummaryCount.SALES_CHANNEL, OrdersDTO::getSalesChannel, Orders::getSalesChannel),
+    ORDER_PRIORITY(OrdersSummaryCount.ORDER_PRIORITY, OrdersDTO::getOrderPriority, Orders::getOrderPriority);
+
+    private final String key;
+    private final Function<OrdersDTO, String> value;
+    private final Function<Orders, String> entityValue;
+
+    CubeDimension(String key, Function<OrdersDTO, String> value, Function<Orders, String> entityValue) {
+        this.key = key;
+        this.value = value;
+        this.entityValue = entityValue;
+    }
+
+    /**
+     * @return nombre de la dimensión en las peticiones y respuestas (region, country, item_type...)
+     */
+    public String getKey() {
+        return key;
+    }
+
+    String valueOf(OrdersDTO ordersDTO) {
+        return value.apply(ordersDTO);
+    }
+
+    /**
+     * @param order entidad del pedido
+     * @return valor de la dimensión en el pedido, o nulo
+     */
+    public String valueOf(Orders order) {
+        return entityValue.apply(order);
+    }
+
+    /**
+     * @param key nombre de la dimensión, sin distinguir mayúsculas
+     * @return dimensión, o vacío si el nombre no es válido
+     */
+    public static Optional<CubeDimension> fromKey(String key) {
+        return Arrays.stream(values()).filter(dimension -> dimension.key.equalsIgnoreCase(key.trim())).findFirst();
+    }
+}
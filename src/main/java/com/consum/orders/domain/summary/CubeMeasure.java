@@ -0,0 +1,57 @@
+package com.consum.orders.domain.summary;
+
+import com.consum.orders.domain.dto.OrdersDTO;
+
+import java.util.Arrays;
+import java.util.Optional;
+import java.util.function.ToLongFunction;
+
+/**
+ * Medidas que se pueden acumular en las celdas del cubo de pedidos. Todas se suman como {@code long}; los importes en
+ * céntimos ({@link Cents}), que solo se pasan a {@code BigDecimal} al generar la respuesta.
+ */
+public enum CubeMeasure {
+
+    ORDERS("orders", false, ordersDTO -> 1),
+    UNITS_SOLD("units_sold", false, ordersDTO -> ordersDTO.getUnitsSold() != null ? ordersDTO.getUnitsSold() : 0),
+    TOTAL_REVENUE("total_revenue", true, ordersDTO -> Cents.of(ordersDTO.getTotalRevenue())),
+    TOTAL_COST("total_cost", true, ordersDTO -> Cents.of(ordersDTO.getTotalCost())),
+    TOTAL_PROFIT("total_profit", true, ordersDTO -> Cents.of(ordersDTO.getTotalProfit()));
+
+    private final String key;
+    private final boolean amount;
+    private final ToLongFunction<OrdersDTO> value;
+
+    CubeMeasure(String key, boolean amount, ToLongFunction<OrdersDTO> value) {
+        this.key = key;
+        this.amount = amount;
+        this.value = value;
+    }
+
+    /**
+     * @return nombre de la medida en las peticiones y respuestas (orders, units_sold, total_revenue...)
+     */
+    public String getKey() {
+        return key;
+    }
+
+    long valueOf(OrdersDTO ordersDTO) {
+        return value.applyAsLong(ordersDTO);
+    }
+
+    /**
+     * @param total valor acumulado
+     * @return el total como {@code Long}, o como importe con dos decimales si la medida es un importe
+     */
+    Number toNumber(long total) {
+        return amount ? Cents.toBigDecimal(total) : Long.valueOf(total);
+    }
+
+    /**
+     * @param key nombre de la medida, sin distinguir mayúsculas
+     * @return medida, o vacío si el nombre no es válido
+     */
+    public static Optional<CubeMeasure> fromKey(String key) {
+        return Arrays.stream(values()).filter(measure -> measure.key.equalsIgnoreCase(key.trim())).findFirst();
+    }
+}
@@ -0,0 +1,130 @@
+package com.consum.orders.domain.summary;
+
+/**
+ * Tabla de direccionamiento abierto con claves {@code long} y varias columnas {@code long} por clave, con sondeo
+ * lineal. Es la versión de {@link StringCounter} para claves compuestas ya codificadas en un {@code long}: ni la
+ * búsqueda ni la suma crean objetos.
+ * <p>
+ * Las claves deben ser no negativas; internamente se guardan desplazadas en uno para que 0 marque un hueco libre. No es
+ * seguro para varios hilos.
+ */
+final class LongKeyCounter {
+
+    private static final int MIN_CAPACITY = 16;
+
+    private final int columns;
+    private long[] keys;
+    private long[] counts;
+    private int mask;
+    private int size;
+
+    /**
+     * @param expectedSize número de claves distintas esperado
+     * @param columns      número de columnas acumuladas por clave
+     */
+    LongKeyCounter(int expectedSize, int columns) {
+        this.columns = columns;
+        allocate(Math.max(MIN_CAPACITY, Integer.highestOneBit(Math.max(1, expectedSize) * 2 - 1) << 1));
+    }
+
+    /**
+     * Devuelve la fila de la clave, añadiéndola si no estaba. La fila es válida hasta que se añade otra clave.
+     *
+     * @param key clave, no negativa
+     * @return fila de la clave
+     */
+    int row(long key) {
+        long stored = key + 1;
+        int index = indexOf(stored);
+        if (keys[index] == 0) {
+            keys[index] = stored;
+            if (++size > keys.length >> 1) {
+                resize();
+                index = indexOf(stored);
+            }
+        }
+        return index * columns;
+    }
+
+    void add(int row, int column, long delta) {
+        counts[row + column] += delta;
+    }
+
+    long get(int row, int column) {
+        return counts[row + column];
+    }
+
+    int size() {
+        return size;
+    }
+
+    /**
+     * Suma todas las columnas de otra tabla a esta.
+     *
+     * @param other tabla parcial con el mismo número de columnas
+     */
+    void addAll(LongKeyCounter other) {
+        other.forEachRow((key, otherRow) -> {
+            int row = row(key);
+            for (int column = 0; column < columns; column++) {
+                counts[row + column] += other.counts[otherRow + column];
+            }
+        });
+    }
+
+    /**
+     * Recorre las claves y sus filas, sin orden definido.
+     *
+     * @param action acción para cada clave
+     */
+    void forEachRow(RowConsumer action) {
+        for (int index = 0; index < keys.length; index++) {
+            if (keys[index] != 0) {
+                action.accept(keys[index] - 1, index * columns);
+            }
+        }
+    }
+
+    private int indexOf(long stored) {
+        int index = spread(stored) & mask;
+        long current;
+        while ((current = keys[index]) != 0 && current != stored) {
+            index = (index + 1) & mask;
+        }
+        return index;
+    }
+
+    private void resize() {
+        long[] oldKeys = keys;
+        long[] oldCounts = counts;
+        allocate(oldKeys.length << 1);
+        for (int index = 0; index < oldKeys.length; index++) {
+            if (oldKeys[index] != 0) {
+                int target = indexOf(oldKeys[index]);
+                keys[target] = oldKeys[index];
+                System.arraycopy(oldCounts, index * columns, counts, target * columns, columns);
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        counts = new long[capacity * columns];
+        mask = capacity - 1;
+    }
+
+    /**
+     * Mezcla los 64 bits de la clave en los bajos, que son los que elige la máscara.
+     */
+    private static int spread(long key) {
+        key ^= key >>> 33;
+        key *= 0xff51afd7ed558ccdL;
+        key ^= key >>> 33;
+        return (int) key;
+    }
+
+    @FunctionalInterface
+    interface RowConsumer {
+        void accept(long key, int row);
+    }
+}
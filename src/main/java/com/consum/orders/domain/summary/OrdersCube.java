@@ -0,0 +1,183 @@
+package com.consum.orders.domain.summary;
+
+import com.consum.orders.domain.dto.CubeCellDTO;
+import com.consum.orders.domain.dto.CubeDTO;
+import com.consum.orders.domain.dto.OrdersDTO;
+import com.consum.orders.domain.exception.ProcessingException;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Cubo de pedidos: agrupa los pedidos por una combinación de dimensiones (por ejemplo, región × tipo de ítem) y acumula
+ * en cada celda las medidas pedidas, en una sola pasada.
+ * <p>
+ * Cada valor de una dimensión recibe un código local de {@value #CODE_BITS} bits (el 0 es el valor nulo) y los códigos
+ * de las dimensiones se empaquetan en una clave {@code long}, de modo que cada pedido cuesta una búsqueda por
+ * dimensión en un {@link StringCounter} y una en la tabla de celdas ({@link LongKeyCounter}), sin mapas anidados ni
+ * claves de texto compuestas. Los textos solo se recuperan al generar la respuesta.
+ * <p>
+ * No es seguro para varios hilos.
+ */
+public final class OrdersCube {
+
+    /**
+     * Bits del código de cada dimensión. Con las cinco dimensiones la clave ocupa 60 bits.
+     */
+    static final int CODE_BITS = 12;
+    static final int MAX_VALUES = (1 << CODE_BITS) - 1;
+    private static final long CODE_MASK = (1L << CODE_BITS) - 1;
+    /**
+     * Valores esperados por dimensión (los países, la dimensión con más valores) y celdas esperadas del cubo. Si hay
+     * más, las tablas crecen.
+     */
+    private static final int EXPECTED_VALUES = OrdersSummaryAggregator.COUNTRIES;
+    private static final int EXPECTED_CELLS = 1024;
+
+    private final List<CubeDimension> dimensions;
+    private final List<CubeMeasure> measures;
+    private final StringCounter[] codes;
+    private final List<List<String>> names;
+    private final LongKeyCounter cells;
+    private long orders;
+
+    /**
+     * @param dimensions dimensiones de agrupación, sin repetir y al menos una
+     * @param measures   medidas de cada celda, sin repetir y al menos una
+     */
+    public OrdersCube(List<CubeDimension> dimensions, List<CubeMeasure> measures) {
+        if (dimensions.isEmpty() || dimensions.stream().distinct().count() != dimensions.size()) {
+            throw new IllegalArgumentException("Dimensiones del cubo no válidas: " + dimensions);
+        }
+        if (measures.isEmpty() || measures.stream().distinct().count() != measures.size()) {
+            throw new IllegalArgumentException("Medidas del cubo no válidas: " + measures);
+        }
+        this.dimensions = List.copyOf(dimensions);
+        this.measures = List.copyOf(measures);
+        this.codes = new StringCounter[dimensions.size()];
+        this.names = new ArrayList<>(dimensions.size());
+        for (int dimension = 0; dimension < codes.length; dimension++) {
+            codes[dimension] = new StringCounter(EXPECTED_VALUES);
+            List<String> dimensionNames = new ArrayList<>();
+            dimensionNames.add(null);
+            names.add(dimensionNames);
+        }
+        this.cells = new LongKeyCounter(EXPECTED_CELLS, measures.size());
+    }
+
+    /**
+     * Suma un pedido a su celda.
+     *
+     * @param ordersDTO pedido
+     * @return este cubo
+     */
+    public OrdersCube add(OrdersDTO ordersDTO) {
+        long key = 0;
+        for (int dimension = 0; dimension < codes.length; dimension++) {
+            key = key << CODE_BITS | code(dimension, dimensions.get(dimension).valueOf(ordersDTO));
+        }
+        int row = cells.row(key);
+        for (int measure = 0; measure < measures.size(); measure++) {
+            cells.add(row, measure, measures.get(measure).valueOf(ordersDTO));
+        }
+        orders++;
+        return this;
+    }
+
+    /**
+     * Suma una lista de pedidos.
+     *
+     * @param ordersDTOList pedidos
+     * @return este cubo
+     */
+    public OrdersCube addAll(List<OrdersDTO> ordersDTOList) {
+        for (OrdersDTO ordersDTO : ordersDTOList) {
+            add(ordersDTO);
+        }
+        return this;
+    }
+
+    /**
+     * @return número de pedidos sumados
+     */
+    public long getOrders() {
+        return orders;
+    }
+
+    /**
+     * @return celdas del cubo con sus valores y medidas, ordenadas por los valores de las dimensiones
+     */
+    public CubeDTO toCubeDTO() {
+        List<Cell> cellList = new ArrayList<>(cells.size());
+        cells.forEachRow((key, row) -> {
+            String[] values = decode(key);
+            Map<String, String> cellDimensions = new LinkedHashMap<>();
+            for (int dimension = 0; dimension < values.length; dimension++) {
+                cellDimensions.put(dimensions.get(dimension).getKey(), values[dimension]);
+            }
+            Map<String, Number> cellMeasures = new LinkedHashMap<>();
+            for (int measure = 0; measure < measures.size(); measure++) {
+                cellMeasures.put(measures.get(measure).getKey(), measures.get(measure).toNumber(cells.get(row, measure)));
+            }
+            cellList.add(new Cell(values, CubeCellDTO.builder().dimensions(cellDimensions).measures(cellMeasures).build()));
+        });
+        cellList.sort(Comparator.comparing(Cell::values, OrdersCube::compareValues));
+
+        return CubeDTO.builder()
+                .dimensions(dimensions.stream().map(CubeDimension::getKey).toList())
+                .measures(measures.stream().map(CubeMeasure::getKey).toList())
+                .orders(orders)
+                .cells(cellList.stream().map(Cell::cell).toList())
+                .build();
+    }
+
+    /**
+     * Devuelve el código del valor en la dimensión, asignándole el siguiente si es nuevo. El código se guarda en la
+     * columna 0 del contador de la dimensión; un 0 indica que todavía no tiene código.
+     */
+    private long code(int dimension, String value) {
+        if (value == null) {
+            return 0;
+        }
+        StringCounter counter = codes[dimension];
+        int row = counter.row(value);
+        long code = counter.get(row, 0);
+        if (code == 0) {
+            List<String> dimensionNames = names.get(dimension);
+            if (dimensionNames.size() > MAX_VALUES) {
+                throw new ProcessingException("La dimensión " + dimensions.get(dimension).getKey()
+                        + " tiene más de " + MAX_VALUES + " valores distintos");
+            }
+            code = dimensionNames.size();
+            dimensionNames.add(value);
+            counter.add(row, 0, code);
+        }
+        return code;
+    }
+
+    private String[] decode(long key) {
+        String[] values = new String[codes.length];
+        for (int dimension = codes.length - 1; dimension >= 0; dimension--) {
+            values[dimension] = names.get(dimension).get((int) (key & CODE_MASK));
+            key >>>= CODE_BITS;
+        }
+        return values;
+    }
+
+    private static int compareValues(String[] first, String[] second) {
+        Comparator<String> comparator = Comparator.nullsFirst(Comparator.naturalOrder());
+        for (int index = 0; index < first.length; index++) {
+            int result = comparator.compare(first[index], second[index]);
+            if (result != 0) {
+                return result;
+            }
+        }
+        return 0;
+    }
+
+    private record Cell(String[] values, CubeCellDTO cell) {
+    }
+}
@@ -0,0 +1,203 @@
+package com.consum.orders.domain.summary;
+
+import com.consum.orders.domain.dto.FinancialSummaryDTO;
+import com.consum.orders.domain.dto.OrdersDTO;
+import com.consum.orders.domain.dto.SummaryDTO;
+import com.consum.orders.infrastructure.database.entity.Orders;
+
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Resumen de pedidos por región, país, tipo de ítem, canal de ventas y prioridad calculado en una sola pasada: cada
+ * pedido suma a las cinco dimensiones a la vez, en contadores de {@code long} primitivos dimensionados para el número
+ * de valores conocido de cada una. Además del número de pedidos, cada valor acumula unidades vendidas, ingresos, costo
+ * y beneficio; los importes se suman en céntimos ({@link Cents}) y solo se pasan a {@link BigDecimal} al final.
+ * <p>
+ * Los resúmenes parciales se combinan con {@link #merge(OrdersSummaryAggregator)}, así que cada página o cada hilo
+ * puede resumir sus pedidos por separado. No es seguro para varios hilos: cada hilo usa el suyo.
+ */
+public final class OrdersSummaryAggregator {
+
+    /**
+     * Valores distintos esperados de cada dimensión en los datos de la API de Katas. Si aparecen más, los contadores
+     * crecen.
+     */
+    static final int REGIONS = 8;
+    static final int COUNTRIES = 192;
+    static final int ITEM_TYPES = 12;
+    static final int SALES_CHANNELS = 2;
+    static final int ORDER_PRIORITIES = 4;
+
+    /**
+     * Columnas de cada valor en los contadores.
+     */
+    private static final int COUNT = 0;
+    private static final int UNITS = 1;
+    private static final int REVENUE = 2;
+    private static final int COST = 3;
+    private static final int PROFIT = 4;
+    private static final int COLUMNS = 5;
+
+    private final StringCounter regions = new StringCounter(REGIONS, COLUMNS);
+    private final StringCounter countries = new StringCounter(COUNTRIES, COLUMNS);
+    private final StringCounter itemTypes = new StringCounter(ITEM_TYPES, COLUMNS);
+    private final StringCounter salesChannels = new StringCounter(SALES_CHANNELS, COLUMNS);
+    private final StringCounter orderPriorities = new StringCounter(ORDER_PRIORITIES, COLUMNS);
+    private long orders;
+
+    public OrdersSummaryAggregator add(OrdersDTO ordersDTO) {
+        return add(ordersDTO.getRegion(), ordersDTO.getCountry(), ordersDTO.getItemType(),
+                ordersDTO.getSalesChannel(), ordersDTO.getOrderPriority(), ordersDTO.getUnitsSold(),
+                ordersDTO.getTotalRevenue(), ordersDTO.getTotalCost(), ordersDTO.getTotalProfit());
+    }
+
+    public OrdersSummaryAggregator add(Orders order) {
+        return add(order.getRegion(), order.getCountry(), order.getItemType(), order.getSalesChannel(),
+                order.getOrderPriority(), order.getUnitsSold(), order.getTotalRevenue(), order.getTotalCost(),
+                order.getTotalProfit());
+    }
+
+    /**
+     * Suma una lista de pedidos proyectados en DTO.
+     *
+     * @param ordersDTOList pedidos
+     * @return este resumen
+     */
+    public OrdersSummaryAggregator addAll(List<OrdersDTO> ordersDTOList) {
+        for (OrdersDTO ordersDTO : ordersDTOList) {
+            add(ordersDTO);
+        }
+        return this;
+    }
+
+    /**
+     * Suma una lista de entidades de pedidos, sin pasarlas a DTO.
+     *
+     * @param ordersList pedidos
+     * @return este resumen
+     */
+    public OrdersSummaryAggregator addAllOrders(List<Orders> ordersList) {
+        for (Orders order : ordersList) {
+            add(order);
+        }
+        return this;
+    }
+
+    /**
+     * Suma a este resumen los conteos de otro resumen parcial.
+     *
+     * @param other resumen parcial
+     * @return este resumen
+     */
+    public OrdersSummaryAggregator merge(OrdersSummaryAggregator other) {
+        regions.addAll(other.regions);
+        countries.addAll(other.countries);
+        itemTypes.addAll(other.itemTypes);
+        salesChannels.addAll(other.salesChannels);
+        orderPriorities.addAll(other.orderPriorities);
+        orders += other.orders;
+        return this;
+    }
+
+    /**
+     * Suma a este resumen los conteos e importes de un resumen ya generado. Los campos nulos se ignoran.
+     *
+     * @param summary resumen parcial
+     * @return este resumen
+     */
+    public OrdersSummaryAggregator merge(SummaryDTO summary) {
+        mergeDimension(regions, summary.getRegionSummary(), summary.getRegionFinancials());
+        mergeDimension(countries, summary.getCountrySummary(), summary.getCountryFinancials());
+        mergeDimension(itemTypes, summary.getItemTypeSummary(), summary.getItemTypeFinancials());
+        mergeDimension(salesChannels, summary.getSalesChannelSummary(), summary.getSalesChannelFinancials());
+        mergeDimension(orderPriorities, summary.getOrderPrioritySummary(), summary.getOrderPriorityFinancials());
+        return this;
+    }
+
+    /**
+     * @return número de pedidos sumados con {@code add}, incluidos los de los resúmenes parciales combinados
+     */
+    public long getOrders() {
+        return orders;
+    }
+
+    /**
+     * @return resumen con el conteo, las unidades y los importes de cada valor de cada dimensión
+     */
+    public SummaryDTO toSummaryDTO() {
+        return SummaryDTO.builder()
+                .regionSummary(regions.toMap())
+                .countrySummary(countries.toMap())
+                .itemTypeSummary(itemTypes.toMap())
+                .salesChannelSummary(salesChannels.toMap())
+                .orderPrioritySummary(orderPriorities.toMap())
+                .regionFinancials(toFinancials(regions))
+                .countryFinancials(toFinancials(countries))
+                .itemTypeFinancials(toFinancials(itemTypes))
+                .salesChannelFinancials(toFinancials(salesChannels))
+                .orderPriorityFinancials(toFinancials(orderPriorities))
+                .build();
+    }
+
+    /**
+     * Suma un pedido. Las dimensiones sin valor no se cuentan y los importes nulos suman cero.
+     */
+    private OrdersSummaryAggregator add(String region, String country, String itemType, String salesChannel,
+                                        String orderPriority, Integer unitsSold, BigDecimal totalRevenue,
+                                        BigDecimal totalCost, BigDecimal totalProfit) {
+        long units = unitsSold != null ? unitsSold : 0;
+        long revenue = Cents.of(totalRevenue);
+        long cost = Cents.of(totalCost);
+        long profit = Cents.of(totalProfit);
+
+        add(regions, region, units, revenue, cost, profit);
+        add(countries, country, units, revenue, cost, profit);
+        add(itemTypes, itemType, units, revenue, cost, profit);
+        add(salesChannels, salesChannel, units, revenue, cost, profit);
+        add(orderPriorities, orderPriority, units, revenue, cost, profit);
+        orders++;
+        return this;
+    }
+
+    private static void add(StringCounter counter, String value, long units, long revenue, long cost, long profit) {
+        if (value == null) {
+            return;
+        }
+        int row = counter.row(value);
+        counter.add(row, COUNT, 1);
+        counter.add(row, UNITS, units);
+        counter.add(row, REVENUE, revenue);
+        counter.add(row, COST, cost);
+        counter.add(row, PROFIT, profit);
+    }
+
+    private static void mergeDimension(StringCounter counter, Map<String, Long> counts,
+                                       Map<String, FinancialSummaryDTO> financials) {
+        if (counts != null) {
+            counts.forEach(counter::add);
+        }
+        if (financials != null) {
+            financials.forEach((value, financial) -> {
+                int row = counter.row(value);
+                counter.add(row, UNITS, financial.getUnitsSold() != null ? financial.getUnitsSold() : 0);
+                counter.add(row, REVENUE, Cents.of(financial.getTotalRevenue()));
+                counter.add(row, COST, Cents.of(financial.getTotalCost()));
+                counter.add(row, PROFIT, Cents.of(financial.getTotalProfit()));
+            });
+        }
+    }
+
+    private static Map<String, FinancialSummaryDTO> toFinancials(StringCounter counter) {
+        Map<String, FinancialSummaryDTO> financials = new HashMap<>(Math.max(4, (int) (counter.size() / 0.75f) + 1));
+        counter.forEachRow((value, row) -> financials.put(value, FinancialSummaryDTO.builder()
+                .unitsSold(counter.get(row, UNITS))
+                .totalRevenue(Cents.toBigDecimal(counter.get(row, REVENUE)))
+                .totalCost(Cents.toBigDecimal(counter.get(row, COST)))
+                .totalProfit(Cents.toBigDecimal(counter.get(row, PROFIT)))
+                .build()));
+        return financials;
+    }
+}
@@ -0,0 +1,56 @@
+package com.consum.orders.domain.summary;
+
+import com.consum.orders.domain.dto.OrdersDTO;
+
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Calcula el resumen de una lista de pedidos en paralelo: divide la lista en mitades hasta llegar a bloques de
+ * {@code chunkSize} pedidos, resume cada bloque en su propio {@link OrdersSummaryAggregator} y combina los parciales al
+ * volver de cada división. Ningún contador se comparte entre hilos.
+ */
+public final class OrdersSummaryTask extends RecursiveTask<OrdersSummaryAggregator> {
+
+    private final List<OrdersDTO> ordersDTOList;
+    private final int from;
+    private final int to;
+    private final int chunkSize;
+
+    private OrdersSummaryTask(List<OrdersDTO> ordersDTOList, int from, int to, int chunkSize) {
+        this.ordersDTOList = ordersDTOList;
+        this.from = from;
+        this.to = to;
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Resume la lista en el pool indicado.
+     *
+     * @param pool          pool fork/join en el que se ejecutan los bloques
+     * @param ordersDTOList pedidos, con acceso aleatorio
+     * @param chunkSize     pedidos por bloque resumido en un único hilo
+     * @return resumen de todos los pedidos
+     */
+    public static OrdersSummaryAggregator summarize(ForkJoinPool pool, List<OrdersDTO> ordersDTOList, int chunkSize) {
+        return pool.invoke(new OrdersSummaryTask(ordersDTOList, 0, ordersDTOList.size(), Math.max(1, chunkSize)));
+    }
+
+    @Override
+    protected OrdersSummaryAggregator compute() {
+        if (to - from <= chunkSize) {
+            OrdersSummaryAggregator aggregator = new OrdersSummaryAggregator();
+            for (int index = from; index < to; index++) {
+                aggregator.add(ordersDTOList.get(index));
+            }
+            return aggregator;
+        }
+
+        int middle = (from + to) >>> 1;
+        OrdersSummaryTask left = new OrdersSummaryTask(ordersDTOList, from, middle, chunkSize);
+        left.fork();
+        OrdersSummaryAggregator right = new OrdersSummaryTask(ordersDTOList, middle, to, chunkSize).compute();
+        return left.join().merge(right);
+    }
+}
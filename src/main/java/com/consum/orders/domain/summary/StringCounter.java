@@ -0,0 +1,212 @@
+package com.consum.orders.domain.summary;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.ObjIntConsumer;
+import java.util.function.ObjLongConsumer;
+
+/**
+ * Contador de textos con valores {@code long} primitivos, en una tabla de direccionamiento abierto con sondeo lineal.
+ * Sumar a un valor existente no crea objetos: no hay {@code Long} ni entradas de mapa por cada incremento.
+ * <p>
+ * Cada valor puede acumular varias columnas (por ejemplo, número de pedidos e importes); la columna 0 es la que usan
+ * {@link #increment}, {@link #get(String)} y {@link #toMap()}. Para sumar varias columnas de un mismo valor con una sola
+ * búsqueda se obtiene su fila con {@link #row(String)}.
+ * <p>
+ * No es seguro para varios hilos: cada hilo usa su propio contador y los parciales se combinan con
+ * {@link #addAll(StringCounter)}.
+ */
+public final class StringCounter {
+
+    private static final int MIN_CAPACITY = 4;
+
+    private final int columns;
+    private String[] keys;
+    private long[] counts;
+    private int mask;
+    private int size;
+
+    /**
+     * @param expectedSize número de valores distintos esperado; la tabla se crea con espacio para ellos sin crecer
+     */
+    public StringCounter(int expectedSize) {
+        this(expectedSize, 1);
+    }
+
+    /**
+     * @param expectedSize número de valores distintos esperado; la tabla se crea con espacio para ellos sin crecer
+     * @param columns      número de columnas acumuladas por valor
+     */
+    public StringCounter(int expectedSize, int columns) {
+        this.columns = columns;
+        allocate(tableSize(expectedSize));
+    }
+
+    /**
+     * Suma uno al valor.
+     *
+     * @param key valor, no nulo
+     */
+    public void increment(String key) {
+        add(key, 1);
+    }
+
+    /**
+     * Suma una cantidad a la columna 0 del valor.
+     *
+     * @param key   valor, no nulo
+     * @param delta cantidad a sumar
+     */
+    public void add(String key, long delta) {
+        // row puede hacer crecer la tabla: se obtiene antes de leer el array de cuentas
+        int row = row(key);
+        counts[row] += delta;
+    }
+
+    /**
+     * Devuelve la fila del valor, añadiéndolo si no estaba. La fila sirve para {@link #add(int, int, long)} y
+     * {@link #get(int, int)} hasta que se añade otro valor, que puede hacer crecer la tabla.
+     *
+     * @param key valor, no nulo
+     * @return fila del valor
+     */
+    public int row(String key) {
+        int index = indexOf(key);
+        if (keys[index] == null) {
+            keys[index] = key;
+            if (++size > keys.length >> 1) {
+                resize();
+                index = indexOf(key);
+            }
+        }
+        return index * columns;
+    }
+
+    /**
+     * Suma una cantidad a una columna de una fila.
+     *
+     * @param row    fila devuelta por {@link #row(String)}
+     * @param column columna
+     * @param delta  cantidad a sumar
+     */
+    public void add(int row, int column, long delta) {
+        counts[row + column] += delta;
+    }
+
+    /**
+     * @param row    fila devuelta por {@link #row(String)}
+     * @param column columna
+     * @return valor acumulado en la columna
+     */
+    public long get(int row, int column) {
+        return counts[row + column];
+    }
+
+    /**
+     * @param key valor
+     * @return cuenta del valor, o 0 si no se ha contado
+     */
+    public long get(String key) {
+        int index = indexOf(key);
+        return keys[index] != null ? counts[index * columns] : 0;
+    }
+
+    /**
+     * @return número de valores distintos
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Suma las cuentas de todas las columnas de otro contador a este.
+     *
+     * @param other contador parcial con el mismo número de columnas
+     */
+    public void addAll(StringCounter other) {
+        if (other.columns != columns) {
+            throw new IllegalArgumentException("Columnas distintas: " + other.columns + " y " + columns);
+        }
+        other.forEachRow((key, otherRow) -> {
+            int row = row(key);
+            for (int column = 0; column < columns; column++) {
+                counts[row + column] += other.counts[otherRow + column];
+            }
+        });
+    }
+
+    /**
+     * Recorre los valores y sus cuentas, sin orden definido.
+     *
+     * @param action acción para cada valor
+     */
+    public void forEach(ObjLongConsumer<String> action) {
+        forEachRow((key, row) -> action.accept(key, counts[row]));
+    }
+
+    /**
+     * Recorre los valores y sus filas, sin orden definido.
+     *
+     * @param action acción para cada valor, con la fila que acepta {@link #get(int, int)}
+     */
+    public void forEachRow(ObjIntConsumer<String> action) {
+        for (int index = 0; index < keys.length; index++) {
+            if (keys[index] != null) {
+                action.accept(keys[index], index * columns);
+            }
+        }
+    }
+
+    /**
+     * @return mapa con las cuentas de cada valor
+     */
+    public Map<String, Long> toMap() {
+        Map<String, Long> map = new HashMap<>(Math.max(MIN_CAPACITY, (int) (size / 0.75f) + 1));
+        forEach(map::put);
+        return map;
+    }
+
+    private int indexOf(String key) {
+        int index = spread(key.hashCode()) & mask;
+        String current;
+        while ((current = keys[index]) != null && current != key && !current.equals(key)) {
+            index = (index + 1) & mask;
+        }
+        return index;
+    }
+
+    private void resize() {
+        String[] oldKeys = keys;
+        long[] oldCounts = counts;
+        allocate(oldKeys.length << 1);
+        for (int index = 0; index < oldKeys.length; index++) {
+            if (oldKeys[index] != null) {
+                int target = indexOf(oldKeys[index]);
+                keys[target] = oldKeys[index];
+                System.arraycopy(oldCounts, index * columns, counts, target * columns, columns);
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        keys = new String[capacity];
+        counts = new long[capacity * columns];
+        mask = capacity - 1;
+    }
+
+    /**
+     * Potencia de dos con al menos el doble de huecos que valores, para que la ocupación no pase del 50 %.
+     */
+    private static int tableSize(int expectedSize) {
+        return Math.max(MIN_CAPACITY, Integer.highestOneBit(Math.max(1, expectedSize) * 2 - 1) << 1);
+    }
+
+    /**
+     * Mezcla los bits altos del hash en los bajos, que son los que elige la máscara.
+     */
+    private static int spread(int hash) {
+        hash ^= hash >>> 16;
+        hash *= 0x85ebca6b;
+        return hash ^ (hash >>> 13);
+    }
+}
@@ -1,6 +1,5 @@
 package com.consum.orders.domain.utils;
 
-import com.consum.orders.application.model.OrdersFileResponse;
 import com.consum.orders.domain.dto.OrdersDTO;
 import com.opencsv.CSVWriter;
 import lombok.extern.slf4j.Slf4j;
@@ -8,13 +7,16 @@ import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.stereotype.Component;
 
+import java.io.BufferedWriter;
 import java.io.IOException;
-import java.io.StringWriter;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
 import java.nio.charset.StandardCharsets;
 import java.text.DateFormat;
 import java.text.SimpleDateFormat;
-import java.util.List;
+import java.util.Iterator;
 import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.Stream;
 
 /**
  * Clase utilitaria para métodos relacionados con la generación de archivos de pedidos.
@@ -26,93 +28,90 @@ public class OrdersFileMethods {
     private static final String[] CSV_HEADER = {"Order ID", "Order Priority", "Order Date", "Region", "Country", "Item Type",
             "Sales Channel", "Ship Date", "Units Sold", "Unit Price", "Unit Cost", "Total Revenue", "Total Cost", "Total Profit"};
 
-    private static final DateFormat DATE_FORMAT = new SimpleDateFormat("dd/MM/yyyy");
+    private static final String DATE_PATTERN = "dd/MM/yyyy";
 
     /**
-     * Genera un archivo CSV completo a partir de una lista de OrdersDTO.
+     * Escribe en la salida un archivo CSV con los pedidos según se leen del Stream, sin guardar el contenido en memoria.
      *
-     * @param ordersDtoList Lista de OrdersDTO.
-     * @param fileName      Nombre del archivo base (sin extensión).
-     * @return Fichero CSV.
+     * @param orders       Pedidos a escribir.
+     * @param outputStream Salida del archivo; se vacía pero no se cierra.
+     * @return Número de pedidos escritos.
      */
-    public OrdersFileResponse generateOrderFileCSV(List<OrdersDTO> ordersDtoList, String fileName) throws IOException {
-        log.info("Iniciando la generación del archivo CSV para {} pedidos.", ordersDtoList.size());
+    public long writeOrderFileCSV(Stream<OrdersDTO> orders, OutputStream outputStream) throws IOException {
+        log.info("Iniciando la escritura del archivo CSV de pedidos.");
 
-        // Generar el contenido CSV
-        String csvContent = generateContentCSVFile(ordersDtoList);
-        log.debug("Contenido CSV generado: \n{}", csvContent);
+        CSVWriter csvWriter = new CSVWriter(new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8)));
 
-        // Generar los bytes del archivo CSV
-        byte[] csvBytes = csvContent.getBytes(StandardCharsets.UTF_8);
-        log.debug("Bytes del archivo CSV generados, tamaño: {} bytes.", csvBytes.length);
+        // Escribir el encabezado
+        csvWriter.writeNext(CSV_HEADER);
 
-        // Configurar headers para la respuesta HTTP
+        // Escribir los datos según se leen
+        DateFormat dateFormat = new SimpleDateFormat(DATE_PATTERN);
+        long rows = 0;
+        for (Iterator<OrdersDTO> iterator = orders.iterator(); iterator.hasNext(); rows++) {
+            csvWriter.writeNext(toCsvRow(iterator.next(), dateFormat));
+        }
+        csvWriter.flush();
+        if (csvWriter.checkError()) {
+            throw new IOException("Error al escribir el archivo CSV", csvWriter.getException());
+        }
+
+        log.info("Archivo CSV escrito correctamente: {} pedidos.", rows);
+        return rows;
+    }
+
+    /**
+     * Genera los headers HTTP de la descarga de un archivo CSV con un nombre único. El tamaño no se conoce de antemano,
+     * así que la respuesta se envía por bloques.
+     *
+     * @param fileName Nombre del archivo base (sin extensión).
+     * @return HttpHeaders configurados para el archivo CSV.
+     */
+    public HttpHeaders generateCsvHttpHeaders(String fileName) {
         String uniqueFileName = generateUniqueFileName(fileName);
-        HttpHeaders headers = getCsvHttpHeaders(csvBytes, uniqueFileName);
+        HttpHeaders headers = getCsvHttpHeaders(uniqueFileName);
         log.info("Encabezados HTTP configurados para el archivo: {}", uniqueFileName);
-
-        return OrdersFileResponse.builder()
-                .fileBytes(csvBytes)
-                .headers(headers)
-                .build();
+        return headers;
     }
 
     /**
-     * Genera el contenido de un archivo CSV con los datos de los pedidos usando OpenCSV.
+     * Convierte un pedido en una fila del archivo CSV.
      *
-     * @param ordersDTOList Listado de pedidos.
-     * @return Contenido en formato String.
+     * @param order      Pedido.
+     * @param dateFormat Formato de las fechas.
+     * @return Campos de la fila.
      */
-    private String generateContentCSVFile(List<OrdersDTO> ordersDTOList) throws IOException {
-        log.info("Generando contenido CSV para {} pedidos.", ordersDTOList.size());
-
-        try (StringWriter writer = new StringWriter();
-             CSVWriter csvWriter = new CSVWriter(writer)) {
-
-            // Escribir el encabezado
-            csvWriter.writeNext(CSV_HEADER);
-
-            // Escribir los datos
-            for (OrdersDTO order : ordersDTOList) {
-                String[] orderData = {
-                        order.getOrderId(),
-                        order.getOrderPriority(),
-                        DATE_FORMAT.format(order.getOrderDate()),
-                        order.getRegion(),
-                        order.getCountry(),
-                        order.getItemType(),
-                        order.getSalesChannel(),
-                        DATE_FORMAT.format(order.getShipDate()),
-                        String.valueOf(order.getUnitsSold()),
-                        String.valueOf(order.getUnitPrice()),
-                        String.valueOf(order.getUnitCost()),
-                        String.valueOf(order.getTotalRevenue()),
-                        String.valueOf(order.getTotalCost()),
-                        String.valueOf(order.getTotalProfit())
-                };
-                csvWriter.writeNext(orderData);
-            }
-            csvWriter.flush();
-
-            log.info("Contenido CSV generado exitosamente.");
-            return writer.toString();
-        }
+    private String[] toCsvRow(OrdersDTO order, DateFormat dateFormat) {
+        return new String[]{
+                order.getOrderId(),
+                order.getOrderPriority(),
+                dateFormat.format(order.getOrderDate()),
+                order.getRegion(),
+                order.getCountry(),
+                order.getItemType(),
+                order.getSalesChannel(),
+                dateFormat.format(order.getShipDate()),
+                String.valueOf(order.getUnitsSold()),
+                String.valueOf(order.getUnitPrice()),
+                String.valueOf(order.getUnitCost()),
+                String.valueOf(order.getTotalRevenue()),
+                String.valueOf(order.getTotalCost()),
+                String.valueOf(order.getTotalProfit())
+        };
     }
 
     /**
      * Genera los headers HTTP necesarios para un archivo CSV.
      *
-     * @param csvBytes Array de bytes del archivo CSV.
      * @param filename Nombre del archivo CSV.
      * @return HttpHeaders configurados para el archivo CSV.
      */
-    private HttpHeaders getCsvHttpHeaders(byte[] csvBytes, String filename) {
+    private HttpHeaders getCsvHttpHeaders(String filename) {
         log.info("Configurando encabezados HTTP para el archivo: {}", filename);
 
         HttpHeaders headers = new HttpHeaders();
         headers.setContentType(MediaType.APPLICATION_OCTET_STREAM);
         headers.setContentDispositionFormData("attachment", filename);
-        headers.setContentLength(csvBytes.length);
 
         log.info("Encabezados HTTP configurados exitosamente.");
         return headers;
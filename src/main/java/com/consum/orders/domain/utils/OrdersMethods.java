@@ -5,16 +5,23 @@ import com.consum.orders.domain.exception.ProcessingException;
 import com.consum.orders.domain.dto.OrdersDTO;
 import com.consum.orders.domain.dto.SummaryDTO;
 import com.consum.orders.domain.mapper.OrdersMapper;
+import com.consum.orders.domain.summary.OrdersSummaryAggregator;
+import com.consum.orders.domain.summary.OrdersSummaryTask;
 import com.consum.orders.infrastructure.client.dto.ContentClientDTO;
 import com.consum.orders.infrastructure.client.dto.PaginatedOrderClientDTO;
 import com.consum.orders.infrastructure.database.entity.Orders;
+import com.consum.orders.infrastructure.database.projection.OrdersSummaryCount;
+import com.consum.orders.infrastructure.service.OrdersSketchRedisService;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.function.Function;
-import java.util.stream.Collectors;
+import java.util.RandomAccess;
+import java.util.concurrent.ForkJoinPool;
 
 /**
  * Clase utilitaria que proporciona métodos relacionados con el procesamiento de pedidos.
@@ -25,11 +32,23 @@ public class OrdersMethods {
 
     private final OrdersMapper ordersMapper;
     private final OrdersValidations ordersValidations;
+    private final ForkJoinPool summaryForkJoinPool;
+    private final OrdersSketchRedisService ordersSketchRedisService;
+    private final int parallelThreshold;
+    private final int parallelChunkSize;
 
     public OrdersMethods(OrdersMapper ordersMapper,
-                         OrdersValidations ordersValidations) {
+                         OrdersValidations ordersValidations,
+                         @Qualifier("summaryForkJoinPool") ForkJoinPool summaryForkJoinPool,
+                         OrdersSketchRedisService ordersSketchRedisService,
+                         @Value("${orders.summary.parallel.threshold:5000}") int parallelThreshold,
+                         @Value("${orders.summary.parallel.chunk-size:1024}") int parallelChunkSize) {
         this.ordersMapper = ordersMapper;
         this.ordersValidations = ordersValidations;
+        this.summaryForkJoinPool = summaryForkJoinPool;
+        this.ordersSketchRedisService = ordersSketchRedisService;
+        this.parallelThreshold = parallelThreshold;
+        this.parallelChunkSize = parallelChunkSize;
     }
 
     /**
@@ -50,6 +69,27 @@ public class OrdersMethods {
         return orders;
     }
 
+    /**
+     * Suma los pedidos a los sketches de UUID distintos y de valores más frecuentes guardados en Redis. Se llama
+     * después de guardar los pedidos, y dentro de una transacción espera a que se confirme, para que una página que no
+     * llega a la base de datos no cuente en los sketches.
+     *
+     * @param orders Pedidos guardados.
+     */
+    public void updateSketches(List<Orders> orders) {
+        ordersSketchRedisService.recordAfterCommit(orders);
+    }
+
+    /**
+     * Valida y mapea un único pedido recibido de la API Katas a la entidad Orders.
+     *
+     * @param contentClientDTO DTO que contiene la información de la orden.
+     * @return Entidad Orders mapeada desde el DTO.
+     */
+    public Orders convertToOrder(ContentClientDTO contentClientDTO) {
+        return convertToEntityWithExceptionHandling(contentClientDTO);
+    }
+
     /**
      * Mapea objetos de Pedidos (Orders) a objetos de Respuesta DTO (OrderDTO).
      *
@@ -69,6 +109,11 @@ public class OrdersMethods {
 
     /**
      * Resumen para el conteo por cada tipo de los campos: Region, Country, Item Type, Sales Channel, Order Priority.
+     * Se calcula en una sola pasada sobre la lista con {@link OrdersSummaryAggregator}. A partir de
+     * {@code orders.summary.parallel.threshold} pedidos la lista se reparte en bloques que se resumen en paralelo en
+     * el pool {@code summaryForkJoinPool} ({@link OrdersSummaryTask}). Solo lo usa la importación de una página: la
+     * importación completa resume las páginas en sus hilos de guardado y los resúmenes de la base de datos salen
+     * de la tabla order_summary.
      *
      * @param ordersDTOList Listado de pedidos.
      * @return Objeto OrderSummary que contiene los conteos por región, país, tipo de ítem, canal de ventas y prioridad de orden.
@@ -82,20 +127,49 @@ public class OrdersMethods {
             throw new ProcessingException(message);
         }
 
-        Map<String, Long> countByRegion = generateSummary(ordersDTOList, OrdersDTO::getRegion, "region");
-        Map<String, Long> countByCountry = generateSummary(ordersDTOList, OrdersDTO::getCountry, "country");
-        Map<String, Long> countByItemType = generateSummary(ordersDTOList, OrdersDTO::getItemType, "item_type");
-        Map<String, Long> countBySalesChannel = generateSummary(ordersDTOList, OrdersDTO::getSalesChannel, "sales_channel");
-        Map<String, Long> countByOrderPriority = generateSummary(ordersDTOList, OrdersDTO::getOrderPriority, "order_priority");
+        OrdersSummaryAggregator aggregator;
+        if (isParallelSummary(ordersDTOList)) {
+            log.info("Resumen en paralelo de {} pedidos con {} hilos.", ordersDTOList.size(),
+                    summaryForkJoinPool.getParallelism());
+            aggregator = OrdersSummaryTask.summarize(summaryForkJoinPool, ordersDTOList, parallelChunkSize);
+        } else {
+            aggregator = new OrdersSummaryAggregator().addAll(ordersDTOList);
+        }
+        SummaryDTO summary = aggregator.toSummaryDTO();
+        log.debug("Conteo por region: {}", summary.getRegionSummary());
+        log.debug("Conteo por country: {}", summary.getCountrySummary());
+        log.debug("Conteo por item_type: {}", summary.getItemTypeSummary());
+        log.debug("Conteo por sales_channel: {}", summary.getSalesChannelSummary());
+        log.debug("Conteo por order_priority: {}", summary.getOrderPrioritySummary());
 
         log.info("Resumen de pedidos generado con éxito.");
-        return SummaryDTO.builder()
-                .regionSummary(countByRegion)
-                .countrySummary(countByCountry)
-                .itemTypeSummary(countByItemType)
-                .salesChannelSummary(countBySalesChannel)
-                .orderPrioritySummary(countByOrderPriority)
-                .build();
+        return summary;
+    }
+
+    /**
+     * Combina varios resúmenes parciales (por ejemplo, uno por página importada) en un único resumen.
+     *
+     * @param summaries Resúmenes parciales.
+     * @return Objeto SummaryDTO con la suma de los conteos de todos los resúmenes.
+     */
+    public SummaryDTO mergeOrderSummary(List<SummaryDTO> summaries) {
+        log.info("Combinando {} resúmenes parciales de pedidos.", summaries.size());
+
+        OrdersSummaryAggregator aggregator = new OrdersSummaryAggregator();
+        summaries.forEach(aggregator::merge);
+
+        return aggregator.toSummaryDTO();
+    }
+
+    /**
+     * El resumen en paralelo solo compensa con listas grandes, con acceso aleatorio y si el pool tiene más de un hilo.
+     *
+     * @param ordersDTOList pedidos
+     * @return true si el resumen se calcula en paralelo
+     */
+    boolean isParallelSummary(List<OrdersDTO> ordersDTOList) {
+        return parallelThreshold > 0 && ordersDTOList.size() >= parallelThreshold
+                && ordersDTOList instanceof RandomAccess && summaryForkJoinPool.getParallelism() > 1;
     }
 
     public OrdersDTO convertContentClientDTOToOrderDTO(ContentClientDTO contentClientDTO) {
@@ -127,22 +201,27 @@ public class OrdersMethods {
     }
 
     /**
-     * Genera un resumen agrupado de los pedidos.
+     * Genera el resumen de pedidos a partir de los conteos calculados en la base de datos.
      *
-     * @param ordersDTOList Lista de pedidos.
-     * @param classifier   Función que especifica el campo de agrupación.
-     * @param logField     Campo para propósitos de log.
-     * @return Mapa con el conteo por cada valor de los datos requeridos.
+     * @param summaryCounts Número de pedidos por dimensión y valor.
+     * @return Resumen de pedidos.
      */
-    private Map<String, Long> generateSummary(List<OrdersDTO> ordersDTOList,
-                                              Function<OrdersDTO, String> classifier,
-                                              String logField) {
+    public SummaryDTO convertToSummary(List<OrdersSummaryCount> summaryCounts) {
+        log.info("Generando resumen de pedidos a partir de {} conteos de la base de datos.", summaryCounts.size());
 
-        Map<String, Long> summary = ordersDTOList.stream()
-                .collect(Collectors.groupingBy(classifier, Collectors.counting()));
-        log.debug("Conteo por {}: {}", logField, summary);
+        Map<String, Map<String, Long>> summaries = new HashMap<>();
+        for (OrdersSummaryCount summaryCount : summaryCounts) {
+            summaries.computeIfAbsent(summaryCount.getDimension(), dimension -> new HashMap<>())
+                    .put(summaryCount.getName(), summaryCount.getTotal());
+        }
 
-        return summary;
+        return SummaryDTO.builder()
+                .regionSummary(summaries.getOrDefault(OrdersSummaryCount.REGION, new HashMap<>()))
+                .countrySummary(summaries.getOrDefault(OrdersSummaryCount.COUNTRY, new HashMap<>()))
+                .itemTypeSummary(summaries.getOrDefault(OrdersSummaryCount.ITEM_TYPE, new HashMap<>()))
+                .salesChannelSummary(summaries.getOrDefault(OrdersSummaryCount.SALES_CHANNEL, new HashMap<>()))
+                .orderPrioritySummary(summaries.getOrDefault(OrdersSummaryCount.ORDER_PRIORITY, new HashMap<>()))
+                .build();
     }
 
 }
@@ -0,0 +1,40 @@
+package com.consum.orders.domain.utils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Optional;
+
+/**
+ * Cursor opaco de la paginación de pedidos. Codifica en Base64 (URL segura, sin relleno) el ID del último pedido de la
+ * página, que es la posición desde la que se busca la página siguiente.
+ */
+public final class OrdersPageCursor {
+
+    private OrdersPageCursor() {
+    }
+
+    /**
+     * Genera el cursor que apunta a la página que sigue al pedido indicado.
+     *
+     * @param orderId ID del último pedido de la página
+     * @return cursor opaco
+     */
+    public static String encode(String orderId) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(orderId.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Recupera el ID de pedido de un cursor.
+     *
+     * @param cursor cursor recibido en la petición
+     * @return ID del último pedido de la página anterior, o vacío si el cursor no es válido
+     */
+    public static Optional<String> decode(String cursor) {
+        try {
+            String orderId = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            return orderId.isEmpty() ? Optional.empty() : Optional.of(orderId);
+        } catch (IllegalArgumentException exception) {
+            return Optional.empty();
+        }
+    }
+}
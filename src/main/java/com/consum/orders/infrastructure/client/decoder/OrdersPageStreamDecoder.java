@@ -0,0 +1,108 @@
+package com.consum.orders.infrastructure.client.decoder;
+
+import com.consum.orders.domain.exception.ProcessingException;
+import com.consum.orders.infrastructure.client.dto.ContentClientDTO;
+import com.consum.orders.infrastructure.client.dto.LinksClientDTO;
+import com.consum.orders.infrastructure.client.dto.StreamedPageClientDTO;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.function.Consumer;
+
+/**
+ * Decodificador en streaming de las páginas de pedidos de la API de Katas.
+ * <p>
+ * Recorre la respuesta con el token stream de Jackson y entrega cada elemento de content en cuanto se ha leído, sin
+ * construir la lista completa de ContentClientDTO. La memoria usada por el decodificador no depende del tamaño de la
+ * página.
+ */
+@Slf4j
+@Component
+public class OrdersPageStreamDecoder {
+
+    private final ObjectMapper objectMapper;
+    private final ObjectReader contentReader;
+    private final ObjectReader linksReader;
+
+    public OrdersPageStreamDecoder(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+        this.contentReader = objectMapper.readerFor(ContentClientDTO.class);
+        this.linksReader = objectMapper.readerFor(LinksClientDTO.class);
+    }
+
+    /**
+     * Decodifica una página de pedidos entregando cada pedido al consumidor indicado.
+     *
+     * @param inputStream     cuerpo de la respuesta de la API de Katas
+     * @param contentConsumer receptor de cada pedido de la página
+     * @return metadatos de la página (número, pedidos leídos y enlaces)
+     * @throws IOException si el cuerpo no se puede leer
+     */
+    public StreamedPageClientDTO decode(InputStream inputStream, Consumer<ContentClientDTO> contentConsumer) throws IOException {
+        try (JsonParser parser = objectMapper.createParser(inputStream)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new ProcessingException("Formato inesperado en la página de pedidos: se esperaba un objeto JSON");
+            }
+
+            int page = 0;
+            int contentSize = 0;
+            LinksClientDTO links = null;
+
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                JsonToken token = parser.nextToken();
+
+                switch (field) {
+                    case "page" -> page = parser.getValueAsInt();
+                    case "links" -> links = token == JsonToken.VALUE_NULL ? null : linksReader.readValue(parser);
+                    case "content" -> contentSize = readContent(parser, contentConsumer);
+                    default -> parser.skipChildren();
+                }
+            }
+
+            log.debug("Página {} decodificada en streaming con {} pedidos", page, contentSize);
+            return new StreamedPageClientDTO(page, contentSize, links);
+        }
+    }
+
+    /**
+     * Lee el array content entregando cada elemento al consumidor hasta el cierre del array. Los elementos nulos se
+     * saltan; cualquier otro elemento que no sea un objeto, o el fin del cuerpo antes del cierre, es un error, para no
+     * dar por completa una página leída a medias.
+     *
+     * @param parser          parser posicionado en el inicio del array
+     * @param contentConsumer receptor de cada pedido
+     * @return número de pedidos leídos
+     * @throws IOException si el cuerpo no se puede leer
+     */
+    private int readContent(JsonParser parser, Consumer<ContentClientDTO> contentConsumer) throws IOException {
+        if (parser.currentToken() == JsonToken.VALUE_NULL) {
+            return 0;
+        }
+        if (parser.currentToken() != JsonToken.START_ARRAY) {
+            throw new ProcessingException("Formato inesperado en la página de pedidos: content no es un array");
+        }
+
+        int contentSize = 0;
+        JsonToken token;
+        while ((token = parser.nextToken()) != JsonToken.END_ARRAY) {
+            if (token == JsonToken.VALUE_NULL) {
+                // Un elemento nulo no es un pedido: se salta sin cortar la lectura del resto de la página
+                continue;
+            }
+            if (token != JsonToken.START_OBJECT) {
+                throw new ProcessingException("Formato inesperado en la página de pedidos: elemento " + token
+                        + " en content tras " + contentSize + " pedidos");
+            }
+            contentConsumer.accept(contentReader.readValue(parser));
+            contentSize++;
+        }
+        return contentSize;
+    }
+}
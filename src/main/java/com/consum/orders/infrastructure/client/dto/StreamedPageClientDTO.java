@@ -0,0 +1,26 @@
+package com.consum.orders.infrastructure.client.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.io.Serial;
+import java.io.Serializable;
+
+/**
+ * Metadatos de una página de pedidos leída en streaming: los elementos de content ya se han entregado uno a uno.
+ */
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class StreamedPageClientDTO implements Serializable {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    int page;
+
+    int contentSize;
+
+    LinksClientDTO links;
+}
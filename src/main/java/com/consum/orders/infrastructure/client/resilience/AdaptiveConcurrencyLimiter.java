@@ -0,0 +1,221 @@
+package com.consum.orders.infrastructure.client.resilience;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Límite adaptativo de llamadas simultáneas a la API de Katas (AIMD).
+ * <p>
+ * Mientras la latencia se mantiene cerca de la latencia sin carga, cada llamada correcta sube el límite en 1/límite,
+ * es decir, una unidad por cada ronda completa de llamadas (incremento aditivo). Ante un timeout, un 429 o un 5xx el
+ * límite se multiplica por {@code backoff-ratio} (reducción multiplicativa); las llamadas que empezaron antes de la
+ * última reducción no vuelven a reducirlo, de modo que una ráfaga de errores cuenta como un solo evento. Si la respuesta incluye {@code Retry-After},
+ * no se inicia ninguna llamada hasta que pasa ese tiempo.
+ */
+@Slf4j
+@Component
+public class AdaptiveConcurrencyLimiter {
+
+    private static final String METRIC_PREFIX = "orders.client.limiter.";
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double backoffRatio;
+    private final double latencyTolerance;
+    private final long acquireTimeoutNanos;
+    private final long maxRetryAfterNanos;
+    private final long latencyWindowNanos;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition permitAvailable = lock.newCondition();
+
+    /**
+     * Solo se modifican con el cerrojo; son volatile para que los gauges y los getters los lean sin tomarlo.
+     */
+    private volatile double limit;
+    private volatile int inFlight;
+    private long blockedUntilNanos = System.nanoTime();
+    private long lastDecreaseNanos = Long.MIN_VALUE;
+    private long noLoadLatencyNanos = Long.MAX_VALUE;
+    private long windowMinLatencyNanos = Long.MAX_VALUE;
+    private long windowStartNanos = System.nanoTime();
+
+    private final Counter rejections;
+    private final Counter drops;
+
+    public AdaptiveConcurrencyLimiter(MeterRegistry meterRegistry,
+                                      @Value("${orders.client.limiter.initial-limit:8}") int initialLimit,
+                                      @Value("${orders.client.limiter.min-limit:1}") int minLimit,
+                                      @Value("${orders.client.limiter.max-limit:64}") int maxLimit,
+                                      @Value("${orders.client.limiter.backoff-ratio:0.5}") double backoffRatio,
+                                      @Value("${orders.client.limiter.latency-tolerance:2.0}") double latencyTolerance,
+                                      @Value("${orders.client.limiter.acquire-timeout-ms:10000}") long acquireTimeoutMillis,
+                                      @Value("${orders.client.limiter.max-retry-after-ms:60000}") long maxRetryAfterMillis,
+                                      @Value("${orders.client.limiter.latency-window-ms:30000}") long latencyWindowMillis) {
+        this.limit = initialLimit;
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.backoffRatio = backoffRatio;
+        this.latencyTolerance = latencyTolerance;
+        this.acquireTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(acquireTimeoutMillis);
+        this.maxRetryAfterNanos = TimeUnit.MILLISECONDS.toNanos(maxRetryAfterMillis);
+        this.latencyWindowNanos = TimeUnit.MILLISECONDS.toNanos(latencyWindowMillis);
+
+        Gauge.builder(METRIC_PREFIX + "limit", this, AdaptiveConcurrencyLimiter::getLimit)
+                .description("Llamadas simultáneas permitidas a la API de Katas")
+                .register(meterRegistry);
+        Gauge.builder(METRIC_PREFIX + "inflight", this, AdaptiveConcurrencyLimiter::getInFlight)
+                .description("Llamadas en curso a la API de Katas")
+                .register(meterRegistry);
+        this.rejections = Counter.builder(METRIC_PREFIX + "rejections")
+                .description("Llamadas rechazadas por no obtener permiso a tiempo")
+                .register(meterRegistry);
+        this.drops = Counter.builder(METRIC_PREFIX + "drops")
+                .description("Timeouts, 429 y 5xx de la API de Katas")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Espera a que haya hueco bajo el límite y no haya un Retry-After pendiente.
+     *
+     * @return instante de inicio de la llamada, que se pasa a {@link #onSuccess} u {@link #onDrop}
+     * @throws ConcurrencyLimitExceededException si no hay hueco antes del tiempo máximo de espera
+     * @throws InterruptedException              si el hilo se interrumpe esperando
+     */
+    public long acquire() throws ConcurrencyLimitExceededException, InterruptedException {
+        lock.lock();
+        try {
+            long deadline = System.nanoTime() + acquireTimeoutNanos;
+            while (true) {
+                long now = System.nanoTime();
+                long blockedNanos = blockedUntilNanos - now;
+                if (blockedNanos <= 0 && inFlight < (int) limit) {
+                    inFlight++;
+                    return now;
+                }
+
+                long remainingNanos = deadline - now;
+                if (remainingNanos <= 0) {
+                    rejections.increment();
+                    throw new ConcurrencyLimitExceededException("Límite de llamadas simultáneas a la API de Katas alcanzado ("
+                            + (int) limit + ")");
+                }
+                permitAvailable.awaitNanos(blockedNanos > 0 ? Math.min(blockedNanos, remainingNanos) : remainingNanos);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Registra una llamada correcta y libera su permiso. Si la latencia se mantiene cerca de la latencia sin carga y el
+     * límite se está aprovechando, el límite crece.
+     *
+     * @param startNanos instante de inicio devuelto por {@link #acquire()}
+     */
+    public void onSuccess(long startNanos) {
+        lock.lock();
+        try {
+            long now = System.nanoTime();
+            updateNoLoadLatency(now - startNanos, now);
+
+            boolean flatLatency = now - startNanos <= noLoadLatencyNanos * latencyTolerance;
+            boolean limitInUse = inFlight * 2 >= limit;
+            if (flatLatency && limitInUse && limit < maxLimit) {
+                limit = Math.min(maxLimit, limit + 1 / limit);
+            }
+            release();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Registra un timeout, 429 o 5xx y libera su permiso. Reduce el límite salvo que la llamada empezase antes de la
+     * última reducción.
+     *
+     * @param startNanos instante de inicio devuelto por {@link #acquire()}
+     * @param retryAfter tiempo indicado por la API en Retry-After, o null
+     */
+    public void onDrop(long startNanos, Duration retryAfter) {
+        lock.lock();
+        try {
+            drops.increment();
+            long now = System.nanoTime();
+            if (startNanos > lastDecreaseNanos) {
+                double previousLimit = limit;
+                limit = Math.max(minLimit, limit * backoffRatio);
+                lastDecreaseNanos = now;
+                log.warn("Reducido el límite de llamadas a la API de Katas de {} a {}", (int) previousLimit, (int) limit);
+            }
+            if (retryAfter != null && !retryAfter.isNegative()) {
+                long blockedUntil = now + Math.min(retryAfter.toNanos(), maxRetryAfterNanos);
+                if (blockedUntil - blockedUntilNanos > 0) {
+                    blockedUntilNanos = blockedUntil;
+                }
+                log.warn("La API de Katas pide esperar {} ms antes de la siguiente llamada", retryAfter.toMillis());
+            }
+            release();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Libera un permiso sin registrar el resultado de la llamada (por ejemplo, una llamada cancelada).
+     */
+    public void onIgnore() {
+        lock.lock();
+        try {
+            release();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public double getLimit() {
+        return limit;
+    }
+
+    public int getInFlight() {
+        return inFlight;
+    }
+
+    private void release() {
+        inFlight--;
+        permitAvailable.signalAll();
+    }
+
+    /**
+     * La latencia sin carga es la mínima observada en la ventana anterior, para que se adapte si la API cambia de
+     * velocidad.
+     */
+    private void updateNoLoadLatency(long latencyNanos, long now) {
+        windowMinLatencyNanos = Math.min(windowMinLatencyNanos, latencyNanos);
+        noLoadLatencyNanos = Math.min(noLoadLatencyNanos, latencyNanos);
+        if (now - windowStartNanos >= latencyWindowNanos) {
+            noLoadLatencyNanos = windowMinLatencyNanos;
+            windowMinLatencyNanos = Long.MAX_VALUE;
+            windowStartNanos = now;
+        }
+    }
+
+    /**
+     * Rechazo de una llamada por no obtener permiso del límite de concurrencia a tiempo.
+     */
+    public static class ConcurrencyLimitExceededException extends IOException {
+        public ConcurrencyLimitExceededException(String message) {
+            super(message);
+        }
+    }
+}
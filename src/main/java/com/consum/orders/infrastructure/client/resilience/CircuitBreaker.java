@@ -0,0 +1,224 @@
+package com.consum.orders.infrastructure.client.resilience;
+
+import feign.FeignException;
+import feign.RetryableException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Circuit breaker de la consulta de pedidos por UUID a la API de Katas.
+ * <p>
+ * Cuenta el resultado de las últimas {@code window-size} llamadas. Si al menos {@code min-calls} de ellas se han
+ * completado y la proporción de fallos (timeouts, errores de conexión, 429 y 5xx) alcanza {@code failure-rate-threshold},
+ * el circuito se abre: durante {@code open-duration-ms} las llamadas no llegan a la API y se resuelven con el fallback.
+ * Pasado ese tiempo se deja pasar {@code half-open-calls} llamadas de prueba; si todas van bien el circuito se cierra y,
+ * si alguna falla, se vuelve a abrir. Un 404 u otro 4xx indica que la API responde, así que no cuenta como fallo.
+ */
+@Slf4j
+@Component
+public class CircuitBreaker {
+
+    private static final String METRIC_PREFIX = "orders.client.circuit.";
+
+    /**
+     * Estado del circuito. El ordinal se publica en la métrica {@code orders.client.circuit.state}.
+     */
+    public enum State {
+        CLOSED, OPEN, HALF_OPEN
+    }
+
+    private final int minCalls;
+    private final double failureRateThreshold;
+    private final long openDurationNanos;
+    private final int halfOpenCalls;
+
+    private final boolean[] outcomes;
+    private int outcomeCount;
+    private int nextOutcome;
+    private int failureCount;
+
+    private State state = State.CLOSED;
+    private long openedAtNanos;
+    private int halfOpenPermits;
+    private int halfOpenSuccesses;
+
+    private final Counter successes;
+    private final Counter failures;
+    private final Counter rejections;
+
+    public CircuitBreaker(MeterRegistry meterRegistry,
+                          @Value("${orders.client.circuit-breaker.window-size:50}") int windowSize,
+                          @Value("${orders.client.circuit-breaker.min-calls:10}") int minCalls,
+                          @Value("${orders.client.circuit-breaker.failure-rate-threshold:0.5}") double failureRateThreshold,
+                          @Value("${orders.client.circuit-breaker.open-duration-ms:10000}") long openDurationMillis,
+                          @Value("${orders.client.circuit-breaker.half-open-calls:3}") int halfOpenCalls) {
+        this.outcomes = new boolean[windowSize];
+        this.minCalls = minCalls;
+        this.failureRateThreshold = failureRateThreshold;
+        this.openDurationNanos = TimeUnit.MILLISECONDS.toNanos(openDurationMillis);
+        this.halfOpenCalls = halfOpenCalls;
+
+        Gauge.builder(METRIC_PREFIX + "state", this, breaker -> breaker.getState().ordinal())
+                .description("Estado del circuito de la API de Katas: 0 cerrado, 1 abierto, 2 semiabierto")
+                .register(meterRegistry);
+        this.successes = calls(meterRegistry, "success");
+        this.failures = calls(meterRegistry, "failure");
+        this.rejections = calls(meterRegistry, "rejected");
+    }
+
+    /**
+     * Ejecuta la llamada si el circuito lo permite.
+     *
+     * @param call     llamada a la API de Katas
+     * @param fallback respuesta cuando el circuito está abierto o la llamada falla por un error de la API; recibe el
+     *                 error de la llamada, o {@link CircuitOpenException} si no se ha llegado a hacer
+     * @param <T>      tipo de la respuesta
+     * @return respuesta de la llamada o del fallback
+     */
+    public <T> T execute(Supplier<T> call, Function<RuntimeException, T> fallback) {
+        if (!tryAcquirePermission()) {
+            rejections.increment();
+            return fallback.apply(new CircuitOpenException("Circuito abierto: la API de Katas no está disponible"));
+        }
+
+        T value;
+        try {
+            value = call.get();
+        } catch (RuntimeException exception) {
+            if (exception instanceof FeignException && !isFailure(exception)) {
+                // La API ha respondido, aunque sea con un 4xx
+                onSuccess();
+                throw exception;
+            }
+            if (!isFailure(exception)) {
+                onIgnore();
+                throw exception;
+            }
+            onFailure();
+            return fallback.apply(exception);
+        }
+        onSuccess();
+        return value;
+    }
+
+    /**
+     * Indica si un error de la llamada revela que la API de Katas no está sana.
+     *
+     * @param exception error de la llamada
+     * @return true para timeouts, errores de conexión, 429 y 5xx
+     */
+    static boolean isFailure(RuntimeException exception) {
+        if (exception instanceof RetryableException) {
+            return true;
+        }
+        if (exception instanceof FeignException feignException) {
+            return feignException.status() == 429 || feignException.status() >= 500 || feignException.status() < 0;
+        }
+        return false;
+    }
+
+    public synchronized State getState() {
+        if (state == State.OPEN && System.nanoTime() - openedAtNanos >= openDurationNanos) {
+            return State.HALF_OPEN;
+        }
+        return state;
+    }
+
+    private synchronized boolean tryAcquirePermission() {
+        if (state == State.OPEN) {
+            if (System.nanoTime() - openedAtNanos < openDurationNanos) {
+                return false;
+            }
+            transitionTo(State.HALF_OPEN);
+        }
+        if (state == State.HALF_OPEN) {
+            if (halfOpenPermits == 0) {
+                return false;
+            }
+            halfOpenPermits--;
+        }
+        return true;
+    }
+
+    private synchronized void onSuccess() {
+        successes.increment();
+        if (state == State.HALF_OPEN) {
+            if (++halfOpenSuccesses >= halfOpenCalls) {
+                transitionTo(State.CLOSED);
+            }
+        } else if (state == State.CLOSED) {
+            record(false);
+        }
+    }
+
+    private synchronized void onFailure() {
+        failures.increment();
+        if (state == State.HALF_OPEN) {
+            transitionTo(State.OPEN);
+        } else if (state == State.CLOSED) {
+            record(true);
+            if (outcomeCount >= minCalls && (double) failureCount / outcomeCount >= failureRateThreshold) {
+                transitionTo(State.OPEN);
+            }
+        }
+    }
+
+    private synchronized void onIgnore() {
+        if (state == State.HALF_OPEN) {
+            halfOpenPermits++;
+        }
+    }
+
+    private void record(boolean failure) {
+        if (outcomeCount == outcomes.length && outcomes[nextOutcome]) {
+            failureCount--;
+        }
+        outcomes[nextOutcome] = failure;
+        if (failure) {
+            failureCount++;
+        }
+        nextOutcome = (nextOutcome + 1) % outcomes.length;
+        outcomeCount = Math.min(outcomeCount + 1, outcomes.length);
+    }
+
+    private void transitionTo(State newState) {
+        log.warn("Circuito de la API de Katas: {} -> {}", state, newState);
+        state = newState;
+        switch (newState) {
+            case OPEN -> openedAtNanos = System.nanoTime();
+            case HALF_OPEN -> {
+                halfOpenPermits = halfOpenCalls;
+                halfOpenSuccesses = 0;
+            }
+            case CLOSED -> {
+                outcomeCount = 0;
+                nextOutcome = 0;
+                failureCount = 0;
+            }
+        }
+    }
+
+    private static Counter calls(MeterRegistry meterRegistry, String result) {
+        return Counter.builder(METRIC_PREFIX + "calls")
+                .description("Llamadas a la API de Katas según el circuit breaker: correctas, fallidas o rechazadas")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Llamada no realizada porque el circuito está abierto.
+     */
+    public static class CircuitOpenException extends RuntimeException {
+        public CircuitOpenException(String message) {
+            super(message);
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package com.consum.orders.infrastructure.client.resilience;
+
+import feign.Client;
+import feign.Request;
+import feign.Response;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.net.http.HttpTimeoutException;
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * Cliente Feign que somete cada llamada a la API de Katas al {@link AdaptiveConcurrencyLimiter}.
+ * <p>
+ * El permiso se libera al recibir la cabecera de la respuesta: la latencia que ajusta el límite es el tiempo hasta la
+ * respuesta, no el de lectura del cuerpo.
+ */
+public class ConcurrencyLimitedClient implements Client {
+
+    static final String RETRY_AFTER = "Retry-After";
+
+    private final Client delegate;
+    private final AdaptiveConcurrencyLimiter limiter;
+
+    public ConcurrencyLimitedClient(Client delegate, AdaptiveConcurrencyLimiter limiter) {
+        this.delegate = delegate;
+        this.limiter = limiter;
+    }
+
+    @Override
+    public Response execute(Request request, Request.Options options) throws IOException {
+        long startNanos;
+        try {
+            startNanos = limiter.acquire();
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrumpida la espera de permiso para llamar a la API de Katas");
+        }
+
+        Response response;
+        try {
+            response = delegate.execute(request, options);
+        } catch (InterruptedIOException | HttpTimeoutException exception) {
+            // Timeout de lectura o conexión: la API no responde a tiempo
+            limiter.onDrop(startNanos, null);
+            throw exception;
+        } catch (IOException | RuntimeException exception) {
+            limiter.onIgnore();
+            throw exception;
+        }
+
+        if (isOverloaded(response.status())) {
+            limiter.onDrop(startNanos, retryAfter(response.headers()));
+        } else {
+            limiter.onSuccess(startNanos);
+        }
+        return response;
+    }
+
+    private static boolean isOverloaded(int status) {
+        return status == 429 || status >= 500;
+    }
+
+    /**
+     * Interpreta la cabecera Retry-After, en segundos o como fecha HTTP.
+     *
+     * @param headers cabeceras de la respuesta
+     * @return tiempo de espera indicado, o null si no hay cabecera o no es válida
+     */
+    static Duration retryAfter(Map<String, Collection<String>> headers) {
+        String value = headers.entrySet().stream()
+                .filter(header -> RETRY_AFTER.equalsIgnoreCase(header.getKey()))
+                .flatMap(header -> header.getValue().stream())
+                .findFirst()
+                .map(String::trim)
+                .orElse(null);
+        if (value == null || value.isEmpty()) {
+            return null;
+        }
+
+        try {
+            return Duration.ofSeconds(Long.parseLong(value));
+        } catch (NumberFormatException notSeconds) {
+            try {
+                Duration untilDate = Duration.between(ZonedDateTime.now(),
+                        ZonedDateTime.parse(value, DateTimeFormatter.RFC_1123_DATE_TIME));
+                return untilDate.isNegative() ? Duration.ZERO : untilDate;
+            } catch (DateTimeParseException notDate) {
+                return null;
+            }
+        }
+    }
+}
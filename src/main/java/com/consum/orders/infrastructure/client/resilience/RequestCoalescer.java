@@ -0,0 +1,207 @@
+package com.consum.orders.infrastructure.client.resilience;
+
+import com.consum.orders.domain.exception.ProcessingException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Agrupa las peticiones concurrentes a la API de Katas que buscan el mismo recurso (single-flight).
+ * <p>
+ * Dentro del proceso, la primera petición que falla en la caché carga el recurso y el resto espera a su resultado. Entre
+ * nodos, la petición que carga el recurso deja en Redis una marca de corta duración; los demás nodos consultan la caché
+ * hasta que aparece el valor o la marca caduca, y solo entonces lo cargan por su cuenta.
+ * <p>
+ * El recurso cargado se publica en la caché desde aquí, así que el loader no debe guardarlo. Solo se omite cuando Redis
+ * no responde, porque la caché tampoco estaría disponible.
+ */
+@Slf4j
+@Component
+public class RequestCoalescer {
+
+    private static final String MARKER_PREFIX = "orders:inflight:";
+    private static final String METRIC_NAME = "orders.client.coalescing";
+
+    private final StringRedisTemplate stringRedisTemplate;
+    private final CacheManager cacheManager;
+    private final MeterRegistry meterRegistry;
+    private final boolean distributed;
+    private final Duration markerTtl;
+    private final Duration pollInterval;
+
+    private final String nodeId = UUID.randomUUID().toString();
+    private final Map<String, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+
+    public RequestCoalescer(StringRedisTemplate stringRedisTemplate,
+                            CacheManager cacheManager,
+                            MeterRegistry meterRegistry,
+                            @Value("${orders.client.coalescing.distributed:true}") boolean distributed,
+                            @Value("${orders.client.coalescing.marker-ttl-ms:2000}") long markerTtlMillis,
+                            @Value("${orders.client.coalescing.poll-interval-ms:50}") long pollIntervalMillis) {
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.cacheManager = cacheManager;
+        this.meterRegistry = meterRegistry;
+        this.distributed = distributed;
+        this.markerTtl = Duration.ofMillis(markerTtlMillis);
+        this.pollInterval = Duration.ofMillis(pollIntervalMillis);
+    }
+
+    /**
+     * Carga un recurso compartiendo la carga con las peticiones concurrentes que buscan la misma clave.
+     *
+     * @param cacheName caché en la que se publica el recurso
+     * @param key       clave del recurso en la caché
+     * @param type      tipo del recurso
+     * @param loader    carga del recurso desde la API de Katas
+     * @param <T>       tipo del recurso
+     * @return recurso cargado por esta petición o por la que ya estaba en curso
+     */
+    public <T> T execute(String cacheName, String key, Class<T> type, Supplier<T> loader) {
+        String flightKey = cacheName + "::" + key;
+        CompletableFuture<Object> flight = new CompletableFuture<>();
+        CompletableFuture<Object> existing = inFlight.putIfAbsent(flightKey, flight);
+
+        if (existing != null) {
+            log.debug("Petición agrupada con la carga en curso de {}", flightKey);
+            counter(cacheName, "coalesced").increment();
+            return type.cast(await(existing));
+        }
+
+        try {
+            T value = distributed ? loadAcrossNodes(cacheName, key, type, loader) : loadAndPublish(cacheName, key, loader);
+            flight.complete(value);
+            return value;
+        } catch (RuntimeException exception) {
+            flight.completeExceptionally(exception);
+            throw exception;
+        } finally {
+            inFlight.remove(flightKey, flight);
+        }
+    }
+
+    private <T> T loadAcrossNodes(String cacheName, String key, Class<T> type, Supplier<T> loader) {
+        String markerKey = MARKER_PREFIX + cacheName + "::" + key;
+
+        Boolean acquired;
+        try {
+            acquired = stringRedisTemplate.opsForValue().setIfAbsent(markerKey, nodeId, markerTtl);
+        } catch (RuntimeException exception) {
+            log.warn("No se ha podido registrar la carga de {} en Redis: {}", markerKey, exception.getMessage());
+            return load(cacheName, loader);
+        }
+
+        if (Boolean.TRUE.equals(acquired)) {
+            try {
+                return loadAndPublish(cacheName, key, loader);
+            } finally {
+                releaseMarker(markerKey);
+            }
+        }
+
+        T remoteValue = awaitRemoteLoad(cacheName, key, type, markerKey);
+        if (remoteValue != null) {
+            counter(cacheName, "remote").increment();
+            return remoteValue;
+        }
+
+        log.debug("La carga remota de {} no ha terminado a tiempo, se carga localmente", markerKey);
+        counter(cacheName, "fallback").increment();
+        T value = loader.get();
+        publish(cacheName, key, value);
+        return value;
+    }
+
+    private <T> T load(String cacheName, Supplier<T> loader) {
+        counter(cacheName, "leader").increment();
+        return loader.get();
+    }
+
+    private <T> T loadAndPublish(String cacheName, String key, Supplier<T> loader) {
+        T value = load(cacheName, loader);
+        publish(cacheName, key, value);
+        return value;
+    }
+
+    /**
+     * Espera a que otro nodo publique el recurso en la caché, mientras su marca siga en Redis.
+     *
+     * @return recurso publicado por el otro nodo, o null si la marca desaparece o caduca sin publicarlo
+     */
+    private <T> T awaitRemoteLoad(String cacheName, String key, Class<T> type, String markerKey) {
+        Cache cache = cacheManager.getCache(cacheName);
+        long deadline = System.nanoTime() + markerTtl.toNanos();
+
+        try {
+            while (System.nanoTime() < deadline) {
+                Thread.sleep(pollInterval.toMillis());
+                T cached = cache != null ? cache.get(key, type) : null;
+                if (cached != null) {
+                    return cached;
+                }
+                if (!Boolean.TRUE.equals(stringRedisTemplate.hasKey(markerKey))) {
+                    return cache != null ? cache.get(key, type) : null;
+                }
+            }
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            throw new ProcessingException("Interrumpida la espera de la carga del pedido", exception);
+        } catch (RuntimeException exception) {
+            log.warn("Error consultando la carga remota de {}: {}", markerKey, exception.getMessage());
+        }
+        return null;
+    }
+
+    private void publish(String cacheName, String key, Object value) {
+        try {
+            Cache cache = cacheManager.getCache(cacheName);
+            if (cache != null && value != null) {
+                cache.put(key, value);
+            }
+        } catch (RuntimeException exception) {
+            log.warn("No se ha podido publicar {} en {}: {}", key, cacheName, exception.getMessage());
+        }
+    }
+
+    private void releaseMarker(String markerKey) {
+        try {
+            if (nodeId.equals(stringRedisTemplate.opsForValue().get(markerKey))) {
+                stringRedisTemplate.delete(markerKey);
+            }
+        } catch (RuntimeException exception) {
+            log.warn("No se ha podido liberar la marca {} en Redis: {}", markerKey, exception.getMessage());
+        }
+    }
+
+    private static Object await(CompletableFuture<Object> flight) {
+        try {
+            return flight.join();
+        } catch (CompletionException exception) {
+            if (exception.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new ProcessingException("Error en la carga agrupada del pedido", exception.getCause());
+        }
+    }
+
+    private Counter counter(String cacheName, String result) {
+        return Counter.builder(METRIC_NAME)
+                .description("Peticiones a la API de Katas según cómo se han resuelto: carga propia, agrupada en el "
+                        + "proceso, publicada por otro nodo o carga local tras esperar a otro nodo")
+                .tag("cache", cacheName)
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,224 @@
+package com.consum.orders.infrastructure.client.resilience;
+
+import com.consum.orders.domain.exception.ProcessingException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Lanza una segunda petición (hedge) a la API de Katas cuando la primera tarda más que el p95 observado, y se queda con
+ * la que responda antes.
+ * <p>
+ * El p95 se calcula sobre las últimas {@code window-size} llamadas correctas, medidas cada una por separado, y el
+ * retardo se acota entre {@code min-delay-ms} y {@code max-delay-ms}. Para no duplicar la carga cuando la API va lenta
+ * para todos, solo se lanzan hedges mientras quede presupuesto: cada petición suma {@code budget-ratio} y cada hedge
+ * gasta una unidad.
+ */
+@Slf4j
+@Component
+public class RequestHedger {
+
+    private static final String METRIC_PREFIX = "orders.client.hedging.";
+    private static final double HEDGE_PERCENTILE = 0.95;
+    private static final double MAX_BUDGET = 10;
+
+    private final ExecutorService orderHedgeExecutor;
+    private final boolean enabled;
+    private final long minDelayNanos;
+    private final long maxDelayNanos;
+    private final int minSamples;
+    private final double budgetRatio;
+
+    private final long[] latencies;
+    private int latencyCount;
+    private int nextLatency;
+    private long hedgeDelayNanos;
+    private double budget = MAX_BUDGET;
+
+    private final Timer latency;
+    private final Counter hedgesSent;
+    private final Counter primaryWins;
+    private final Counter hedgeWins;
+
+    public RequestHedger(@Qualifier("orderHedgeExecutor") ExecutorService orderHedgeExecutor,
+                         MeterRegistry meterRegistry,
+                         @Value("${orders.client.hedging.enabled:true}") boolean enabled,
+                         @Value("${orders.client.hedging.min-delay-ms:50}") long minDelayMillis,
+                         @Value("${orders.client.hedging.max-delay-ms:1000}") long maxDelayMillis,
+                         @Value("${orders.client.hedging.window-size:200}") int windowSize,
+                         @Value("${orders.client.hedging.min-samples:20}") int minSamples,
+                         @Value("${orders.client.hedging.budget-ratio:0.1}") double budgetRatio) {
+        this.orderHedgeExecutor = orderHedgeExecutor;
+        this.enabled = enabled;
+        this.minDelayNanos = TimeUnit.MILLISECONDS.toNanos(minDelayMillis);
+        this.maxDelayNanos = TimeUnit.MILLISECONDS.toNanos(maxDelayMillis);
+        this.minSamples = minSamples;
+        this.budgetRatio = budgetRatio;
+        this.latencies = new long[windowSize];
+        this.hedgeDelayNanos = maxDelayNanos;
+
+        this.latency = Timer.builder("orders.client.order.latency")
+                .description("Latencia de la consulta de un pedido a la API de Katas, con hedging")
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(meterRegistry);
+        Gauge.builder(METRIC_PREFIX + "delay", this, hedger -> TimeUnit.NANOSECONDS.toMillis(hedger.getHedgeDelayNanos()))
+                .description("Retardo actual antes de lanzar el hedge, en milisegundos")
+                .register(meterRegistry);
+        this.hedgesSent = Counter.builder(METRIC_PREFIX + "sent")
+                .description("Segundas peticiones lanzadas a la API de Katas")
+                .register(meterRegistry);
+        this.primaryWins = winner(meterRegistry, "primary");
+        this.hedgeWins = winner(meterRegistry, "hedge");
+    }
+
+    /**
+     * Ejecuta la llamada, lanzando una segunda si la primera no responde antes del retardo de hedge.
+     *
+     * @param call llamada a la API de Katas
+     * @param <T>  tipo de la respuesta
+     * @return respuesta de la primera llamada que termina correctamente, o el error de la última en fallar
+     */
+    public <T> T execute(Supplier<T> call) {
+        long start = System.nanoTime();
+        try {
+            return enabled ? hedge(call) : call.get();
+        } finally {
+            latency.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private <T> T hedge(Supplier<T> call) {
+        ExecutorCompletionService<T> completionService = new ExecutorCompletionService<>(orderHedgeExecutor);
+        Future<T> primary;
+        try {
+            primary = completionService.submit(measured(call));
+        } catch (RejectedExecutionException exception) {
+            // Pool completo: la llamada se hace en el hilo actual y sin hedge
+            return measured(call).call();
+        }
+
+        Future<T> hedge = null;
+        try {
+            Future<T> first = completionService.poll(hedgeDelay(), TimeUnit.NANOSECONDS);
+            if (first == null && tryConsumeBudget()) {
+                hedge = submitHedge(completionService, call);
+            }
+            if (first == null) {
+                first = completionService.take();
+            }
+
+            int pending = hedge != null ? 1 : 0;
+            while (true) {
+                try {
+                    T value = first.get();
+                    (first == primary ? primaryWins : hedgeWins).increment();
+                    return value;
+                } catch (ExecutionException exception) {
+                    if (pending-- == 0) {
+                        throw unwrap(exception);
+                    }
+                    first = completionService.take();
+                }
+            }
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            throw new ProcessingException("Interrumpida la espera de la respuesta de la API de Katas", exception);
+        } finally {
+            primary.cancel(true);
+            if (hedge != null) {
+                hedge.cancel(true);
+            }
+        }
+    }
+
+    private <T> Future<T> submitHedge(ExecutorCompletionService<T> completionService, Supplier<T> call) {
+        try {
+            Future<T> hedge = completionService.submit(measured(call));
+            hedgesSent.increment();
+            log.debug("La API de Katas no ha respondido en {} ms, se lanza una segunda petición",
+                    TimeUnit.NANOSECONDS.toMillis(getHedgeDelayNanos()));
+            return hedge;
+        } catch (RejectedExecutionException exception) {
+            return null;
+        }
+    }
+
+    /**
+     * Envuelve la llamada para registrar su propia latencia si termina bien, aunque otra llamada haya ganado.
+     */
+    private <T> HedgedCall<T> measured(Supplier<T> call) {
+        return () -> {
+            long start = System.nanoTime();
+            T value = call.get();
+            recordLatency(System.nanoTime() - start);
+            return value;
+        };
+    }
+
+    private synchronized void recordLatency(long latencyNanos) {
+        latencies[nextLatency] = latencyNanos;
+        nextLatency = (nextLatency + 1) % latencies.length;
+        latencyCount = Math.min(latencyCount + 1, latencies.length);
+        if (latencyCount >= minSamples) {
+            long[] window = Arrays.copyOf(latencies, latencyCount);
+            Arrays.sort(window);
+            long percentile = window[(int) Math.ceil(HEDGE_PERCENTILE * latencyCount) - 1];
+            hedgeDelayNanos = Math.max(minDelayNanos, Math.min(maxDelayNanos, percentile));
+        }
+    }
+
+    private synchronized long hedgeDelay() {
+        budget = Math.min(MAX_BUDGET, budget + budgetRatio);
+        return hedgeDelayNanos;
+    }
+
+    private synchronized boolean tryConsumeBudget() {
+        if (budget < 1) {
+            return false;
+        }
+        budget--;
+        return true;
+    }
+
+    public synchronized long getHedgeDelayNanos() {
+        return hedgeDelayNanos;
+    }
+
+    private static RuntimeException unwrap(ExecutionException exception) {
+        if (exception.getCause() instanceof RuntimeException runtimeException) {
+            return runtimeException;
+        }
+        return new ProcessingException("Error en la llamada a la API de Katas", exception.getCause());
+    }
+
+    private static Counter winner(MeterRegistry meterRegistry, String winner) {
+        return Counter.builder(METRIC_PREFIX + "requests")
+                .description("Consultas resueltas por la primera petición o por el hedge")
+                .tag("winner", winner)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Llamada a la API de Katas que solo lanza excepciones no comprobadas.
+     */
+    @FunctionalInterface
+    private interface HedgedCall<T> extends Callable<T> {
+        @Override
+        T call();
+    }
+}
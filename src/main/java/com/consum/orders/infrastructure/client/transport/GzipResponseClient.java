@@ -0,0 +1,67 @@
+package com.consum.orders.infrastructure.client.transport;
+
+import feign.Client;
+import feign.Request;
+import feign.Response;
+
+import java.io.IOException;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Cliente Feign que negocia la compresión gzip con la API de Katas y descomprime la respuesta antes de entregarla a
+ * los decodificadores.
+ * <p>
+ * Solo es necesario con el cliente HTTP/2 de Java, que no descomprime las respuestas; Apache HttpClient 5 ya negocia
+ * y descomprime gzip por sí mismo.
+ */
+public class GzipResponseClient implements Client {
+
+    static final String ACCEPT_ENCODING = "Accept-Encoding";
+    static final String CONTENT_ENCODING = "Content-Encoding";
+    static final String CONTENT_LENGTH = "Content-Length";
+    static final String GZIP = "gzip";
+
+    private final Client delegate;
+
+    public GzipResponseClient(Client delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public Response execute(Request request, Request.Options options) throws IOException {
+        Response response = delegate.execute(withAcceptGzip(request), options);
+        if (response.body() == null || !isGzipEncoded(response)) {
+            return response;
+        }
+
+        Map<String, Collection<String>> headers = new HashMap<>(response.headers());
+        headers.keySet().removeIf(name -> CONTENT_ENCODING.equalsIgnoreCase(name) || CONTENT_LENGTH.equalsIgnoreCase(name));
+
+        return response.toBuilder()
+                .headers(headers)
+                .body(new GZIPInputStream(response.body().asInputStream()), null)
+                .build();
+    }
+
+    private static Request withAcceptGzip(Request request) {
+        if (request.headers().keySet().stream().anyMatch(ACCEPT_ENCODING::equalsIgnoreCase)) {
+            return request;
+        }
+
+        Map<String, Collection<String>> headers = new HashMap<>(request.headers());
+        headers.put(ACCEPT_ENCODING, List.of(GZIP));
+        return Request.create(request.httpMethod(), request.url(), headers, request.body(), request.charset(),
+                request.requestTemplate());
+    }
+
+    private static boolean isGzipEncoded(Response response) {
+        return response.headers().entrySet().stream()
+                .filter(header -> CONTENT_ENCODING.equalsIgnoreCase(header.getKey()))
+                .flatMap(header -> header.getValue().stream())
+                .anyMatch(GZIP::equalsIgnoreCase);
+    }
+}
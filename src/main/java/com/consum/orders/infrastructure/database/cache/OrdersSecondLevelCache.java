@@ -0,0 +1,99 @@
+package com.consum.orders.infrastructure.database.cache;
+
+import com.consum.orders.infrastructure.database.entity.Orders;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Invalidación y métricas de la caché de segundo nivel de Hibernate para los pedidos.
+ * <p>
+ * Las importaciones escriben en orders con JDBC (lotes o LOAD DATA), sin pasar por Hibernate, así que Hibernate no sabe
+ * que los pedidos ni los resultados de consultas en caché han cambiado. Después de cada importación se vacían la región
+ * de los pedidos y las de consultas, cuando se confirma la transacción: si se vaciaran antes, una lectura simultánea
+ * podría volver a llenarlas con los datos anteriores a la importación.
+ * <p>
+ * Con la caché activa publica los aciertos y fallos de Hibernate en
+ * {@code orders.cache.second-level.requests{cache=entity|query, result=hit|miss}}.
+ */
+@Slf4j
+@Component
+public class OrdersSecondLevelCache {
+
+    private static final String METRIC_PREFIX = "orders.cache.second-level.";
+
+    private final EntityManagerFactory entityManagerFactory;
+    private final boolean enabled;
+    private final Counter evictions;
+
+    public OrdersSecondLevelCache(EntityManagerFactory entityManagerFactory, MeterRegistry meterRegistry,
+                                  @Value("${orders.cache.second-level.enabled:false}") boolean enabled) {
+        this.entityManagerFactory = entityManagerFactory;
+        this.enabled = enabled;
+        this.evictions = Counter.builder(METRIC_PREFIX + "evictions")
+                .description("Vaciados de la caché de segundo nivel de pedidos tras una importación")
+                .register(meterRegistry);
+        if (enabled) {
+            Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+            requests(meterRegistry, statistics, "entity", "hit", Statistics::getSecondLevelCacheHitCount);
+            requests(meterRegistry, statistics, "entity", "miss", Statistics::getSecondLevelCacheMissCount);
+            requests(meterRegistry, statistics, "query", "hit", Statistics::getQueryCacheHitCount);
+            requests(meterRegistry, statistics, "query", "miss", Statistics::getQueryCacheMissCount);
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Vacía la caché de pedidos cuando se confirme la transacción actual, o en el momento si no hay ninguna. Si la
+     * transacción se deshace, los datos en caché siguen siendo válidos y no se vacía.
+     */
+    public void evictAfterCommit() {
+        if (!enabled) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evict();
+                }
+            });
+        } else {
+            evict();
+        }
+    }
+
+    /**
+     * Vacía la región de los pedidos y los resultados de consultas.
+     */
+    void evict() {
+        Cache cache = entityManagerFactory.unwrap(SessionFactory.class).getCache();
+        cache.evictEntityData(Orders.class);
+        cache.evictQueryRegions();
+        evictions.increment();
+        log.debug("Caché de segundo nivel de pedidos vaciada");
+    }
+
+    private static void requests(MeterRegistry meterRegistry, Statistics statistics, String cache, String result,
+                                 ToDoubleFunction<Statistics> count) {
+        FunctionCounter.builder(METRIC_PREFIX + "requests", statistics, count)
+                .description("Lecturas de la caché de segundo nivel de Hibernate: aciertos o fallos")
+                .tag("cache", cache)
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,60 @@
+package com.consum.orders.infrastructure.database.dimension;
+
+import com.consum.orders.infrastructure.database.projection.OrdersSummaryCount;
+import jakarta.persistence.AttributeConverter;
+
+/**
+ * Conversor JPA entre el texto de una dimensión del pedido y su identificador en order_dimension, a través de
+ * {@link OrderDimensionDictionary}. Hibernate crea los conversores con el contenedor de beans de Spring, que inyecta el
+ * diccionario en el constructor. Hay una subclase por dimensión, porque el conversor no sabe a qué columna se aplica.
+ */
+public abstract class OrderDimensionConverter implements AttributeConverter<String, Short> {
+
+    private final OrderDimensionDictionary dictionary;
+    private final String dimension;
+
+    protected OrderDimensionConverter(OrderDimensionDictionary dictionary, String dimension) {
+        this.dictionary = dictionary;
+        this.dimension = dimension;
+    }
+
+    @Override
+    public Short convertToDatabaseColumn(String name) {
+        return dictionary.idOf(dimension, name);
+    }
+
+    @Override
+    public String convertToEntityAttribute(Short id) {
+        return dictionary.nameOf(id);
+    }
+
+    public static class Region extends OrderDimensionConverter {
+        public Region(OrderDimensionDictionary dictionary) {
+            super(dictionary, OrdersSummaryCount.REGION);
+        }
+    }
+
+    public static class Country extends OrderDimensionConverter {
+        public Country(OrderDimensionDictionary dictionary) {
+            super(dictionary, OrdersSummaryCount.COUNTRY);
+        }
+    }
+
+    public static class ItemType extends OrderDimensionConverter {
+        public ItemType(OrderDimensionDictionary dictionary) {
+            super(dictionary, OrdersSummaryCount.ITEM_TYPE);
+        }
+    }
+
+    public static class SalesChannel extends OrderDimensionConverter {
+        public SalesChannel(OrderDimensionDictionary dictionary) {
+            super(dictionary, OrdersSummaryCount.SALES_CHANNEL);
+        }
+    }
+
+    public static class OrderPriority extends OrderDimensionConverter {
+        public OrderPriority(OrderDimensionDictionary dictionary) {
+            super(dictionary, OrdersSummaryCount.ORDER_PRIORITY);
+        }
+    }
+}
@@ -0,0 +1,139 @@
+package com.consum.orders.infrastructure.database.dimension;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Caché en memoria, en los dos sentidos, de la tabla order_dimension: identificador de cada (dimensión, valor) y valor
+ * de cada identificador. La usan los conversores JPA de {@code Orders}, la escritura masiva, la carga con LOAD DATA y
+ * el resumen materializado, de modo que el resto de la aplicación sigue trabajando con los textos.
+ * <p>
+ * La primera consulta carga el diccionario completo, unos cientos de filas. Los valores nuevos se insertan con
+ * {@code INSERT IGNORE} en una conexión propia con autocommit, fuera de la transacción de la importación: así son
+ * visibles en seguida para otras importaciones y no desaparecen si la importación se deshace, y un identificador en la
+ * caché siempre existe en la tabla. Si dos instancias insertan el mismo valor a la vez, ambas leen el mismo
+ * identificador.
+ */
+@Slf4j
+@Component
+public class OrderDimensionDictionary {
+
+    static final String SELECT_ALL_SQL = "SELECT id, dimension, name FROM order_dimension";
+    static final String INSERT_SQL = "INSERT IGNORE INTO order_dimension (dimension, name) VALUES (?, ?)";
+    static final String SELECT_ID_SQL = "SELECT id FROM order_dimension WHERE dimension = ? AND name = ?";
+
+    private final DataSource dataSource;
+    private final Map<String, Map<String, Short>> ids = new ConcurrentHashMap<>();
+    private final Map<Short, String> names = new ConcurrentHashMap<>();
+    private volatile boolean loaded;
+
+    public OrderDimensionDictionary(DataSource dataSource) {
+        this.dataSource = dataSource;
+    }
+
+    /**
+     * Devuelve el identificador de un valor de una dimensión, dándolo de alta si es nuevo.
+     *
+     * @param dimension dimensión (region, country, item_type, sales_channel u order_priority)
+     * @param name      valor de la dimensión
+     * @return identificador del valor, o nulo si el valor es nulo
+     */
+    public Short idOf(String dimension, String name) {
+        if (name == null) {
+            return null;
+        }
+        loadIfNecessary();
+        Short id = ids.getOrDefault(dimension, Map.of()).get(name);
+        return id != null ? id : register(dimension, name);
+    }
+
+    /**
+     * Devuelve el valor de un identificador. Si no está en la caché, porque lo ha dado de alta otra instancia, se vuelve
+     * a cargar el diccionario.
+     *
+     * @param id identificador del valor
+     * @return valor, o nulo si el identificador es nulo
+     */
+    public String nameOf(Short id) {
+        if (id == null) {
+            return null;
+        }
+        loadIfNecessary();
+        String name = names.get(id);
+        if (name == null) {
+            reload();
+            name = names.get(id);
+        }
+        if (name == null) {
+            throw new IllegalStateException("Valor de dimensión desconocido: " + id);
+        }
+        return name;
+    }
+
+    private void loadIfNecessary() {
+        if (!loaded) {
+            reload();
+        }
+    }
+
+    private synchronized void reload() {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement(SELECT_ALL_SQL);
+             ResultSet resultSet = statement.executeQuery()) {
+            while (resultSet.next()) {
+                put(resultSet.getShort("id"), resultSet.getString("dimension"), resultSet.getString("name"));
+            }
+            loaded = true;
+            log.debug("Diccionario de dimensiones cargado: {} valores", names.size());
+        } catch (SQLException exception) {
+            throw new DataAccessResourceFailureException("No se ha podido cargar el diccionario de dimensiones",
+                    exception);
+        }
+    }
+
+    private synchronized Short register(String dimension, String name) {
+        Short cached = ids.getOrDefault(dimension, Map.of()).get(name);
+        if (cached != null) {
+            return cached;
+        }
+
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setAutoCommit(true);
+            try (PreparedStatement insert = connection.prepareStatement(INSERT_SQL)) {
+                insert.setString(1, dimension);
+                insert.setString(2, name);
+                insert.executeUpdate();
+            }
+            try (PreparedStatement select = connection.prepareStatement(SELECT_ID_SQL)) {
+                select.setString(1, dimension);
+                select.setString(2, name);
+                try (ResultSet resultSet = select.executeQuery()) {
+                    if (!resultSet.next()) {
+                        throw new IllegalStateException("No se ha dado de alta el valor " + name + " de " + dimension);
+                    }
+                    short id = resultSet.getShort("id");
+                    put(id, dimension, name);
+                    log.info("Nuevo valor de {}: {} -> {}", dimension, name, id);
+                    return id;
+                }
+            }
+        } catch (SQLException exception) {
+            throw new DataAccessResourceFailureException("No se ha podido dar de alta el valor " + name + " de "
+                    + dimension, exception);
+        }
+    }
+
+    private void put(short id, String dimension, String name) {
+        ids.computeIfAbsent(dimension, key -> new ConcurrentHashMap<>()).put(name, id);
+        names.put(id, name);
+    }
+}
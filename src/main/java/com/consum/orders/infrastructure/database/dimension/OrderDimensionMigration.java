@@ -0,0 +1,118 @@
+package com.consum.orders.infrastructure.database.dimension;
+
+import com.consum.orders.domain.exception.ProcessingException;
+import com.consum.orders.infrastructure.database.projection.OrdersSummaryCount;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Migración de las columnas de texto de las dimensiones de orders (region, country, item_type, sales_channel y
+ * order_priority) a los identificadores de order_dimension.
+ * <p>
+ * Solo se ejecuta si se activa con {@code orders.dimensions.migration.enabled}, al arrancar, después de que Hibernate
+ * haya creado las columnas {@code <dimensión>_id} y la tabla order_dimension, y antes de que la aplicación atienda
+ * peticiones. Por cada columna de texto que siga existiendo, da de alta sus valores distintos en el diccionario y
+ * rellena la columna de identificadores con un UPDATE ... JOIN. Antes de eliminar las columnas de texto y sus índices
+ * comprueba que ningún pedido con texto se ha quedado sin identificador; si alguno queda, detiene el arranque sin
+ * eliminar nada. Si no quedan columnas de texto no hace nada, así que es idempotente y se puede repetir si se
+ * interrumpe.
+ * <p>
+ * Desactivada, comprueba igualmente al arrancar si quedan pedidos con texto sin identificador. Esos pedidos se leerían
+ * sin región, país, tipo de artículo, canal ni prioridad, así que detiene el arranque y pide activar la migración.
+ */
+@Slf4j
+@Component
+@DependsOn("entityManagerFactory")
+public class OrderDimensionMigration implements InitializingBean {
+
+    static final List<String> DIMENSIONS = List.of(OrdersSummaryCount.REGION, OrdersSummaryCount.COUNTRY,
+            OrdersSummaryCount.ITEM_TYPE, OrdersSummaryCount.SALES_CHANNEL, OrdersSummaryCount.ORDER_PRIORITY);
+
+    static final String LEGACY_COLUMNS_SQL = "SELECT COLUMN_NAME FROM information_schema.COLUMNS "
+            + "WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'orders' AND COLUMN_NAME IN ("
+            + DIMENSIONS.stream().map(dimension -> "'" + dimension + "'").collect(Collectors.joining(", ")) + ")";
+    static final String REGISTER_SQL = "INSERT IGNORE INTO order_dimension (dimension, name) "
+            + "SELECT DISTINCT '%1$s', %1$s FROM orders WHERE %1$s IS NOT NULL";
+    static final String FILL_SQL = "UPDATE orders o JOIN order_dimension d ON d.dimension = '%1$s' AND d.name = o.%1$s "
+            + "SET o.%1$s_id = d.id WHERE o.%1$s_id IS NULL";
+    static final String UNMIGRATED_SQL = "SELECT COUNT(*) FROM orders WHERE %1$s IS NOT NULL AND %1$s_id IS NULL";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final boolean enabled;
+
+    public OrderDimensionMigration(JdbcTemplate jdbcTemplate,
+                                   @Value("${orders.dimensions.migration.enabled:false}") boolean enabled) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.enabled = enabled;
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        if (enabled) {
+            migrate();
+        } else {
+            checkNothingPending();
+        }
+    }
+
+    /**
+     * Comprueba que ningún pedido tiene una dimensión solo en su columna de texto.
+     *
+     * @throws ProcessingException si hay pedidos por migrar
+     */
+    void checkNothingPending() {
+        for (String column : jdbcTemplate.queryForList(LEGACY_COLUMNS_SQL, String.class)) {
+            Long unmigrated = jdbcTemplate.queryForObject(String.format(UNMIGRATED_SQL, column), Long.class);
+            if (unmigrated != null && unmigrated > 0) {
+                log.error("{} pedidos tienen {} sin {}_id y se leerían sin ese valor: haz una copia de seguridad de orders "
+                        + "y arranca con orders.dimensions.migration.enabled=true", unmigrated, column, column);
+                throw new ProcessingException("Migración de dimensiones pendiente: " + unmigrated + " pedidos con "
+                        + column + " sin identificador");
+            }
+        }
+    }
+
+    /**
+     * Migra las columnas de texto que queden en orders.
+     *
+     * @return columnas migradas y eliminadas
+     * @throws ProcessingException si algún pedido con texto se queda sin identificador; las columnas no se eliminan
+     */
+    public List<String> migrate() {
+        List<String> legacyColumns = jdbcTemplate.queryForList(LEGACY_COLUMNS_SQL, String.class);
+        if (legacyColumns.isEmpty()) {
+            return legacyColumns;
+        }
+
+        long start = System.nanoTime();
+        log.info("Migrando las columnas {} de orders al diccionario de dimensiones", legacyColumns);
+        for (String column : legacyColumns) {
+            int values = jdbcTemplate.update(String.format(REGISTER_SQL, column));
+            int rows = jdbcTemplate.update(String.format(FILL_SQL, column));
+            log.info("Columna {} migrada: {} valores nuevos, {} pedidos actualizados", column, values, rows);
+        }
+        verify(legacyColumns);
+        jdbcTemplate.execute("ALTER TABLE orders " + legacyColumns.stream()
+                .map(column -> "DROP COLUMN " + column).collect(Collectors.joining(", ")));
+        log.info("Migración de dimensiones terminada en {} ms", (System.nanoTime() - start) / 1_000_000);
+        return legacyColumns;
+    }
+
+    private void verify(List<String> legacyColumns) {
+        for (String column : legacyColumns) {
+            Long unmigrated = jdbcTemplate.queryForObject(String.format(UNMIGRATED_SQL, column), Long.class);
+            if (unmigrated != null && unmigrated > 0) {
+                log.error("{} pedidos tienen {} sin {}_id, no se eliminan las columnas de texto", unmigrated, column, column);
+                throw new ProcessingException("Migración de dimensiones incompleta: " + unmigrated + " pedidos con "
+                        + column + " sin identificador");
+            }
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package com.consum.orders.infrastructure.database.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.util.Date;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@ToString
+@Entity
+@Table(name = "import_jobs")
+public class ImportJob {
+
+    /**
+     * Longitud máxima de la columna error_message.
+     */
+    public static final int ERROR_MESSAGE_LENGTH = 1000;
+
+    @Id
+    @Column(name = "job_id")
+    private String jobId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status")
+    private ImportJobStatus status;
+
+    @Column(name = "max_per_page")
+    private String maxPerPage;
+
+    @Column(name = "last_committed_page")
+    private Integer lastCommittedPage;
+
+    @Column(name = "imported_pages")
+    private Integer importedPages;
+
+    @Column(name = "imported_orders")
+    private Long importedOrders;
+
+    @Column(name = "error_message", length = ERROR_MESSAGE_LENGTH)
+    private String errorMessage;
+
+    @Temporal(TemporalType.TIMESTAMP)
+    @Column(name = "created_at")
+    private Date createdAt;
+
+    @Temporal(TemporalType.TIMESTAMP)
+    @Column(name = "updated_at")
+    private Date updatedAt;
+
+    /**
+     * Instancia de la aplicación que ejecuta el trabajo, o null si no lo ejecuta ninguna.
+     */
+    @Column(name = "owner", length = 36)
+    private String owner;
+
+    /**
+     * Hasta cuándo es válida la reserva del trabajo. La instancia que lo ejecuta la renueva periódicamente; si se
+     * cae, otra instancia puede reanudarlo cuando vence.
+     */
+    @Temporal(TemporalType.TIMESTAMP)
+    @Column(name = "lease_expires_at")
+    private Date leaseExpiresAt;
+}
@@ -0,0 +1,14 @@
+package com.consum.orders.infrastructure.database.entity;
+
+/**
+ * Estados de un trabajo de importación de pedidos. INTERRUPTED es un trabajo detenido al parar la aplicación, que se
+ * reanuda desde su punto de control igual que uno PENDING o RUNNING.
+ */
+public enum ImportJobStatus {
+    PENDING,
+    RUNNING,
+    INTERRUPTED,
+    COMPLETED,
+    FAILED,
+    CANCELLED
+}
@@ -0,0 +1,31 @@
+package com.consum.orders.infrastructure.database.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * Diccionario de valores de las dimensiones de los pedidos (región, país, tipo de ítem, canal de ventas y prioridad).
+ * La tabla orders guarda el identificador de dos bytes de cada valor en lugar del texto. Los identificadores son únicos
+ * entre todas las dimensiones.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@ToString
+@Entity
+@Table(name = "order_dimension", uniqueConstraints =
+        @UniqueConstraint(name = "uk_order_dimension", columnNames = {"dimension", "name"}))
+public class OrderDimension {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "id")
+    private Short id;
+
+    @Column(name = "dimension", length = 32, nullable = false)
+    private String dimension;
+
+    @Column(name = "name", nullable = false)
+    private String name;
+}
@@ -0,0 +1,31 @@
+package com.consum.orders.infrastructure.database.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * Resumen materializado de pedidos: número de pedidos de cada valor de cada dimensión (región, país, tipo de ítem,
+ * canal de ventas y prioridad). Se mantiene de forma incremental al guardar pedidos y puede reconstruirse desde la
+ * tabla orders.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@ToString
+@Entity
+@IdClass(OrderSummaryId.class)
+@Table(name = "order_summary")
+public class OrderSummary {
+
+    @Id
+    @Column(name = "dimension", length = 32)
+    private String dimension;
+
+    @Id
+    @Column(name = "name")
+    private String name;
+
+    @Column(name = "total", nullable = false)
+    private Long total;
+}
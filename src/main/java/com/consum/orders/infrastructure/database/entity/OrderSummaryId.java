@@ -0,0 +1,23 @@
+package com.consum.orders.infrastructure.database.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serial;
+import java.io.Serializable;
+
+/**
+ * Clave primaria de {@link OrderSummary}: dimensión y valor.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderSummaryId implements Serializable {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    private String dimension;
+    private String name;
+}
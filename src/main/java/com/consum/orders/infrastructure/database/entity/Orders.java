@@ -1,8 +1,11 @@
 package com.consum.orders.infrastructure.database.entity;
 
+import com.consum.orders.infrastructure.database.dimension.OrderDimensionConverter;
 import com.fasterxml.jackson.annotation.JsonFormat;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.math.BigDecimal;
 import java.util.Date;
@@ -13,9 +16,22 @@ import java.util.Date;
 @AllArgsConstructor
 @ToString
 @Entity
-@Table(name = "orders")
+@Table(name = "orders", indexes = {
+        @Index(name = "idx_orders_region_id", columnList = "region_id"),
+        @Index(name = "idx_orders_country_id", columnList = "country_id"),
+        @Index(name = "idx_orders_item_type_id", columnList = "item_type_id"),
+        @Index(name = "idx_orders_sales_channel_id", columnList = "sales_channel_id"),
+        @Index(name = "idx_orders_order_priority_id", columnList = "order_priority_id")
+})
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = Orders.CACHE_REGION)
 public class Orders {
 
+    /**
+     * Región de la caché de segundo nivel de Hibernate para los pedidos.
+     */
+    public static final String CACHE_REGION = "orders";
+
     @Id
     @Column(name = "order_id")
     private String orderId;
@@ -23,16 +39,24 @@ public class Orders {
     @Column(name = "uuid")
     private String uuid;
 
-    @Column(name = "order_priority")
+    @Convert(converter = OrderDimensionConverter.OrderPriority.class)
+    @Column(name = "order_priority_id")
     private String orderPriority;
 
+    @Convert(converter = OrderDimensionConverter.Region.class)
+    @Column(name = "region_id")
     private String region;
+
+    @Convert(converter = OrderDimensionConverter.Country.class)
+    @Column(name = "country_id")
     private String country;
 
-    @Column(name = "item_type")
+    @Convert(converter = OrderDimensionConverter.ItemType.class)
+    @Column(name = "item_type_id")
     private String itemType;
 
-    @Column(name = "sales_channel")
+    @Convert(converter = OrderDimensionConverter.SalesChannel.class)
+    @Column(name = "sales_channel_id")
     private String salesChannel;
 
     @Temporal(TemporalType.DATE)
@@ -0,0 +1,68 @@
+package com.consum.orders.infrastructure.database.partition;
+
+import com.consum.orders.infrastructure.database.entity.Orders;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+
+/**
+ * Fecha a partir de la cual los pedidos siguen en orders. Los meses anteriores los archiva {@link OrdersPartitionManager}
+ * y su partición se elimina, así que un pedido de esos meses que se volviese a importar de la API de Katas caería en la
+ * partición más antigua que queda, volvería a contar en order_summary y estaría a la vez en orders_archive. Las
+ * importaciones descartan esos pedidos.
+ * <p>
+ * Solo se aplica con el particionado activo y {@code orders.partitioning.archive-after-months} mayor que 0.
+ */
+@Slf4j
+@Component
+public class OrdersArchiveCutoff {
+
+    private final boolean enabled;
+    private final int archiveAfterMonths;
+
+    public OrdersArchiveCutoff(@Value("${orders.partitioning.enabled:false}") boolean enabled,
+                               @Value("${orders.partitioning.archive-after-months:0}") int archiveAfterMonths) {
+        this.enabled = enabled && archiveAfterMonths > 0;
+        this.archiveAfterMonths = archiveAfterMonths;
+    }
+
+    /**
+     * Quita de la lista los pedidos de los meses archivados.
+     *
+     * @param ordersList pedidos a importar
+     * @return los pedidos que se pueden guardar en orders; la misma lista si no hay ninguno archivado
+     */
+    public List<Orders> retain(List<Orders> ordersList) {
+        return retain(ordersList, LocalDate.now());
+    }
+
+    List<Orders> retain(List<Orders> ordersList, LocalDate today) {
+        if (!enabled) {
+            return ordersList;
+        }
+        LocalDate cutoff = cutoff(YearMonth.from(today), archiveAfterMonths);
+        if (ordersList.stream().noneMatch(orders -> isArchived(orders, cutoff))) {
+            return ordersList;
+        }
+        List<Orders> retained = ordersList.stream().filter(orders -> !isArchived(orders, cutoff)).toList();
+        log.info("Descartados {} pedidos anteriores a {}, ya archivados", ordersList.size() - retained.size(), cutoff);
+        return retained;
+    }
+
+    /**
+     * Primer día del mes más antiguo que no se archiva, el mismo horizonte que usa el mantenimiento de particiones.
+     */
+    static LocalDate cutoff(YearMonth currentMonth, int archiveAfterMonths) {
+        return currentMonth.minusMonths(archiveAfterMonths).atDay(1);
+    }
+
+    private static boolean isArchived(Orders orders, LocalDate cutoff) {
+        return orders.getOrderDate() != null
+                && new Date(orders.getOrderDate().getTime()).toLocalDate().isBefore(cutoff);
+    }
+}
@@ -0,0 +1,281 @@
+package com.consum.orders.infrastructure.database.partition;
+
+import com.consum.orders.infrastructure.database.cache.OrdersSecondLevelCache;
+import com.consum.orders.infrastructure.database.writer.OrderSummaryWriter;
+import com.consum.orders.infrastructure.database.writer.OrdersBulkWriter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+/**
+ * Particionado mensual de la tabla orders por order_date y archivado de los meses antiguos.
+ * <p>
+ * La primera vez convierte orders en una tabla particionada por rangos de order_date, con una partición por mes
+ * ({@code pAAAAMM}, con los pedidos anteriores al mes siguiente) desde el pedido más antiguo y una partición
+ * {@code pmax} para las fechas posteriores. MySQL exige que la clave primaria incluya la columna de particionado, así
+ * que pasa a ser (order_id, order_date) y order_date deja de admitir nulos. Las escrituras de pedidos borran antes la
+ * fila de un pedido guardado con otra fecha ({@code OrdersBulkWriter}, {@code OrdersLocalInfileLoader}), para que cada
+ * pedido siga teniendo una sola fila.
+ * <p>
+ * En cada mantenimiento crea por adelantado las particiones de los próximos {@code months-ahead} meses, dividiendo
+ * pmax, y archiva los meses anteriores a {@code archive-after-months}: en una transacción copia los pedidos de la
+ * partición a orders_archive (una tabla comprimida), los resta del resumen materializado y los borra; después elimina
+ * la partición. Si se interrumpe, la siguiente ejecución lo retoma sin duplicar nada.
+ * <p>
+ * Se ejecuta al arrancar y según {@code orders.partitioning.cron}. Un bloqueo de MySQL (GET_LOCK) evita que dos
+ * instancias de la aplicación lo hagan a la vez.
+ */
+@Slf4j
+@Component
+@DependsOn({"entityManagerFactory", "orderDimensionMigration"})
+public class OrdersPartitionManager implements InitializingBean {
+
+    static final String MAX_PARTITION = "pmax";
+    static final String LOCK_NAME = "orders_partitioning";
+    static final DateTimeFormatter PARTITION_NAME = DateTimeFormatter.ofPattern("'p'uuuuMM");
+
+    static final String PARTITIONS_SQL = "SELECT PARTITION_NAME FROM information_schema.PARTITIONS "
+            + "WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'orders' AND PARTITION_NAME IS NOT NULL "
+            + "ORDER BY PARTITION_ORDINAL_POSITION";
+    static final String NULL_DATES_SQL = "SELECT COUNT(*) FROM orders WHERE order_date IS NULL";
+    static final String MIN_DATE_SQL = "SELECT MIN(order_date) FROM orders";
+    static final String PARTITION_TABLE_SQL = "ALTER TABLE orders MODIFY order_date DATE NOT NULL, "
+            + "DROP PRIMARY KEY, ADD PRIMARY KEY (order_id, order_date) "
+            + "PARTITION BY RANGE COLUMNS (order_date) (%s)";
+    static final String ADD_PARTITIONS_SQL = "ALTER TABLE orders REORGANIZE PARTITION " + MAX_PARTITION + " INTO (%s)";
+    static final String DROP_PARTITION_SQL = "ALTER TABLE orders DROP PARTITION %s";
+    static final String CREATE_ARCHIVE_SQL = "CREATE TABLE IF NOT EXISTS orders_archive ("
+            + "order_id VARCHAR(9) NOT NULL, uuid VARCHAR(255) DEFAULT NULL, order_priority_id SMALLINT DEFAULT NULL, "
+            + "region_id SMALLINT DEFAULT NULL, country_id SMALLINT DEFAULT NULL, item_type_id SMALLINT DEFAULT NULL, "
+            + "sales_channel_id SMALLINT DEFAULT NULL, order_date DATE NOT NULL, ship_date DATE DEFAULT NULL, "
+            + "units_sold INT DEFAULT NULL, unit_price DECIMAL(8,2) DEFAULT NULL, unit_cost DECIMAL(8,2) DEFAULT NULL, "
+            + "total_revenue DECIMAL(8,2) DEFAULT NULL, total_cost DECIMAL(8,2) DEFAULT NULL, "
+            + "total_profit DECIMAL(8,2) DEFAULT NULL, PRIMARY KEY (order_id, order_date)"
+            + ") ROW_FORMAT=COMPRESSED";
+    static final String ARCHIVE_SQL = "REPLACE INTO orders_archive (" + String.join(", ", OrdersBulkWriter.COLUMNS)
+            + ") SELECT " + String.join(", ", OrdersBulkWriter.COLUMNS) + " FROM orders PARTITION (%s)";
+    static final String DELETE_PARTITION_SQL = "DELETE FROM orders PARTITION (%s)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final OrderSummaryWriter orderSummaryWriter;
+    private final OrdersSecondLevelCache ordersSecondLevelCache;
+    private final CacheManager cacheManager;
+    private final boolean enabled;
+    private final int monthsAhead;
+    private final int archiveAfterMonths;
+
+    public OrdersPartitionManager(JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate,
+                                  OrderSummaryWriter orderSummaryWriter, OrdersSecondLevelCache ordersSecondLevelCache,
+                                  CacheManager cacheManager,
+                                  @Value("${orders.partitioning.enabled:false}") boolean enabled,
+                                  @Value("${orders.partitioning.months-ahead:3}") int monthsAhead,
+                                  @Value("${orders.partitioning.archive-after-months:0}") int archiveAfterMonths) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.orderSummaryWriter = orderSummaryWriter;
+        this.ordersSecondLevelCache = ordersSecondLevelCache;
+        this.cacheManager = cacheManager;
+        this.enabled = enabled;
+        this.monthsAhead = monthsAhead;
+        this.archiveAfterMonths = archiveAfterMonths;
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        if (enabled) {
+            maintain();
+        }
+    }
+
+    /**
+     * Mantenimiento programado de las particiones.
+     */
+    @Scheduled(cron = "${orders.partitioning.cron:-}")
+    public void scheduledMaintenance() {
+        if (enabled) {
+            try {
+                maintain();
+            } catch (Exception exception) {
+                log.error("Error en el mantenimiento de las particiones de orders", exception);
+            }
+        }
+    }
+
+    /**
+     * Particiona orders si aún no lo está, crea las particiones futuras y archiva las antiguas. Si otra instancia está
+     * haciendo el mantenimiento, no hace nada.
+     *
+     * @return particiones creadas y archivadas
+     */
+    public Maintenance maintain() {
+        return jdbcTemplate.execute((ConnectionCallback<Maintenance>) connection -> {
+            try (PreparedStatement lock = connection.prepareStatement("SELECT GET_LOCK(?, 0)")) {
+                lock.setString(1, LOCK_NAME);
+                try (ResultSet resultSet = lock.executeQuery()) {
+                    if (!resultSet.next() || resultSet.getInt(1) != 1) {
+                        log.info("Otra instancia está manteniendo las particiones de orders");
+                        return new Maintenance(List.of(), List.of());
+                    }
+                }
+            }
+            try {
+                return maintain(LocalDate.now());
+            } finally {
+                try (PreparedStatement release = connection.prepareStatement("SELECT RELEASE_LOCK(?)")) {
+                    release.setString(1, LOCK_NAME);
+                    release.execute();
+                }
+            }
+        });
+    }
+
+    Maintenance maintain(LocalDate today) {
+        YearMonth lastMonth = YearMonth.from(today).plusMonths(monthsAhead);
+        List<String> partitions = jdbcTemplate.queryForList(PARTITIONS_SQL, String.class);
+        List<String> created;
+        if (partitions.isEmpty()) {
+            Optional<YearMonth> firstMonth = firstMonth(YearMonth.from(today));
+            if (firstMonth.isEmpty()) {
+                return new Maintenance(List.of(), List.of());
+            }
+            created = months(firstMonth.get(), lastMonth);
+            partitionTable(created);
+            partitions = new ArrayList<>(created);
+        } else {
+            created = months(lastPartitionMonth(partitions).plusMonths(1), lastMonth);
+            if (!created.isEmpty()) {
+                jdbcTemplate.execute(String.format(ADD_PARTITIONS_SQL, definitions(created, true)));
+                log.info("Particiones de orders creadas: {}", created);
+            }
+        }
+
+        List<String> archived = archiveAfterMonths > 0
+                ? toArchive(partitions, YearMonth.from(today).minusMonths(archiveAfterMonths))
+                : List.of();
+        if (!archived.isEmpty()) {
+            jdbcTemplate.execute(CREATE_ARCHIVE_SQL);
+            archived.forEach(this::archive);
+            Cache cache = cacheManager.getCache("orders");
+            if (cache != null) {
+                cache.clear();
+            }
+            ordersSecondLevelCache.evictAfterCommit();
+        }
+        return new Maintenance(created, archived);
+    }
+
+    /**
+     * Convierte orders en una tabla particionada por meses.
+     */
+    private void partitionTable(List<String> partitions) {
+        long start = System.nanoTime();
+        log.info("Particionando orders por order_date en {} meses", partitions.size());
+        jdbcTemplate.execute(String.format(PARTITION_TABLE_SQL, definitions(partitions, true)));
+        log.info("Tabla orders particionada en {} ms", (System.nanoTime() - start) / 1_000_000);
+    }
+
+    /**
+     * Mes de la primera partición: el del pedido más antiguo, o el actual si no hay pedidos anteriores. Si hay pedidos
+     * sin fecha no se puede particionar y se devuelve vacío.
+     */
+    private Optional<YearMonth> firstMonth(YearMonth currentMonth) {
+        Long nullDates = jdbcTemplate.queryForObject(NULL_DATES_SQL, Long.class);
+        if (nullDates != null && nullDates > 0) {
+            log.error("No se puede particionar orders: hay {} pedidos sin order_date", nullDates);
+            return Optional.empty();
+        }
+        Date minDate = jdbcTemplate.queryForObject(MIN_DATE_SQL, Date.class);
+        if (minDate == null || YearMonth.from(minDate.toLocalDate()).isAfter(currentMonth)) {
+            return Optional.of(currentMonth);
+        }
+        return Optional.of(YearMonth.from(minDate.toLocalDate()));
+    }
+
+    private void archive(String partition) {
+        long start = System.nanoTime();
+        Integer rows = transactionTemplate.execute(status -> {
+            int copied = jdbcTemplate.update(String.format(ARCHIVE_SQL, partition));
+            if (orderSummaryWriter.isEnabled()) {
+                orderSummaryWriter.subtractPartition(partition);
+            }
+            jdbcTemplate.update(String.format(DELETE_PARTITION_SQL, partition));
+            return copied;
+        });
+        jdbcTemplate.execute(String.format(DROP_PARTITION_SQL, partition));
+        log.info("Partición {} archivada en orders_archive: {} pedidos en {} ms", partition, rows,
+                (System.nanoTime() - start) / 1_000_000);
+    }
+
+    /**
+     * Nombres de las particiones de los meses entre from y to, ambos incluidos.
+     */
+    static List<String> months(YearMonth from, YearMonth to) {
+        List<String> months = new ArrayList<>();
+        for (YearMonth month = from; !month.isAfter(to); month = month.plusMonths(1)) {
+            months.add(month.format(PARTITION_NAME));
+        }
+        return months;
+    }
+
+    /**
+     * Definición SQL de las particiones mensuales, seguida de pmax si se indica.
+     */
+    static String definitions(List<String> partitions, boolean withMax) {
+        List<String> definitions = new ArrayList<>();
+        for (String partition : partitions) {
+            YearMonth month = YearMonth.parse(partition, PARTITION_NAME);
+            definitions.add("PARTITION " + partition + " VALUES LESS THAN ('" + month.plusMonths(1).atDay(1) + "')");
+        }
+        if (withMax) {
+            definitions.add("PARTITION " + MAX_PARTITION + " VALUES LESS THAN (MAXVALUE)");
+        }
+        return String.join(", ", definitions);
+    }
+
+    /**
+     * Particiones mensuales anteriores al mes indicado, sin contar pmax.
+     */
+    static List<String> toArchive(List<String> partitions, YearMonth before) {
+        return partitions.stream()
+                .filter(partition -> !MAX_PARTITION.equals(partition))
+                .filter(partition -> YearMonth.parse(partition, PARTITION_NAME).isBefore(before))
+                .collect(Collectors.toList());
+    }
+
+    private static YearMonth lastPartitionMonth(List<String> partitions) {
+        return partitions.stream()
+                .filter(partition -> !MAX_PARTITION.equals(partition))
+                .map(partition -> YearMonth.parse(partition, PARTITION_NAME))
+                .max(YearMonth::compareTo)
+                .orElseThrow(() -> new IllegalStateException("orders no tiene particiones mensuales: " + partitions));
+    }
+
+    /**
+     * Resultado de un mantenimiento.
+     *
+     * @param created  particiones creadas
+     * @param archived particiones archivadas y eliminadas
+     */
+    public record Maintenance(List<String> created, List<String> archived) {
+    }
+}
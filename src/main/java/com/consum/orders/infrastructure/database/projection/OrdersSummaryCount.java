@@ -0,0 +1,28 @@
+package com.consum.orders.infrastructure.database.projection;
+
+/**
+ * Fila del resumen de pedidos calculado en la base de datos: número de pedidos de un valor de una dimensión.
+ */
+public interface OrdersSummaryCount {
+
+    String REGION = "region";
+    String COUNTRY = "country";
+    String ITEM_TYPE = "item_type";
+    String SALES_CHANNEL = "sales_channel";
+    String ORDER_PRIORITY = "order_priority";
+
+    /**
+     * @return columna agrupada (region, country, item_type, sales_channel u order_priority)
+     */
+    String getDimension();
+
+    /**
+     * @return valor de la columna
+     */
+    String getName();
+
+    /**
+     * @return número de pedidos con ese valor
+     */
+    Long getTotal();
+}
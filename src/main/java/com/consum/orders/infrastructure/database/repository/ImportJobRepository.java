@@ -0,0 +1,65 @@
+package com.consum.orders.infrastructure.database.repository;
+
+import com.consum.orders.infrastructure.database.entity.ImportJob;
+import com.consum.orders.infrastructure.database.entity.ImportJobStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+
+@Repository
+public interface ImportJobRepository extends JpaRepository<ImportJob, String> {
+
+    List<ImportJob> findByStatusIn(Collection<ImportJobStatus> statuses);
+
+    @Modifying
+    @Transactional
+    @Query("update ImportJob j set j.status = :status, j.errorMessage = :errorMessage, j.updatedAt = :updatedAt "
+            + "where j.jobId = :jobId")
+    int updateStatus(@Param("jobId") String jobId,
+                     @Param("status") ImportJobStatus status,
+                     @Param("errorMessage") String errorMessage,
+                     @Param("updatedAt") Date updatedAt);
+
+    @Modifying
+    @Transactional
+    @Query("update ImportJob j set j.owner = :owner, j.leaseExpiresAt = :leaseExpiresAt where j.jobId = :jobId "
+            + "and j.status in :statuses and (j.owner is null or j.leaseExpiresAt is null or j.leaseExpiresAt < :now)")
+    int claim(@Param("jobId") String jobId,
+              @Param("statuses") Collection<ImportJobStatus> statuses,
+              @Param("owner") String owner,
+              @Param("leaseExpiresAt") Date leaseExpiresAt,
+              @Param("now") Date now);
+
+    @Modifying
+    @Transactional
+    @Query("update ImportJob j set j.leaseExpiresAt = :leaseExpiresAt where j.jobId in :jobIds and j.owner = :owner")
+    int renewLeases(@Param("jobIds") Collection<String> jobIds,
+                    @Param("owner") String owner,
+                    @Param("leaseExpiresAt") Date leaseExpiresAt);
+
+    @Modifying
+    @Transactional
+    @Query("update ImportJob j set j.status = :status, j.owner = null, j.leaseExpiresAt = null, j.updatedAt = :updatedAt "
+            + "where j.jobId = :jobId and j.owner = :owner")
+    int release(@Param("jobId") String jobId,
+                @Param("owner") String owner,
+                @Param("status") ImportJobStatus status,
+                @Param("updatedAt") Date updatedAt);
+
+    @Modifying
+    @Transactional
+    @Query("update ImportJob j set j.lastCommittedPage = :lastCommittedPage, j.importedPages = :importedPages, "
+            + "j.importedOrders = :importedOrders, j.updatedAt = :updatedAt where j.jobId = :jobId")
+    int updateCheckpoint(@Param("jobId") String jobId,
+                         @Param("lastCommittedPage") int lastCommittedPage,
+                         @Param("importedPages") int importedPages,
+                         @Param("importedOrders") long importedOrders,
+                         @Param("updatedAt") Date updatedAt);
+}
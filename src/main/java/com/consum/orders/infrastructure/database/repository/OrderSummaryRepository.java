@@ -0,0 +1,27 @@
+package com.consum.orders.infrastructure.database.repository;
+
+import com.consum.orders.infrastructure.database.entity.OrderSummary;
+import com.consum.orders.infrastructure.database.entity.OrderSummaryId;
+import com.consum.orders.infrastructure.database.projection.OrdersSummaryCount;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface OrderSummaryRepository extends JpaRepository<OrderSummary, OrderSummaryId> {
+
+    /**
+     * Lee el resumen materializado recorriendo la clave primaria de order_summary, unos cientos de filas. Los valores
+     * que se han quedado sin pedidos conservan su fila con total 0 y no se devuelven.
+     *
+     * @return número de pedidos de cada valor de cada dimensión
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FLUSH_MODE, value = "MANUAL"))
+    @Query(value = "SELECT dimension, name, total FROM order_summary WHERE total > 0", nativeQuery = true)
+    List<OrdersSummaryCount> findSummaryCounts();
+}
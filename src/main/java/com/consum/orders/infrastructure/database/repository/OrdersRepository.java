@@ -1,9 +1,139 @@
 package com.consum.orders.infrastructure.database.repository;
 
+import com.consum.orders.domain.dto.OrdersDTO;
 import com.consum.orders.infrastructure.database.entity.Orders;
+import com.consum.orders.infrastructure.database.projection.OrdersSummaryCount;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Date;
+import java.util.List;
+import java.util.stream.Stream;
+
 @Repository
-public interface OrdersRepository extends JpaRepository<Orders, Long> {
+public interface OrdersRepository extends JpaRepository<Orders, String> {
+
+    /**
+     * Proyección de la tabla orders en OrdersDTO. Hibernate construye el DTO directamente desde cada fila del resultado,
+     * sin crear entidades ni registrarlas en el contexto de persistencia.
+     */
+    String ORDERS_DTO_PROJECTION = "new com.consum.orders.domain.dto.OrdersDTO(o.orderId, o.orderPriority, "
+            + "o.orderDate, o.region, o.country, o.itemType, o.salesChannel, o.shipDate, o.unitsSold, o.unitPrice, "
+            + "o.unitCost, o.totalRevenue, o.totalCost, o.totalProfit)";
+
+    /**
+     * Número de pedidos de cada valor de región, país, tipo de ítem, canal de ventas y prioridad, con las columnas
+     * dimension, name y total. MySQL no admite GROUPING SETS, y WITH ROLLUP solo calcula subtotales jerárquicos, así
+     * que se unen cinco GROUP BY de una columna. Cada uno se resuelve recorriendo el índice de su columna, sin leer las
+     * filas de la tabla, y agrupa identificadores de order_dimension; como son únicos entre todas las dimensiones, un
+     * único JOIN con el diccionario devuelve la dimensión y el texto de cada uno.
+     */
+    String DIMENSION_COUNTS_SQL = "SELECT d.dimension AS dimension, d.name AS name, c.total AS total FROM ("
+            + "SELECT region_id AS id, COUNT(*) AS total "
+            + "FROM orders WHERE region_id IS NOT NULL GROUP BY region_id "
+            + "UNION ALL SELECT country_id, COUNT(*) "
+            + "FROM orders WHERE country_id IS NOT NULL GROUP BY country_id "
+            + "UNION ALL SELECT item_type_id, COUNT(*) "
+            + "FROM orders WHERE item_type_id IS NOT NULL GROUP BY item_type_id "
+            + "UNION ALL SELECT sales_channel_id, COUNT(*) "
+            + "FROM orders WHERE sales_channel_id IS NOT NULL GROUP BY sales_channel_id "
+            + "UNION ALL SELECT order_priority_id, COUNT(*) "
+            + "FROM orders WHERE order_priority_id IS NOT NULL GROUP BY order_priority_id"
+            + ") c JOIN order_dimension d ON d.id = c.id";
+
+    /**
+     * Como {@link #DIMENSION_COUNTS_SQL}, pero solo de los pedidos con fecha entre :from y :to, ambas incluidas. Con la
+     * tabla particionada por order_date, MySQL solo lee las particiones de ese intervalo.
+     */
+    String DIMENSION_COUNTS_BETWEEN_SQL = "SELECT d.dimension AS dimension, d.name AS name, c.total AS total FROM ("
+            + "SELECT region_id AS id, COUNT(*) AS total FROM orders "
+            + "WHERE region_id IS NOT NULL AND order_date BETWEEN :from AND :to GROUP BY region_id "
+            + "UNION ALL SELECT country_id, COUNT(*) FROM orders "
+            + "WHERE country_id IS NOT NULL AND order_date BETWEEN :from AND :to GROUP BY country_id "
+            + "UNION ALL SELECT item_type_id, COUNT(*) FROM orders "
+            + "WHERE item_type_id IS NOT NULL AND order_date BETWEEN :from AND :to GROUP BY item_type_id "
+            + "UNION ALL SELECT sales_channel_id, COUNT(*) FROM orders "
+            + "WHERE sales_channel_id IS NOT NULL AND order_date BETWEEN :from AND :to GROUP BY sales_channel_id "
+            + "UNION ALL SELECT order_priority_id, COUNT(*) FROM orders "
+            + "WHERE order_priority_id IS NOT NULL AND order_date BETWEEN :from AND :to GROUP BY order_priority_id"
+            + ") c JOIN order_dimension d ON d.id = c.id";
+
+    /**
+     * Todos los pedidos. Con la caché de segundo nivel activa el resultado se guarda en la caché de consultas hasta la
+     * siguiente importación; si no, la marca no tiene efecto.
+     *
+     * @return pedidos de la tabla orders
+     */
+    @Override
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    List<Orders> findAll();
+
+    /**
+     * Búsqueda por clave: recorre el índice de la clave primaria desde el último pedido devuelto, sin OFFSET.
+     *
+     * @param orderId  último ID de pedido de la página anterior ("" para la primera página)
+     * @param pageable primera página con el máximo de pedidos a devolver
+     * @return pedidos con ID mayor que orderId, ordenados por ID
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FLUSH_MODE, value = "MANUAL"))
+    @Query("SELECT " + ORDERS_DTO_PROJECTION + " FROM Orders o WHERE o.orderId > :orderId ORDER BY o.orderId")
+    List<OrdersDTO> findOrdersDTOAfter(@Param("orderId") String orderId, Pageable pageable);
+
+    /**
+     * Recorre todos los pedidos con un cursor de solo avance. Con un fetch size de {@code Integer.MIN_VALUE} el driver
+     * de MySQL lee las filas del socket una a una en lugar de cargar el resultado completo en memoria. El Stream debe
+     * consumirse y cerrarse dentro de una transacción.
+     *
+     * @return pedidos en el orden de la clave primaria
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + Integer.MIN_VALUE),
+            @QueryHint(name = HibernateHints.HINT_FLUSH_MODE, value = "MANUAL"),
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "false")
+    })
+    @Query("SELECT " + ORDERS_DTO_PROJECTION + " FROM Orders o ORDER BY o.orderId")
+    Stream<OrdersDTO> streamAllOrdersDTO();
+
+    /**
+     * Como {@link #streamAllOrdersDTO()}, pero solo los pedidos con fecha entre from y to, ambas incluidas. Con la tabla
+     * particionada por order_date, MySQL solo lee las particiones de ese intervalo.
+     *
+     * @param from primera fecha de pedido
+     * @param to   última fecha de pedido
+     * @return pedidos del intervalo en el orden de la clave primaria
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + Integer.MIN_VALUE),
+            @QueryHint(name = HibernateHints.HINT_FLUSH_MODE, value = "MANUAL"),
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "false")
+    })
+    @Query("SELECT " + ORDERS_DTO_PROJECTION + " FROM Orders o WHERE o.orderDate BETWEEN :from AND :to "
+            + "ORDER BY o.orderId")
+    Stream<OrdersDTO> streamOrdersDTOBetween(@Param("from") Date from, @Param("to") Date to);
+
+    /**
+     * Cuenta los pedidos por región, país, tipo de ítem, canal de ventas y prioridad en una sola consulta.
+     *
+     * @return número de pedidos de cada valor de cada dimensión
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FLUSH_MODE, value = "MANUAL"))
+    @Query(value = DIMENSION_COUNTS_SQL, nativeQuery = true)
+    List<OrdersSummaryCount> countByDimension();
+
+    /**
+     * Cuenta los pedidos por región, país, tipo de ítem, canal de ventas y prioridad con fecha entre from y to.
+     *
+     * @param from primera fecha de pedido
+     * @param to   última fecha de pedido
+     * @return número de pedidos de cada valor de cada dimensión en el intervalo
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FLUSH_MODE, value = "MANUAL"))
+    @Query(value = DIMENSION_COUNTS_BETWEEN_SQL, nativeQuery = true)
+    List<OrdersSummaryCount> countByDimensionBetween(@Param("from") Date from, @Param("to") Date to);
 }
@@ -0,0 +1,82 @@
+package com.consum.orders.infrastructure.database.writer;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+
+/**
+ * Carga inicial del resumen materializado. order_summary solo se mantiene con las variaciones de cada importación, así
+ * que en una base de datos que ya tenía pedidos empezaría vacío y el resumen y sus variaciones serían incorrectos.
+ * <p>
+ * Al arrancar, con el resumen materializado activo, si order_summary está vacía y orders tiene pedidos, la reconstruye
+ * desde orders ({@link OrderSummaryWriter#rebuild()}). Se ejecuta después de la migración de dimensiones, que rellena
+ * las columnas de identificadores que lee la reconstrucción. Un bloqueo de MySQL (GET_LOCK) evita que dos instancias
+ * de la aplicación la hagan a la vez.
+ */
+@Slf4j
+@Component
+@DependsOn({"entityManagerFactory", "orderDimensionMigration"})
+public class OrderSummaryInitializer implements InitializingBean {
+
+    static final String LOCK_NAME = "orders_summary_initialization";
+    static final String SUMMARY_EMPTY_SQL = "SELECT NOT EXISTS (SELECT 1 FROM order_summary)";
+    static final String ORDERS_EXIST_SQL = "SELECT EXISTS (SELECT 1 FROM orders)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final OrderSummaryWriter orderSummaryWriter;
+
+    public OrderSummaryInitializer(JdbcTemplate jdbcTemplate, OrderSummaryWriter orderSummaryWriter) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.orderSummaryWriter = orderSummaryWriter;
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        if (orderSummaryWriter.isEnabled()) {
+            initialize();
+        }
+    }
+
+    /**
+     * Reconstruye order_summary si está vacía y hay pedidos. Si otra instancia la está reconstruyendo, no hace nada.
+     *
+     * @return número de filas del resumen reconstruido, o 0 si no hacía falta
+     */
+    public int initialize() {
+        Integer rows = jdbcTemplate.execute((ConnectionCallback<Integer>) connection -> {
+            try (PreparedStatement lock = connection.prepareStatement("SELECT GET_LOCK(?, 0)")) {
+                lock.setString(1, LOCK_NAME);
+                try (ResultSet resultSet = lock.executeQuery()) {
+                    if (!resultSet.next() || resultSet.getInt(1) != 1) {
+                        log.info("Otra instancia está cargando el resumen materializado de pedidos");
+                        return 0;
+                    }
+                }
+            }
+            try {
+                return populateIfEmpty();
+            } finally {
+                try (PreparedStatement release = connection.prepareStatement("SELECT RELEASE_LOCK(?)")) {
+                    release.setString(1, LOCK_NAME);
+                    release.execute();
+                }
+            }
+        });
+        return rows != null ? rows : 0;
+    }
+
+    int populateIfEmpty() {
+        if (!Boolean.TRUE.equals(jdbcTemplate.queryForObject(SUMMARY_EMPTY_SQL, Boolean.class))
+                || !Boolean.TRUE.equals(jdbcTemplate.queryForObject(ORDERS_EXIST_SQL, Boolean.class))) {
+            return 0;
+        }
+        log.info("order_summary está vacía y orders tiene pedidos: se carga el resumen materializado");
+        return orderSummaryWriter.rebuild();
+    }
+}
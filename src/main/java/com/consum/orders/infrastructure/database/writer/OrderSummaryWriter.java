@@ -0,0 +1,188 @@
+package com.consum.orders.infrastructure.database.writer;
+
+import com.consum.orders.infrastructure.database.dimension.OrderDimensionDictionary;
+import com.consum.orders.infrastructure.database.entity.Orders;
+import com.consum.orders.infrastructure.database.projection.OrdersSummaryCount;
+import com.consum.orders.infrastructure.database.repository.OrdersRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Mantenimiento de la tabla order_summary, el resumen materializado de pedidos por dimensión y valor.
+ * <p>
+ * Antes de guardar una lista de pedidos se leen de orders los valores actuales de los que ya existen, y se calcula la
+ * variación de cada (dimensión, valor): -1 por cada valor anterior y +1 por cada valor nuevo. Las variaciones distintas
+ * de cero se suman a order_summary con {@code INSERT ... ON DUPLICATE KEY UPDATE total = total + ?}, en la misma
+ * transacción que guarda los pedidos, de modo que el resumen y la tabla orders se confirman o se deshacen juntos.
+ * <p>
+ * Los valores actuales se leen con {@code SELECT ... FOR UPDATE}: una lectura normal devolvería la instantánea de la
+ * transacción, y si otra importación del mismo pedido confirmase entre tanto, los dos restarían el mismo valor anterior
+ * y el resumen se desviaría. Con el bloqueo, la segunda importación espera a que la primera confirme y lee el valor
+ * que ha dejado. Los pedidos se bloquean en orden de ID y las variaciones se aplican ordenadas por dimensión y valor,
+ * lo que evita los interbloqueos entre importaciones de pedidos que ya existen.
+ * <p>
+ * No los evita con pedidos nuevos: con REPEATABLE READ, el {@code FOR UPDATE} de un ID que no existe bloquea el hueco
+ * del índice donde iría, y dos transacciones que insertan IDs nuevos intercalados esperan cada una al hueco de la otra.
+ * MySQL lo detecta y deshace una de ellas con un error de interbloqueo, que el pipeline de importación reintenta
+ * ({@code orders.import.deadlock-retries}). Los bloqueos de hueco son los que impiden que dos importaciones del mismo
+ * pedido nuevo lo sumen dos veces, así que no se quitan bajando el aislamiento.
+ */
+@Slf4j
+@Component
+public class OrderSummaryWriter {
+
+    /**
+     * Dimensiones del resumen. La columna de cada dimensión en orders es su nombre seguido de {@code _id}.
+     */
+    static final Map<String, Function<Orders, String>> DIMENSIONS = dimensions();
+
+    static final String SELECT_CURRENT_SQL = "SELECT " + DIMENSIONS.keySet().stream()
+            .map(OrderSummaryWriter::column).collect(Collectors.joining(", ")) + " FROM orders WHERE order_id IN (%s) FOR UPDATE";
+    static final String APPLY_DELTA_SQL = "INSERT INTO order_summary (dimension, name, total) VALUES (?, ?, ?) "
+            + "ON DUPLICATE KEY UPDATE total = total + VALUES(total)";
+    static final String DELETE_ALL_SQL = "DELETE FROM order_summary";
+    static final String REBUILD_SQL = "INSERT INTO order_summary (dimension, name, total) "
+            + OrdersRepository.DIMENSION_COUNTS_SQL;
+    static final String SUBTRACT_PARTITION_SQL = "INSERT INTO order_summary (dimension, name, total) "
+            + "SELECT dimension, name, -total FROM ("
+            + OrdersRepository.DIMENSION_COUNTS_SQL.replace("FROM orders WHERE", "FROM orders PARTITION (%1$s) WHERE")
+            + ") p ON DUPLICATE KEY UPDATE total = order_summary.total + VALUES(total)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final OrderDimensionDictionary dictionary;
+    private final boolean enabled;
+    private final int lookupBatchSize;
+
+    public OrderSummaryWriter(JdbcTemplate jdbcTemplate, OrderDimensionDictionary dictionary,
+                              @Value("${orders.summary.materialized.enabled:true}") boolean enabled,
+                              @Value("${orders.summary.materialized.lookup-batch-size:1000}") int lookupBatchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.dictionary = dictionary;
+        this.enabled = enabled;
+        this.lookupBatchSize = lookupBatchSize;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Actualiza el resumen con los cambios que producirá guardar estos pedidos. Debe llamarse antes de escribirlos en
+     * orders y dentro de la misma transacción.
+     *
+     * @param ordersList pedidos que se van a insertar o actualizar
+     * @return número de filas de order_summary modificadas
+     */
+    @Transactional
+    public int applyChanges(List<Orders> ordersList) {
+        if (ordersList.isEmpty()) {
+            return 0;
+        }
+
+        long start = System.nanoTime();
+        Map<String, Map<String, Long>> deltas = computeDeltas(ordersList);
+        List<Object[]> rows = new ArrayList<>();
+        deltas.forEach((dimension, values) -> values.forEach((name, delta) -> {
+            if (delta != 0) {
+                rows.add(new Object[]{dimension, name, delta});
+            }
+        }));
+        if (!rows.isEmpty()) {
+            jdbcTemplate.batchUpdate(APPLY_DELTA_SQL, rows);
+        }
+        log.debug("Resumen materializado actualizado con {} pedidos: {} filas en {} ms", ordersList.size(), rows.size(),
+                (System.nanoTime() - start) / 1_000_000);
+        return rows.size();
+    }
+
+    /**
+     * Vuelve a calcular order_summary desde la tabla orders, para corregir cualquier desviación del resumen.
+     *
+     * @return número de filas del resumen reconstruido
+     */
+    @Transactional
+    public int rebuild() {
+        long start = System.nanoTime();
+        jdbcTemplate.update(DELETE_ALL_SQL);
+        int rows = jdbcTemplate.update(REBUILD_SQL);
+        log.info("Resumen materializado reconstruido: {} filas en {} ms", rows, (System.nanoTime() - start) / 1_000_000);
+        return rows;
+    }
+
+    /**
+     * Resta del resumen los pedidos de una partición de orders que se va a archivar. Debe llamarse en la misma
+     * transacción que los borra de la partición.
+     *
+     * @param partition nombre de la partición
+     * @return número de filas de order_summary modificadas
+     */
+    @Transactional
+    public int subtractPartition(String partition) {
+        return jdbcTemplate.update(String.format(SUBTRACT_PARTITION_SQL, partition));
+    }
+
+    /**
+     * Calcula la variación de cada (dimensión, valor) al guardar los pedidos. Si un pedido aparece varias veces en la
+     * lista cuenta solo la última, que es la que queda guardada. Las filas leídas quedan bloqueadas hasta el final de la
+     * transacción.
+     *
+     * @param ordersList pedidos que se van a guardar
+     * @return variaciones por dimensión y valor, ordenadas
+     */
+    Map<String, Map<String, Long>> computeDeltas(List<Orders> ordersList) {
+        Map<String, Orders> incoming = new LinkedHashMap<>();
+        ordersList.forEach(orders -> incoming.put(orders.getOrderId(), orders));
+
+        Map<String, Map<String, Long>> deltas = new TreeMap<>();
+        List<String> orderIds = new ArrayList<>(incoming.keySet());
+        Collections.sort(orderIds);
+        for (int from = 0; from < orderIds.size(); from += lookupBatchSize) {
+            List<String> chunk = orderIds.subList(from, Math.min(from + lookupBatchSize, orderIds.size()));
+            String sql = String.format(SELECT_CURRENT_SQL, String.join(", ", Collections.nCopies(chunk.size(), "?")));
+            jdbcTemplate.query(sql, resultSet -> {
+                for (String dimension : DIMENSIONS.keySet()) {
+                    short id = resultSet.getShort(column(dimension));
+                    if (!resultSet.wasNull()) {
+                        add(deltas, dimension, dictionary.nameOf(id), -1);
+                    }
+                }
+            }, chunk.toArray());
+        }
+        for (Orders orders : incoming.values()) {
+            DIMENSIONS.forEach((dimension, value) -> add(deltas, dimension, value.apply(orders), 1));
+        }
+        return deltas;
+    }
+
+    private static String column(String dimension) {
+        return dimension + "_id";
+    }
+
+    private static void add(Map<String, Map<String, Long>> deltas, String dimension, String name, long delta) {
+        if (name != null) {
+            deltas.computeIfAbsent(dimension, key -> new TreeMap<>()).merge(name, delta, Long::sum);
+        }
+    }
+
+    private static Map<String, Function<Orders, String>> dimensions() {
+        Map<String, Function<Orders, String>> dimensions = new LinkedHashMap<>();
+        dimensions.put(OrdersSummaryCount.REGION, Orders::getRegion);
+        dimensions.put(OrdersSummaryCount.COUNTRY, Orders::getCountry);
+        dimensions.put(OrdersSummaryCount.ITEM_TYPE, Orders::getItemType);
+        dimensions.put(OrdersSummaryCount.SALES_CHANNEL, Orders::getSalesChannel);
+        dimensions.put(OrdersSummaryCount.ORDER_PRIORITY, Orders::getOrderPriority);
+        return Collections.unmodifiableMap(dimensions);
+    }
+}
@@ -0,0 +1,142 @@
+package com.consum.orders.infrastructure.database.writer;
+
+import com.consum.orders.infrastructure.database.dimension.OrderDimensionDictionary;
+import com.consum.orders.infrastructure.database.entity.Orders;
+import com.consum.orders.infrastructure.database.projection.OrdersSummaryCount;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Escritura masiva de pedidos en la tabla orders sin pasar por JPA.
+ * <p>
+ * {@code saveAll} de Spring Data hace un {@code merge} por pedido, porque el identificador es asignado: una SELECT y
+ * después un INSERT o un UPDATE por fila. Este escritor envía un único {@code INSERT ... ON DUPLICATE KEY UPDATE} por
+ * pedido en lotes JDBC de {@code batch-size} filas; con {@code rewriteBatchedStatements=true} en la URL de conexión, el
+ * driver de MySQL reescribe cada lote como una sentencia multi-fila. Las dimensiones se envían como su identificador en
+ * order_dimension ({@link OrderDimensionDictionary}).
+ * <p>
+ * Con orders particionada ({@code orders.partitioning.enabled}), la clave primaria es (order_id, order_date) y un
+ * pedido que vuelve con otra fecha no choca con su fila anterior. Por eso, antes del upsert se borran en lote las filas
+ * de esos pedidos con una fecha distinta, y cada pedido sigue teniendo una sola fila.
+ */
+@Slf4j
+@Component
+public class OrdersBulkWriter {
+
+    /**
+     * Columnas de la tabla orders en el orden en que se envían los parámetros. La primera es la clave primaria.
+     */
+    public static final List<String> COLUMNS = List.of("order_id", "uuid", "order_priority_id", "region_id",
+            "country_id", "item_type_id", "sales_channel_id", "order_date", "ship_date", "units_sold", "unit_price", "unit_cost",
+            "total_revenue", "total_cost", "total_profit");
+
+    static final String UPSERT_SQL = "INSERT INTO orders (" + String.join(", ", COLUMNS) + ") VALUES ("
+            + COLUMNS.stream().map(column -> "?").collect(Collectors.joining(", ")) + ") ON DUPLICATE KEY UPDATE "
+            + COLUMNS.stream().skip(1).map(column -> column + " = VALUES(" + column + ")")
+            .collect(Collectors.joining(", "));
+    static final String DELETE_MOVED_SQL = "DELETE FROM orders WHERE order_id = ? AND order_date <> ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final OrderDimensionDictionary dictionary;
+    private final boolean enabled;
+    private final int batchSize;
+    private final boolean partitioned;
+
+    public OrdersBulkWriter(JdbcTemplate jdbcTemplate, OrderDimensionDictionary dictionary,
+                            @Value("${orders.import.bulk-writer.enabled:true}") boolean enabled,
+                            @Value("${orders.import.bulk-writer.batch-size:1000}") int batchSize,
+                            @Value("${orders.partitioning.enabled:false}") boolean partitioned) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.dictionary = dictionary;
+        this.enabled = enabled;
+        this.batchSize = batchSize;
+        this.partitioned = partitioned;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Inserta los pedidos nuevos y actualiza los existentes en lotes JDBC, dentro de una única transacción.
+     *
+     * @param ordersList pedidos a guardar
+     * @return número de pedidos enviados
+     */
+    @Transactional
+    public int upsert(List<Orders> ordersList) {
+        if (ordersList.isEmpty()) {
+            return 0;
+        }
+
+        long start = System.nanoTime();
+        if (partitioned) {
+            deleteMoved(ordersList);
+        }
+        int[][] results = jdbcTemplate.batchUpdate(UPSERT_SQL, ordersList, batchSize, this::setParameters);
+        log.debug("Escritura masiva de {} pedidos en {} lotes: {} ms", ordersList.size(), results.length,
+                (System.nanoTime() - start) / 1_000_000);
+        return Arrays.stream(results).mapToInt(batch -> batch.length).sum();
+    }
+
+    /**
+     * Borra las filas de los pedidos que ya están guardados con otra order_date.
+     */
+    private void deleteMoved(List<Orders> ordersList) {
+        List<Orders> dated = ordersList.stream().filter(orders -> orders.getOrderDate() != null).toList();
+        jdbcTemplate.batchUpdate(DELETE_MOVED_SQL, dated, batchSize, (statement, orders) -> {
+            statement.setString(1, orders.getOrderId());
+            statement.setDate(2, new Date(orders.getOrderDate().getTime()));
+        });
+    }
+
+    /**
+     * Asigna los parámetros de un pedido en el orden de {@link #COLUMNS}.
+     *
+     * @param statement sentencia preparada
+     * @param orders    pedido
+     * @throws SQLException si no se puede asignar algún parámetro
+     */
+    void setParameters(PreparedStatement statement, Orders orders) throws SQLException {
+        statement.setString(1, orders.getOrderId());
+        statement.setString(2, orders.getUuid());
+        setDimension(statement, 3, OrdersSummaryCount.ORDER_PRIORITY, orders.getOrderPriority());
+        setDimension(statement, 4, OrdersSummaryCount.REGION, orders.getRegion());
+        setDimension(statement, 5, OrdersSummaryCount.COUNTRY, orders.getCountry());
+        setDimension(statement, 6, OrdersSummaryCount.ITEM_TYPE, orders.getItemType());
+        setDimension(statement, 7, OrdersSummaryCount.SALES_CHANNEL, orders.getSalesChannel());
+        statement.setDate(8, orders.getOrderDate() != null ? new Date(orders.getOrderDate().getTime()) : null);
+        statement.setDate(9, orders.getShipDate() != null ? new Date(orders.getShipDate().getTime()) : null);
+        if (orders.getUnitsSold() != null) {
+            statement.setInt(10, orders.getUnitsSold());
+        } else {
+            statement.setNull(10, Types.INTEGER);
+        }
+        statement.setBigDecimal(11, orders.getUnitPrice());
+        statement.setBigDecimal(12, orders.getUnitCost());
+        statement.setBigDecimal(13, orders.getTotalRevenue());
+        statement.setBigDecimal(14, orders.getTotalCost());
+        statement.setBigDecimal(15, orders.getTotalProfit());
+    }
+
+    private void setDimension(PreparedStatement statement, int index, String dimension, String name)
+            throws SQLException {
+        Short id = dictionary.idOf(dimension, name);
+        if (id != null) {
+            statement.setShort(index, id);
+        } else {
+            statement.setNull(index, Types.SMALLINT);
+        }
+    }
+}
@@ -0,0 +1,148 @@
+package com.consum.orders.infrastructure.database.writer;
+
+import com.consum.orders.infrastructure.database.dimension.OrderDimensionDictionary;
+import com.consum.orders.infrastructure.database.entity.Orders;
+import com.mysql.cj.jdbc.JdbcStatement;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.StatementCallback;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Carga masiva de pedidos con {@code LOAD DATA LOCAL INFILE} para las importaciones muy grandes.
+ * <p>
+ * Los pedidos se envían al servidor como un flujo TSV generado en memoria fila a fila ({@link OrdersTsvInputStream}),
+ * sin fichero temporal. Se cargan en una tabla temporal con las columnas de orders y se pasan a orders con una única
+ * sentencia {@code INSERT ... SELECT ... ON DUPLICATE KEY UPDATE}. Todo ocurre en la misma conexión y transacción, de
+ * modo que la tabla temporal es privada de la carga y desaparece al terminar. Si el servidor rechaza la carga antes de
+ * llegar a orders (por ejemplo, porque no admite local_infile), se lanza {@link LocalInfileRejectedException} y quien
+ * llama puede guardar los pedidos de otra forma; un fallo posterior se propaga tal cual y deshace la transacción.
+ * <p>
+ * Con orders particionada ({@code orders.partitioning.enabled}), antes de la sentencia final se borran las filas de los
+ * pedidos cargados que están guardados con otra order_date, igual que en {@link OrdersBulkWriter}.
+ * <p>
+ * Requiere {@code allowLoadLocalInfile=true} en la URL de conexión y {@code local_infile=ON} en el servidor.
+ */
+@Slf4j
+@Component
+public class OrdersLocalInfileLoader {
+
+    static final String STAGING_TABLE = "orders_staging";
+
+    /**
+     * Las columnas de orders sin su particionado: {@code LIKE orders} copiaría las particiones de la tabla particionada,
+     * y MySQL no admite tablas temporales particionadas.
+     */
+    static final String CREATE_STAGING_SQL = "CREATE TEMPORARY TABLE " + STAGING_TABLE + " (PRIMARY KEY (order_id)) SELECT "
+            + String.join(", ", OrdersBulkWriter.COLUMNS) + " FROM orders WHERE 1 = 0";
+    static final String DROP_STAGING_SQL = "DROP TEMPORARY TABLE IF EXISTS " + STAGING_TABLE;
+    static final String LOAD_SQL = "LOAD DATA LOCAL INFILE 'orders.tsv' INTO TABLE " + STAGING_TABLE
+            + " CHARACTER SET utf8mb4 (" + String.join(", ", OrdersBulkWriter.COLUMNS) + ")";
+    static final String MERGE_SQL = "INSERT INTO orders (" + String.join(", ", OrdersBulkWriter.COLUMNS) + ") SELECT "
+            + OrdersBulkWriter.COLUMNS.stream().map(column -> "s." + column).collect(Collectors.joining(", "))
+            + " FROM " + STAGING_TABLE + " s ON DUPLICATE KEY UPDATE "
+            + OrdersBulkWriter.COLUMNS.stream().skip(1).map(column -> column + " = s." + column)
+            .collect(Collectors.joining(", "));
+    static final String DELETE_MOVED_SQL = "DELETE o FROM orders o JOIN " + STAGING_TABLE
+            + " s ON s.order_id = o.order_id WHERE o.order_date <> s.order_date";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final OrderDimensionDictionary dictionary;
+    private final boolean enabled;
+    private final int thresholdRows;
+    private final boolean partitioned;
+
+    public OrdersLocalInfileLoader(JdbcTemplate jdbcTemplate, OrderDimensionDictionary dictionary,
+                                   @Value("${orders.import.local-infile.enabled:false}") boolean enabled,
+                                   @Value("${orders.import.local-infile.threshold-rows:50000}") int thresholdRows,
+                                   @Value("${orders.partitioning.enabled:false}") boolean partitioned) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.dictionary = dictionary;
+        this.enabled = enabled;
+        this.thresholdRows = thresholdRows;
+        this.partitioned = partitioned;
+    }
+
+    /**
+     * @return true si la carga con LOAD DATA está activa
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * @return pedidos a partir de los cuales se usa LOAD DATA
+     */
+    public int getThresholdRows() {
+        return thresholdRows;
+    }
+
+    /**
+     * Indica si conviene cargar este número de pedidos con LOAD DATA en lugar de con lotes de INSERT.
+     *
+     * @param rows número de pedidos a guardar
+     * @return true si la carga está activa y se alcanza el umbral
+     */
+    public boolean accepts(int rows) {
+        return enabled && rows >= thresholdRows;
+    }
+
+    /**
+     * Carga los pedidos en la tabla temporal y los inserta o actualiza en orders. Un rechazo de LOAD DATA no marca la
+     * transacción para deshacerse: quien llama puede seguir en ella guardando los pedidos de otra forma.
+     *
+     * @param ordersList pedidos a guardar
+     * @return número de pedidos cargados en la tabla temporal
+     * @throws LocalInfileRejectedException si la carga falla antes de escribir en orders
+     */
+    @Transactional(noRollbackFor = LocalInfileRejectedException.class)
+    public int load(List<Orders> ordersList) {
+        long start = System.nanoTime();
+        try {
+            Integer loaded = stage(ordersList);
+            long loadedNanos = System.nanoTime() - start;
+
+            if (partitioned) {
+                jdbcTemplate.update(DELETE_MOVED_SQL);
+            }
+            int merged = jdbcTemplate.update(MERGE_SQL);
+            log.info("Carga con LOAD DATA de {} pedidos: {} ms de carga, {} ms en total ({} filas afectadas)",
+                    loaded, loadedNanos / 1_000_000, (System.nanoTime() - start) / 1_000_000, merged);
+            return loaded != null ? loaded : 0;
+        } finally {
+            jdbcTemplate.execute(DROP_STAGING_SQL);
+        }
+    }
+
+    /**
+     * Crea la tabla temporal y carga en ella los pedidos. Hasta aquí solo se ha tocado la tabla temporal, así que un
+     * fallo deja orders como estaba.
+     */
+    private Integer stage(List<Orders> ordersList) {
+        try {
+            jdbcTemplate.execute(DROP_STAGING_SQL);
+            jdbcTemplate.execute(CREATE_STAGING_SQL);
+            return jdbcTemplate.execute((StatementCallback<Integer>) statement -> {
+                statement.unwrap(JdbcStatement.class).setLocalInfileInputStream(new OrdersTsvInputStream(ordersList, dictionary));
+                return statement.executeUpdate(LOAD_SQL);
+            });
+        } catch (DataAccessException exception) {
+            throw new LocalInfileRejectedException(exception);
+        }
+    }
+
+    /**
+     * La carga con LOAD DATA ha fallado antes de escribir en orders.
+     */
+    public static class LocalInfileRejectedException extends RuntimeException {
+        public LocalInfileRejectedException(Throwable cause) {
+            super(cause.getMessage(), cause);
+        }
+    }
+}
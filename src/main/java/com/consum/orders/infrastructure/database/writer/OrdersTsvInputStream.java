@@ -0,0 +1,132 @@
+package com.consum.orders.infrastructure.database.writer;
+
+import com.consum.orders.infrastructure.database.dimension.OrderDimensionDictionary;
+import com.consum.orders.infrastructure.database.entity.Orders;
+import com.consum.orders.infrastructure.database.projection.OrdersSummaryCount;
+
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * Flujo de pedidos en el formato por defecto de {@code LOAD DATA}: campos separados por tabuladores, filas terminadas
+ * en salto de línea, {@code \N} para los nulos y barra invertida como carácter de escape. Las dimensiones se escriben
+ * como su identificador en order_dimension.
+ * <p>
+ * Las filas se codifican según se leen, así que en memoria solo hay una fila codificada cada vez, además de la lista de
+ * pedidos de origen.
+ */
+class OrdersTsvInputStream extends InputStream {
+
+    private static final String NULL = "\\N";
+
+    private final Iterator<Orders> orders;
+    private final OrderDimensionDictionary dictionary;
+    private final SimpleDateFormat dateFormat = new SimpleDateFormat("yyyy-MM-dd");
+    private final StringBuilder line = new StringBuilder(256);
+
+    private byte[] buffer = new byte[0];
+    private int position;
+
+    OrdersTsvInputStream(List<Orders> ordersList, OrderDimensionDictionary dictionary) {
+        this.orders = ordersList.iterator();
+        this.dictionary = dictionary;
+    }
+
+    @Override
+    public int read() {
+        if (!fill()) {
+            return -1;
+        }
+        return buffer[position++] & 0xFF;
+    }
+
+    @Override
+    public int read(byte[] target, int offset, int length) {
+        if (length == 0) {
+            return 0;
+        }
+        int copied = 0;
+        while (copied < length && fill()) {
+            int chunk = Math.min(length - copied, buffer.length - position);
+            System.arraycopy(buffer, position, target, offset + copied, chunk);
+            position += chunk;
+            copied += chunk;
+        }
+        return copied == 0 ? -1 : copied;
+    }
+
+    /**
+     * Codifica la siguiente fila cuando se ha consumido la anterior.
+     *
+     * @return false si no quedan filas
+     */
+    private boolean fill() {
+        while (position == buffer.length) {
+            if (!orders.hasNext()) {
+                return false;
+            }
+            buffer = encode(orders.next());
+            position = 0;
+        }
+        return true;
+    }
+
+    /**
+     * Codifica un pedido con las columnas en el orden de {@link OrdersBulkWriter#COLUMNS}.
+     */
+    private byte[] encode(Orders orders) {
+        line.setLength(0);
+        appendText(orders.getOrderId()).append('\t');
+        appendText(orders.getUuid()).append('\t');
+        appendDimension(OrdersSummaryCount.ORDER_PRIORITY, orders.getOrderPriority()).append('\t');
+        appendDimension(OrdersSummaryCount.REGION, orders.getRegion()).append('\t');
+        appendDimension(OrdersSummaryCount.COUNTRY, orders.getCountry()).append('\t');
+        appendDimension(OrdersSummaryCount.ITEM_TYPE, orders.getItemType()).append('\t');
+        appendDimension(OrdersSummaryCount.SALES_CHANNEL, orders.getSalesChannel()).append('\t');
+        appendDate(orders.getOrderDate()).append('\t');
+        appendDate(orders.getShipDate()).append('\t');
+        line.append(orders.getUnitsSold() != null ? orders.getUnitsSold().toString() : NULL).append('\t');
+        appendDecimal(orders.getUnitPrice()).append('\t');
+        appendDecimal(orders.getUnitCost()).append('\t');
+        appendDecimal(orders.getTotalRevenue()).append('\t');
+        appendDecimal(orders.getTotalCost()).append('\t');
+        appendDecimal(orders.getTotalProfit()).append('\n');
+        return line.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    private StringBuilder appendText(String value) {
+        if (value == null) {
+            return line.append(NULL);
+        }
+        for (int i = 0; i < value.length(); i++) {
+            char character = value.charAt(i);
+            switch (character) {
+                case '\\' -> line.append("\\\\");
+                case '\t' -> line.append("\\t");
+                case '\n' -> line.append("\\n");
+                case '\r' -> line.append("\\r");
+                case '\0' -> line.append("\\0");
+                default -> line.append(character);
+            }
+        }
+        return line;
+    }
+
+    private StringBuilder appendDimension(String dimension, String name) {
+        Short id = dictionary.idOf(dimension, name);
+        return line.append(id != null ? id.toString() : NULL);
+    }
+
+    private StringBuilder appendDate(Date value) {
+        return line.append(value != null ? dateFormat.format(value) : NULL);
+    }
+
+    private StringBuilder appendDecimal(BigDecimal value) {
+        return line.append(value != null ? value.toPlainString() : NULL);
+    }
+}
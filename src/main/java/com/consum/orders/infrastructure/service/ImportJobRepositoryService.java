@@ -0,0 +1,147 @@
+package com.consum.orders.infrastructure.service;
+
+import com.consum.orders.domain.exception.ProcessingException;
+import com.consum.orders.infrastructure.database.entity.ImportJob;
+import com.consum.orders.infrastructure.database.entity.ImportJobStatus;
+import com.consum.orders.infrastructure.database.repository.ImportJobRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Servicio para procesar operaciones de los datos de la tabla import_jobs
+ * <p>
+ * Con varias instancias de la aplicación sobre la misma base de datos, cada una reserva los trabajos que ejecuta: guarda
+ * su identificador en owner y una fecha de vencimiento que renueva mientras el trabajo sigue en marcha. Solo se puede
+ * reservar un trabajo sin terminar que no tenga dueño o cuya reserva haya vencido.
+ */
+@Slf4j
+@Service
+public class ImportJobRepositoryService {
+
+    private static final List<ImportJobStatus> UNFINISHED_STATUSES =
+            List.of(ImportJobStatus.PENDING, ImportJobStatus.RUNNING, ImportJobStatus.INTERRUPTED);
+
+    private final ImportJobRepository importJobRepository;
+    private final long leaseMillis;
+    private final String instanceId = UUID.randomUUID().toString();
+
+    public ImportJobRepositoryService(ImportJobRepository importJobRepository,
+                                      @Value("${orders.import.jobs.lease-seconds:300}") int leaseSeconds) {
+        this.importJobRepository = importJobRepository;
+        this.leaseMillis = leaseSeconds * 1000L;
+    }
+
+    /**
+     * Registra un nuevo trabajo de importación en estado PENDING, reservado para esta instancia.
+     *
+     * @param maxPerPage máximo de pedidos por página
+     * @return trabajo de importación creado
+     * @throws ProcessingException si ocurre un error al guardar el trabajo
+     */
+    public ImportJob createJob(String maxPerPage) {
+        try {
+            Date now = new Date();
+            ImportJob importJob = new ImportJob(UUID.randomUUID().toString(), ImportJobStatus.PENDING, maxPerPage,
+                    0, 0, 0L, null, now, now, instanceId, new Date(now.getTime() + leaseMillis));
+
+            log.info("Registrando trabajo de importación {}", importJob.getJobId());
+            return importJobRepository.save(importJob);
+        } catch (Exception exception) {
+            log.error("Error al registrar el trabajo de importación", exception);
+            throw new ProcessingException("Error al registrar el trabajo de importación", exception);
+        }
+    }
+
+    /**
+     * Recupera un trabajo de importación por su identificador.
+     *
+     * @param jobId identificador del trabajo
+     * @return el trabajo encontrado, o un Optional vacío si no existe
+     */
+    public Optional<ImportJob> findById(String jobId) {
+        return importJobRepository.findById(jobId);
+    }
+
+    /**
+     * Recupera los trabajos que no llegaron a terminar (pendientes, en ejecución o interrumpidos).
+     *
+     * @return listado de trabajos sin terminar
+     */
+    public List<ImportJob> findUnfinishedJobs() {
+        return importJobRepository.findByStatusIn(UNFINISHED_STATUSES);
+    }
+
+    /**
+     * Reserva un trabajo sin terminar para esta instancia, si no lo tiene reservado otra.
+     *
+     * @param jobId identificador del trabajo
+     * @return true si esta instancia puede ejecutar el trabajo
+     */
+    public boolean claim(String jobId) {
+        Date now = new Date();
+        return importJobRepository.claim(jobId, UNFINISHED_STATUSES, instanceId, new Date(now.getTime() + leaseMillis),
+                now) == 1;
+    }
+
+    /**
+     * Alarga la reserva de los trabajos que esta instancia tiene en marcha.
+     *
+     * @param jobIds identificadores de los trabajos
+     */
+    public void renewLeases(Collection<String> jobIds) {
+        if (!jobIds.isEmpty()) {
+            importJobRepository.renewLeases(jobIds, instanceId, new Date(System.currentTimeMillis() + leaseMillis));
+        }
+    }
+
+    /**
+     * Cambia el estado de un trabajo de esta instancia y lo deja sin reservar, para que cualquier instancia pueda
+     * reanudarlo.
+     *
+     * @param jobId  identificador del trabajo
+     * @param status nuevo estado
+     */
+    public void release(String jobId, ImportJobStatus status) {
+        log.info("Trabajo de importación {} pasa a estado {} y queda libre", jobId, status);
+        importJobRepository.release(jobId, instanceId, status, new Date());
+    }
+
+    /**
+     * Actualiza el estado de un trabajo de importación. El mensaje de error se recorta a la longitud de la columna: los
+     * mensajes de Feign o de SQL pueden ser más largos, y si la actualización fallase el trabajo quedaría en RUNNING y
+     * se reanudaría en el siguiente arranque.
+     *
+     * @param jobId        identificador del trabajo
+     * @param status       nuevo estado
+     * @param errorMessage mensaje de error, si lo hay
+     */
+    public void updateStatus(String jobId, ImportJobStatus status, String errorMessage) {
+        log.info("Trabajo de importación {} pasa a estado {}", jobId, status);
+        importJobRepository.updateStatus(jobId, status, truncate(errorMessage), new Date());
+    }
+
+    /**
+     * Guarda el punto de control de un trabajo: la última página confirmada sin huecos y los totales importados.
+     *
+     * @param jobId             identificador del trabajo
+     * @param lastCommittedPage última página guardada sin huecos
+     * @param importedPages     páginas importadas
+     * @param importedOrders    pedidos importados
+     */
+    public void updateCheckpoint(String jobId, int lastCommittedPage, int importedPages, long importedOrders) {
+        log.debug("Punto de control del trabajo {}: página {}", jobId, lastCommittedPage);
+        importJobRepository.updateCheckpoint(jobId, lastCommittedPage, importedPages, importedOrders, new Date());
+    }
+
+    private static String truncate(String errorMessage) {
+        return errorMessage != null && errorMessage.length() > ImportJob.ERROR_MESSAGE_LENGTH
+                ? errorMessage.substring(0, ImportJob.ERROR_MESSAGE_LENGTH) : errorMessage;
+    }
+}
@@ -0,0 +1,59 @@
+package com.consum.orders.infrastructure.service;
+
+import com.consum.orders.infrastructure.client.dto.ContentClientDTO;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.data.redis.cache.CacheKeyPrefix;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.stereotype.Service;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Servicio de lectura directa de las cachés de Redis, para consultas que necesitan muchas entradas en una sola llamada.
+ */
+@Slf4j
+@Service
+public class OrdersCacheService {
+
+    private final RedisTemplate<String, Object> cacheEntriesRedisTemplate;
+
+    public OrdersCacheService(@Qualifier("cacheEntriesRedisTemplate") RedisTemplate<String, Object> cacheEntriesRedisTemplate) {
+        this.cacheEntriesRedisTemplate = cacheEntriesRedisTemplate;
+    }
+
+    /**
+     * Recupera de la caché clientOrderCache los pedidos indicados con un único MGET.
+     *
+     * @param uuids identificadores de los pedidos
+     * @return pedidos encontrados en la caché, por UUID; si Redis no responde se devuelve vacío
+     */
+    public Map<String, ContentClientDTO> getCachedClientOrders(Collection<String> uuids) {
+        Map<String, ContentClientDTO> cachedOrders = new HashMap<>();
+        if (uuids.isEmpty()) {
+            return cachedOrders;
+        }
+
+        List<String> uuidList = List.copyOf(uuids);
+        List<String> keys = uuidList.stream()
+                .map(uuid -> CacheKeyPrefix.simple().compute(OrdersClientService.CLIENT_ORDER_CACHE) + uuid)
+                .toList();
+
+        try {
+            List<Object> values = cacheEntriesRedisTemplate.opsForValue().multiGet(keys);
+            for (int i = 0; values != null && i < values.size(); i++) {
+                if (values.get(i) instanceof ContentClientDTO contentClientDTO) {
+                    cachedOrders.put(uuidList.get(i), contentClientDTO);
+                }
+            }
+        } catch (RuntimeException exception) {
+            log.warn("No se ha podido consultar la caché de pedidos en Redis: {}", exception.getMessage());
+        }
+
+        log.debug("Encontrados en caché {} de {} pedidos", cachedOrders.size(), uuidList.size());
+        return cachedOrders;
+    }
+}
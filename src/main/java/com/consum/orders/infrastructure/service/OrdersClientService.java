@@ -2,25 +2,56 @@ package com.consum.orders.infrastructure.service;
 
 import com.consum.orders.domain.exception.ProcessingException;
 import com.consum.orders.infrastructure.client.KatasClientFeign;
+import com.consum.orders.infrastructure.client.decoder.OrdersPageStreamDecoder;
 import com.consum.orders.infrastructure.client.dto.ContentClientDTO;
 import com.consum.orders.infrastructure.client.dto.PaginatedOrderClientDTO;
+import com.consum.orders.infrastructure.client.dto.StreamedPageClientDTO;
+import com.consum.orders.infrastructure.client.resilience.CircuitBreaker;
+import com.consum.orders.infrastructure.client.resilience.RequestCoalescer;
+import com.consum.orders.infrastructure.client.resilience.RequestHedger;
 import feign.FeignException;
+import feign.Response;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
 
+import java.io.Serial;
+import java.util.function.Consumer;
+
 @Slf4j
 @Service
 public class OrdersClientService {
 
+    public static final String CLIENT_ORDER_CACHE = "clientOrderCache";
+    public static final String CLIENT_ORDER_STALE_CACHE = "clientOrderStaleCache";
+
     private final KatasClientFeign katasClientFeign;
+    private final OrdersPageStreamDecoder ordersPageStreamDecoder;
+    private final RequestCoalescer requestCoalescer;
+    private final RequestHedger requestHedger;
+    private final CircuitBreaker circuitBreaker;
+    private final CacheManager cacheManager;
+    private final MeterRegistry meterRegistry;
 
-    public OrdersClientService(KatasClientFeign katasClientFeign) {
+    public OrdersClientService(KatasClientFeign katasClientFeign, OrdersPageStreamDecoder ordersPageStreamDecoder,
+                               RequestCoalescer requestCoalescer, RequestHedger requestHedger,
+                               CircuitBreaker circuitBreaker, CacheManager cacheManager, MeterRegistry meterRegistry) {
         this.katasClientFeign = katasClientFeign;
+        this.ordersPageStreamDecoder = ordersPageStreamDecoder;
+        this.requestCoalescer = requestCoalescer;
+        this.requestHedger = requestHedger;
+        this.circuitBreaker = circuitBreaker;
+        this.cacheManager = cacheManager;
+        this.meterRegistry = meterRegistry;
     }
 
     /**
      * Obtiene pedidos paginados del servicio externo utilizando los parámetros de página y máximo por página especificados.
+     * La página se guarda en {@code clientOrdersCache}.
      *
      * @param page       Número de página a obtener.
      * @param maxPerPage Número máximo de elementos por página.
@@ -30,6 +61,19 @@ public class OrdersClientService {
      */
     @Cacheable(value = "clientOrdersCache", key = "#page + '-' + #maxPerPage")
     public PaginatedOrderClientDTO getPagedOrdersClient(String page, String maxPerPage) {
+        return fetchPagedOrdersClient(page, maxPerPage);
+    }
+
+    /**
+     * Obtiene una página de pedidos del servicio externo sin pasar por {@code clientOrdersCache}. Lo usa la importación
+     * completa del catálogo, que debe leer los pedidos actuales y no llenar Redis con todas las páginas.
+     *
+     * @param page       Número de página a obtener.
+     * @param maxPerPage Número máximo de elementos por página.
+     * @return DTOs paginados de órdenes obtenidos del servicio externo.
+     * @throws ProcessingException Si ocurre un error al obtener las órdenes paginadas.
+     */
+    public PaginatedOrderClientDTO fetchPagedOrdersClient(String page, String maxPerPage) {
         try {
             log.info("Llamando a getClientOrders con página={} y maxPerPage={}.", page, maxPerPage);
             PaginatedOrderClientDTO paginatedOrderClientDTO = katasClientFeign.getClientOrders(page, maxPerPage);
@@ -47,17 +91,157 @@ public class OrdersClientService {
 
 
     /**
-     * Obtiene un pedido por su UUID
+     * Obtiene una página de pedidos del servicio externo decodificándola en streaming: cada pedido se entrega al
+     * consumidor en cuanto se lee, sin construir la lista completa de la página.
+     *
+     * @param page            Número de página a obtener.
+     * @param maxPerPage      Número máximo de elementos por página.
+     * @param contentConsumer Receptor de cada pedido de la página.
+     * @return Metadatos de la página leída (número, pedidos leídos y enlaces).
+     * @throws ProcessingException Si ocurre un error al obtener o decodificar la página.
+     */
+    public StreamedPageClientDTO streamPagedOrdersClient(String page, String maxPerPage,
+                                                         Consumer<ContentClientDTO> contentConsumer) {
+        log.info("Llamando a getClientOrdersStream con página={} y maxPerPage={}.", page, maxPerPage);
+        try (Response response = katasClientFeign.getClientOrdersStream(page, maxPerPage)) {
+            if (response.status() < 200 || response.status() >= 300) {
+                throw FeignException.errorStatus("KatasClientFeign#getClientOrdersStream", response);
+            }
+            if (response.body() == null) {
+                return new StreamedPageClientDTO(Integer.parseInt(page), 0, null);
+            }
+
+            StreamedPageClientDTO streamedPage = ordersPageStreamDecoder.decode(response.body().asInputStream(), contentConsumer);
+            log.info("Recibidos {} pedidos del servicio externo.", streamedPage.getContentSize());
+            return streamedPage;
+        } catch (FeignException feignException) {
+            log.error("Error de comunicación con el servicio externo.", feignException);
+            throw new ProcessingException("Error de comunicación con el servicio externo.", feignException);
+        } catch (ProcessingException processingException) {
+            throw processingException;
+        } catch (Exception exception) {
+            log.error("Error al obtener pedidos del servicio externo.", exception);
+            throw new ProcessingException("Fallo al obtener pedidos del servicio externo.", exception);
+        }
+    }
+
+    /**
+     * Obtiene un pedido por su UUID. Las peticiones concurrentes del mismo UUID que fallan en la caché comparten una
+     * única llamada a la API de Katas; si la llamada tarda más que el p95 habitual se lanza una segunda y se usa la que
+     * responda antes. Mientras la API no está sana se devuelve la última copia conocida del pedido.
+     * <p>
+     * En {@code clientOrderCache} solo se guarda lo que ha devuelto la API, y lo guarda el coalescer al publicar el
+     * resultado; aquí solo se actualiza la copia de respaldo. La copia de respaldo viaja como
+     * {@link StaleOrderException} a través del coalescer, que así no la publica para el resto de nodos, y se devuelve
+     * sin cachear: en cuanto la API se recupera, la siguiente consulta vuelve a llegar a ella.
      *
      * @param uuid Identificador único del pedido
      * @return ContentClientDTO Datos del pedido
+     * @throws ProcessingException Si la API no está disponible y no hay copia del pedido.
      */
-    @Cacheable(value = "clientOrderCache", key = "#uuid")
     public ContentClientDTO getOrderByUUIDClient(String uuid) {
-        log.info("Llamando a getOrderClient con uuid={}.", uuid);
-        ContentClientDTO contentClientDTO = katasClientFeign.getClientOrderByUUID(uuid);
+        Cache cache = cacheManager.getCache(CLIENT_ORDER_CACHE);
+        ContentClientDTO cachedOrder = cachedOrder(cache, uuid);
+        if (cachedOrder != null) {
+            return cachedOrder;
+        }
 
+        try {
+            return requestCoalescer.execute(CLIENT_ORDER_CACHE, uuid, ContentClientDTO.class,
+                    () -> circuitBreaker.execute(() -> fetchOrderByUUID(uuid), exception -> {
+                        throw new StaleOrderException(staleOrder(uuid, exception));
+                    }));
+        } catch (StaleOrderException staleOrderException) {
+            return staleOrderException.getOrder();
+        }
+    }
+
+    private static ContentClientDTO cachedOrder(Cache cache, String uuid) {
+        try {
+            return cache != null ? cache.get(uuid, ContentClientDTO.class) : null;
+        } catch (RuntimeException exception) {
+            log.warn("No se ha podido leer el pedido {} de la caché: {}", uuid, exception.getMessage());
+            return null;
+        }
+    }
+
+    private ContentClientDTO fetchOrderByUUID(String uuid) {
+        ContentClientDTO contentClientDTO = requestHedger.execute(() -> {
+            log.info("Llamando a getOrderClient con uuid={}.", uuid);
+            return katasClientFeign.getClientOrderByUUID(uuid);
+        });
         log.info("Recibido correctamente el Pedido por su uuid.");
+
+        if (contentClientDTO != null) {
+            put(cacheManager.getCache(CLIENT_ORDER_STALE_CACHE), uuid, contentClientDTO);
+        }
         return contentClientDTO;
     }
-}
\ No newline at end of file
+
+    private static void put(Cache cache, String uuid, ContentClientDTO contentClientDTO) {
+        if (cache == null) {
+            return;
+        }
+        try {
+            cache.put(uuid, contentClientDTO);
+        } catch (RuntimeException exception) {
+            log.warn("No se ha podido guardar el pedido {} en {}: {}", uuid, cache.getName(), exception.getMessage());
+        }
+    }
+
+    /**
+     * Fallback del circuit breaker: última copia conocida del pedido.
+     *
+     * @param uuid      Identificador único del pedido
+     * @param exception error de la llamada o circuito abierto
+     * @return copia de respaldo del pedido
+     * @throws ProcessingException Si no hay copia del pedido.
+     */
+    private ContentClientDTO staleOrder(String uuid, RuntimeException exception) {
+        ContentClientDTO staleOrder = null;
+        try {
+            Cache staleCache = cacheManager.getCache(CLIENT_ORDER_STALE_CACHE);
+            staleOrder = staleCache != null ? staleCache.get(uuid, ContentClientDTO.class) : null;
+        } catch (RuntimeException cacheException) {
+            log.warn("No se ha podido leer la copia de respaldo del pedido {}: {}", uuid, cacheException.getMessage());
+        }
+
+        if (staleOrder == null) {
+            fallbackCounter("none").increment();
+            log.error("La API de Katas no está disponible y no hay copia del pedido {}.", uuid);
+            throw new ProcessingException("Error de comunicación con el servicio externo.", exception);
+        }
+        fallbackCounter("stale").increment();
+        log.warn("La API de Katas no está disponible ({}), se devuelve la copia de respaldo del pedido {}.",
+                exception.getMessage(), uuid);
+        return staleOrder;
+    }
+
+    private Counter fallbackCounter(String result) {
+        return Counter.builder("orders.client.circuit.fallback")
+                .description("Consultas resueltas con la copia de respaldo del pedido o sin ella")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Copia de respaldo devuelta por el fallback del circuit breaker. Sale del coalescer como excepción para que no se
+     * publique en {@code clientOrderCache}; las peticiones agrupadas con la misma carga la reciben igual.
+     */
+    private static final class StaleOrderException extends RuntimeException {
+
+        @Serial
+        private static final long serialVersionUID = 1L;
+
+        private final transient ContentClientDTO order;
+
+        private StaleOrderException(ContentClientDTO order) {
+            super(null, null, false, false);
+            this.order = order;
+        }
+
+        private ContentClientDTO getOrder() {
+            return order;
+        }
+    }
+}
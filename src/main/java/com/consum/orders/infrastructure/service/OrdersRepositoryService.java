@@ -1,13 +1,27 @@
 package com.consum.orders.infrastructure.service;
 
+import com.consum.orders.domain.dto.OrdersDTO;
 import com.consum.orders.domain.exception.ProcessingException;
+import com.consum.orders.infrastructure.database.cache.OrdersSecondLevelCache;
 import com.consum.orders.infrastructure.database.entity.Orders;
+import com.consum.orders.infrastructure.database.partition.OrdersArchiveCutoff;
+import com.consum.orders.infrastructure.database.projection.OrdersSummaryCount;
+import com.consum.orders.infrastructure.database.repository.OrderSummaryRepository;
 import com.consum.orders.infrastructure.database.repository.OrdersRepository;
+import com.consum.orders.infrastructure.database.writer.OrderSummaryWriter;
+import com.consum.orders.infrastructure.database.writer.OrdersBulkWriter;
+import com.consum.orders.infrastructure.database.writer.OrdersLocalInfileLoader;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDate;
+import java.util.Date;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Stream;
 
 /**
  * Servicio para procesar operaciones de los datos de la tabla Orders
@@ -16,22 +30,70 @@ import java.util.Optional;
 @Service
 public class OrdersRepositoryService {
 
+    /**
+     * Límites del tipo DATE de MySQL, para los intervalos de fechas sin principio o sin fin.
+     */
+    static final LocalDate MIN_ORDER_DATE = LocalDate.of(1000, 1, 1);
+    static final LocalDate MAX_ORDER_DATE = LocalDate.of(9999, 12, 31);
+
     private final OrdersRepository ordersRepository;
+    private final OrdersBulkWriter ordersBulkWriter;
+    private final OrdersLocalInfileLoader ordersLocalInfileLoader;
+    private final OrderSummaryRepository orderSummaryRepository;
+    private final OrderSummaryWriter orderSummaryWriter;
+    private final OrdersSecondLevelCache ordersSecondLevelCache;
+    private final OrdersArchiveCutoff ordersArchiveCutoff;
 
-    public OrdersRepositoryService(OrdersRepository ordersRepository) {
+    public OrdersRepositoryService(OrdersRepository ordersRepository, OrdersBulkWriter ordersBulkWriter,
+                                   OrdersLocalInfileLoader ordersLocalInfileLoader,
+                                   OrderSummaryRepository orderSummaryRepository, OrderSummaryWriter orderSummaryWriter,
+                                   OrdersSecondLevelCache ordersSecondLevelCache,
+                                   OrdersArchiveCutoff ordersArchiveCutoff) {
         this.ordersRepository = ordersRepository;
+        this.ordersBulkWriter = ordersBulkWriter;
+        this.ordersLocalInfileLoader = ordersLocalInfileLoader;
+        this.orderSummaryRepository = orderSummaryRepository;
+        this.orderSummaryWriter = orderSummaryWriter;
+        this.ordersSecondLevelCache = ordersSecondLevelCache;
+        this.ordersArchiveCutoff = ordersArchiveCutoff;
     }
 
     /**
-     * Guarda una lista de pedidos en la tabla Orders.
+     * Guarda una lista de pedidos en la tabla Orders. Las listas que alcanzan el umbral de LOAD DATA se cargan con
+     * LOAD DATA LOCAL INFILE; el resto, con la escritura masiva en lotes JDBC o, si está desactivada, con JPA. Si el
+     * servidor rechaza LOAD DATA antes de escribir en orders (por ejemplo, porque no admite local_infile), se usa la
+     * escritura masiva; cualquier otro fallo de la carga deshace la transacción.
+     * <p>
+     * El resumen materializado de order_summary se actualiza en la misma transacción, antes de escribir los pedidos,
+     * para poder restar los valores anteriores de los pedidos que se vuelven a importar. Al confirmarse la transacción
+     * se vacía la caché de segundo nivel de pedidos, si está activa.
+     * <p>
+     * Los pedidos de meses ya archivados no se guardan ({@link #withoutArchivedOrders(List)}).
      *
      * @param ordersList lista de pedidos.
      * @throws ProcessingException si ocurre un error durante el proceso de guardado.
      */
+    @Transactional
     public void saveAllOrders(List<Orders> ordersList) {
         try {
+            ordersList = withoutArchivedOrders(ordersList);
+            if (ordersList.isEmpty()) {
+                return;
+            }
             log.info("Intentando guardar {} pedidos", ordersList.size());
-            ordersRepository.saveAll(ordersList);
+            ordersSecondLevelCache.evictAfterCommit();
+            if (orderSummaryWriter.isEnabled()) {
+                orderSummaryWriter.applyChanges(ordersList);
+            }
+            if (ordersLocalInfileLoader.accepts(ordersList.size()) && loadWithLocalInfile(ordersList)) {
+                log.info("Pedidos cargados con LOAD DATA: {}", ordersList.size());
+                return;
+            }
+            if (ordersBulkWriter.isEnabled()) {
+                ordersBulkWriter.upsert(ordersList);
+            } else {
+                ordersRepository.saveAll(ordersList);
+            }
             log.info("Pedidos guardados correctamente: {}", ordersList.size());
         } catch (Exception exception) {
             log.error("Error en el proceso de guardar los pedidos en la base de datos", exception);
@@ -39,22 +101,150 @@ public class OrdersRepositoryService {
         }
     }
 
+    private boolean loadWithLocalInfile(List<Orders> ordersList) {
+        try {
+            ordersLocalInfileLoader.load(ordersList);
+            return true;
+        } catch (OrdersLocalInfileLoader.LocalInfileRejectedException exception) {
+            log.warn("El servidor ha rechazado LOAD DATA antes de escribir en orders, se usa la escritura por lotes: {}",
+                    exception.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Quita los pedidos de los meses que el mantenimiento de particiones ya ha archivado, que no deben volver a orders
+     * ni a order_summary al importarse otra vez.
+     *
+     * @param ordersList pedidos a importar
+     * @return pedidos que se pueden guardar
+     */
+    public List<Orders> withoutArchivedOrders(List<Orders> ordersList) {
+        return ordersArchiveCutoff.retain(ordersList);
+    }
+
+    /**
+     * Pedidos que conviene reunir en una sola llamada a {@link #saveAllOrders(List)} para que se carguen con LOAD DATA.
+     * Las importaciones de varias páginas acumulan sus bloques hasta este número antes de guardarlos.
+     *
+     * @return umbral de LOAD DATA, o 0 si la carga con LOAD DATA está desactivada
+     */
+    public int getLocalInfileThreshold() {
+        return ordersLocalInfileLoader.isEnabled() ? ordersLocalInfileLoader.getThresholdRows() : 0;
+    }
+
     /**
-     * Recupera un pedido por su ID de la base de datos.
+     * Recupera un pedido por su ID, de la caché de segundo nivel si está activa o de la base de datos.
      *
      * @param id ID del pedido a buscar.
      * @return El pedido encontrado, o un Optional vacío si no se encuentra.
      */
-    public Optional<Orders> findById(Long id) {
+    public Optional<Orders> findById(String id) {
         return ordersRepository.findById(id);
     }
 
     /**
-     * Recupera todos los pedidos de la base de datos.
+     * Recupera todos los pedidos, de la caché de consultas si está activa o de la base de datos.
      *
      * @return Listado de todos los pedidos.
      */
     public List<Orders> findAll() {
         return ordersRepository.findAll();
     }
-}
\ No newline at end of file
+
+    /**
+     * Recupera una página de pedidos ordenados por ID a partir de un pedido dado, proyectados directamente en DTO dentro
+     * de una transacción de solo lectura (sin entidades gestionadas ni flush).
+     *
+     * @param afterOrderId ID del último pedido de la página anterior ("" para empezar por el primero).
+     * @param limit        máximo de pedidos a recuperar.
+     * @return Pedidos con ID posterior a afterOrderId.
+     */
+    @Transactional(readOnly = true)
+    public List<OrdersDTO> findPageAfter(String afterOrderId, int limit) {
+        return ordersRepository.findOrdersDTOAfter(afterOrderId, PageRequest.of(0, limit));
+    }
+
+    /**
+     * Recorre todos los pedidos de la base de datos sin cargarlos en memoria. El Stream se lee de un cursor de solo
+     * avance dentro de una transacción de solo lectura que dura lo que dura el lector, y cada fila se proyecta en un
+     * DTO sin pasar por el contexto de persistencia.
+     *
+     * @param reader función que consume el Stream de pedidos; no debe guardarlo para usarlo después.
+     * @param <R>    tipo del resultado del lector.
+     * @return Resultado del lector.
+     */
+    @Transactional(readOnly = true)
+    public <R> R streamAll(Function<Stream<OrdersDTO>, R> reader) {
+        try (Stream<OrdersDTO> orders = ordersRepository.streamAllOrdersDTO()) {
+            return reader.apply(orders);
+        }
+    }
+
+    /**
+     * Recorre los pedidos con fecha entre from y to, ambas incluidas, igual que {@link #streamAll(Function)}. Con la
+     * tabla particionada por fecha solo se leen las particiones del intervalo.
+     *
+     * @param from   primera fecha de pedido, o nulo para empezar por el más antiguo.
+     * @param to     última fecha de pedido, o nulo para terminar en el más reciente.
+     * @param reader función que consume el Stream de pedidos; no debe guardarlo para usarlo después.
+     * @param <R>    tipo del resultado del lector.
+     * @return Resultado del lector.
+     */
+    @Transactional(readOnly = true)
+    public <R> R streamBetween(LocalDate from, LocalDate to, Function<Stream<OrdersDTO>, R> reader) {
+        try (Stream<OrdersDTO> orders = ordersRepository.streamOrdersDTOBetween(lowerBound(from), upperBound(to))) {
+            return reader.apply(orders);
+        }
+    }
+
+    /**
+     * Cuenta los pedidos de cada valor de región, país, tipo de ítem, canal de ventas y prioridad. Con el resumen
+     * materializado activo se lee la tabla order_summary; si no, se agrupa la tabla orders.
+     *
+     * @return Número de pedidos por dimensión y valor.
+     */
+    @Transactional(readOnly = true)
+    public List<OrdersSummaryCount> countByDimension() {
+        if (orderSummaryWriter.isEnabled()) {
+            return orderSummaryRepository.findSummaryCounts();
+        }
+        return ordersRepository.countByDimension();
+    }
+
+    /**
+     * Cuenta los pedidos de cada valor de región, país, tipo de ítem, canal de ventas y prioridad con fecha entre from y
+     * to, ambas incluidas. El resumen materializado no guarda fechas, así que se agrupa siempre la tabla orders; con la
+     * tabla particionada por fecha solo se leen las particiones del intervalo.
+     *
+     * @param from primera fecha de pedido, o nulo para empezar por el más antiguo.
+     * @param to   última fecha de pedido, o nulo para terminar en el más reciente.
+     * @return Número de pedidos por dimensión y valor en el intervalo.
+     */
+    @Transactional(readOnly = true)
+    public List<OrdersSummaryCount> countByDimensionBetween(LocalDate from, LocalDate to) {
+        return ordersRepository.countByDimensionBetween(lowerBound(from), upperBound(to));
+    }
+
+    private static Date lowerBound(LocalDate from) {
+        return java.sql.Date.valueOf(from != null ? from : MIN_ORDER_DATE);
+    }
+
+    private static Date upperBound(LocalDate to) {
+        return java.sql.Date.valueOf(to != null ? to : MAX_ORDER_DATE);
+    }
+
+    /**
+     * Reconstruye el resumen materializado desde la tabla orders, para corregir desviaciones o poblarlo por primera vez
+     * sobre pedidos ya guardados.
+     *
+     * @return Número de filas del resumen.
+     * @throws ProcessingException si el resumen materializado está desactivado.
+     */
+    public int rebuildSummary() {
+        if (!orderSummaryWriter.isEnabled()) {
+            throw new ProcessingException("El resumen materializado está desactivado");
+        }
+        return orderSummaryWriter.rebuild();
+    }
+}
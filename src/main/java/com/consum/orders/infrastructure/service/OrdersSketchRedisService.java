@@ -0,0 +1,296 @@
+package com.consum.orders.infrastructure.service;
+
+import com.consum.orders.domain.sketch.CountMinSketch;
+import com.consum.orders.domain.sketch.HeavyHitters;
+import com.consum.orders.domain.summary.CubeDimension;
+import com.consum.orders.infrastructure.database.entity.Orders;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.RedisZSetCommands;
+import org.springframework.data.redis.connection.StringRedisConnection;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.Date;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Stream;
+
+/**
+ * Sketches de los pedidos importados guardados en Redis, para consultas aproximadas en memoria constante:
+ * <ul>
+ *     <li>UUID distintos, en total, por país, por mes de pedido y por país y mes: HyperLogLog de Redis
+ *     ({@code PFADD}/{@code PFCOUNT}), como mucho 12 KB por clave y un error estándar del 0,81 %. {@code PFCOUNT} sobre
+ *     varias claves cuenta su unión, así que un intervalo de meses se consulta sin guardar nada más.</li>
+ *     <li>Valores más frecuentes de cada dimensión: un {@link CountMinSketch} guardado en un hash con una entrada por
+ *     celda, que se combina con {@code HINCRBY}, y los candidatos a top-K en un conjunto ordenado por su estimación.</li>
+ * </ul>
+ * Las dos estructuras se actualizan con operaciones atómicas de Redis, así que varios hilos y nodos pueden importar a la
+ * vez sin leer ni reescribir el sketch completo. Cada página cuesta dos viajes a Redis en pipeline.
+ * <p>
+ * Las páginas se suman cuando ya están guardadas en la base de datos. Los incrementos de Redis no se pueden deshacer:
+ * si una página se guarda, falla algo después y se vuelve a importar, sus pedidos cuentan dos veces en las frecuencias
+ * del top-K. Los HyperLogLog no se ven afectados, porque añadir otra vez un UUID no cambia su estimación.
+ */
+@Slf4j
+@Service
+public class OrdersSketchRedisService {
+
+    static final String KEY_PREFIX = "orders:sketch:";
+    static final String UUIDS_KEY = KEY_PREFIX + "uuids";
+
+    private final StringRedisTemplate stringRedisTemplate;
+    private final boolean enabled;
+    private final double epsilon;
+    private final double delta;
+    private final int candidates;
+    private final String sketchSize;
+
+    public OrdersSketchRedisService(StringRedisTemplate stringRedisTemplate,
+                                    @Value("${orders.sketch.enabled:true}") boolean enabled,
+                                    @Value("${orders.sketch.count-min.epsilon:0.001}") double epsilon,
+                                    @Value("${orders.sketch.count-min.delta:0.01}") double delta,
+                                    @Value("${orders.sketch.top-k.candidates:100}") int candidates) {
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.enabled = enabled;
+        this.epsilon = epsilon;
+        this.delta = delta;
+        this.candidates = candidates;
+        CountMinSketch sketch = newSketch();
+        this.sketchSize = sketch.getWidth() + "x" + sketch.getDepth();
+    }
+
+    /**
+     * Suma una página de pedidos a los sketches. Un fallo de Redis no detiene la importación: se registra y la página
+     * queda fuera de los sketches.
+     *
+     * @param orders pedidos de la página
+     */
+    public void record(List<Orders> orders) {
+        if (!enabled || orders.isEmpty()) {
+            return;
+        }
+        try {
+            write(orders);
+        } catch (RuntimeException exception) {
+            log.warn("No se han podido actualizar los sketches de pedidos en Redis: {}", exception.getMessage());
+        }
+    }
+
+    /**
+     * Suma una página de pedidos a los sketches cuando se confirme la transacción actual, o en el momento si no hay
+     * ninguna. Si la transacción se deshace, la página no se suma.
+     *
+     * @param orders pedidos de la página
+     */
+    public void recordAfterCommit(List<Orders> orders) {
+        if (!enabled || orders.isEmpty()) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    record(orders);
+                }
+            });
+        } else {
+            record(orders);
+        }
+    }
+
+    /**
+     * Cuenta los UUID distintos de los pedidos importados.
+     *
+     * @param country país, o nulo para todos
+     * @param from    primer mes de pedido, o nulo para todos los pedidos
+     * @param to      último mes de pedido, nulo si {@code from} es nulo
+     * @return número estimado de UUID distintos
+     */
+    public long countDistinctUuids(String country, YearMonth from, YearMonth to) {
+        String[] keys = from == null
+                ? new String[]{uuidsKey(null, country)}
+                : Stream.iterate(from, month -> !month.isAfter(to), month -> month.plusMonths(1))
+                .map(month -> uuidsKey(month, country))
+                .toArray(String[]::new);
+
+        Long size = stringRedisTemplate.opsForHyperLogLog().size(keys);
+        return size != null ? size : 0;
+    }
+
+    /**
+     * Carga de Redis el sketch de una dimensión con sus candidatos, vueltos a estimar con el sketch completo.
+     *
+     * @param dimension dimensión
+     * @return valores más frecuentes de la dimensión
+     */
+    public HeavyHitters loadHeavyHitters(CubeDimension dimension) {
+        CountMinSketch sketch = newSketch();
+        stringRedisTemplate.<String, String>opsForHash().entries(cmsKey(dimension))
+                .forEach((cell, count) -> sketch.addCell(Integer.parseInt(cell), Long.parseLong(count)));
+        String total = stringRedisTemplate.opsForValue().get(totalKey(dimension));
+        sketch.addTotal(total != null ? Long.parseLong(total) : 0);
+
+        HeavyHitters heavyHitters = new HeavyHitters(sketch, candidates);
+        Set<String> values = stringRedisTemplate.opsForZSet().reverseRange(topKey(dimension), 0, candidates - 1L);
+        if (values != null) {
+            values.forEach(heavyHitters::offer);
+        }
+        return heavyHitters;
+    }
+
+    /**
+     * @return candidatos a top-K que se conservan por dimensión, el máximo de valores que se puede pedir
+     */
+    public int getCandidates() {
+        return candidates;
+    }
+
+    /**
+     * Primer viaje: suma a Redis el sketch de la página de cada dimensión y añade los UUID a sus HyperLogLog. Segundo
+     * viaje: propone como candidatos los valores de la página con la estimación que devuelven los incrementos, y recorta
+     * cada conjunto de candidatos a su capacidad.
+     */
+    private void write(List<Orders> orders) {
+        Map<String, List<String>> uuids = groupUuids(orders);
+        List<PageSketch> pageSketches = Arrays.stream(CubeDimension.values())
+                .map(dimension -> pageSketch(dimension, orders))
+                .filter(pageSketch -> !pageSketch.values().isEmpty())
+                .toList();
+
+        List<Object> increments = stringRedisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            StringRedisConnection redis = (StringRedisConnection) connection;
+            for (PageSketch pageSketch : pageSketches) {
+                for (int cell : pageSketch.cells()) {
+                    redis.hIncrBy(cmsKey(pageSketch.dimension()), Integer.toString(cell),
+                            pageSketch.sketch().getCell(cell));
+                }
+                redis.incrBy(totalKey(pageSketch.dimension()), pageSketch.sketch().getTotal());
+            }
+            uuids.forEach((key, values) -> redis.pfAdd(key, values.toArray(String[]::new)));
+            return null;
+        });
+
+        int result = 0;
+        List<Map<String, Long>> estimates = new ArrayList<>(pageSketches.size());
+        for (PageSketch pageSketch : pageSketches) {
+            Map<Integer, Long> counters = new HashMap<>();
+            for (int cell : pageSketch.cells()) {
+                counters.put(cell, (Long) increments.get(result++));
+            }
+            result++;
+            Map<String, Long> valueEstimates = new LinkedHashMap<>();
+            for (String value : pageSketch.values()) {
+                valueEstimates.put(value, Arrays.stream(pageSketch.sketch().cells(value))
+                        .mapToLong(counters::get).min().orElse(0));
+            }
+            estimates.add(valueEstimates);
+        }
+
+        stringRedisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            StringRedisConnection redis = (StringRedisConnection) connection;
+            for (int index = 0; index < pageSketches.size(); index++) {
+                String topKey = topKey(pageSketches.get(index).dimension());
+                estimates.get(index).forEach((value, estimate) ->
+                        redis.zAdd(topKey, estimate, value, RedisZSetCommands.ZAddArgs.empty().gt()));
+                redis.zRemRange(topKey, 0, -(candidates + 1L));
+            }
+            return null;
+        });
+        log.debug("Sketches actualizados con {} pedidos", orders.size());
+    }
+
+    private PageSketch pageSketch(CubeDimension dimension, List<Orders> orders) {
+        CountMinSketch sketch = newSketch();
+        Set<String> values = new LinkedHashSet<>();
+        for (Orders order : orders) {
+            String value = dimension.valueOf(order);
+            if (value != null) {
+                sketch.add(value, 1);
+                values.add(value);
+            }
+        }
+        Set<Integer> cells = new LinkedHashSet<>();
+        values.forEach(value -> Arrays.stream(sketch.cells(value)).forEach(cells::add));
+        return new PageSketch(dimension, sketch, List.copyOf(values), cells.stream().mapToInt(Integer::intValue).toArray());
+    }
+
+    private static Map<String, List<String>> groupUuids(List<Orders> orders) {
+        Map<String, List<String>> uuids = new LinkedHashMap<>();
+        for (Orders order : orders) {
+            if (order.getUuid() == null) {
+                continue;
+            }
+            YearMonth month = order.getOrderDate() != null
+                    ? YearMonth.from(new Date(order.getOrderDate().getTime()).toLocalDate()) : null;
+            String country = order.getCountry();
+
+            uuids.computeIfAbsent(uuidsKey(null, null), key -> new ArrayList<>()).add(order.getUuid());
+            if (country != null) {
+                uuids.computeIfAbsent(uuidsKey(null, country), key -> new ArrayList<>()).add(order.getUuid());
+            }
+            if (month != null) {
+                uuids.computeIfAbsent(uuidsKey(month, null), key -> new ArrayList<>()).add(order.getUuid());
+            }
+            if (month != null && country != null) {
+                uuids.computeIfAbsent(uuidsKey(month, country), key -> new ArrayList<>()).add(order.getUuid());
+            }
+        }
+        return uuids;
+    }
+
+    /**
+     * @return clave del HyperLogLog de UUID, por ejemplo {@code orders:sketch:uuids:2014-03:country:Spain}
+     */
+    static String uuidsKey(YearMonth month, String country) {
+        StringBuilder key = new StringBuilder(UUIDS_KEY);
+        if (month != null) {
+            key.append(':').append(month);
+        }
+        if (country != null) {
+            key.append(":country:").append(country);
+        }
+        return key.toString();
+    }
+
+    /**
+     * Las claves del sketch llevan sus dimensiones: si cambian epsilon o delta, se empieza un sketch nuevo en lugar de
+     * mezclar celdas incompatibles.
+     */
+    String cmsKey(CubeDimension dimension) {
+        return KEY_PREFIX + dimension.getKey() + ":" + sketchSize + ":cms";
+    }
+
+    String totalKey(CubeDimension dimension) {
+        return KEY_PREFIX + dimension.getKey() + ":" + sketchSize + ":total";
+    }
+
+    String topKey(CubeDimension dimension) {
+        return KEY_PREFIX + dimension.getKey() + ":" + sketchSize + ":top";
+    }
+
+    private CountMinSketch newSketch() {
+        return new CountMinSketch(epsilon, delta);
+    }
+
+    /**
+     * Sketch de una dimensión con los pedidos de una página.
+     *
+     * @param dimension dimensión
+     * @param sketch    sketch de la página
+     * @param values    valores distintos de la página
+     * @param cells     celdas con valor del sketch, en el orden en que se envían a Redis
+     */
+    private record PageSketch(CubeDimension dimension, CountMinSketch sketch, List<String> values, int[] cells) {
+    }
+}
@@ -1,19 +1,34 @@
 package com.consum.orders.application.controller;
 
+import com.consum.orders.application.model.CubeResponse;
+import com.consum.orders.application.model.ImportSummaryResponse;
+import com.consum.orders.application.model.OrdersBatchRequest;
+import com.consum.orders.application.model.OrdersBatchResponse;
 import com.consum.orders.application.model.OrdersListResponse;
 import com.consum.orders.application.model.OrdersSingleResponse;
 import com.consum.orders.application.model.SummaryResponse;
+import com.consum.orders.domain.dto.CubeDTO;
+import com.consum.orders.domain.dto.ImportStatsDTO;
+import com.consum.orders.domain.dto.OrdersBatchItemDTO;
+import com.consum.orders.domain.dto.OrdersBatchItemStatus;
 import com.consum.orders.domain.dto.OrdersDTO;
 import com.consum.orders.domain.dto.SummaryDTO;
 import com.consum.orders.domain.service.api.OrdersService;
+import com.consum.orders.domain.service.batch.OrdersBatchService;
+import com.consum.orders.domain.service.sync.OrdersSyncService;
+import com.consum.orders.domain.summary.CubeDimension;
+import com.consum.orders.domain.summary.CubeMeasure;
+import com.consum.orders.domain.utils.OrdersPageCursor;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 
 import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.List;
@@ -28,11 +43,19 @@ public class OrdersControllerTest {
     private static final String PAGE = "1";
     private static final String MAX_PER_PAGE = "100";
     private static final String UUID = "1858f59d-8884-41d7-b4fc-88cfbbf00c53";
+    private static final int BATCH_MAX_SIZE = 2;
+    private static final int PAGE_DEFAULT_SIZE = 100;
+    private static final int PAGE_MAX_SIZE = 1000;
 
     @Mock
     private OrdersService ordersService;
 
-    @InjectMocks
+    @Mock
+    private OrdersSyncService ordersSyncService;
+
+    @Mock
+    private OrdersBatchService ordersBatchService;
+
     private OrdersController ordersController;
 
     private OrdersListResponse ordersListResponse;
@@ -42,6 +65,8 @@ public class OrdersControllerTest {
     @BeforeEach
     public void setUp() {
 
+        ordersController = new OrdersController(ordersService, ordersSyncService, ordersBatchService, BATCH_MAX_SIZE,
+                PAGE_DEFAULT_SIZE, PAGE_MAX_SIZE);
         summaryResponse = SummaryResponse.builder().summary(createSummaryDTO()).build();
         ordersSingleResponse = OrdersSingleResponse.builder().order(createOrderDTO()).build();
         ordersListResponse = OrdersListResponse.builder().orders(List.of(createOrderDTO())).build();
@@ -58,6 +83,22 @@ public class OrdersControllerTest {
         verify(ordersService, times(1)).importAndSummarizeOrders(PAGE, MAX_PER_PAGE);
     }
 
+    @Test
+    void testImportAndSummarizeAllOrders() {
+
+        ImportSummaryResponse importSummaryResponse = ImportSummaryResponse.builder()
+                .summary(createSummaryDTO())
+                .stats(ImportStatsDTO.builder().pages(1).orders(10L).build())
+                .build();
+
+        when(ordersSyncService.importAndSummarizeAllOrders(MAX_PER_PAGE)).thenReturn(importSummaryResponse);
+
+        ImportSummaryResponse result = ordersController.importAndSummarizeAllOrders(MAX_PER_PAGE);
+
+        assertEquals(importSummaryResponse, result);
+        verify(ordersSyncService, times(1)).importAndSummarizeAllOrders(MAX_PER_PAGE);
+    }
+
     @Test
     void testGetOrder() {
 
@@ -70,15 +111,146 @@ public class OrdersControllerTest {
         verify(ordersService, times(1)).getOrderByUUID(UUID);
     }
 
+    @Test
+    void testGetOrdersByUUIDs() {
+
+        List<String> uuids = List.of(UUID, "6b94d991-33c1-4899-aff4-70f544cdfced");
+        OrdersBatchResponse ordersBatchResponse = OrdersBatchResponse.builder()
+                .orders(List.of(OrdersBatchItemDTO.builder().uuid(UUID).status(OrdersBatchItemStatus.FOUND).build()))
+                .build();
+
+        when(ordersBatchService.getOrdersByUUIDs(uuids)).thenReturn(ordersBatchResponse);
+
+        ResponseEntity<OrdersBatchResponse> result =
+                ordersController.getOrdersByUUIDs(OrdersBatchRequest.builder().uuids(uuids).build());
+
+        assertEquals(HttpStatus.OK, result.getStatusCode());
+        assertEquals(ordersBatchResponse, result.getBody());
+    }
+
+    @Test
+    void testGetOrdersByUUIDs_TooManyUUIDs() {
+
+        ResponseEntity<OrdersBatchResponse> result = ordersController.getOrdersByUUIDs(
+                OrdersBatchRequest.builder().uuids(List.of(UUID, UUID, UUID)).build());
+
+        assertEquals(HttpStatus.BAD_REQUEST, result.getStatusCode());
+        verifyNoInteractions(ordersBatchService);
+    }
+
+    @Test
+    void testGetOrdersSummary() {
+
+        when(ordersService.getOrdersSummary()).thenReturn(summaryResponse);
+
+        SummaryResponse result = ordersController.getOrdersSummary(null, null);
+
+        assertEquals(summaryResponse, result);
+        verify(ordersService, times(1)).getOrdersSummary();
+    }
+
+    @Test
+    void testGetOrdersSummary_BetweenDates() {
+
+        LocalDate from = LocalDate.of(2014, 1, 1);
+        LocalDate to = LocalDate.of(2014, 12, 31);
+        when(ordersService.getOrdersSummaryBetween(from, to)).thenReturn(summaryResponse);
+
+        SummaryResponse result = ordersController.getOrdersSummary(from, to);
+
+        assertEquals(summaryResponse, result);
+        verify(ordersService, never()).getOrdersSummary();
+    }
+
+    @Test
+    void testRebuildOrdersSummary() {
+
+        when(ordersService.rebuildOrdersSummary()).thenReturn(summaryResponse);
+
+        SummaryResponse result = ordersController.rebuildOrdersSummary();
+
+        assertEquals(summaryResponse, result);
+        verify(ordersService, times(1)).rebuildOrdersSummary();
+    }
+
+    @Test
+    void testGetOrdersCube() {
+
+        CubeResponse cubeResponse = CubeResponse.builder().cube(CubeDTO.builder().orders(0L).build()).build();
+        List<CubeDimension> dimensions = List.of(CubeDimension.REGION, CubeDimension.ITEM_TYPE);
+        when(ordersService.getOrdersCube(dimensions, List.of(CubeMeasure.ORDERS), null, null)).thenReturn(cubeResponse);
+
+        ResponseEntity<CubeResponse> result = ordersController.getOrdersCube(List.of("region", "item_type"),
+                List.of("orders"), null, null);
+
+        assertEquals(HttpStatus.OK, result.getStatusCode());
+        assertEquals(cubeResponse, result.getBody());
+    }
+
+    @Test
+    void testGetOrdersCube_InvalidDimensionOrMeasure() {
+
+        assertEquals(HttpStatus.BAD_REQUEST,
+                ordersController.getOrdersCube(List.of("city"), List.of("orders"), null, null).getStatusCode());
+        assertEquals(HttpStatus.BAD_REQUEST,
+                ordersController.getOrdersCube(List.of("region", "region"), List.of("orders"), null, null)
+                        .getStatusCode());
+        assertEquals(HttpStatus.BAD_REQUEST,
+                ordersController.getOrdersCube(List.of("region"), List.of("margin"), null, null).getStatusCode());
+        verifyNoInteractions(ordersService);
+    }
+
+    @Test
+    void testImportAndCubeOrders() {
+
+        CubeResponse cubeResponse = CubeResponse.builder().cube(CubeDTO.builder().orders(1L).build()).build();
+        when(ordersService.importAndCubeOrders(PAGE, MAX_PER_PAGE, List.of(CubeDimension.COUNTRY),
+                List.of(CubeMeasure.ORDERS, CubeMeasure.TOTAL_PROFIT))).thenReturn(cubeResponse);
+
+        ResponseEntity<CubeResponse> result = ordersController.importAndCubeOrders(PAGE, MAX_PER_PAGE,
+                List.of("country"), List.of("orders", "total_profit"));
+
+        assertEquals(cubeResponse, result.getBody());
+    }
+
     @Test
     void testGetOrders() {
 
-        when(ordersService.getOrders()).thenReturn(ordersListResponse);
+        when(ordersService.getOrders(null, PAGE_DEFAULT_SIZE)).thenReturn(ordersListResponse);
+
+        ResponseEntity<OrdersListResponse> result = ordersController.getOrders(null, null);
+
+        assertEquals(HttpStatus.OK, result.getStatusCode());
+        assertEquals(ordersListResponse, result.getBody());
+        verify(ordersService, times(1)).getOrders(null, PAGE_DEFAULT_SIZE);
+    }
+
+    @Test
+    void testGetOrders_WithCursor() {
+
+        String cursor = OrdersPageCursor.encode("123456");
+        when(ordersService.getOrders(cursor, 50)).thenReturn(ordersListResponse);
+
+        ResponseEntity<OrdersListResponse> result = ordersController.getOrders(cursor, 50);
+
+        assertEquals(ordersListResponse, result.getBody());
+    }
+
+    @Test
+    void testGetOrders_InvalidSize() {
+
+        assertEquals(HttpStatus.BAD_REQUEST, ordersController.getOrders(null, 0).getStatusCode());
+        assertEquals(HttpStatus.BAD_REQUEST, ordersController.getOrders(null, PAGE_MAX_SIZE + 1).getStatusCode());
+        verifyNoInteractions(ordersService);
+    }
+
+    @Test
+    void testGetOrders_InvalidCursor() {
 
-        OrdersListResponse result = ordersController.getOrders();
+        ResponseEntity<OrdersListResponse> result = ordersController.getOrders("no*es*base64", null);
 
-        assertEquals(ordersListResponse, result);
-        verify(ordersService, times(1)).getOrders();
+        assertEquals(HttpStatus.BAD_REQUEST, result.getStatusCode());
+        verifyNoInteractions(ordersService);
     }
 
     /**
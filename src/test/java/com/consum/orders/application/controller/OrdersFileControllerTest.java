@@ -14,9 +14,13 @@ import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
 import java.util.Objects;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.Mockito.*;
 
@@ -30,7 +34,7 @@ public class OrdersFileControllerTest {
     private OrdersFileController ordersFileController;
 
     @Test
-    void testGenerateAndDownloadCSV() {
+    void testGenerateAndDownloadCSV() throws IOException {
 
         byte[] fileBytes = "test csv content".getBytes();
 
@@ -39,26 +43,29 @@ public class OrdersFileControllerTest {
 
         OrdersFileResponse ordersFileResponse = createOrderFileResponse(fileBytes, headers);
 
-        when(ordersFileService.generateOrderFileCSV()).thenReturn(ordersFileResponse);
+        when(ordersFileService.generateOrderFileCSV(null, null)).thenReturn(ordersFileResponse);
 
-        ResponseEntity<byte[]> result = ordersFileController.generateAndDownloadCSV();
+        ResponseEntity<StreamingResponseBody> result = ordersFileController.generateAndDownloadCSV(null, null);
+
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        Objects.requireNonNull(result.getBody()).writeTo(outputStream);
 
         assertEquals(HttpStatus.OK, result.getStatusCode());
         assertEquals(MediaType.APPLICATION_OCTET_STREAM, result.getHeaders().getContentType());
-        assertEquals(fileBytes.length, Objects.requireNonNull(result.getBody()).length);
-        verify(ordersFileService, times(1)).generateOrderFileCSV();
+        assertArrayEquals(fileBytes, outputStream.toByteArray());
+        verify(ordersFileService, times(1)).generateOrderFileCSV(null, null);
     }
 
     /**
      * Constructor OrderFileResponse
      *
-     * @param bytes datos fichero
+     * @param bytes datos fichero que se escriben en la salida
      * @param headers cabeceras del fichero
      * @return OrderFileResponse
      */
     private static OrdersFileResponse createOrderFileResponse(byte[] bytes, HttpHeaders headers) {
         return OrdersFileResponse.builder()
-                .fileBytes(bytes)
+                .content(outputStream -> outputStream.write(bytes))
                 .headers(headers)
                 .build();
     }
@@ -0,0 +1,81 @@
+package com.consum.orders.application.controller;
+
+import com.consum.orders.application.model.ImportJobResponse;
+import com.consum.orders.domain.service.job.OrdersImportJobService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OrdersImportJobControllerTest {
+
+    private static final String JOB_ID = "5b0c5e4f-8d3a-4a8e-9a51-0f2f3c1a7e11";
+    private static final String MAX_PER_PAGE = "100";
+
+    @Mock
+    private OrdersImportJobService ordersImportJobService;
+
+    @InjectMocks
+    private OrdersImportJobController ordersImportJobController;
+
+    private ImportJobResponse importJobResponse;
+
+    @BeforeEach
+    void setUp() {
+        importJobResponse = ImportJobResponse.builder().jobId(JOB_ID).status("RUNNING").lastCommittedPage(3).build();
+    }
+
+    @Test
+    void testStartJob() {
+
+        when(ordersImportJobService.startJob(MAX_PER_PAGE)).thenReturn(importJobResponse);
+
+        ResponseEntity<ImportJobResponse> result = ordersImportJobController.startJob(MAX_PER_PAGE);
+
+        assertEquals(HttpStatus.ACCEPTED, result.getStatusCode());
+        assertEquals(importJobResponse, result.getBody());
+        verify(ordersImportJobService, times(1)).startJob(MAX_PER_PAGE);
+    }
+
+    @Test
+    void testGetJob() {
+
+        when(ordersImportJobService.getJob(JOB_ID)).thenReturn(Optional.of(importJobResponse));
+
+        ResponseEntity<ImportJobResponse> result = ordersImportJobController.getJob(JOB_ID);
+
+        assertEquals(HttpStatus.OK, result.getStatusCode());
+        assertEquals(importJobResponse, result.getBody());
+    }
+
+    @Test
+    void testGetJob_NotFound() {
+
+        when(ordersImportJobService.getJob(JOB_ID)).thenReturn(Optional.empty());
+
+        ResponseEntity<ImportJobResponse> result = ordersImportJobController.getJob(JOB_ID);
+
+        assertEquals(HttpStatus.NOT_FOUND, result.getStatusCode());
+    }
+
+    @Test
+    void testCancelJob() {
+
+        when(ordersImportJobService.cancelJob(JOB_ID)).thenReturn(Optional.of(importJobResponse));
+
+        ResponseEntity<ImportJobResponse> result = ordersImportJobController.cancelJob(JOB_ID);
+
+        assertEquals(HttpStatus.OK, result.getStatusCode());
+        verify(ordersImportJobService, times(1)).cancelJob(JOB_ID);
+    }
+}
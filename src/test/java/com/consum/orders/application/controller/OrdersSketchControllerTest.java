@@ -0,0 +1,89 @@
+package com.consum.orders.application.controller;
+
+import com.consum.orders.application.model.DistinctCountResponse;
+import com.consum.orders.application.model.HeavyHittersResponse;
+import com.consum.orders.domain.dto.DistinctCountDTO;
+import com.consum.orders.domain.dto.HeavyHittersDTO;
+import com.consum.orders.domain.service.sketch.OrdersSketchService;
+import com.consum.orders.domain.summary.CubeDimension;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.time.YearMonth;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OrdersSketchControllerTest {
+
+    private static final int MAX_MONTHS = 24;
+    private static final int MAX_TOP_K = 50;
+
+    @Mock
+    private OrdersSketchService ordersSketchService;
+
+    private OrdersSketchController ordersSketchController;
+
+    @BeforeEach
+    void setUp() {
+        ordersSketchController = new OrdersSketchController(ordersSketchService, MAX_MONTHS, MAX_TOP_K);
+    }
+
+    @Test
+    void testCountDistinctUuids() {
+
+        YearMonth from = YearMonth.of(2014, 1);
+        YearMonth to = YearMonth.of(2015, 12);
+        DistinctCountResponse response = DistinctCountResponse.builder()
+                .distinctCount(DistinctCountDTO.builder().estimate(100L).build()).build();
+        when(ordersSketchService.countDistinctUuids("Spain", from, to)).thenReturn(response);
+
+        ResponseEntity<DistinctCountResponse> result = ordersSketchController.countDistinctUuids("Spain", from, to);
+
+        assertEquals(HttpStatus.OK, result.getStatusCode());
+        assertEquals(response, result.getBody());
+    }
+
+    @Test
+    void testCountDistinctUuids_InvalidRange() {
+
+        YearMonth month = YearMonth.of(2014, 6);
+
+        assertEquals(HttpStatus.BAD_REQUEST,
+                ordersSketchController.countDistinctUuids(null, month, null).getStatusCode());
+        assertEquals(HttpStatus.BAD_REQUEST,
+                ordersSketchController.countDistinctUuids(null, month, month.minusMonths(1)).getStatusCode());
+        assertEquals(HttpStatus.BAD_REQUEST,
+                ordersSketchController.countDistinctUuids(null, month, month.plusMonths(MAX_MONTHS)).getStatusCode());
+        verifyNoInteractions(ordersSketchService);
+    }
+
+    @Test
+    void testGetTopValues() {
+
+        HeavyHittersResponse response = HeavyHittersResponse.builder()
+                .heavyHitters(HeavyHittersDTO.builder().dimension("item_type").build()).build();
+        when(ordersSketchService.getTopValues(CubeDimension.ITEM_TYPE, 5)).thenReturn(response);
+
+        ResponseEntity<HeavyHittersResponse> result = ordersSketchController.getTopValues("item_type", 5);
+
+        assertEquals(HttpStatus.OK, result.getStatusCode());
+        assertEquals(response, result.getBody());
+    }
+
+    @Test
+    void testGetTopValues_InvalidDimensionOrK() {
+
+        assertEquals(HttpStatus.BAD_REQUEST, ordersSketchController.getTopValues("city", 5).getStatusCode());
+        assertEquals(HttpStatus.BAD_REQUEST, ordersSketchController.getTopValues("country", 0).getStatusCode());
+        assertEquals(HttpStatus.BAD_REQUEST,
+                ordersSketchController.getTopValues("country", MAX_TOP_K + 1).getStatusCode());
+        verifyNoInteractions(ordersSketchService);
+    }
+}
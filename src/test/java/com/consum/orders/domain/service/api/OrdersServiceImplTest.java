@@ -1,11 +1,16 @@
 package com.consum.orders.domain.service.api;
 
+import com.consum.orders.application.model.CubeResponse;
 import com.consum.orders.application.model.OrdersListResponse;
 import com.consum.orders.application.model.OrdersSingleResponse;
 import com.consum.orders.application.model.SummaryResponse;
+import com.consum.orders.domain.dto.CubeDTO;
 import com.consum.orders.domain.dto.OrdersDTO;
 import com.consum.orders.domain.dto.SummaryDTO;
+import com.consum.orders.domain.summary.CubeDimension;
+import com.consum.orders.domain.summary.CubeMeasure;
 import com.consum.orders.domain.utils.OrdersMethods;
+import com.consum.orders.domain.utils.OrdersPageCursor;
 import com.consum.orders.infrastructure.client.dto.ContentClientDTO;
 import com.consum.orders.infrastructure.client.dto.ContentLinksDTO;
 import com.consum.orders.infrastructure.client.dto.LinksClientDTO;
@@ -21,13 +26,20 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -69,6 +81,7 @@ public class OrdersServiceImplTest {
         summaryDTO = createSummaryDTO();
         paginatedOrderClientDTO = createPaginatedOrderClientDTO();
         contentClientDTO = createContentClientDTO();
+        lenient().when(ordersRepositoryService.withoutArchivedOrders(any())).thenAnswer(invocation -> invocation.getArgument(0));
 
         ordersList = List.of(orders);
         ordersDTOList = List.of(ordersDTO);
@@ -95,10 +108,59 @@ public class OrdersServiceImplTest {
         verify(ordersClientService, times(1)).getPagedOrdersClient(PAGE, MAX_PER_PAGE);
         verify(ordersMethods, times(1)).convertToOrders(paginatedOrderClientDTO);
         verify(ordersRepositoryService, times(1)).saveAllOrders(ordersList);
+        verify(ordersMethods, times(1)).updateSketches(ordersList);
         verify(ordersMethods, times(1)).convertToOrdersDTO(ordersList);
         verify(ordersMethods, times(1)).generateOrderSummary(ordersDTOList);
     }
 
+    @Test
+    public void testImportAndCubeOrders() {
+
+        when(ordersClientService.getPagedOrdersClient(PAGE, MAX_PER_PAGE)).thenReturn(paginatedOrderClientDTO);
+        when(ordersMethods.convertToOrders(paginatedOrderClientDTO)).thenReturn(ordersList);
+        when(ordersMethods.convertToOrdersDTO(ordersList)).thenReturn(List.of(ordersDTO, ordersDTO));
+
+        CubeResponse actualResponse = ordersService.importAndCubeOrders(PAGE, MAX_PER_PAGE,
+                List.of(CubeDimension.REGION, CubeDimension.ITEM_TYPE), List.of(CubeMeasure.ORDERS));
+
+        CubeDTO cube = actualResponse.getCube();
+        assertEquals(1, cube.getCells().size());
+        assertEquals(Map.of("region", "North America", "item_type", "Electronics"),
+                cube.getCells().get(0).getDimensions());
+        assertEquals(2L, cube.getCells().get(0).getMeasures().get("orders"));
+        verify(ordersRepositoryService, times(1)).saveAllOrders(ordersList);
+    }
+
+    @Test
+    public void testGetOrdersCube() {
+
+        when(ordersRepositoryService.streamAll(any())).thenAnswer(invocation ->
+                invocation.<Function<Stream<OrdersDTO>, CubeDTO>>getArgument(0).apply(Stream.of(ordersDTO, ordersDTO)));
+
+        CubeResponse actualResponse = ordersService.getOrdersCube(List.of(CubeDimension.COUNTRY),
+                List.of(CubeMeasure.ORDERS, CubeMeasure.TOTAL_REVENUE), null, null);
+
+        CubeDTO cube = actualResponse.getCube();
+        assertEquals(2L, cube.getOrders());
+        assertEquals(2L, cube.getCells().get(0).getMeasures().get("orders"));
+        assertEquals(new BigDecimal("7500.00"), cube.getCells().get(0).getMeasures().get("total_revenue"));
+        verify(ordersRepositoryService, never()).streamBetween(any(), any(), any());
+    }
+
+    @Test
+    public void testGetOrdersCube_BetweenDates() {
+
+        LocalDate from = LocalDate.of(2014, 1, 1);
+        when(ordersRepositoryService.streamBetween(eq(from), isNull(), any())).thenAnswer(invocation ->
+                invocation.<Function<Stream<OrdersDTO>, CubeDTO>>getArgument(2).apply(Stream.of(ordersDTO)));
+
+        CubeResponse actualResponse = ordersService.getOrdersCube(List.of(CubeDimension.SALES_CHANNEL),
+                List.of(CubeMeasure.ORDERS), from, null);
+
+        assertEquals(1L, actualResponse.getCube().getOrders());
+        verify(ordersRepositoryService, never()).streamAll(any());
+    }
+
     @Test
     public void testGetOrderByUUID() {
 
@@ -117,15 +179,68 @@ public class OrdersServiceImplTest {
     @Test
     public void testGetOrders() {
 
-        when(ordersRepositoryService.findAll()).thenReturn(ordersList);
-        when(ordersMethods.convertToOrdersDTO(ordersList)).thenReturn(ordersDTOList);
+        when(ordersRepositoryService.findPageAfter("", 11)).thenReturn(ordersDTOList);
 
-        OrdersListResponse actualResponse = ordersService.getOrders();
+        OrdersListResponse actualResponse = ordersService.getOrders(null, 10);
 
         assertNotNull(actualResponse);
         assertEquals(ordersListResponse, actualResponse);
-        verify(ordersRepositoryService, times(1)).findAll();
-        verify(ordersMethods, times(1)).convertToOrdersDTO(ordersList);
+        assertNull(actualResponse.getNextCursor());
+        verify(ordersRepositoryService, times(1)).findPageAfter("", 11);
+        verifyNoInteractions(ordersMethods);
+    }
+
+    @Test
+    public void testGetOrders_NextPage() {
+
+        OrdersDTO second = OrdersDTO.builder().orderId("123457").build();
+        String cursor = OrdersPageCursor.encode("123455");
+
+        when(ordersRepositoryService.findPageAfter("123455", 2)).thenReturn(List.of(ordersDTO, second));
+
+        OrdersListResponse actualResponse = ordersService.getOrders(cursor, 1);
+
+        assertEquals(ordersDTOList, actualResponse.getOrders());
+        assertEquals(OrdersPageCursor.encode("123456"), actualResponse.getNextCursor());
+    }
+
+    @Test
+    public void testGetOrdersSummary() {
+
+        when(ordersRepositoryService.countByDimension()).thenReturn(List.of());
+        when(ordersMethods.convertToSummary(List.of())).thenReturn(summaryDTO);
+
+        SummaryResponse actualResponse = ordersService.getOrdersSummary();
+
+        assertEquals(summaryResponse, actualResponse);
+        verify(ordersRepositoryService, times(1)).countByDimension();
+    }
+
+    @Test
+    public void testGetOrdersSummaryBetween() {
+
+        LocalDate from = LocalDate.of(2014, 1, 1);
+        LocalDate to = LocalDate.of(2014, 12, 31);
+        when(ordersRepositoryService.countByDimensionBetween(from, to)).thenReturn(List.of());
+        when(ordersMethods.convertToSummary(List.of())).thenReturn(summaryDTO);
+
+        SummaryResponse actualResponse = ordersService.getOrdersSummaryBetween(from, to);
+
+        assertEquals(summaryResponse, actualResponse);
+        verify(ordersRepositoryService, never()).countByDimension();
+    }
+
+    @Test
+    public void testRebuildOrdersSummary() {
+
+        when(ordersRepositoryService.rebuildSummary()).thenReturn(250);
+        when(ordersRepositoryService.countByDimension()).thenReturn(List.of());
+        when(ordersMethods.convertToSummary(List.of())).thenReturn(summaryDTO);
+
+        SummaryResponse actualResponse = ordersService.rebuildOrdersSummary();
+
+        assertEquals(summaryResponse, actualResponse);
+        verify(ordersRepositoryService, times(1)).rebuildSummary();
     }
 
     /**
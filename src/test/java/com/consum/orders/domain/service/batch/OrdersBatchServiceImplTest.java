@@ -0,0 +1,129 @@
+package com.consum.orders.domain.service.batch;
+
+import com.consum.orders.application.model.OrdersBatchResponse;
+import com.consum.orders.domain.dto.OrdersBatchItemDTO;
+import com.consum.orders.domain.dto.OrdersBatchItemStatus;
+import com.consum.orders.domain.dto.OrdersDTO;
+import com.consum.orders.domain.utils.OrdersMethods;
+import com.consum.orders.infrastructure.client.dto.ContentClientDTO;
+import com.consum.orders.infrastructure.service.OrdersCacheService;
+import com.consum.orders.infrastructure.service.OrdersClientService;
+import feign.FeignException;
+import feign.Request;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OrdersBatchServiceImplTest {
+
+    private static final String CACHED_UUID = "1858f59d-8884-41d7-b4fc-88cfbbf00c53";
+    private static final String REMOTE_UUID = "6b94d991-33c1-4899-aff4-70f544cdfced";
+    private static final String MISSING_UUID = "ce288666-5618-4460-9e9a-0e62944850e2";
+    private static final long TIMEOUT_MILLIS = 500;
+
+    @Mock
+    private OrdersCacheService ordersCacheService;
+
+    @Mock
+    private OrdersClientService ordersClientService;
+
+    @Mock
+    private OrdersMethods ordersMethods;
+
+    private ExecutorService orderLookupExecutor;
+    private OrdersBatchServiceImpl ordersBatchService;
+
+    @BeforeEach
+    void setUp() {
+        orderLookupExecutor = Executors.newFixedThreadPool(4);
+        ordersBatchService = new OrdersBatchServiceImpl(ordersCacheService, ordersClientService, ordersMethods,
+                orderLookupExecutor, TIMEOUT_MILLIS);
+    }
+
+    @AfterEach
+    void tearDown() {
+        orderLookupExecutor.shutdownNow();
+    }
+
+    @Test
+    void testGetOrdersByUUIDs_CacheFirstThenUpstreamInInputOrder() {
+
+        ContentClientDTO cachedOrder = createContentClientDTO(CACHED_UUID);
+        ContentClientDTO remoteOrder = createContentClientDTO(REMOTE_UUID);
+
+        when(ordersCacheService.getCachedClientOrders(Set.of(REMOTE_UUID, CACHED_UUID, MISSING_UUID)))
+                .thenReturn(Map.of(CACHED_UUID, cachedOrder));
+        when(ordersClientService.getOrderByUUIDClient(REMOTE_UUID)).thenReturn(remoteOrder);
+        when(ordersClientService.getOrderByUUIDClient(MISSING_UUID)).thenThrow(createNotFound());
+        when(ordersMethods.convertContentClientDTOToOrderDTO(any(ContentClientDTO.class)))
+                .thenAnswer(invocation -> OrdersDTO.builder()
+                        .orderId(invocation.<ContentClientDTO>getArgument(0).getUuid()).build());
+
+        OrdersBatchResponse response = ordersBatchService.getOrdersByUUIDs(
+                List.of(REMOTE_UUID, CACHED_UUID, MISSING_UUID, REMOTE_UUID));
+
+        assertEquals(List.of(REMOTE_UUID, CACHED_UUID, MISSING_UUID, REMOTE_UUID),
+                response.getOrders().stream().map(OrdersBatchItemDTO::getUuid).toList());
+        assertEquals(List.of(OrdersBatchItemStatus.FOUND, OrdersBatchItemStatus.FOUND, OrdersBatchItemStatus.NOT_FOUND,
+                OrdersBatchItemStatus.FOUND), response.getOrders().stream().map(OrdersBatchItemDTO::getStatus).toList());
+        assertEquals(CACHED_UUID, response.getOrders().get(1).getOrder().getOrderId());
+        assertEquals(1, response.getCacheHits());
+        assertEquals(2, response.getUpstreamCalls());
+        verify(ordersClientService, never()).getOrderByUUIDClient(CACHED_UUID);
+        verify(ordersClientService, times(1)).getOrderByUUIDClient(REMOTE_UUID);
+    }
+
+    @Test
+    void testGetOrdersByUUIDs_SlowUpstreamTimesOut() {
+
+        CountDownLatch release = new CountDownLatch(1);
+
+        when(ordersCacheService.getCachedClientOrders(Set.of(REMOTE_UUID))).thenReturn(Map.of());
+        when(ordersClientService.getOrderByUUIDClient(REMOTE_UUID)).thenAnswer(invocation -> {
+            release.await(5, TimeUnit.SECONDS);
+            return createContentClientDTO(REMOTE_UUID);
+        });
+
+        OrdersBatchResponse response = ordersBatchService.getOrdersByUUIDs(List.of(REMOTE_UUID));
+        release.countDown();
+
+        assertEquals(OrdersBatchItemStatus.TIMEOUT, response.getOrders().get(0).getStatus());
+        assertTrue(response.getElapsedMillis() < TIMEOUT_MILLIS * 4);
+        verifyNoInteractions(ordersMethods);
+    }
+
+    private static FeignException createNotFound() {
+        Request request = Request.create(Request.HttpMethod.GET,
+                "https://kata-espublicotech.g3stiona.com:443/v1/orders/" + MISSING_UUID, Map.of(), null,
+                StandardCharsets.UTF_8, null);
+        return new FeignException.NotFound("Not Found", request, null, Map.of());
+    }
+
+    /**
+     * Builder ContentClientDTO
+     *
+     * @param uuid identificador del pedido
+     * @return ContentClientDTO
+     */
+    private static ContentClientDTO createContentClientDTO(String uuid) {
+        return new ContentClientDTO(uuid, "123456", "North America", "United States", "Electronics", "Online", "H",
+                "1/27/2013", "2/12/2013", 50, 75.00, 20.00, 3750.00, 1000.00, 2750.00, null);
+    }
+}
@@ -4,9 +4,7 @@ import com.consum.orders.application.model.OrdersFileResponse;
 import com.consum.orders.domain.dto.OrdersDTO;
 import com.consum.orders.domain.exception.FileException;
 import com.consum.orders.domain.exception.ProcessingException;
-import com.consum.orders.domain.mapper.OrdersMapper;
 import com.consum.orders.domain.utils.OrdersFileMethods;
-import com.consum.orders.infrastructure.database.entity.Orders;
 import com.consum.orders.infrastructure.service.OrdersRepositoryService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -16,14 +14,20 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.HttpHeaders;
 
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.math.BigDecimal;
-import java.util.Collections;
+import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -37,80 +41,71 @@ public class OrdersFileServiceImplTest {
     @Mock
     private OrdersFileMethods ordersFileMethods;
 
-    @Mock
-    private OrdersMapper ordersMapper;
-
     @InjectMocks
     private OrdersFileServiceImpl orderFileService;
 
-    private Orders orders;
     private OrdersDTO ordersDTO;
 
-    private OrdersFileResponse ordersFileResponse;
-
     @BeforeEach
     public void setUp() {
 
-        orders = createOrders();
         ordersDTO = createOrderDTO();
-
-        ordersFileResponse = createOrderFileResponse();
     }
 
     @Test
     void testGenerateOrderFileCSV() throws ProcessingException, IOException {
 
-        when(ordersRepositoryService.findAll()).thenReturn(List.of(orders));
-        when(ordersMapper.ordersToOrderDTO(orders)).thenReturn(ordersDTO);
-        when(ordersFileMethods.generateOrderFileCSV(List.of(ordersDTO), FILENAME_ORDERS_DB)).thenReturn(ordersFileResponse);
+        HttpHeaders headers = new HttpHeaders();
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        List<OrdersDTO> written = new ArrayList<>();
+
+        when(ordersFileMethods.generateCsvHttpHeaders(FILENAME_ORDERS_DB)).thenReturn(headers);
+        when(ordersRepositoryService.streamAll(any())).thenAnswer(invocation ->
+                invocation.<Function<Stream<OrdersDTO>, Long>>getArgument(0).apply(Stream.of(ordersDTO)));
+        when(ordersFileMethods.writeOrderFileCSV(any(), eq(outputStream))).thenAnswer(invocation -> {
+            invocation.<Stream<OrdersDTO>>getArgument(0).forEach(written::add);
+            return (long) written.size();
+        });
 
         OrdersFileResponse result = orderFileService.generateOrderFileCSV();
 
-        verify(ordersRepositoryService, times(1)).findAll();
-        verify(ordersMapper, times(1)).ordersToOrderDTO(orders);
-        verify(ordersFileMethods, times(1)).generateOrderFileCSV(List.of(ordersDTO), FILENAME_ORDERS_DB);
-        assertEquals(ordersFileResponse, result);
+        assertEquals(headers, result.getHeaders());
+        verifyNoInteractions(ordersRepositoryService);
+
+        result.getContent().writeTo(outputStream);
+
+        assertEquals(List.of(ordersDTO), written);
+        verify(ordersRepositoryService, times(1)).streamAll(any());
     }
 
     @Test
-    void testGenerateOrderFileCSV_ExceptionHandling() throws IOException {
+    void testGenerateOrderFileCSV_BetweenDates() throws IOException {
 
-        when(ordersRepositoryService.findAll()).thenThrow(new RuntimeException("Database connection error"));
+        LocalDate from = LocalDate.of(2014, 1, 1);
+        LocalDate to = LocalDate.of(2014, 12, 31);
+        when(ordersFileMethods.generateCsvHttpHeaders(FILENAME_ORDERS_DB)).thenReturn(new HttpHeaders());
+        when(ordersRepositoryService.streamBetween(eq(from), eq(to), any())).thenReturn(1L);
 
-        assertThrows(FileException.class, () -> orderFileService.generateOrderFileCSV());
+        orderFileService.generateOrderFileCSV(from, to).getContent().writeTo(new ByteArrayOutputStream());
 
-        verify(ordersRepositoryService, times(1)).findAll();
-        verify(ordersMapper, never()).ordersToOrderDTO(orders);
-        verify(ordersFileMethods, never()).generateOrderFileCSV(List.of(ordersDTO), FILENAME_ORDERS_DB);
+        verify(ordersRepositoryService, times(1)).streamBetween(eq(from), eq(to), any());
+        verify(ordersRepositoryService, never()).streamAll(any());
     }
 
+    @Test
+    void testGenerateOrderFileCSV_ExceptionHandling() throws IOException {
 
-    /**
-     * Builder Orders
-     *
-     * @return Orders
-     */
-    private Orders createOrders() {
-        Orders orders = new Orders();
-        orders.setOrderId("123456");
-        orders.setUuid("ce288666-5618-4460-9e9a-0e62944850e2");
-        orders.setOrderPriority("H");
-        orders.setRegion("North America");
-        orders.setCountry("United States");
-        orders.setItemType("Electronics");
-        orders.setSalesChannel("Online");
-        orders.setOrderDate(new Date());
-        orders.setShipDate(new Date());
-        orders.setUnitsSold(50);
-        orders.setUnitPrice(BigDecimal.valueOf(75.00));
-        orders.setUnitCost(BigDecimal.valueOf(20.00));
-        orders.setTotalRevenue(BigDecimal.valueOf(3750.00));
-        orders.setTotalCost(BigDecimal.valueOf(1000.00));
-        orders.setTotalProfit(BigDecimal.valueOf(2750.00));
-
-        return orders;
+        when(ordersRepositoryService.streamAll(any())).thenThrow(new RuntimeException("Database connection error"));
+
+        OrdersFileResponse result = orderFileService.generateOrderFileCSV();
+
+        assertThrows(FileException.class, () -> result.getContent().writeTo(new ByteArrayOutputStream()));
+
+        verify(ordersRepositoryService, times(1)).streamAll(any());
+        verify(ordersFileMethods, never()).writeOrderFileCSV(any(), any());
     }
 
+
     /**
      * Builder OrderDTO
      *
@@ -134,16 +129,4 @@ public class OrdersFileServiceImplTest {
                 .totalProfit(BigDecimal.valueOf(2750.00))
                 .build();
     }
-
-    /**
-     * Builder OrderFileResponse
-     *
-     * @return OrderFileResponse
-     */
-    private static OrdersFileResponse createOrderFileResponse() {
-        return OrdersFileResponse.builder()
-                .fileBytes("test csv content".getBytes())
-                .headers(new HttpHeaders())
-                .build();
-    }
-}
\ No newline at end of file
+}
@@ -0,0 +1,284 @@
+package com.consum.orders.domain.service.job;
+
+import com.consum.orders.application.model.ImportJobResponse;
+import com.consum.orders.application.model.ImportSummaryResponse;
+import com.consum.orders.domain.exception.ProcessingException;
+import com.consum.orders.domain.mapper.ImportJobMapper;
+import com.consum.orders.domain.service.sync.ImportProgressListener;
+import com.consum.orders.domain.service.sync.OrdersImportPipeline;
+import com.consum.orders.infrastructure.database.entity.ImportJob;
+import com.consum.orders.infrastructure.database.entity.ImportJobStatus;
+import com.consum.orders.infrastructure.service.ImportJobRepositoryService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.CacheManager;
+
+import java.util.Date;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OrdersImportJobServiceImplTest {
+
+    private static final String JOB_ID = "5b0c5e4f-8d3a-4a8e-9a51-0f2f3c1a7e11";
+    private static final String MAX_PER_PAGE = "100";
+    private static final long SHUTDOWN_TIMEOUT_SECONDS = 5;
+
+    @Mock
+    private ImportJobRepositoryService importJobRepositoryService;
+
+    @Mock
+    private OrdersImportPipeline ordersImportPipeline;
+
+    @Mock
+    private ImportJobMapper importJobMapper;
+
+    @Mock
+    private CacheManager cacheManager;
+
+    private ExecutorService importJobExecutor;
+    private OrdersImportJobServiceImpl ordersImportJobService;
+
+    @BeforeEach
+    void setUp() {
+        importJobExecutor = Executors.newSingleThreadExecutor();
+        ordersImportJobService = new OrdersImportJobServiceImpl(importJobRepositoryService, ordersImportPipeline,
+                importJobMapper, cacheManager, importJobExecutor, SHUTDOWN_TIMEOUT_SECONDS);
+    }
+
+    @AfterEach
+    void tearDown() {
+        importJobExecutor.shutdownNow();
+    }
+
+    @Test
+    void testStartJob_CompletesAndCheckpointsContiguousPages() throws InterruptedException {
+
+        ImportJob importJob = createImportJob(ImportJobStatus.PENDING, 0);
+        ImportJobResponse importJobResponse = ImportJobResponse.builder().jobId(JOB_ID).status("PENDING").build();
+
+        when(importJobRepositoryService.createJob(MAX_PER_PAGE)).thenReturn(importJob);
+        when(importJobMapper.importJobToImportJobResponse(importJob)).thenReturn(importJobResponse);
+        when(ordersImportPipeline.run(eq(1), eq(MAX_PER_PAGE), any(ImportProgressListener.class))).thenAnswer(invocation -> {
+            ImportProgressListener listener = invocation.getArgument(2);
+            listener.onPageCommitted(2, 100);
+            listener.onPageCommitted(1, 100);
+            listener.onPageCommitted(3, 50);
+            return ImportSummaryResponse.builder().build();
+        });
+
+        ImportJobResponse result = ordersImportJobService.startJob(MAX_PER_PAGE);
+        awaitJobs();
+
+        assertEquals(importJobResponse, result);
+        InOrder inOrder = inOrder(importJobRepositoryService);
+        inOrder.verify(importJobRepositoryService).updateStatus(JOB_ID, ImportJobStatus.RUNNING, null);
+        inOrder.verify(importJobRepositoryService).updateCheckpoint(JOB_ID, 2, 2, 200L);
+        inOrder.verify(importJobRepositoryService).updateCheckpoint(JOB_ID, 3, 3, 250L);
+        inOrder.verify(importJobRepositoryService).updateStatus(JOB_ID, ImportJobStatus.COMPLETED, null);
+        verify(importJobRepositoryService, times(2)).updateCheckpoint(any(), anyInt(), anyInt(), anyLong());
+    }
+
+    @Test
+    void testStartJob_PipelineError() throws InterruptedException {
+
+        ImportJob importJob = createImportJob(ImportJobStatus.PENDING, 0);
+
+        when(importJobRepositoryService.createJob(MAX_PER_PAGE)).thenReturn(importJob);
+        when(ordersImportPipeline.run(eq(1), eq(MAX_PER_PAGE), any(ImportProgressListener.class)))
+                .thenThrow(new ProcessingException("Error de comunicación con el servicio externo."));
+
+        ordersImportJobService.startJob(MAX_PER_PAGE);
+        awaitJobs();
+
+        verify(importJobRepositoryService, times(1))
+                .updateStatus(JOB_ID, ImportJobStatus.FAILED, "Error de comunicación con el servicio externo.");
+    }
+
+    @Test
+    void testResumeUnfinishedJobs_StartsAfterCheckpoint() throws InterruptedException {
+
+        ImportJob importJob = createImportJob(ImportJobStatus.RUNNING, 5);
+
+        when(importJobRepositoryService.findUnfinishedJobs()).thenReturn(List.of(importJob));
+        when(importJobRepositoryService.claim(JOB_ID)).thenReturn(true);
+        when(ordersImportPipeline.run(eq(6), eq(MAX_PER_PAGE), any(ImportProgressListener.class)))
+                .thenReturn(ImportSummaryResponse.builder().build());
+
+        ordersImportJobService.resumeUnfinishedJobs();
+        awaitJobs();
+
+        verify(ordersImportPipeline, times(1)).run(eq(6), eq(MAX_PER_PAGE), any(ImportProgressListener.class));
+        verify(importJobRepositoryService, times(1)).updateStatus(JOB_ID, ImportJobStatus.COMPLETED, null);
+    }
+
+    @Test
+    void testResumeUnfinishedJobs_JobReservedByAnotherInstance() throws InterruptedException {
+
+        ImportJob importJob = createImportJob(ImportJobStatus.RUNNING, 5);
+
+        when(importJobRepositoryService.findUnfinishedJobs()).thenReturn(List.of(importJob));
+        when(importJobRepositoryService.claim(JOB_ID)).thenReturn(false);
+
+        ordersImportJobService.resumeUnfinishedJobs();
+        awaitJobs();
+
+        verifyNoInteractions(ordersImportPipeline);
+        verify(importJobRepositoryService, never()).updateStatus(any(), any(), any());
+    }
+
+    @Test
+    void testRenewLeasesAndResume_RenewsRunningJobsAndSkipsThem() throws InterruptedException {
+
+        ImportJob importJob = createImportJob(ImportJobStatus.PENDING, 0);
+        CountDownLatch started = new CountDownLatch(1);
+
+        when(importJobRepositoryService.createJob(MAX_PER_PAGE)).thenReturn(importJob);
+        when(importJobRepositoryService.findUnfinishedJobs()).thenReturn(List.of(importJob));
+        when(ordersImportPipeline.run(eq(1), eq(MAX_PER_PAGE), any(ImportProgressListener.class))).thenAnswer(invocation -> {
+            ImportProgressListener listener = invocation.getArgument(2);
+            started.countDown();
+            while (!listener.isCancelled()) {
+                Thread.sleep(5);
+            }
+            return ImportSummaryResponse.builder().build();
+        });
+
+        ordersImportJobService.startJob(MAX_PER_PAGE);
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        ordersImportJobService.renewLeasesAndResume();
+        ordersImportJobService.destroy();
+
+        verify(importJobRepositoryService, times(1)).renewLeases(List.of(JOB_ID));
+        verify(importJobRepositoryService, never()).claim(JOB_ID);
+        verify(ordersImportPipeline, times(1)).run(eq(1), eq(MAX_PER_PAGE), any(ImportProgressListener.class));
+    }
+
+    @Test
+    void testDestroy_RunningJobIsLeftInterrupted() throws InterruptedException {
+
+        ImportJob importJob = createImportJob(ImportJobStatus.PENDING, 0);
+        CountDownLatch started = new CountDownLatch(1);
+
+        when(importJobRepositoryService.createJob(MAX_PER_PAGE)).thenReturn(importJob);
+        when(ordersImportPipeline.run(eq(1), eq(MAX_PER_PAGE), any(ImportProgressListener.class))).thenAnswer(invocation -> {
+            ImportProgressListener listener = invocation.getArgument(2);
+            started.countDown();
+            while (!listener.isCancelled()) {
+                Thread.sleep(5);
+            }
+            return ImportSummaryResponse.builder().build();
+        });
+
+        ordersImportJobService.startJob(MAX_PER_PAGE);
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        ordersImportJobService.destroy();
+
+        assertTrue(importJobExecutor.isTerminated());
+        verify(importJobRepositoryService, times(1)).release(JOB_ID, ImportJobStatus.INTERRUPTED);
+        verify(importJobRepositoryService, never()).updateStatus(JOB_ID, ImportJobStatus.COMPLETED, null);
+        verify(importJobRepositoryService, never()).updateStatus(JOB_ID, ImportJobStatus.CANCELLED, null);
+    }
+
+    @Test
+    void testDestroy_InterruptedPipelineIsNotFailed() throws InterruptedException {
+
+        ImportJob importJob = createImportJob(ImportJobStatus.PENDING, 0);
+        CountDownLatch started = new CountDownLatch(1);
+
+        when(importJobRepositoryService.createJob(MAX_PER_PAGE)).thenReturn(importJob);
+        when(ordersImportPipeline.run(eq(1), eq(MAX_PER_PAGE), any(ImportProgressListener.class))).thenAnswer(invocation -> {
+            ImportProgressListener listener = invocation.getArgument(2);
+            started.countDown();
+            while (!listener.isCancelled()) {
+                Thread.sleep(5);
+            }
+            throw new ProcessingException("Importación interrumpida");
+        });
+
+        ordersImportJobService.startJob(MAX_PER_PAGE);
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        ordersImportJobService.destroy();
+
+        verify(importJobRepositoryService, times(1)).release(JOB_ID, ImportJobStatus.INTERRUPTED);
+        verify(importJobRepositoryService, never()).updateStatus(eq(JOB_ID), eq(ImportJobStatus.FAILED), any());
+    }
+
+    @Test
+    void testCancelJob_RunningJob() throws InterruptedException {
+
+        ImportJob importJob = createImportJob(ImportJobStatus.PENDING, 0);
+        CountDownLatch started = new CountDownLatch(1);
+
+        when(importJobRepositoryService.createJob(MAX_PER_PAGE)).thenReturn(importJob);
+        when(importJobRepositoryService.findById(JOB_ID)).thenReturn(Optional.of(importJob));
+        when(ordersImportPipeline.run(eq(1), eq(MAX_PER_PAGE), any(ImportProgressListener.class))).thenAnswer(invocation -> {
+            ImportProgressListener listener = invocation.getArgument(2);
+            started.countDown();
+            while (!listener.isCancelled()) {
+                Thread.sleep(5);
+            }
+            return ImportSummaryResponse.builder().build();
+        });
+
+        ordersImportJobService.startJob(MAX_PER_PAGE);
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        ordersImportJobService.cancelJob(JOB_ID);
+        awaitJobs();
+
+        verify(importJobRepositoryService, times(1)).updateStatus(JOB_ID, ImportJobStatus.CANCELLED, null);
+        verify(importJobRepositoryService, never()).updateStatus(JOB_ID, ImportJobStatus.COMPLETED, null);
+    }
+
+    @Test
+    void testCancelJob_NotRunningLocally() {
+
+        ImportJob importJob = createImportJob(ImportJobStatus.RUNNING, 3);
+
+        when(importJobRepositoryService.findById(JOB_ID)).thenReturn(Optional.of(importJob));
+
+        ordersImportJobService.cancelJob(JOB_ID);
+
+        verify(importJobRepositoryService, times(1)).updateStatus(JOB_ID, ImportJobStatus.CANCELLED, null);
+    }
+
+    @Test
+    void testGetJob_NotFound() {
+
+        when(importJobRepositoryService.findById(JOB_ID)).thenReturn(Optional.empty());
+
+        assertTrue(ordersImportJobService.getJob(JOB_ID).isEmpty());
+        assertTrue(ordersImportJobService.cancelJob(JOB_ID).isEmpty());
+    }
+
+    private void awaitJobs() throws InterruptedException {
+        importJobExecutor.shutdown();
+        assertTrue(importJobExecutor.awaitTermination(5, TimeUnit.SECONDS));
+    }
+
+    /**
+     * Builder ImportJob
+     *
+     * @param status            estado del trabajo
+     * @param lastCommittedPage última página confirmada
+     * @return ImportJob
+     */
+    private static ImportJob createImportJob(ImportJobStatus status, int lastCommittedPage) {
+        return new ImportJob(JOB_ID, status, MAX_PER_PAGE, lastCommittedPage, lastCommittedPage,
+                lastCommittedPage * 100L, null, new Date(), new Date(), null, null);
+    }
+}
@@ -0,0 +1,71 @@
+package com.consum.orders.domain.service.sketch;
+
+import com.consum.orders.application.model.DistinctCountResponse;
+import com.consum.orders.application.model.HeavyHittersResponse;
+import com.consum.orders.domain.dto.DistinctCountDTO;
+import com.consum.orders.domain.dto.HeavyHitterDTO;
+import com.consum.orders.domain.dto.HeavyHittersDTO;
+import com.consum.orders.domain.sketch.CountMinSketch;
+import com.consum.orders.domain.sketch.HeavyHitters;
+import com.consum.orders.domain.summary.CubeDimension;
+import com.consum.orders.infrastructure.service.OrdersSketchRedisService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.YearMonth;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class OrdersSketchServiceImplTest {
+
+    @Mock
+    private OrdersSketchRedisService ordersSketchRedisService;
+
+    @InjectMocks
+    private OrdersSketchServiceImpl ordersSketchService;
+
+    @Test
+    void testCountDistinctUuids() {
+
+        YearMonth from = YearMonth.of(2014, 1);
+        YearMonth to = YearMonth.of(2014, 12);
+        when(ordersSketchRedisService.countDistinctUuids("Spain", from, to)).thenReturn(10_000L);
+
+        DistinctCountResponse response = ordersSketchService.countDistinctUuids("Spain", from, to);
+
+        DistinctCountDTO distinctCount = response.getDistinctCount();
+        assertEquals("2014-01", distinctCount.getFrom());
+        assertEquals("2014-12", distinctCount.getTo());
+        assertEquals(10_000L, distinctCount.getEstimate());
+        assertEquals(OrdersSketchServiceImpl.HLL_STANDARD_ERROR, distinctCount.getStandardError());
+        assertEquals(9_838L, distinctCount.getLowerBound());
+        assertEquals(10_162L, distinctCount.getUpperBound());
+    }
+
+    @Test
+    void testGetTopValues() {
+
+        HeavyHitters heavyHitters = new HeavyHitters(new CountMinSketch(0.01, 0.01), 10);
+        heavyHitters.add("Spain", 250);
+        heavyHitters.add("France", 500);
+        heavyHitters.add("Italy", 2);
+        when(ordersSketchRedisService.loadHeavyHitters(CubeDimension.COUNTRY)).thenReturn(heavyHitters);
+
+        HeavyHittersResponse response = ordersSketchService.getTopValues(CubeDimension.COUNTRY, 2);
+
+        HeavyHittersDTO dto = response.getHeavyHitters();
+        assertEquals("country", dto.getDimension());
+        assertEquals(752L, dto.getTotal());
+        assertEquals(8L, dto.getErrorBound());
+        assertEquals(0.99, dto.getConfidence());
+        assertEquals(List.of(
+                HeavyHitterDTO.builder().value("France").estimate(500L).lowerBound(492L).build(),
+                HeavyHitterDTO.builder().value("Spain").estimate(250L).lowerBound(242L).build()), dto.getValues());
+    }
+}
@@ -0,0 +1,318 @@
+package com.consum.orders.domain.service.sync;
+
+import com.consum.orders.application.model.ImportSummaryResponse;
+import com.consum.orders.domain.exception.ProcessingException;
+import com.consum.orders.domain.utils.OrdersMethods;
+import com.consum.orders.infrastructure.client.dto.ContentClientDTO;
+import com.consum.orders.infrastructure.client.dto.LinksClientDTO;
+import com.consum.orders.infrastructure.client.dto.PaginatedOrderClientDTO;
+import com.consum.orders.infrastructure.client.dto.StreamedPageClientDTO;
+import com.consum.orders.infrastructure.database.entity.Orders;
+import com.consum.orders.infrastructure.service.OrdersClientService;
+import com.consum.orders.infrastructure.service.OrdersRepositoryService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.PessimisticLockingFailureException;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OrdersImportPipelineTest {
+
+    private static final String MAX_PER_PAGE = "100";
+    private static final int FETCH_WORKERS = 2;
+    private static final int TRANSFORM_WORKERS = 2;
+    private static final int PERSIST_WORKERS = 2;
+    private static final int QUEUE_CAPACITY = 1;
+    private static final int STREAM_CHUNK_SIZE = 2;
+    private static final int PERSIST_BATCH_MAX_ROWS = 1000;
+    private static final int DEADLOCK_RETRIES = 1;
+
+    @Mock
+    private OrdersClientService ordersClientService;
+
+    @Mock
+    private OrdersRepositoryService ordersRepositoryService;
+
+    @Mock
+    private OrdersMethods ordersMethods;
+
+    private ExecutorService importExecutor;
+    private OrdersImportPipeline ordersImportPipeline;
+
+    @BeforeEach
+    void setUp() {
+        importExecutor = Executors.newCachedThreadPool();
+        ordersImportPipeline = new OrdersImportPipeline(ordersClientService, ordersRepositoryService, ordersMethods,
+                importExecutor, FETCH_WORKERS, TRANSFORM_WORKERS, PERSIST_WORKERS, QUEUE_CAPACITY, false, STREAM_CHUNK_SIZE,
+                PERSIST_BATCH_MAX_ROWS, DEADLOCK_RETRIES);
+        lenient().when(ordersRepositoryService.withoutArchivedOrders(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+    }
+
+    @AfterEach
+    void tearDown() {
+        importExecutor.shutdownNow();
+    }
+
+    @Test
+    void testRun_FollowsNextLinks() {
+
+        PaginatedOrderClientDTO page1 = createPage(1, "https://kata-espublicotech.g3stiona.com:443/v1/orders?page=2&max-per-page=100");
+        PaginatedOrderClientDTO page2 = createPage(2, "https://kata-espublicotech.g3stiona.com:443/v1/orders?page=3&max-per-page=100");
+        PaginatedOrderClientDTO page3 = createPage(3, null);
+
+        when(ordersClientService.fetchPagedOrdersClient("1", MAX_PER_PAGE)).thenReturn(page1);
+        when(ordersClientService.fetchPagedOrdersClient("2", MAX_PER_PAGE)).thenReturn(page2);
+        when(ordersClientService.fetchPagedOrdersClient("3", MAX_PER_PAGE)).thenReturn(page3);
+        lenient().when(ordersClientService.fetchPagedOrdersClient("4", MAX_PER_PAGE)).thenReturn(createEmptyPage(4));
+        when(ordersMethods.convertToOrders(any(PaginatedOrderClientDTO.class))).thenReturn(List.of(createOrder()));
+
+        ImportSummaryResponse response = ordersImportPipeline.run(1, MAX_PER_PAGE);
+
+        assertNotNull(response);
+        assertEquals(Map.of("North America", 3L), response.getSummary().getRegionSummary());
+        assertEquals(Map.of("Online", 3L), response.getSummary().getSalesChannelSummary());
+        assertEquals(3, response.getStats().getPages());
+        assertEquals(3L, response.getStats().getOrders());
+        assertEquals(3, response.getStats().getStages().size());
+        assertEquals("persist", response.getStats().getStages().get(2).getStage());
+        assertEquals(3L, response.getStats().getStages().get(2).getPages());
+        verify(ordersRepositoryService, times(3)).saveAllOrders(anyList());
+        verify(ordersMethods, times(3)).updateSketches(anyList());
+        verify(ordersMethods, never()).generateOrderSummary(anyList());
+    }
+
+    @Test
+    void testRun_StopsOnEmptyPage() {
+
+        when(ordersClientService.fetchPagedOrdersClient("1", MAX_PER_PAGE)).thenReturn(createEmptyPage(1));
+        lenient().when(ordersClientService.fetchPagedOrdersClient("2", MAX_PER_PAGE)).thenReturn(createEmptyPage(2));
+
+        ImportSummaryResponse response = ordersImportPipeline.run(1, MAX_PER_PAGE);
+
+        assertEquals(0, response.getStats().getPages());
+        assertTrue(response.getSummary().getRegionSummary().isEmpty());
+        assertEquals(0L, response.getStats().getOrders());
+        verify(ordersRepositoryService, never()).saveAllOrders(anyList());
+    }
+
+    @Test
+    void testRun_PageError() {
+
+        when(ordersClientService.fetchPagedOrdersClient("1", MAX_PER_PAGE))
+                .thenThrow(new ProcessingException("Error de comunicación con el servicio externo."));
+        lenient().when(ordersClientService.fetchPagedOrdersClient("2", MAX_PER_PAGE)).thenReturn(createEmptyPage(2));
+
+        ProcessingException exception = assertThrows(ProcessingException.class,
+                () -> ordersImportPipeline.run(1, MAX_PER_PAGE));
+
+        assertEquals("Error de comunicación con el servicio externo.", exception.getMessage());
+        verify(ordersRepositoryService, never()).saveAllOrders(anyList());
+    }
+
+    @Test
+    void testRun_PersistError_DoesNotUpdateSketches() {
+
+        when(ordersClientService.fetchPagedOrdersClient("1", MAX_PER_PAGE)).thenReturn(createPage(1, null));
+        lenient().when(ordersClientService.fetchPagedOrdersClient("2", MAX_PER_PAGE)).thenReturn(createEmptyPage(2));
+        when(ordersMethods.convertToOrders(any(PaginatedOrderClientDTO.class))).thenReturn(List.of(createOrder()));
+        doThrow(new ProcessingException("Error al guardar los pedidos en la base de datos."))
+                .when(ordersRepositoryService).saveAllOrders(anyList());
+
+        ProcessingException exception = assertThrows(ProcessingException.class,
+                () -> ordersImportPipeline.run(1, MAX_PER_PAGE));
+
+        assertEquals("Error al guardar los pedidos en la base de datos.", exception.getMessage());
+        verify(ordersMethods, never()).updateSketches(anyList());
+    }
+
+    @Test
+    void testRun_DeadlockIsRetried() {
+
+        when(ordersClientService.fetchPagedOrdersClient("1", MAX_PER_PAGE)).thenReturn(createPage(1, null));
+        lenient().when(ordersClientService.fetchPagedOrdersClient("2", MAX_PER_PAGE)).thenReturn(createEmptyPage(2));
+        when(ordersMethods.convertToOrders(any(PaginatedOrderClientDTO.class))).thenReturn(List.of(createOrder()));
+        doThrow(new ProcessingException("Error al guardar los pedidos",
+                new PessimisticLockingFailureException("Deadlock found when trying to get lock")))
+                .doNothing()
+                .when(ordersRepositoryService).saveAllOrders(anyList());
+
+        ImportSummaryResponse response = ordersImportPipeline.run(1, MAX_PER_PAGE);
+
+        assertEquals(1L, response.getStats().getOrders());
+        verify(ordersRepositoryService, times(2)).saveAllOrders(anyList());
+        verify(ordersMethods, times(1)).updateSketches(anyList());
+    }
+
+    @Test
+    void testRun_DeadlockRetriesExhausted() {
+
+        when(ordersClientService.fetchPagedOrdersClient("1", MAX_PER_PAGE)).thenReturn(createPage(1, null));
+        lenient().when(ordersClientService.fetchPagedOrdersClient("2", MAX_PER_PAGE)).thenReturn(createEmptyPage(2));
+        when(ordersMethods.convertToOrders(any(PaginatedOrderClientDTO.class))).thenReturn(List.of(createOrder()));
+        doThrow(new ProcessingException("Error al guardar los pedidos",
+                new PessimisticLockingFailureException("Deadlock found when trying to get lock")))
+                .when(ordersRepositoryService).saveAllOrders(anyList());
+
+        assertThrows(ProcessingException.class, () -> ordersImportPipeline.run(1, MAX_PER_PAGE));
+
+        verify(ordersRepositoryService, times(DEADLOCK_RETRIES + 1)).saveAllOrders(anyList());
+        verify(ordersMethods, never()).updateSketches(anyList());
+    }
+
+    @Test
+    void testRun_StreamingDecoder_SplitsPagesIntoChunks() {
+
+        OrdersImportPipeline streamingPipeline = new OrdersImportPipeline(ordersClientService, ordersRepositoryService,
+                ordersMethods, importExecutor, FETCH_WORKERS, TRANSFORM_WORKERS, PERSIST_WORKERS, QUEUE_CAPACITY,
+                true, STREAM_CHUNK_SIZE, PERSIST_BATCH_MAX_ROWS, DEADLOCK_RETRIES);
+        List<Integer> committedPages = new CopyOnWriteArrayList<>();
+        List<Integer> committedOrders = new CopyOnWriteArrayList<>();
+        ImportProgressListener listener = new ImportProgressListener() {
+            @Override
+            public void onPageCommitted(int page, int orders) {
+                committedPages.add(page);
+                committedOrders.add(orders);
+            }
+        };
+
+        stubStreamedPage(1, 5, "https://kata-espublicotech.g3stiona.com:443/v1/orders?page=2&max-per-page=100");
+        stubStreamedPage(2, 4, null);
+        lenient().when(ordersClientService.streamPagedOrdersClient(eq("3"), eq(MAX_PER_PAGE), any()))
+                .thenReturn(new StreamedPageClientDTO(3, 0, null));
+        when(ordersMethods.convertToOrder(any(ContentClientDTO.class))).thenAnswer(invocation -> createOrder());
+
+        ImportSummaryResponse response = streamingPipeline.run(1, MAX_PER_PAGE, listener);
+
+        assertEquals(2, response.getStats().getPages());
+        assertEquals(9L, response.getStats().getOrders());
+        assertEquals(0, response.getStats().getStages().get(1).getWorkers());
+        assertEquals(2L, response.getStats().getStages().get(2).getPages());
+        assertEquals(Map.of("North America", 9L), response.getSummary().getRegionSummary());
+        // Páginas de 5 y 4 pedidos en bloques de 2: 3 + 2 bloques
+        verify(ordersRepositoryService, times(5)).saveAllOrders(anyList());
+        verify(ordersMethods, times(5)).updateSketches(anyList());
+        verify(ordersClientService, never()).fetchPagedOrdersClient(any(), any());
+        verify(ordersMethods, never()).convertToOrders(any(PaginatedOrderClientDTO.class));
+        assertEquals(2, committedPages.size());
+        assertTrue(committedPages.containsAll(List.of(1, 2)));
+        assertEquals(9, committedOrders.stream().mapToInt(Integer::intValue).sum());
+    }
+
+    @Test
+    void testRun_LocalInfileEnabled_GroupsChunksUpToThreshold() {
+
+        OrdersImportPipeline streamingPipeline = new OrdersImportPipeline(ordersClientService, ordersRepositoryService,
+                ordersMethods, importExecutor, 1, TRANSFORM_WORKERS, 1, QUEUE_CAPACITY, true, STREAM_CHUNK_SIZE,
+                PERSIST_BATCH_MAX_ROWS, DEADLOCK_RETRIES);
+        List<Integer> savedSizes = new CopyOnWriteArrayList<>();
+
+        stubStreamedPage(1, 5, "https://kata-espublicotech.g3stiona.com:443/v1/orders?page=2&max-per-page=100");
+        stubStreamedPage(2, 4, null);
+        when(ordersRepositoryService.getLocalInfileThreshold()).thenReturn(4);
+        when(ordersMethods.convertToOrder(any(ContentClientDTO.class))).thenAnswer(invocation -> createOrder());
+        doAnswer(invocation -> savedSizes.add(invocation.<List<Orders>>getArgument(0).size()))
+                .when(ordersRepositoryService).saveAllOrders(anyList());
+
+        ImportSummaryResponse response = streamingPipeline.run(1, MAX_PER_PAGE);
+
+        // Bloques de 2, 2, 1, 2 y 2 pedidos agrupados hasta reunir al menos 4
+        assertEquals(List.of(4, 5), savedSizes);
+        assertEquals(2, response.getStats().getPages());
+        assertEquals(9L, response.getStats().getOrders());
+        assertEquals(Map.of("North America", 9L), response.getSummary().getRegionSummary());
+    }
+
+    @Test
+    void testRun_LocalInfileEnabled_GroupsAreCappedByPersistBatchMaxRows() {
+
+        OrdersImportPipeline streamingPipeline = new OrdersImportPipeline(ordersClientService, ordersRepositoryService,
+                ordersMethods, importExecutor, 1, TRANSFORM_WORKERS, 1, QUEUE_CAPACITY, true, STREAM_CHUNK_SIZE, 3, DEADLOCK_RETRIES);
+        List<Integer> savedSizes = new CopyOnWriteArrayList<>();
+
+        stubStreamedPage(1, 5, "https://kata-espublicotech.g3stiona.com:443/v1/orders?page=2&max-per-page=100");
+        stubStreamedPage(2, 4, null);
+        when(ordersRepositoryService.getLocalInfileThreshold()).thenReturn(50_000);
+        when(ordersMethods.convertToOrder(any(ContentClientDTO.class))).thenAnswer(invocation -> createOrder());
+        doAnswer(invocation -> savedSizes.add(invocation.<List<Orders>>getArgument(0).size()))
+                .when(ordersRepositoryService).saveAllOrders(anyList());
+
+        ImportSummaryResponse response = streamingPipeline.run(1, MAX_PER_PAGE);
+
+        // Bloques de 2, 2, 1, 2 y 2 pedidos agrupados hasta reunir al menos 3, no los 50000 del umbral
+        assertEquals(List.of(4, 3, 2), savedSizes);
+        assertEquals(9L, response.getStats().getOrders());
+    }
+
+    /**
+     * Simula la lectura en streaming de una página, entregando sus pedidos uno a uno al consumidor
+     *
+     * @param page   número de página
+     * @param orders pedidos de la página
+     * @param next   enlace a la siguiente página
+     */
+    @SuppressWarnings("unchecked")
+    private void stubStreamedPage(int page, int orders, String next) {
+        String self = "https://kata-espublicotech.g3stiona.com:443/v1/orders?page=" + page + "&max-per-page=100";
+
+        when(ordersClientService.streamPagedOrdersClient(eq(String.valueOf(page)), eq(MAX_PER_PAGE), any()))
+                .thenAnswer(invocation -> {
+                    Consumer<ContentClientDTO> consumer = invocation.getArgument(2);
+                    for (int i = 0; i < orders; i++) {
+                        consumer.accept(new ContentClientDTO());
+                    }
+                    return new StreamedPageClientDTO(page, orders, new LinksClientDTO(next, self));
+                });
+    }
+
+    /**
+     * Builder PaginatedOrderClientDTO con un pedido
+     *
+     * @param page número de página
+     * @param next enlace a la siguiente página
+     * @return PaginatedOrderClientDTO
+     */
+    private static PaginatedOrderClientDTO createPage(int page, String next) {
+        ContentClientDTO contentClientDTO = new ContentClientDTO();
+        String self = "https://kata-espublicotech.g3stiona.com:443/v1/orders?page=" + page + "&max-per-page=100";
+
+        return new PaginatedOrderClientDTO(page, List.of(contentClientDTO), new LinksClientDTO(next, self));
+    }
+
+    /**
+     * Builder Orders
+     *
+     * @return Orders de North America vendido online
+     */
+    private static Orders createOrder() {
+        Orders order = new Orders();
+        order.setRegion("North America");
+        order.setSalesChannel("Online");
+        return order;
+    }
+
+    /**
+     * Builder PaginatedOrderClientDTO sin pedidos
+     *
+     * @param page número de página
+     * @return PaginatedOrderClientDTO
+     */
+    private static PaginatedOrderClientDTO createEmptyPage(int page) {
+        return new PaginatedOrderClientDTO(page, List.of(), null);
+    }
+}
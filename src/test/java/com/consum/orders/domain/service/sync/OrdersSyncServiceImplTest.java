@@ -0,0 +1,39 @@
+package com.consum.orders.domain.service.sync;
+
+import com.consum.orders.application.model.ImportSummaryResponse;
+import com.consum.orders.domain.dto.ImportStatsDTO;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OrdersSyncServiceImplTest {
+
+    private static final String MAX_PER_PAGE = "100";
+
+    @Mock
+    private OrdersImportPipeline ordersImportPipeline;
+
+    @InjectMocks
+    private OrdersSyncServiceImpl ordersSyncService;
+
+    @Test
+    void testImportAndSummarizeAllOrders() {
+
+        ImportSummaryResponse importSummaryResponse = ImportSummaryResponse.builder()
+                .stats(ImportStatsDTO.builder().pages(2).orders(200L).build())
+                .build();
+
+        when(ordersImportPipeline.run(1, MAX_PER_PAGE)).thenReturn(importSummaryResponse);
+
+        ImportSummaryResponse result = ordersSyncService.importAndSummarizeAllOrders(MAX_PER_PAGE);
+
+        assertEquals(importSummaryResponse, result);
+        verify(ordersImportPipeline, times(1)).run(1, MAX_PER_PAGE);
+    }
+}
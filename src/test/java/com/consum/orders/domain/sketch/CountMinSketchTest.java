@@ -0,0 +1,106 @@
+package com.consum.orders.domain.sketch;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CountMinSketchTest {
+
+    @Test
+    void testEstimate_NeverBelowCountAndWithinErrorBound() {
+
+        CountMinSketch sketch = new CountMinSketch(0.001, 0.01);
+        Map<String, Long> counts = addSkewedValues(sketch, 5_000, 200_000, new Random(7));
+
+        assertEquals(2719, sketch.getWidth());
+        assertEquals(5, sketch.getDepth());
+        assertEquals(200_000, sketch.getTotal());
+        assertEquals(200, sketch.errorBound());
+        long exceeded = 0;
+        for (Map.Entry<String, Long> entry : counts.entrySet()) {
+            long estimate = sketch.estimate(entry.getKey());
+            assertTrue(estimate >= entry.getValue());
+            if (estimate - entry.getValue() > sketch.errorBound()) {
+                exceeded++;
+            }
+        }
+        assertTrue(exceeded <= counts.size() * 0.01, "Estimaciones fuera del límite: " + exceeded);
+        assertTrue(sketch.estimate("never-added") <= sketch.errorBound());
+    }
+
+    @Test
+    void testMerge_SameAsSingleSketch() {
+
+        CountMinSketch single = new CountMinSketch(0.01, 0.05);
+        CountMinSketch first = new CountMinSketch(0.01, 0.05);
+        CountMinSketch second = new CountMinSketch(0.01, 0.05);
+        Random random = new Random(11);
+        for (int i = 0; i < 10_000; i++) {
+            String value = "value-" + random.nextInt(500);
+            single.add(value, 1);
+            (i % 2 == 0 ? first : second).add(value, 1);
+        }
+
+        first.merge(second);
+
+        assertEquals(single.getTotal(), first.getTotal());
+        for (int cell = 0; cell < single.getWidth() * single.getDepth(); cell++) {
+            assertEquals(single.getCell(cell), first.getCell(cell));
+        }
+    }
+
+    @Test
+    void testMerge_DifferentDimensions() {
+
+        CountMinSketch sketch = new CountMinSketch(0.01, 0.05);
+
+        assertThrows(IllegalArgumentException.class, () -> sketch.merge(new CountMinSketch(0.001, 0.05)));
+    }
+
+    @Test
+    void testCells_OnePerRowAndStable() {
+
+        CountMinSketch sketch = new CountMinSketch(0.01, 0.01);
+
+        int[] cells = sketch.cells("Spain");
+
+        assertEquals(sketch.getDepth(), cells.length);
+        for (int row = 0; row < cells.length; row++) {
+            assertTrue(cells[row] >= row * sketch.getWidth() && cells[row] < (row + 1) * sketch.getWidth());
+        }
+        assertArrayEquals(cells, new CountMinSketch(0.01, 0.01).cells("Spain"));
+    }
+
+    @Test
+    void testNew_InvalidParameters() {
+
+        assertThrows(IllegalArgumentException.class, () -> new CountMinSketch(0, 0.01));
+        assertThrows(IllegalArgumentException.class, () -> new CountMinSketch(0.01, 1));
+    }
+
+    /**
+     * Suma al sketch valores con una distribución sesgada: unos pocos valores concentran la mayoría de apariciones.
+     *
+     * @param sketch sketch
+     * @param values valores distintos
+     * @param total  apariciones
+     * @param random generador
+     * @return apariciones reales de cada valor
+     */
+    static Map<String, Long> addSkewedValues(CountMinSketch sketch, int values, int total, Random random) {
+        Map<String, Long> counts = new HashMap<>();
+        for (int i = 0; i < total; i++) {
+            String value = "value-" + (int) (values * Math.pow(random.nextDouble(), 4));
+            sketch.add(value, 1);
+            counts.merge(value, 1L, Long::sum);
+        }
+        return counts;
+    }
+}
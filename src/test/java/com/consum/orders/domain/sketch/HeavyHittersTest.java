@@ -0,0 +1,81 @@
+package com.consum.orders.domain.sketch;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class HeavyHittersTest {
+
+    @Test
+    void testTop_FindsMostFrequentValues() {
+
+        HeavyHitters heavyHitters = new HeavyHitters(new CountMinSketch(0.001, 0.01), 20);
+        CountMinSketch exact = new CountMinSketch(0.001, 0.01);
+        Map<String, Long> counts = CountMinSketchTest.addSkewedValues(exact, 5_000, 100_000, new Random(3));
+        counts.forEach(heavyHitters::add);
+
+        List<HeavyHitters.Candidate> top = heavyHitters.top(5);
+
+        List<String> expected = counts.entrySet().stream()
+                .sorted(Map.Entry.<String, Long>comparingByValue(Comparator.reverseOrder()))
+                .limit(5).map(Map.Entry::getKey).toList();
+        assertEquals(expected, top.stream().map(HeavyHitters.Candidate::value).toList());
+        top.forEach(candidate -> assertTrue(candidate.estimate() >= counts.get(candidate.value())));
+    }
+
+    @Test
+    void testAdd_KeepsCapacityAndEvictsSmallest() {
+
+        HeavyHitters heavyHitters = new HeavyHitters(new CountMinSketch(0.01, 0.01), 2);
+
+        heavyHitters.add("Spain", 5);
+        heavyHitters.add("France", 1);
+        heavyHitters.add("Italy", 3);
+        heavyHitters.add("France", 1);
+
+        assertEquals(List.of(new HeavyHitters.Candidate("Spain", 5), new HeavyHitters.Candidate("Italy", 3)),
+                heavyHitters.top(5));
+    }
+
+    @Test
+    void testMerge_ReestimatesCandidatesOfBoth() {
+
+        HeavyHitters first = new HeavyHitters(new CountMinSketch(0.01, 0.01), 2);
+        first.add("Spain", 4);
+        first.add("France", 3);
+        HeavyHitters second = new HeavyHitters(new CountMinSketch(0.01, 0.01), 2);
+        second.add("Italy", 6);
+        second.add("France", 2);
+
+        first.merge(second);
+
+        assertEquals(List.of(new HeavyHitters.Candidate("Italy", 6), new HeavyHitters.Candidate("France", 5)),
+                first.top(2));
+        assertEquals(15, first.getSketch().getTotal());
+    }
+
+    @Test
+    void testOffer_UsesLoadedSketch() {
+
+        CountMinSketch sketch = new CountMinSketch(0.01, 0.01);
+        sketch.add("Spain", 7);
+        HeavyHitters heavyHitters = new HeavyHitters(sketch, 10);
+
+        heavyHitters.offer("Spain");
+
+        assertEquals(List.of(new HeavyHitters.Candidate("Spain", 7)), heavyHitters.top(10));
+    }
+
+    @Test
+    void testNew_InvalidCapacity() {
+
+        assertThrows(IllegalArgumentException.class, () -> new HeavyHitters(new CountMinSketch(0.01, 0.01), 0));
+    }
+}
@@ -0,0 +1,33 @@
+package com.consum.orders.domain.summary;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class CentsTest {
+
+    @Test
+    void testOf_ConvertsAmountsWithTwoDecimals() {
+
+        assertEquals(99_999_999L, Cents.of(new BigDecimal("999999.99")));
+        assertEquals(-1_050L, Cents.of(new BigDecimal("-10.5")));
+        assertEquals(0L, Cents.of(null));
+    }
+
+    @Test
+    void testOf_RoundsLikeDecimalColumn() {
+
+        assertEquals(1_235L, Cents.of(new BigDecimal("12.345")));
+        assertEquals(-1_235L, Cents.of(new BigDecimal("-12.345")));
+        assertEquals(1_234L, Cents.of(new BigDecimal("12.3449")));
+    }
+
+    @Test
+    void testToBigDecimal_KeepsTwoDecimals() {
+
+        assertEquals(new BigDecimal("1234.50"), Cents.toBigDecimal(123_450L));
+        assertEquals(new BigDecimal("0.00"), Cents.toBigDecimal(0L));
+    }
+}
@@ -0,0 +1,59 @@
+package com.consum.orders.domain.summary;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class LongKeyCounterTest {
+
+    @Test
+    void testRow_GrowsAndKeepsColumns() {
+
+        LongKeyCounter counter = new LongKeyCounter(1, 2);
+        Map<Long, Long> expected = new HashMap<>();
+
+        for (long i = 0; i < 5_000; i++) {
+            long key = (i % 700) << 36 | (i % 3);
+            int row = counter.row(key);
+            counter.add(row, 0, 1);
+            counter.add(row, 1, i);
+            expected.merge(key, i, Long::sum);
+        }
+
+        assertEquals(expected.size(), counter.size());
+        Map<Long, Long> actual = new HashMap<>();
+        counter.forEachRow((key, row) -> actual.put(key, counter.get(row, 1)));
+        assertEquals(expected, actual);
+    }
+
+    @Test
+    void testRow_KeyZero() {
+
+        LongKeyCounter counter = new LongKeyCounter(4, 1);
+
+        counter.add(counter.row(0L), 0, 3);
+        counter.add(counter.row(0L), 0, 4);
+
+        assertEquals(1, counter.size());
+        assertEquals(7, counter.get(counter.row(0L), 0));
+    }
+
+    @Test
+    void testAddAll_MergesPartialTables() {
+
+        LongKeyCounter first = new LongKeyCounter(4, 1);
+        first.add(first.row(1L), 0, 2);
+        LongKeyCounter second = new LongKeyCounter(4, 1);
+        second.add(second.row(1L), 0, 3);
+        second.add(second.row(9L), 0, 1);
+
+        first.addAll(second);
+
+        assertEquals(2, first.size());
+        assertEquals(5, first.get(first.row(1L), 0));
+        assertEquals(1, first.get(first.row(9L), 0));
+    }
+}
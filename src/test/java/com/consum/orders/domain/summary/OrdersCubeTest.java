@@ -0,0 +1,124 @@
+package com.consum.orders.domain.summary;
+
+import com.consum.orders.domain.dto.CubeCellDTO;
+import com.consum.orders.domain.dto.CubeDTO;
+import com.consum.orders.domain.dto.OrdersDTO;
+import com.consum.orders.domain.exception.ProcessingException;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class OrdersCubeTest {
+
+    @Test
+    void testAddAll_CrossTabMatchesGroupingBy() {
+
+        List<OrdersDTO> ordersDTOList = OrdersSummaryTaskTest.createOrdersDTOList(5_000);
+
+        CubeDTO cube = new OrdersCube(List.of(CubeDimension.REGION, CubeDimension.ITEM_TYPE), List.of(CubeMeasure.ORDERS))
+                .addAll(ordersDTOList).toCubeDTO();
+
+        Map<List<String>, Long> expected = ordersDTOList.stream().collect(Collectors.groupingBy(
+                ordersDTO -> List.of(ordersDTO.getRegion(), ordersDTO.getItemType()), Collectors.counting()));
+        assertEquals(List.of("region", "item_type"), cube.getDimensions());
+        assertEquals(5_000L, cube.getOrders());
+        assertEquals(expected.size(), cube.getCells().size());
+        for (CubeCellDTO cell : cube.getCells()) {
+            List<String> values = List.copyOf(cell.getDimensions().values());
+            assertEquals(expected.get(values), cell.getMeasures().get("orders"));
+        }
+    }
+
+    @Test
+    void testToCubeDTO_MeasuresAndOrder() {
+
+        List<OrdersDTO> ordersDTOList = List.of(
+                createOrderDTO("Europe", "H", 10, "100.10"),
+                createOrderDTO("Asia", "L", 5, "0.05"),
+                createOrderDTO("Europe", "H", 1, "0.90"),
+                createOrderDTO("Asia", null, 2, "2.00"));
+
+        CubeDTO cube = new OrdersCube(List.of(CubeDimension.REGION, CubeDimension.ORDER_PRIORITY),
+                List.of(CubeMeasure.UNITS_SOLD, CubeMeasure.TOTAL_REVENUE, CubeMeasure.ORDERS))
+                .addAll(ordersDTOList).toCubeDTO();
+
+        assertEquals(3, cube.getCells().size());
+        CubeCellDTO withoutPriority = cube.getCells().get(0);
+        assertEquals("Asia", withoutPriority.getDimensions().get("region"));
+        assertNull(withoutPriority.getDimensions().get("order_priority"));
+        assertEquals("L", cube.getCells().get(1).getDimensions().get("order_priority"));
+        CubeCellDTO europe = cube.getCells().get(2);
+        assertEquals(List.of("units_sold", "total_revenue", "orders"), List.copyOf(europe.getMeasures().keySet()));
+        assertEquals(11L, europe.getMeasures().get("units_sold"));
+        assertEquals(new BigDecimal("101.00"), europe.getMeasures().get("total_revenue"));
+        assertEquals(2L, europe.getMeasures().get("orders"));
+    }
+
+    @Test
+    void testAdd_AllDimensionsFitInKey() {
+
+        List<OrdersDTO> ordersDTOList = OrdersSummaryTaskTest.createOrdersDTOList(2_000);
+
+        CubeDTO cube = new OrdersCube(Arrays.asList(CubeDimension.values()), List.of(CubeMeasure.ORDERS))
+                .addAll(ordersDTOList).toCubeDTO();
+
+        long expected = ordersDTOList.stream().map(ordersDTO -> List.of(ordersDTO.getRegion(), ordersDTO.getCountry(),
+                ordersDTO.getItemType(), ordersDTO.getSalesChannel(), ordersDTO.getOrderPriority())).distinct().count();
+        assertEquals(expected, cube.getCells().size());
+        assertEquals(2_000L, cube.getCells().stream().mapToLong(cell -> (Long) cell.getMeasures().get("orders")).sum());
+    }
+
+    @Test
+    void testAdd_TooManyValues() {
+
+        OrdersCube cube = new OrdersCube(List.of(CubeDimension.COUNTRY), List.of(CubeMeasure.ORDERS));
+        List<OrdersDTO> ordersDTOList = new ArrayList<>();
+        for (int i = 0; i <= OrdersCube.MAX_VALUES; i++) {
+            ordersDTOList.add(OrdersDTO.builder().country("country-" + i).build());
+        }
+
+        assertThrows(ProcessingException.class, () -> cube.addAll(ordersDTOList));
+    }
+
+    @Test
+    void testNew_RepeatedDimension() {
+
+        assertThrows(IllegalArgumentException.class, () -> new OrdersCube(
+                List.of(CubeDimension.REGION, CubeDimension.REGION), List.of(CubeMeasure.ORDERS)));
+    }
+
+    @Test
+    void testFromKey() {
+
+        assertEquals(CubeDimension.ITEM_TYPE, CubeDimension.fromKey(" Item_Type").orElseThrow());
+        assertEquals(CubeMeasure.TOTAL_PROFIT, CubeMeasure.fromKey("total_profit").orElseThrow());
+        assertEquals(true, CubeDimension.fromKey("city").isEmpty());
+    }
+
+    /**
+     * Builder OrdersDTO
+     *
+     * @param region        región
+     * @param orderPriority prioridad
+     * @param unitsSold     unidades vendidas
+     * @param totalRevenue  ingresos totales
+     * @return OrdersDTO
+     */
+    private static OrdersDTO createOrderDTO(String region, String orderPriority, int unitsSold, String totalRevenue) {
+        return OrdersDTO.builder()
+                .region(region)
+                .orderPriority(orderPriority)
+                .unitsSold(unitsSold)
+                .totalRevenue(new BigDecimal(totalRevenue))
+                .build();
+    }
+}
@@ -0,0 +1,146 @@
+package com.consum.orders.domain.summary;
+
+import com.consum.orders.domain.dto.FinancialSummaryDTO;
+import com.consum.orders.domain.dto.OrdersDTO;
+import com.consum.orders.domain.dto.SummaryDTO;
+import com.consum.orders.infrastructure.database.entity.Orders;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class OrdersSummaryAggregatorTest {
+
+    private static final String[] REGIONS = {"Europe", "Asia", "North America"};
+    private static final String[] COUNTRIES = {"Spain", "Japan", "United States", "France", "Mexico"};
+    private static final String[] ITEM_TYPES = {"Baby Food", "Cereal", "Clothes", "Cosmetics"};
+    private static final String[] SALES_CHANNELS = {"Online", "Offline"};
+    private static final String[] ORDER_PRIORITIES = {"C", "H", "L", "M"};
+
+    @Test
+    void testAddAll_MatchesGroupingByCounts() {
+
+        List<OrdersDTO> ordersDTOList = createOrdersDTOList(997);
+
+        SummaryDTO result = new OrdersSummaryAggregator().addAll(ordersDTOList).toSummaryDTO();
+
+        assertEquals(count(ordersDTOList, OrdersDTO::getRegion), result.getRegionSummary());
+        assertEquals(count(ordersDTOList, OrdersDTO::getCountry), result.getCountrySummary());
+        assertEquals(count(ordersDTOList, OrdersDTO::getItemType), result.getItemTypeSummary());
+        assertEquals(count(ordersDTOList, OrdersDTO::getSalesChannel), result.getSalesChannelSummary());
+        assertEquals(count(ordersDTOList, OrdersDTO::getOrderPriority), result.getOrderPrioritySummary());
+    }
+
+    @Test
+    void testMerge_PartialAggregatesMatchSinglePass() {
+
+        List<OrdersDTO> ordersDTOList = createOrdersDTOList(500);
+        OrdersSummaryAggregator first = new OrdersSummaryAggregator().addAll(ordersDTOList.subList(0, 200));
+        OrdersSummaryAggregator second = new OrdersSummaryAggregator().addAll(ordersDTOList.subList(200, 500));
+
+        OrdersSummaryAggregator merged = first.merge(second);
+
+        assertEquals(500, merged.getOrders());
+        assertEquals(new OrdersSummaryAggregator().addAll(ordersDTOList).toSummaryDTO(), merged.toSummaryDTO());
+    }
+
+    @Test
+    void testMerge_SummaryDTOWithMissingFields() {
+
+        SummaryDTO summary = SummaryDTO.builder().regionSummary(Map.of("Europe", 4L)).build();
+
+        SummaryDTO result = new OrdersSummaryAggregator().merge(summary).merge(summary).toSummaryDTO();
+
+        assertEquals(Map.of("Europe", 8L), result.getRegionSummary());
+        assertTrue(result.getCountrySummary().isEmpty());
+    }
+
+    @Test
+    void testAddAllOrders_SkipsMissingDimensions() {
+
+        Orders order = new Orders();
+        order.setRegion("Europe");
+        order.setSalesChannel("Online");
+
+        OrdersSummaryAggregator aggregator = new OrdersSummaryAggregator().addAllOrders(List.of(order, order));
+        SummaryDTO result = aggregator.toSummaryDTO();
+
+        assertEquals(2, aggregator.getOrders());
+        assertEquals(Map.of("Europe", 2L), result.getRegionSummary());
+        assertEquals(Map.of("Online", 2L), result.getSalesChannelSummary());
+        assertTrue(result.getItemTypeSummary().isEmpty());
+    }
+
+    @Test
+    void testAddAll_FinancialsMatchBigDecimalSums() {
+
+        List<OrdersDTO> ordersDTOList = createOrdersDTOList(997);
+
+        SummaryDTO result = new OrdersSummaryAggregator().addAll(ordersDTOList).toSummaryDTO();
+
+        Map<String, List<OrdersDTO>> byCountry = ordersDTOList.stream()
+                .collect(Collectors.groupingBy(OrdersDTO::getCountry));
+        assertEquals(byCountry.keySet(), result.getCountryFinancials().keySet());
+        byCountry.forEach((country, orders) -> {
+            FinancialSummaryDTO financial = result.getCountryFinancials().get(country);
+            assertEquals(orders.stream().mapToLong(OrdersDTO::getUnitsSold).sum(), financial.getUnitsSold());
+            assertEquals(sum(orders, OrdersDTO::getTotalRevenue), financial.getTotalRevenue());
+            assertEquals(sum(orders, OrdersDTO::getTotalCost), financial.getTotalCost());
+            assertEquals(sum(orders, OrdersDTO::getTotalProfit), financial.getTotalProfit());
+        });
+    }
+
+    @Test
+    void testMerge_SummaryDTOAddsFinancials() {
+
+        List<OrdersDTO> ordersDTOList = createOrdersDTOList(40);
+        SummaryDTO summary = new OrdersSummaryAggregator().addAll(ordersDTOList).toSummaryDTO();
+
+        SummaryDTO result = new OrdersSummaryAggregator().merge(summary).merge(summary).toSummaryDTO();
+
+        FinancialSummaryDTO once = summary.getRegionFinancials().get("Europe");
+        FinancialSummaryDTO twice = result.getRegionFinancials().get("Europe");
+        assertEquals(once.getUnitsSold() * 2, twice.getUnitsSold());
+        assertEquals(once.getTotalRevenue().multiply(BigDecimal.valueOf(2)), twice.getTotalRevenue());
+        assertEquals(summary.getRegionSummary().get("Europe") * 2, result.getRegionSummary().get("Europe"));
+    }
+
+    private static BigDecimal sum(List<OrdersDTO> ordersDTOList, Function<OrdersDTO, BigDecimal> amount) {
+        return ordersDTOList.stream().map(amount).reduce(new BigDecimal("0.00"), BigDecimal::add);
+    }
+
+    private static Map<String, Long> count(List<OrdersDTO> ordersDTOList, Function<OrdersDTO, String> classifier) {
+        return ordersDTOList.stream().collect(Collectors.groupingBy(classifier, Collectors.counting()));
+    }
+
+    /**
+     * Builder de una lista de OrdersDTO con valores repartidos entre las dimensiones
+     *
+     * @param size número de pedidos
+     * @return Lista de OrdersDTO
+     */
+    private static List<OrdersDTO> createOrdersDTOList(int size) {
+        List<OrdersDTO> ordersDTOList = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            ordersDTOList.add(OrdersDTO.builder()
+                    .region(REGIONS[i % REGIONS.length])
+                    .country(COUNTRIES[i % COUNTRIES.length])
+                    .itemType(ITEM_TYPES[i % ITEM_TYPES.length])
+                    .salesChannel(SALES_CHANNELS[i % SALES_CHANNELS.length])
+                    .orderPriority(ORDER_PRIORITIES[(i * 7) % ORDER_PRIORITIES.length])
+                    .unitsSold(i % 1000)
+                    .totalRevenue(BigDecimal.valueOf(999_999L - i * 37L, 2))
+                    .totalCost(BigDecimal.valueOf(i * 13L + 1, 2))
+                    .totalProfit(BigDecimal.valueOf(999_998L - i * 50L, 2))
+                    .build());
+        }
+        return ordersDTOList;
+    }
+}
@@ -0,0 +1,74 @@
+package com.consum.orders.domain.summary;
+
+import com.consum.orders.domain.dto.OrdersDTO;
+import com.consum.orders.domain.dto.SummaryDTO;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Mide cómo escala el resumen en paralelo ({@link OrdersSummaryTask}) con 1, 2, 4 y 8 hilos frente al resumen en un
+ * solo hilo. Con más hilos que procesadores disponibles la aceleración deja de crecer. Se ejecuta con
+ * {@code mvn test -Pbenchmark}; el tamaño se ajusta con {@code -Dorders.benchmark.parallel-summary-rows}.
+ */
+@Tag("benchmark")
+class OrdersSummaryTaskBenchmarkTest {
+
+    private static final int ROWS = Integer.getInteger("orders.benchmark.parallel-summary-rows", 1_000_000);
+    private static final int CHUNK_SIZE = 16_384;
+    private static final int WARMUP_ROUNDS = 3;
+    private static final int MEASURED_ROUNDS = 10;
+
+    private static List<OrdersDTO> ordersDTOList;
+    private static SummaryDTO expected;
+    private static double sequentialMillis;
+
+    @BeforeAll
+    static void setUp() {
+        ordersDTOList = OrdersSummaryTaskTest.createOrdersDTOList(ROWS);
+        expected = new OrdersSummaryAggregator().addAll(ordersDTOList).toSummaryDTO();
+        sequentialMillis = measure(() -> new OrdersSummaryAggregator().addAll(ordersDTOList));
+        System.out.printf("pedidos=%d secuencial: %.2f ms (procesadores disponibles: %d)%n",
+                ROWS, sequentialMillis, Runtime.getRuntime().availableProcessors());
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 2, 4, 8})
+    void benchmarkParallelSummary(int threads) {
+
+        ForkJoinPool pool = new ForkJoinPool(threads);
+        try {
+            assertEquals(expected, OrdersSummaryTask.summarize(pool, ordersDTOList, CHUNK_SIZE).toSummaryDTO());
+
+            double millis = measure(() -> OrdersSummaryTask.summarize(pool, ordersDTOList, CHUNK_SIZE));
+
+            System.out.printf("pedidos=%d hilos=%d paralelo: %.2f ms, aceleración %.2fx%n",
+                    ROWS, threads, millis, sequentialMillis / millis);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    private static double measure(Supplier<OrdersSummaryAggregator> summary) {
+        long orders = 0;
+        for (int i = 0; i < WARMUP_ROUNDS; i++) {
+            orders += summary.get().getOrders();
+        }
+
+        long start = System.nanoTime();
+        for (int i = 0; i < MEASURED_ROUNDS; i++) {
+            orders += summary.get().getOrders();
+        }
+        long elapsedNanos = System.nanoTime() - start;
+
+        assertEquals((long) ROWS * (WARMUP_ROUNDS + MEASURED_ROUNDS), orders);
+        return elapsedNanos / 1_000_000d / MEASURED_ROUNDS;
+    }
+}
@@ -0,0 +1,68 @@
+package com.consum.orders.domain.summary;
+
+import com.consum.orders.domain.dto.OrdersDTO;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class OrdersSummaryTaskTest {
+
+    private ForkJoinPool pool;
+
+    @BeforeEach
+    void setUp() {
+        pool = new ForkJoinPool(4);
+    }
+
+    @AfterEach
+    void tearDown() {
+        pool.shutdownNow();
+    }
+
+    @Test
+    void testSummarize_MatchesSequentialSummary() {
+
+        List<OrdersDTO> ordersDTOList = createOrdersDTOList(10_001);
+
+        OrdersSummaryAggregator parallel = OrdersSummaryTask.summarize(pool, ordersDTOList, 100);
+
+        assertEquals(10_001, parallel.getOrders());
+        assertEquals(new OrdersSummaryAggregator().addAll(ordersDTOList).toSummaryDTO(), parallel.toSummaryDTO());
+    }
+
+    @Test
+    void testSummarize_ListSmallerThanChunk() {
+
+        List<OrdersDTO> ordersDTOList = createOrdersDTOList(3);
+
+        OrdersSummaryAggregator parallel = OrdersSummaryTask.summarize(pool, ordersDTOList, 0);
+
+        assertEquals(new OrdersSummaryAggregator().addAll(ordersDTOList).toSummaryDTO(), parallel.toSummaryDTO());
+    }
+
+    /**
+     * Builder de una lista de OrdersDTO con valores repartidos entre las dimensiones
+     *
+     * @param size número de pedidos
+     * @return Lista de OrdersDTO
+     */
+    static List<OrdersDTO> createOrdersDTOList(int size) {
+        List<OrdersDTO> ordersDTOList = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            ordersDTOList.add(OrdersDTO.builder()
+                    .region("region-" + i % 7)
+                    .country("country-" + i % 185)
+                    .itemType("item-" + i % 12)
+                    .salesChannel(i % 2 == 0 ? "Online" : "Offline")
+                    .orderPriority("CHLM".substring(i % 4, i % 4 + 1))
+                    .build());
+        }
+        return ordersDTOList;
+    }
+}
@@ -0,0 +1,77 @@
+package com.consum.orders.domain.summary;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class StringCounterTest {
+
+    @Test
+    void testIncrement_CountsEachValue() {
+
+        StringCounter counter = new StringCounter(2);
+
+        counter.increment("H");
+        counter.increment("L");
+        counter.increment("H");
+
+        assertEquals(2, counter.get("H"));
+        assertEquals(1, counter.get("L"));
+        assertEquals(0, counter.get("M"));
+        assertEquals(2, counter.size());
+    }
+
+    @Test
+    void testAdd_GrowsBeyondExpectedSize() {
+
+        StringCounter counter = new StringCounter(1);
+        Map<String, Long> expected = new HashMap<>();
+
+        for (int i = 0; i < 1000; i++) {
+            String key = "country-" + (i % 300);
+            counter.add(key, i);
+            expected.merge(key, (long) i, Long::sum);
+        }
+
+        assertEquals(300, counter.size());
+        assertEquals(expected, counter.toMap());
+    }
+
+    @Test
+    void testAddAll_MergesPartialCounters() {
+
+        StringCounter first = new StringCounter(4);
+        first.add("Online", 3);
+        first.add("Offline", 1);
+        StringCounter second = new StringCounter(4);
+        second.add("Online", 2);
+
+        first.addAll(second);
+
+        assertEquals(Map.of("Online", 5L, "Offline", 1L), first.toMap());
+    }
+
+    @Test
+    void testRow_AccumulatesSeveralColumns() {
+
+        StringCounter counter = new StringCounter(1, 3);
+
+        for (int i = 0; i < 20; i++) {
+            int row = counter.row("item-" + i % 5);
+            counter.add(row, 0, 1);
+            counter.add(row, 2, i);
+        }
+        StringCounter other = new StringCounter(1, 3);
+        other.add(other.row("item-0"), 1, 7);
+        counter.addAll(other);
+
+        int row = counter.row("item-0");
+        assertEquals(4, counter.get("item-0"));
+        assertEquals(7, counter.get(row, 1));
+        assertEquals(0 + 5 + 10 + 15, counter.get(row, 2));
+        assertEquals(5, counter.size());
+    }
+}
@@ -1,6 +1,5 @@
 package com.consum.orders.domain.utils;
 
-import com.consum.orders.application.model.OrdersFileResponse;
 import com.consum.orders.domain.dto.OrdersDTO;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -8,12 +7,13 @@ import org.mockito.InjectMocks;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.HttpHeaders;
 
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.math.BigDecimal;
-import java.util.Collections;
+import java.nio.charset.StandardCharsets;
 import java.util.Date;
-import java.util.List;
 import java.util.Objects;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -24,24 +24,32 @@ class OrdersFileMethodsTest {
     private OrdersFileMethods ordersFileMethods;
 
     @Test
-    void testGenerateOrderFileCSV() throws IOException {
+    void testWriteOrderFileCSV() throws IOException {
 
-        List<OrdersDTO> ordersDtoList = Collections.singletonList(createOrderDTO());
-        String fileName = "orders_test";
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
 
-        OrdersFileResponse response = ordersFileMethods.generateOrderFileCSV(ordersDtoList, fileName);
+        long rows = ordersFileMethods.writeOrderFileCSV(Stream.of(createOrderDTO(), createOrderDTO()), outputStream);
 
-        assertNotNull(response);
-        assertNotNull(response.getFileBytes());
-        assertTrue(response.getFileBytes().length > 0);
-        assertNotNull(response.getHeaders());
+        String[] lines = outputStream.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(2, rows);
+        assertEquals(3, lines.length);
+        assertTrue(lines[0].startsWith("\"Order ID\",\"Order Priority\""));
+        assertTrue(lines[1].startsWith("\"1001\",\"H\""));
+    }
+
+    @Test
+    void testGenerateCsvHttpHeaders() {
+
+        HttpHeaders headers = ordersFileMethods.generateCsvHttpHeaders("orders_test");
 
-        String actualHeaderValue = Objects.requireNonNull(response.getHeaders()
+        String actualHeaderValue = Objects.requireNonNull(headers
                 .getFirst(HttpHeaders.CONTENT_DISPOSITION)).replace("\"", "");
-        String expectedHeaderValue = "form-data; name=attachment; filename=" + Objects.requireNonNull(response.getHeaders()
+        String expectedHeaderValue = "form-data; name=attachment; filename=" + Objects.requireNonNull(headers
                 .getContentDisposition().getFilename()).replace("\"", "");
 
         assertEquals(expectedHeaderValue, actualHeaderValue);
+        assertTrue(headers.getContentDisposition().getFilename().matches("orders_test_\\d{5}\\.csv"));
+        assertEquals(-1, headers.getContentLength());
     }
 
     /**
@@ -10,10 +10,12 @@ import com.consum.orders.infrastructure.client.dto.ContentLinksDTO;
 import com.consum.orders.infrastructure.client.dto.LinksClientDTO;
 import com.consum.orders.infrastructure.client.dto.PaginatedOrderClientDTO;
 import com.consum.orders.infrastructure.database.entity.Orders;
+import com.consum.orders.infrastructure.database.projection.OrdersSummaryCount;
+import com.consum.orders.infrastructure.service.OrdersSketchRedisService;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
@@ -21,16 +23,22 @@ import java.math.BigDecimal;
 import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
 class OrdersMethodsTest {
 
-    @InjectMocks
+    private static final int PARALLEL_THRESHOLD = 4;
+    private static final int PARALLEL_CHUNK_SIZE = 2;
+
     private OrdersMethods ordersMethods;
 
     @Mock
@@ -39,14 +47,22 @@ class OrdersMethodsTest {
     @Mock
     private OrdersValidations ordersValidations;
 
+    @Mock
+    private OrdersSketchRedisService ordersSketchRedisService;
+
     private Orders orders;
     private OrdersDTO ordersDTO;
     private ContentClientDTO contentClientDTO;
     private PaginatedOrderClientDTO paginatedOrderClientDTO;
+    private ForkJoinPool summaryForkJoinPool;
 
     @BeforeEach
     void setUp() {
 
+        summaryForkJoinPool = new ForkJoinPool(2);
+        ordersMethods = new OrdersMethods(ordersMapper, ordersValidations, summaryForkJoinPool,
+                ordersSketchRedisService, PARALLEL_THRESHOLD, PARALLEL_CHUNK_SIZE);
+
         orders = createOrders();
         ordersDTO = createOrderDTO();
         contentClientDTO = createContentClientDTO();
@@ -64,6 +80,15 @@ class OrdersMethodsTest {
         assertNotNull(result);
         assertEquals(1, result.size());
         assertEquals(paginatedOrderClientDTO.getContent().get(0).getId(), result.get(0).getOrderId());
+        verifyNoInteractions(ordersSketchRedisService);
+    }
+
+    @Test
+    void updateSketches_shouldRecordAfterCommit() {
+
+        ordersMethods.updateSketches(List.of(orders));
+
+        verify(ordersSketchRedisService).recordAfterCommit(List.of(orders));
     }
 
     @Test
@@ -100,6 +125,31 @@ class OrdersMethodsTest {
         assertEquals(1, result.getOrderPrioritySummary().get("H"));
     }
 
+    @AfterEach
+    void tearDown() {
+        summaryForkJoinPool.shutdownNow();
+    }
+
+    @Test
+    void generateOrderSummary_whenAboveThreshold_shouldSummarizeInParallel() {
+
+        OrdersDTO europe = OrdersDTO.builder().region("Europe").country("Spain").itemType("Cereal")
+                .salesChannel("Offline").orderPriority("L").build();
+        List<OrdersDTO> ordersDTOList = new ArrayList<>();
+        for (int i = 0; i < 7; i++) {
+            ordersDTOList.add(i % 3 == 0 ? europe : ordersDTO);
+        }
+
+        SummaryDTO result = ordersMethods.generateOrderSummary(ordersDTOList);
+
+        assertTrue(ordersMethods.isParallelSummary(ordersDTOList));
+        assertFalse(ordersMethods.isParallelSummary(ordersDTOList.subList(0, PARALLEL_THRESHOLD - 1)));
+        assertEquals(Map.of("North America", 4L, "Europe", 3L), result.getRegionSummary());
+        assertEquals(Map.of("United States", 4L, "Spain", 3L), result.getCountrySummary());
+        assertEquals(Map.of("Online", 4L, "Offline", 3L), result.getSalesChannelSummary());
+        assertEquals(Map.of("H", 4L, "L", 3L), result.getOrderPrioritySummary());
+    }
+
     @Test
     void generateOrderSummary_whenOrderDTOListIsNull_shouldThrowProcessingException() {
         ProcessingException exception = assertThrows(ProcessingException.class,
@@ -116,6 +166,59 @@ class OrdersMethodsTest {
         assertEquals("La lista de pedidos no puede ser vacía.", exception.getMessage());
     }
 
+    @Test
+    void convertToSummary_whenDatabaseCounts_shouldGroupByDimension() {
+
+        List<OrdersSummaryCount> summaryCounts = List.of(
+                createSummaryCount(OrdersSummaryCount.REGION, "North America", 7L),
+                createSummaryCount(OrdersSummaryCount.REGION, "Europe", 3L),
+                createSummaryCount(OrdersSummaryCount.COUNTRY, "United States", 7L),
+                createSummaryCount(OrdersSummaryCount.ITEM_TYPE, "Electronics", 10L),
+                createSummaryCount(OrdersSummaryCount.SALES_CHANNEL, "Online", 10L),
+                createSummaryCount(OrdersSummaryCount.ORDER_PRIORITY, "H", 10L));
+
+        SummaryDTO result = ordersMethods.convertToSummary(summaryCounts);
+
+        assertEquals(Map.of("North America", 7L, "Europe", 3L), result.getRegionSummary());
+        assertEquals(Map.of("United States", 7L), result.getCountrySummary());
+        assertEquals(Map.of("Electronics", 10L), result.getItemTypeSummary());
+        assertEquals(Map.of("Online", 10L), result.getSalesChannelSummary());
+        assertEquals(Map.of("H", 10L), result.getOrderPrioritySummary());
+    }
+
+    @Test
+    void convertToSummary_whenNoCounts_shouldReturnEmptyCounts() {
+
+        SummaryDTO result = ordersMethods.convertToSummary(List.of());
+
+        assertTrue(result.getRegionSummary().isEmpty());
+        assertTrue(result.getOrderPrioritySummary().isEmpty());
+    }
+
+    @Test
+    void mergeOrderSummary_whenSeveralSummaries_shouldAddCounts() {
+
+        SummaryDTO first = ordersMethods.generateOrderSummary(List.of(ordersDTO));
+        SummaryDTO second = ordersMethods.generateOrderSummary(List.of(ordersDTO, ordersDTO));
+
+        SummaryDTO result = ordersMethods.mergeOrderSummary(List.of(first, second));
+
+        assertEquals(3, result.getRegionSummary().get("North America"));
+        assertEquals(3, result.getCountrySummary().get("United States"));
+        assertEquals(3, result.getItemTypeSummary().get("Electronics"));
+        assertEquals(3, result.getSalesChannelSummary().get("Online"));
+        assertEquals(3, result.getOrderPrioritySummary().get("H"));
+    }
+
+    @Test
+    void mergeOrderSummary_whenNoSummaries_shouldReturnEmptyCounts() {
+
+        SummaryDTO result = ordersMethods.mergeOrderSummary(List.of());
+
+        assertTrue(result.getRegionSummary().isEmpty());
+        assertTrue(result.getOrderPrioritySummary().isEmpty());
+    }
+
     @Test
     public void testConvertToOrders_HandleInvalidDateFormatException() {
         ContentClientDTO contentClientDTOError = createInvalidContentClientDTO();
@@ -252,4 +355,28 @@ class OrdersMethodsTest {
                 List.of(createContentClientDTO()),
                 linksClientDTO);
     }
-}
\ No newline at end of file
+
+    /**
+     * Builder OrdersSummaryCount
+     *
+     * @return OrdersSummaryCount
+     */
+    private static OrdersSummaryCount createSummaryCount(String dimension, String name, Long total) {
+        return new OrdersSummaryCount() {
+            @Override
+            public String getDimension() {
+                return dimension;
+            }
+
+            @Override
+            public String getName() {
+                return name;
+            }
+
+            @Override
+            public Long getTotal() {
+                return total;
+            }
+        };
+    }
+}
@@ -0,0 +1,34 @@
+package com.consum.orders.domain.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class OrdersPageCursorTest {
+
+    @Test
+    void encodeDecode_shouldReturnOrderId() {
+        String cursor = OrdersPageCursor.encode("443368995");
+
+        assertFalse(cursor.contains("443368995"));
+        assertEquals(Optional.of("443368995"), OrdersPageCursor.decode(cursor));
+    }
+
+    @Test
+    void encode_shouldBeUrlSafe() {
+        String cursor = OrdersPageCursor.encode("??>>id/+");
+
+        assertTrue(cursor.matches("[A-Za-z0-9_-]+"));
+        assertEquals(Optional.of("??>>id/+"), OrdersPageCursor.decode(cursor));
+    }
+
+    @Test
+    void decode_invalidCursor_shouldReturnEmpty() {
+        assertTrue(OrdersPageCursor.decode("no*es*base64").isEmpty());
+        assertTrue(OrdersPageCursor.decode("").isEmpty());
+    }
+}
@@ -0,0 +1,122 @@
+package com.consum.orders.infrastructure.client.decoder;
+
+import com.consum.orders.infrastructure.client.dto.PaginatedOrderClientDTO;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+/**
+ * Compara la decodificación completa de una página con ObjectMapper frente a la decodificación en streaming, midiendo
+ * tiempo, bytes reservados por el hilo y memoria retenida al terminar de leer la página. Se ejecuta con {@code mvn test -Pbenchmark}.
+ */
+@Tag("benchmark")
+class OrdersPageStreamDecoderBenchmarkTest {
+
+    private static final int WARMUP_ROUNDS = 3;
+    private static final int MEASURED_ROUNDS = 5;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final OrdersPageStreamDecoder ordersPageStreamDecoder = new OrdersPageStreamDecoder(objectMapper);
+
+    @ParameterizedTest
+    @ValueSource(ints = {1_000, 10_000, 100_000})
+    void benchmarkDecode(int orders) throws IOException {
+
+        byte[] body = createPageJson(orders);
+
+        for (int i = 0; i < WARMUP_ROUNDS; i++) {
+            decodeFull(body);
+            decodeStreaming(body);
+        }
+
+        Measure full = measure(() -> assertEquals(orders, decodeFull(body)));
+        Measure streaming = measure(() -> assertEquals(orders, decodeStreaming(body)));
+
+        long fullRetained = retainedBytes(() -> objectMapper.readValue(body, PaginatedOrderClientDTO.class));
+        long streamingRetained = retainedBytes(() -> ordersPageStreamDecoder.decode(new ByteArrayInputStream(body),
+                contentClientDTO -> {
+                }));
+
+        System.out.printf("pedidos=%d completo: %.2f ms, %d KB reservados, %d KB retenidos | "
+                        + "streaming: %.2f ms, %d KB reservados, %d KB retenidos%n", orders,
+                full.millis(), full.allocatedBytes() / 1024, fullRetained / 1024,
+                streaming.millis(), streaming.allocatedBytes() / 1024, streamingRetained / 1024);
+    }
+
+    private int decodeFull(byte[] body) throws IOException {
+        return objectMapper.readValue(body, PaginatedOrderClientDTO.class).getContent().size();
+    }
+
+    private int decodeStreaming(byte[] body) throws IOException {
+        AtomicInteger decoded = new AtomicInteger();
+        ordersPageStreamDecoder.decode(new ByteArrayInputStream(body), contentClientDTO -> decoded.incrementAndGet());
+        return decoded.get();
+    }
+
+    private static Measure measure(Round round) throws IOException {
+        com.sun.management.ThreadMXBean threadMXBean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().getId();
+
+        long allocatedBefore = threadMXBean.getThreadAllocatedBytes(threadId);
+        long start = System.nanoTime();
+        for (int i = 0; i < MEASURED_ROUNDS; i++) {
+            round.run();
+        }
+        long elapsedNanos = System.nanoTime() - start;
+        long allocated = threadMXBean.getThreadAllocatedBytes(threadId) - allocatedBefore;
+
+        return new Measure(elapsedNanos / 1_000_000d / MEASURED_ROUNDS, allocated / MEASURED_ROUNDS);
+    }
+
+    /**
+     * Memoria de heap que sigue ocupada tras decodificar una página, mientras se mantiene el resultado.
+     */
+    private static long retainedBytes(Decode decode) throws IOException {
+        MemoryMXBean memoryMXBean = ManagementFactory.getMemoryMXBean();
+
+        System.gc();
+        long usedBefore = memoryMXBean.getHeapMemoryUsage().getUsed();
+        Object result = decode.run();
+        System.gc();
+        long usedAfter = memoryMXBean.getHeapMemoryUsage().getUsed();
+
+        assertNotNull(result);
+        return Math.max(usedAfter - usedBefore, 0);
+    }
+
+    private static byte[] createPageJson(int orders) {
+        StringBuilder json = new StringBuilder("{\"page\":1,\"content\":[");
+        for (int i = 0; i < orders; i++) {
+            if (i > 0) {
+                json.append(',');
+            }
+            json.append(OrdersPageStreamDecoderTest.createOrderJson(String.valueOf(i)));
+        }
+        json.append("],\"links\":{\"self\":\"https://kata-espublicotech.g3stiona.com:443/v1/orders?page=1\"}}");
+        return json.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    @FunctionalInterface
+    private interface Round {
+        void run() throws IOException;
+    }
+
+    @FunctionalInterface
+    private interface Decode {
+        Object run() throws IOException;
+    }
+
+    private record Measure(double millis, long allocatedBytes) {
+    }
+}
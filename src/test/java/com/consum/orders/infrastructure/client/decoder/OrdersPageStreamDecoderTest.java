@@ -0,0 +1,134 @@
+package com.consum.orders.infrastructure.client.decoder;
+
+import com.consum.orders.domain.exception.ProcessingException;
+import com.consum.orders.infrastructure.client.dto.ContentClientDTO;
+import com.consum.orders.infrastructure.client.dto.StreamedPageClientDTO;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OrdersPageStreamDecoderTest {
+
+    private static final String NEXT = "https://kata-espublicotech.g3stiona.com:443/v1/orders?page=2&max-per-page=100";
+    private static final String SELF = "https://kata-espublicotech.g3stiona.com:443/v1/orders?page=1&max-per-page=100";
+
+    private OrdersPageStreamDecoder ordersPageStreamDecoder;
+    private List<ContentClientDTO> decodedOrders;
+
+    @BeforeEach
+    void setUp() {
+        ordersPageStreamDecoder = new OrdersPageStreamDecoder(new ObjectMapper());
+        decodedOrders = new ArrayList<>();
+    }
+
+    @Test
+    void testDecode_StreamsContentInOrder() throws IOException {
+
+        String json = "{\"page\":1,\"content\":[" + createOrderJson("1") + "," + createOrderJson("2") + "],"
+                + "\"links\":{\"next\":\"" + NEXT + "\",\"self\":\"" + SELF + "\"}}";
+
+        StreamedPageClientDTO result = ordersPageStreamDecoder.decode(toInputStream(json), decodedOrders::add);
+
+        assertEquals(1, result.getPage());
+        assertEquals(2, result.getContentSize());
+        assertEquals(NEXT, result.getLinks().getNext());
+        assertEquals(SELF, result.getLinks().getSelf());
+        assertEquals(List.of("1", "2"), decodedOrders.stream().map(ContentClientDTO::getId).toList());
+        assertEquals("North America", decodedOrders.get(0).getRegion());
+        assertEquals(50, decodedOrders.get(0).getUnitsSold());
+        assertEquals(3750.00, decodedOrders.get(0).getTotalRevenue());
+    }
+
+    @Test
+    void testDecode_LinksBeforeContentAndUnknownFields() throws IOException {
+
+        String json = "{\"links\":{\"self\":\"" + SELF + "\"},\"total\":{\"pages\":[1,2]},\"page\":1,"
+                + "\"content\":[" + createOrderJson("1") + "]}";
+
+        StreamedPageClientDTO result = ordersPageStreamDecoder.decode(toInputStream(json), decodedOrders::add);
+
+        assertEquals(1, result.getPage());
+        assertEquals(1, result.getContentSize());
+        assertNull(result.getLinks().getNext());
+        assertEquals(1, decodedOrders.size());
+    }
+
+    @Test
+    void testDecode_EmptyContent() throws IOException {
+
+        StreamedPageClientDTO result = ordersPageStreamDecoder.decode(
+                toInputStream("{\"page\":7,\"content\":[],\"links\":null}"), decodedOrders::add);
+
+        assertEquals(7, result.getPage());
+        assertEquals(0, result.getContentSize());
+        assertNull(result.getLinks());
+        assertTrue(decodedOrders.isEmpty());
+    }
+
+    @Test
+    void testDecode_SkipsNullElements() throws IOException {
+
+        String json = "{\"page\":1,\"content\":[" + createOrderJson("1") + ",null," + createOrderJson("2") + "]}";
+
+        StreamedPageClientDTO result = ordersPageStreamDecoder.decode(toInputStream(json), decodedOrders::add);
+
+        assertEquals(2, result.getContentSize());
+        assertEquals(List.of("1", "2"), decodedOrders.stream().map(ContentClientDTO::getId).toList());
+    }
+
+    @Test
+    void testDecode_UnexpectedElementInContent() {
+
+        String json = "{\"page\":1,\"content\":[" + createOrderJson("1") + ",\"2\"," + createOrderJson("3") + "]}";
+
+        assertThrows(ProcessingException.class,
+                () -> ordersPageStreamDecoder.decode(toInputStream(json), decodedOrders::add));
+        assertEquals(1, decodedOrders.size());
+    }
+
+    @Test
+    void testDecode_TruncatedContent() {
+
+        String json = "{\"page\":1,\"content\":[" + createOrderJson("1") + ",";
+
+        assertThrows(IOException.class,
+                () -> ordersPageStreamDecoder.decode(toInputStream(json), decodedOrders::add));
+    }
+
+    @Test
+    void testDecode_NotAnObject() {
+
+        ProcessingException exception = assertThrows(ProcessingException.class,
+                () -> ordersPageStreamDecoder.decode(toInputStream("[]"), decodedOrders::add));
+
+        assertEquals("Formato inesperado en la página de pedidos: se esperaba un objeto JSON", exception.getMessage());
+    }
+
+    private static InputStream toInputStream(String json) {
+        return new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Builder de un pedido en el formato JSON de la API de Katas
+     *
+     * @param id identificador del pedido
+     * @return pedido en JSON
+     */
+    static String createOrderJson(String id) {
+        return "{\"uuid\":\"1858f59d-8884-41d7-b4fc-88cfbbf00c53\",\"id\":\"" + id + "\",\"region\":\"North America\","
+                + "\"country\":\"United States\",\"item_type\":\"Electronics\",\"sales_channel\":\"Online\","
+                + "\"priority\":\"H\",\"date\":\"1/27/2013\",\"ship_date\":\"2/12/2013\",\"units_sold\":50,"
+                + "\"unit_price\":75.00,\"unit_cost\":20.00,\"total_revenue\":3750.00,\"total_cost\":1000.00,"
+                + "\"total_profit\":2750.00,\"links\":{\"self\":\"https://kata-espublicotech.g3stiona.com:443/v1/orders/"
+                + "1858f59d-8884-41d7-b4fc-88cfbbf00c53\"}}";
+    }
+}
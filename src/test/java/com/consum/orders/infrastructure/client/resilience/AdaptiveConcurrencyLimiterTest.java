@@ -0,0 +1,99 @@
+package com.consum.orders.infrastructure.client.resilience;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AdaptiveConcurrencyLimiterTest {
+
+    private MeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @Test
+    void testOnSuccess_FlatLatencyIncreasesLimit() throws Exception {
+
+        AdaptiveConcurrencyLimiter limiter = createLimiter(4, 10_000);
+
+        for (int round = 0; round < 8; round++) {
+            List<Long> permits = new ArrayList<>();
+            for (int i = 0; i < (int) limiter.getLimit(); i++) {
+                permits.add(limiter.acquire());
+            }
+            permits.forEach(limiter::onSuccess);
+        }
+
+        assertTrue(limiter.getLimit() > 4);
+        assertEquals(0, limiter.getInFlight());
+        assertEquals(limiter.getLimit(), meterRegistry.get("orders.client.limiter.limit").gauge().value());
+    }
+
+    @Test
+    void testOnDrop_BurstOfErrorsDecreasesOnce() throws Exception {
+
+        AdaptiveConcurrencyLimiter limiter = createLimiter(8, 10_000);
+
+        List<Long> permits = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            permits.add(limiter.acquire());
+        }
+        permits.forEach(startNanos -> limiter.onDrop(startNanos, null));
+
+        assertEquals(4, limiter.getLimit());
+        assertEquals(8, meterRegistry.get("orders.client.limiter.drops").counter().count());
+
+        // Una llamada iniciada tras la reducción vuelve a reducir el límite
+        limiter.onDrop(limiter.acquire(), null);
+
+        assertEquals(2, limiter.getLimit());
+    }
+
+    @Test
+    void testAcquire_RetryAfterBlocksNewCalls() throws Exception {
+
+        AdaptiveConcurrencyLimiter limiter = createLimiter(8, 10_000);
+
+        limiter.onDrop(limiter.acquire(), Duration.ofMillis(300));
+        long start = System.nanoTime();
+        limiter.onSuccess(limiter.acquire());
+
+        assertTrue(System.nanoTime() - start >= Duration.ofMillis(250).toNanos());
+    }
+
+    @Test
+    void testAcquire_SaturatedLimitRejects() throws Exception {
+
+        AdaptiveConcurrencyLimiter limiter = createLimiter(1, 100);
+
+        long startNanos = limiter.acquire();
+
+        assertThrows(AdaptiveConcurrencyLimiter.ConcurrencyLimitExceededException.class, limiter::acquire);
+        assertEquals(1, meterRegistry.get("orders.client.limiter.rejections").counter().count());
+
+        limiter.onIgnore();
+        assertEquals(0, limiter.getInFlight());
+        assertTrue(limiter.acquire() >= startNanos);
+    }
+
+    /**
+     * Builder AdaptiveConcurrencyLimiter
+     *
+     * @param initialLimit         límite inicial de llamadas simultáneas
+     * @param acquireTimeoutMillis espera máxima por un permiso
+     * @return AdaptiveConcurrencyLimiter
+     */
+    private AdaptiveConcurrencyLimiter createLimiter(int initialLimit, long acquireTimeoutMillis) {
+        return new AdaptiveConcurrencyLimiter(meterRegistry, initialLimit, 1, 64, 0.5, 1000.0,
+                acquireTimeoutMillis, 60_000, 30_000);
+    }
+}
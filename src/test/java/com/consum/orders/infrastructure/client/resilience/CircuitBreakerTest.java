@@ -0,0 +1,108 @@
+package com.consum.orders.infrastructure.client.resilience;
+
+import feign.FeignException;
+import feign.Request;
+import feign.Response;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CircuitBreakerTest {
+
+    private static final String FALLBACK = "fallback";
+
+    private MeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @Test
+    void testExecute_OpensWhenFailureRateIsReached() {
+
+        CircuitBreaker circuitBreaker = createCircuitBreaker(60_000);
+
+        assertEquals("ok", circuitBreaker.execute(() -> "ok", exception -> FALLBACK));
+        assertEquals(CircuitBreaker.State.CLOSED, circuitBreaker.getState());
+        assertEquals(FALLBACK, circuitBreaker.execute(this::serviceUnavailable, exception -> FALLBACK));
+
+        assertEquals(CircuitBreaker.State.OPEN, circuitBreaker.getState());
+        assertEquals(FALLBACK, circuitBreaker.execute(() -> "ok", exception -> {
+            assertInstanceOf(CircuitBreaker.CircuitOpenException.class, exception);
+            return FALLBACK;
+        }));
+        assertEquals(1, meterRegistry.get("orders.client.circuit.calls").tag("result", "rejected").counter().count());
+        assertEquals(1.0, meterRegistry.get("orders.client.circuit.state").gauge().value());
+    }
+
+    @Test
+    void testExecute_HalfOpenClosesOnSuccessAndReopensOnFailure() throws InterruptedException {
+
+        CircuitBreaker circuitBreaker = createCircuitBreaker(20);
+
+        for (int i = 0; i < 4; i++) {
+            circuitBreaker.execute(this::serviceUnavailable, exception -> FALLBACK);
+        }
+        assertEquals(CircuitBreaker.State.OPEN, circuitBreaker.getState());
+
+        Thread.sleep(30);
+        assertEquals(FALLBACK, circuitBreaker.execute(this::serviceUnavailable, exception -> FALLBACK));
+        assertEquals(CircuitBreaker.State.OPEN, circuitBreaker.getState());
+
+        Thread.sleep(30);
+        assertEquals("ok", circuitBreaker.execute(() -> "ok", exception -> FALLBACK));
+        assertEquals(CircuitBreaker.State.CLOSED, circuitBreaker.getState());
+    }
+
+    @Test
+    void testExecute_ClientErrorsDoNotOpen() {
+
+        CircuitBreaker circuitBreaker = createCircuitBreaker(60_000);
+
+        for (int i = 0; i < 5; i++) {
+            assertThrows(FeignException.NotFound.class, () -> circuitBreaker.execute(() -> {
+                throw createFeignException(404);
+            }, exception -> FALLBACK));
+        }
+
+        assertEquals(CircuitBreaker.State.CLOSED, circuitBreaker.getState());
+        assertTrue(CircuitBreaker.isFailure(createFeignException(429)));
+        assertFalse(CircuitBreaker.isFailure(new IllegalStateException()));
+    }
+
+    private String serviceUnavailable() {
+        throw createFeignException(503);
+    }
+
+    /**
+     * Builder CircuitBreaker: ventana de 10 llamadas, se abre con un 50 % de fallos a partir de 2 llamadas
+     *
+     * @param openDurationMillis tiempo que el circuito permanece abierto
+     * @return CircuitBreaker
+     */
+    private CircuitBreaker createCircuitBreaker(long openDurationMillis) {
+        return new CircuitBreaker(meterRegistry, 10, 2, 0.5, openDurationMillis, 1);
+    }
+
+    /**
+     * Builder FeignException
+     *
+     * @param status código de estado HTTP
+     * @return FeignException del estado indicado
+     */
+    private static FeignException createFeignException(int status) {
+        Request request = Request.create(Request.HttpMethod.GET,
+                "https://kata-espublicotech.g3stiona.com:443/v1/orders/1858f59d-8884-41d7-b4fc-88cfbbf00c53",
+                Map.of(), null, StandardCharsets.UTF_8, null);
+        Response response = Response.builder().status(status).request(request).headers(Map.of())
+                .body("", StandardCharsets.UTF_8).build();
+        return FeignException.errorStatus("KatasClientFeign#getClientOrderByUUID", response);
+    }
+}
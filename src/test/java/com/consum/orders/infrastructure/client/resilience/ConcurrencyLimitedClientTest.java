@@ -0,0 +1,136 @@
+package com.consum.orders.infrastructure.client.resilience;
+
+import feign.Client;
+import feign.Request;
+import feign.Response;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.IOException;
+import java.net.SocketTimeoutException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ConcurrencyLimitedClientTest {
+
+    private static final long START_NANOS = 42L;
+
+    @Mock
+    private Client delegate;
+
+    @Mock
+    private AdaptiveConcurrencyLimiter limiter;
+
+    private ConcurrencyLimitedClient concurrencyLimitedClient;
+
+    @BeforeEach
+    void setUp() {
+        concurrencyLimitedClient = new ConcurrencyLimitedClient(delegate, limiter);
+    }
+
+    @Test
+    void testExecute_SuccessReleasesWithLatency() throws Exception {
+
+        Request request = createRequest();
+
+        Response okResponse = createResponse(request, 200, Map.of());
+
+        when(limiter.acquire()).thenReturn(START_NANOS);
+        when(delegate.execute(request, null)).thenReturn(okResponse);
+
+        assertSame(okResponse, concurrencyLimitedClient.execute(request, null));
+        verify(limiter, times(1)).onSuccess(START_NANOS);
+        verify(limiter, never()).onDrop(anyLong(), any());
+    }
+
+    @Test
+    void testExecute_TooManyRequestsDropsWithRetryAfter() throws Exception {
+
+        Request request = createRequest();
+
+        when(limiter.acquire()).thenReturn(START_NANOS);
+        when(delegate.execute(request, null)).thenReturn(createResponse(request, 429,
+                Map.of("retry-after", List.of("5"))));
+
+        assertEquals(429, concurrencyLimitedClient.execute(request, null).status());
+        verify(limiter, times(1)).onDrop(START_NANOS, Duration.ofSeconds(5));
+        verify(limiter, never()).onSuccess(anyLong());
+    }
+
+    @Test
+    void testExecute_TimeoutDropsAndRethrows() throws Exception {
+
+        Request request = createRequest();
+
+        when(limiter.acquire()).thenReturn(START_NANOS);
+        when(delegate.execute(request, null)).thenThrow(new SocketTimeoutException("Read timed out"));
+
+        assertThrows(SocketTimeoutException.class, () -> concurrencyLimitedClient.execute(request, null));
+        verify(limiter, times(1)).onDrop(eq(START_NANOS), isNull());
+    }
+
+    @Test
+    void testExecute_OtherErrorReleasesWithoutDrop() throws Exception {
+
+        Request request = createRequest();
+
+        when(limiter.acquire()).thenReturn(START_NANOS);
+        when(delegate.execute(request, null)).thenThrow(new IOException("Connection reset"));
+
+        assertThrows(IOException.class, () -> concurrencyLimitedClient.execute(request, null));
+        verify(limiter, times(1)).onIgnore();
+        verify(limiter, never()).onDrop(anyLong(), any());
+    }
+
+    @Test
+    void testRetryAfter_SecondsAndHttpDate() {
+
+        String inTenSeconds = DateTimeFormatter.RFC_1123_DATE_TIME.format(ZonedDateTime.now(ZoneOffset.UTC).plusSeconds(10));
+
+        assertEquals(Duration.ofSeconds(30),
+                ConcurrencyLimitedClient.retryAfter(Map.of(ConcurrencyLimitedClient.RETRY_AFTER, List.of("30"))));
+        Duration untilDate = ConcurrencyLimitedClient.retryAfter(Map.of("retry-after", List.of(inTenSeconds)));
+        assertTrue(untilDate.getSeconds() > 5 && untilDate.getSeconds() <= 10);
+        assertNull(ConcurrencyLimitedClient.retryAfter(Map.of("retry-after", List.of("pronto"))));
+        assertNull(ConcurrencyLimitedClient.retryAfter(Map.of()));
+    }
+
+    /**
+     * Builder Request de Feign
+     *
+     * @return Request
+     */
+    private static Request createRequest() {
+        return Request.create(Request.HttpMethod.GET, "https://kata-espublicotech.g3stiona.com:443/v1/orders",
+                Map.of(), null, StandardCharsets.UTF_8, null);
+    }
+
+    /**
+     * Builder Response de Feign
+     *
+     * @param request petición de origen
+     * @param status  código HTTP de la respuesta
+     * @param headers cabeceras de la respuesta
+     * @return Response
+     */
+    private static Response createResponse(Request request, int status, Map<String, Collection<String>> headers) {
+        return Response.builder().status(status).request(request).headers(headers).body(new byte[0]).build();
+    }
+}
@@ -0,0 +1,219 @@
+package com.consum.orders.infrastructure.client.resilience;
+
+import com.consum.orders.domain.exception.ProcessingException;
+import com.consum.orders.infrastructure.client.dto.ContentClientDTO;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RequestCoalescerTest {
+
+    private static final String CACHE = "clientOrderCache";
+    private static final String UUID = "1858f59d-8884-41d7-b4fc-88cfbbf00c53";
+    private static final String MARKER = "orders:inflight:clientOrderCache::" + UUID;
+
+    @Mock
+    private StringRedisTemplate stringRedisTemplate;
+
+    @Mock
+    private ValueOperations<String, String> valueOperations;
+
+    @Mock
+    private CacheManager cacheManager;
+
+    @Mock
+    private Cache cache;
+
+    private MeterRegistry meterRegistry;
+    private ContentClientDTO contentClientDTO;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        contentClientDTO = new ContentClientDTO();
+    }
+
+    @Test
+    void testExecute_ConcurrentCallersShareOneLoad() throws Exception {
+
+        RequestCoalescer requestCoalescer = createRequestCoalescer(false);
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService callers = Executors.newFixedThreadPool(4);
+
+        try {
+            List<Future<ContentClientDTO>> results = new ArrayList<>();
+            results.add(callers.submit(() -> requestCoalescer.execute(CACHE, UUID, ContentClientDTO.class, () -> {
+                loads.incrementAndGet();
+                loading.countDown();
+                awaitLatch(release);
+                return contentClientDTO;
+            })));
+            assertTrue(loading.await(5, TimeUnit.SECONDS));
+            for (int i = 0; i < 3; i++) {
+                results.add(callers.submit(() -> requestCoalescer.execute(CACHE, UUID, ContentClientDTO.class, () -> {
+                    loads.incrementAndGet();
+                    return new ContentClientDTO();
+                })));
+            }
+            awaitCoalesced(3);
+            release.countDown();
+
+            for (Future<ContentClientDTO> result : results) {
+                assertSame(contentClientDTO, result.get(5, TimeUnit.SECONDS));
+            }
+        } finally {
+            callers.shutdownNow();
+        }
+
+        assertEquals(1, loads.get());
+        assertEquals(1.0, meterRegistry.counter("orders.client.coalescing", "cache", CACHE, "result", "leader").count());
+    }
+
+    @Test
+    void testExecute_LeaderPublishesAndReleasesMarker() {
+
+        RequestCoalescer requestCoalescer = createRequestCoalescer(true);
+
+        when(stringRedisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(valueOperations.setIfAbsent(eq(MARKER), anyString(), any(Duration.class))).thenReturn(true);
+        when(cacheManager.getCache(CACHE)).thenReturn(cache);
+
+        ContentClientDTO result = requestCoalescer.execute(CACHE, UUID, ContentClientDTO.class, () -> contentClientDTO);
+
+        assertSame(contentClientDTO, result);
+        verify(cache, times(1)).put(UUID, contentClientDTO);
+        verify(valueOperations, times(1)).get(MARKER);
+    }
+
+    @Test
+    void testExecute_LocalLoadIsPublished() {
+
+        RequestCoalescer requestCoalescer = createRequestCoalescer(false);
+
+        when(cacheManager.getCache(CACHE)).thenReturn(cache);
+
+        ContentClientDTO result = requestCoalescer.execute(CACHE, UUID, ContentClientDTO.class, () -> contentClientDTO);
+
+        assertSame(contentClientDTO, result);
+        verify(cache, times(1)).put(UUID, contentClientDTO);
+        verifyNoInteractions(stringRedisTemplate);
+    }
+
+    @Test
+    void testExecute_PublishFailureReturnsLoadedValue() {
+
+        RequestCoalescer requestCoalescer = createRequestCoalescer(false);
+
+        when(cacheManager.getCache(CACHE)).thenReturn(cache);
+        doThrow(new RedisConnectionFailureException("Redis no disponible")).when(cache).put(UUID, contentClientDTO);
+
+        assertSame(contentClientDTO, requestCoalescer.execute(CACHE, UUID, ContentClientDTO.class, () -> contentClientDTO));
+    }
+
+    @Test
+    void testExecute_FailedLoadIsNotPublished() {
+
+        RequestCoalescer requestCoalescer = createRequestCoalescer(true);
+        ProcessingException failure = new ProcessingException("API de Katas no disponible");
+
+        when(stringRedisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(valueOperations.setIfAbsent(eq(MARKER), anyString(), any(Duration.class))).thenReturn(true);
+
+        ProcessingException exception = assertThrows(ProcessingException.class,
+                () -> requestCoalescer.execute(CACHE, UUID, ContentClientDTO.class, () -> {
+                    throw failure;
+                }));
+
+        assertSame(failure, exception);
+        verifyNoInteractions(cacheManager);
+        verify(valueOperations, times(1)).get(MARKER);
+    }
+
+    @Test
+    void testExecute_WaitsForRemoteLoad() {
+
+        RequestCoalescer requestCoalescer = createRequestCoalescer(true);
+
+        when(stringRedisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(valueOperations.setIfAbsent(eq(MARKER), anyString(), any(Duration.class))).thenReturn(false);
+        when(cacheManager.getCache(CACHE)).thenReturn(cache);
+        when(cache.get(UUID, ContentClientDTO.class)).thenReturn(null, contentClientDTO);
+        when(stringRedisTemplate.hasKey(MARKER)).thenReturn(true);
+
+        ContentClientDTO result = requestCoalescer.execute(CACHE, UUID, ContentClientDTO.class, () -> {
+            throw new ProcessingException("No debe llamarse a la API de Katas");
+        });
+
+        assertSame(contentClientDTO, result);
+        assertEquals(1.0, meterRegistry.counter("orders.client.coalescing", "cache", CACHE, "result", "remote").count());
+    }
+
+    @Test
+    void testExecute_RedisUnavailable_LoadsLocally() {
+
+        RequestCoalescer requestCoalescer = createRequestCoalescer(true);
+
+        when(stringRedisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(valueOperations.setIfAbsent(eq(MARKER), anyString(), any(Duration.class)))
+                .thenThrow(new RedisConnectionFailureException("Redis no disponible"));
+
+        ContentClientDTO result = requestCoalescer.execute(CACHE, UUID, ContentClientDTO.class, () -> contentClientDTO);
+
+        assertSame(contentClientDTO, result);
+        verifyNoInteractions(cacheManager);
+    }
+
+    private void awaitCoalesced(int expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (meterRegistry.counter("orders.client.coalescing", "cache", CACHE, "result", "coalesced").count() < expected) {
+            assertTrue(System.nanoTime() < deadline, "Las peticiones no se han agrupado");
+            Thread.sleep(5);
+        }
+    }
+
+    private static void awaitLatch(CountDownLatch latch) {
+        try {
+            assertTrue(latch.await(5, TimeUnit.SECONDS));
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Builder RequestCoalescer
+     *
+     * @param distributed si se coordina la carga entre nodos a través de Redis
+     * @return RequestCoalescer
+     */
+    private RequestCoalescer createRequestCoalescer(boolean distributed) {
+        return new RequestCoalescer(stringRedisTemplate, cacheManager, meterRegistry, distributed, 500, 5);
+    }
+}
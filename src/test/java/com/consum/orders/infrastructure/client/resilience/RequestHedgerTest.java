@@ -0,0 +1,118 @@
+package com.consum.orders.infrastructure.client.resilience;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RequestHedgerTest {
+
+    private static final long MIN_DELAY_MILLIS = 5;
+    private static final long MAX_DELAY_MILLIS = 50;
+
+    private MeterRegistry meterRegistry;
+    private ExecutorService orderHedgeExecutor;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        orderHedgeExecutor = Executors.newCachedThreadPool();
+    }
+
+    @AfterEach
+    void tearDown() {
+        orderHedgeExecutor.shutdownNow();
+    }
+
+    @Test
+    void testExecute_SlowPrimaryIsHedged() {
+
+        RequestHedger requestHedger = createHedger(100);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger attempts = new AtomicInteger();
+
+        String result = requestHedger.execute(() -> {
+            if (attempts.incrementAndGet() == 1) {
+                await(release);
+                return "primary";
+            }
+            return "hedge";
+        });
+        release.countDown();
+
+        assertEquals("hedge", result);
+        assertEquals(2, attempts.get());
+        assertEquals(1, meterRegistry.get("orders.client.hedging.sent").counter().count());
+        assertEquals(1, meterRegistry.get("orders.client.hedging.requests").tag("winner", "hedge").counter().count());
+    }
+
+    @Test
+    void testExecute_FastPrimaryIsNotHedged() {
+
+        RequestHedger requestHedger = createHedger(100);
+        AtomicInteger attempts = new AtomicInteger();
+
+        assertEquals("primary", requestHedger.execute(() -> {
+            attempts.incrementAndGet();
+            return "primary";
+        }));
+
+        assertEquals(1, attempts.get());
+        assertEquals(0, meterRegistry.get("orders.client.hedging.sent").counter().count());
+        assertEquals(1, meterRegistry.get("orders.client.order.latency").timer().count());
+    }
+
+    @Test
+    void testExecute_DelayFollowsObservedP95() {
+
+        RequestHedger requestHedger = createHedger(10);
+
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(MAX_DELAY_MILLIS), requestHedger.getHedgeDelayNanos());
+        for (int i = 0; i < 10; i++) {
+            requestHedger.execute(() -> "primary");
+        }
+
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(MIN_DELAY_MILLIS), requestHedger.getHedgeDelayNanos());
+    }
+
+    @Test
+    void testExecute_ErrorIsPropagatedWhenEveryAttemptFails() {
+
+        RequestHedger requestHedger = createHedger(100);
+
+        IllegalStateException exception = assertThrows(IllegalStateException.class,
+                () -> requestHedger.execute(() -> {
+                    throw new IllegalStateException("Service Unavailable");
+                }));
+
+        assertEquals("Service Unavailable", exception.getMessage());
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Builder RequestHedger
+     *
+     * @param minSamples llamadas necesarias para calcular el p95
+     * @return RequestHedger
+     */
+    private RequestHedger createHedger(int minSamples) {
+        return new RequestHedger(orderHedgeExecutor, meterRegistry, true, MIN_DELAY_MILLIS, MAX_DELAY_MILLIS, 100,
+                minSamples, 0.1);
+    }
+}
@@ -0,0 +1,282 @@
+package com.consum.orders.infrastructure.client.standin;
+
+import com.consum.orders.infrastructure.client.dto.ContentClientDTO;
+import com.consum.orders.infrastructure.client.dto.LinksClientDTO;
+import com.consum.orders.infrastructure.client.dto.PaginatedOrderClientDTO;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import lombok.Builder;
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Sustituto local de la API de Katas para pruebas de rendimiento sin conexión.
+ * <p>
+ * Sirve {@code GET /v1/orders?page=N&maxPerPage=M} y {@code GET /v1/orders/{uuid}} con el mismo JSON que la API real
+ * (incluido {@code links.next} mientras quedan páginas), a partir de los pedidos de {@link SyntheticOrderGenerator}.
+ * Se pueden simular la latencia (distribución log-normal definida por su mediana y su p99), una proporción de errores
+ * 503 y un límite de peticiones por segundo que responde 429 con {@code Retry-After}.
+ * <p>
+ * Para apuntar la aplicación al sustituto: arrancarlo con {@link #main(String[])} y lanzar la aplicación con
+ * {@code --orders.client.base-url=http://localhost:<puerto>/v1/}.
+ */
+@Slf4j
+public class KatasApiStandIn implements AutoCloseable {
+
+    private static final String BASE_PATH = "/v1/";
+    private static final String ORDERS_PATH = BASE_PATH + "orders";
+    private static final double P99_Z_SCORE = 2.326;
+
+    private final Settings settings;
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final SyntheticOrderGenerator generator;
+
+    private final AtomicInteger requests = new AtomicInteger();
+    private final AtomicInteger errors = new AtomicInteger();
+    private final AtomicInteger throttled = new AtomicInteger();
+
+    private final Object throttleLock = new Object();
+    private long throttleWindowStart = System.nanoTime();
+    private int throttleWindowRequests;
+
+    /**
+     * Configuración del sustituto. Los valores por defecto sirven respuestas inmediatas y sin errores.
+     */
+    @Value
+    @Builder
+    public static class Settings {
+        @Builder.Default
+        int port = 0;
+        @Builder.Default
+        long seed = 42L;
+        @Builder.Default
+        int totalOrders = 1_000;
+        @Builder.Default
+        int defaultPageSize = 100;
+        @Builder.Default
+        int maxPageSize = 1_000;
+        @Builder.Default
+        long medianLatencyMillis = 0;
+        @Builder.Default
+        long p99LatencyMillis = 0;
+        @Builder.Default
+        double errorRate = 0;
+        @Builder.Default
+        int maxRequestsPerSecond = 0;
+        @Builder.Default
+        int retryAfterSeconds = 1;
+    }
+
+    private KatasApiStandIn(Settings settings) throws IOException {
+        this.settings = settings;
+        this.server = HttpServer.create(new InetSocketAddress("localhost", settings.getPort()), 0);
+        this.executor = Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "katas-stand-in");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.generator = new SyntheticOrderGenerator(settings.getSeed(), settings.getTotalOrders(), getBaseUrl());
+        server.createContext(ORDERS_PATH, this::handle);
+        server.setExecutor(executor);
+    }
+
+    /**
+     * Arranca el sustituto en el puerto indicado en la configuración (0 para uno libre).
+     *
+     * @param settings configuración del sustituto
+     * @return sustituto en marcha
+     * @throws IOException si no se puede abrir el puerto
+     */
+    public static KatasApiStandIn start(Settings settings) throws IOException {
+        KatasApiStandIn standIn = new KatasApiStandIn(settings);
+        standIn.server.start();
+        log.info("Sustituto de la API de Katas escuchando en {} con {} pedidos", standIn.getBaseUrl(),
+                settings.getTotalOrders());
+        return standIn;
+    }
+
+    /**
+     * Arranca el sustituto como proceso independiente. Argumentos opcionales, en este orden: puerto, pedidos, mediana y
+     * p99 de la latencia en milisegundos, proporción de errores y peticiones por segundo.
+     *
+     * @param args argumentos de la línea de comandos
+     * @throws Exception si no se puede arrancar
+     */
+    public static void main(String[] args) throws Exception {
+        Settings settings = Settings.builder()
+                .port(args.length > 0 ? Integer.parseInt(args[0]) : 8089)
+                .totalOrders(args.length > 1 ? Integer.parseInt(args[1]) : 100_000)
+                .medianLatencyMillis(args.length > 2 ? Long.parseLong(args[2]) : 20)
+                .p99LatencyMillis(args.length > 3 ? Long.parseLong(args[3]) : 200)
+                .errorRate(args.length > 4 ? Double.parseDouble(args[4]) : 0)
+                .maxRequestsPerSecond(args.length > 5 ? Integer.parseInt(args[5]) : 0)
+                .build();
+        start(settings);
+        Thread.currentThread().join();
+    }
+
+    public String getBaseUrl() {
+        return "http://localhost:" + server.getAddress().getPort() + BASE_PATH;
+    }
+
+    public SyntheticOrderGenerator getGenerator() {
+        return generator;
+    }
+
+    public int getRequests() {
+        return requests.get();
+    }
+
+    public int getErrors() {
+        return errors.get();
+    }
+
+    public int getThrottled() {
+        return throttled.get();
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            requests.incrementAndGet();
+            if (!"GET".equals(exchange.getRequestMethod())) {
+                send(exchange, 405, null);
+                return;
+            }
+            if (isThrottled()) {
+                throttled.incrementAndGet();
+                exchange.getResponseHeaders().add("Retry-After", String.valueOf(settings.getRetryAfterSeconds()));
+                send(exchange, 429, null);
+                return;
+            }
+
+            simulateLatency();
+            if (settings.getErrorRate() > 0 && ThreadLocalRandom.current().nextDouble() < settings.getErrorRate()) {
+                errors.incrementAndGet();
+                send(exchange, 503, null);
+                return;
+            }
+
+            String path = exchange.getRequestURI().getPath();
+            if (path.equals(ORDERS_PATH) || path.equals(ORDERS_PATH + "/")) {
+                send(exchange, 200, page(queryParameters(exchange.getRequestURI())));
+            } else {
+                int index = generator.indexOf(path.substring(ORDERS_PATH.length() + 1));
+                send(exchange, index < 0 ? 404 : 200, index < 0 ? null : generator.order(index));
+            }
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private PaginatedOrderClientDTO page(Map<String, String> parameters) {
+        int page = Math.max(1, parseInt(parameters.get("page"), 1));
+        int pageSize = parseInt(parameters.getOrDefault("maxPerPage", parameters.get("max-per-page")),
+                settings.getDefaultPageSize());
+        pageSize = Math.max(1, Math.min(pageSize, settings.getMaxPageSize()));
+
+        long first = (long) (page - 1) * pageSize;
+        long last = Math.min(first + pageSize, generator.getTotalOrders());
+        List<ContentClientDTO> content = new ArrayList<>();
+        for (long index = first; index < last; index++) {
+            content.add(generator.order((int) index));
+        }
+
+        String self = getBaseUrl() + "orders?page=" + page + "&max-per-page=" + pageSize;
+        String next = last < generator.getTotalOrders()
+                ? getBaseUrl() + "orders?page=" + (page + 1) + "&max-per-page=" + pageSize
+                : null;
+        return new PaginatedOrderClientDTO(page, content, new LinksClientDTO(next, self));
+    }
+
+    /**
+     * Límite de peticiones por segundo en ventanas fijas de un segundo.
+     */
+    private boolean isThrottled() {
+        if (settings.getMaxRequestsPerSecond() <= 0) {
+            return false;
+        }
+        synchronized (throttleLock) {
+            long now = System.nanoTime();
+            if (now - throttleWindowStart >= TimeUnit.SECONDS.toNanos(1)) {
+                throttleWindowStart = now;
+                throttleWindowRequests = 0;
+            }
+            return ++throttleWindowRequests > settings.getMaxRequestsPerSecond();
+        }
+    }
+
+    /**
+     * Espera una latencia log-normal con la mediana y el p99 configurados.
+     */
+    private void simulateLatency() throws InterruptedException {
+        long median = settings.getMedianLatencyMillis();
+        if (median <= 0) {
+            return;
+        }
+        long p99 = Math.max(settings.getP99LatencyMillis(), median);
+        double sigma = Math.log((double) p99 / median) / P99_Z_SCORE;
+        double latency = median * Math.exp(sigma * ThreadLocalRandom.current().nextGaussian());
+        TimeUnit.MICROSECONDS.sleep((long) (latency * 1000));
+    }
+
+    private void send(HttpExchange exchange, int status, Object body) throws IOException {
+        if (body == null) {
+            exchange.sendResponseHeaders(status, -1);
+            return;
+        }
+        byte[] json = objectMapper.writeValueAsBytes(body);
+        exchange.getResponseHeaders().add("Content-Type", "application/hal+json");
+        exchange.sendResponseHeaders(status, json.length);
+        try (OutputStream output = exchange.getResponseBody()) {
+            output.write(json);
+        }
+    }
+
+    private static Map<String, String> queryParameters(URI uri) {
+        Map<String, String> parameters = new HashMap<>();
+        if (uri.getRawQuery() == null) {
+            return parameters;
+        }
+        for (String pair : uri.getRawQuery().split("&")) {
+            int separator = pair.indexOf('=');
+            if (separator > 0) {
+                parameters.put(URLDecoder.decode(pair.substring(0, separator), StandardCharsets.UTF_8),
+                        URLDecoder.decode(pair.substring(separator + 1), StandardCharsets.UTF_8));
+            }
+        }
+        return parameters;
+    }
+
+    private static int parseInt(String value, int defaultValue) {
+        try {
+            return value != null ? Integer.parseInt(value) : defaultValue;
+        } catch (NumberFormatException exception) {
+            return defaultValue;
+        }
+    }
+}
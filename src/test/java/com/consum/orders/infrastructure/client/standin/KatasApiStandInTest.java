@@ -0,0 +1,128 @@
+package com.consum.orders.infrastructure.client.standin;
+
+import com.consum.orders.infrastructure.client.KatasClientFeign;
+import com.consum.orders.infrastructure.client.decoder.OrdersPageStreamDecoder;
+import com.consum.orders.infrastructure.client.dto.ContentClientDTO;
+import com.consum.orders.infrastructure.client.dto.PaginatedOrderClientDTO;
+import com.consum.orders.infrastructure.client.dto.StreamedPageClientDTO;
+import com.consum.orders.infrastructure.client.resilience.AdaptiveConcurrencyLimiter;
+import com.consum.orders.infrastructure.client.resilience.ConcurrencyLimitedClient;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import feign.Client;
+import feign.Feign;
+import feign.FeignException;
+import feign.Response;
+import feign.RetryableException;
+import feign.Retryer;
+import feign.jackson.JacksonDecoder;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.openfeign.support.SpringMvcContract;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class KatasApiStandInTest {
+
+    @Test
+    void testGetClientOrders_FollowsNextLinksToTheEnd() throws IOException {
+
+        try (KatasApiStandIn standIn = KatasApiStandIn.start(KatasApiStandIn.Settings.builder().totalOrders(250).build())) {
+            KatasClientFeign katasClientFeign = createFeignClient(standIn, new Client.Default(null, null));
+
+            List<ContentClientDTO> orders = new ArrayList<>();
+            PaginatedOrderClientDTO page;
+            int pageNumber = 1;
+            do {
+                page = katasClientFeign.getClientOrders(String.valueOf(pageNumber++), "100");
+                orders.addAll(page.getContent());
+            } while (page.getLinks().getNext() != null);
+
+            assertEquals(3, page.getPage());
+            assertEquals(250, orders.size());
+            assertEquals(standIn.getGenerator().order(249).getUuid(), orders.get(249).getUuid());
+            assertEquals(standIn.getBaseUrl() + "orders?page=3&max-per-page=100", page.getLinks().getSelf());
+        }
+    }
+
+    @Test
+    void testGetClientOrderByUUID_DeterministicCatalog() throws IOException {
+
+        try (KatasApiStandIn standIn = KatasApiStandIn.start(KatasApiStandIn.Settings.builder().build())) {
+            KatasClientFeign katasClientFeign = createFeignClient(standIn, new Client.Default(null, null));
+            SyntheticOrderGenerator sameSeed = new SyntheticOrderGenerator(42L, 1_000, standIn.getBaseUrl());
+            String uuid = sameSeed.order(7).getUuid();
+
+            ContentClientDTO order = katasClientFeign.getClientOrderByUUID(uuid);
+
+            assertEquals(uuid, order.getUuid());
+            assertEquals(sameSeed.order(7).getTotalProfit(), order.getTotalProfit());
+            assertEquals(standIn.getBaseUrl() + "orders/" + uuid, order.getLinks().getSelf());
+            assertThrows(FeignException.NotFound.class,
+                    () -> katasClientFeign.getClientOrderByUUID("1858f59d-8884-41d7-b4fc-88cfbbf00c53"));
+        }
+    }
+
+    @Test
+    void testGetClientOrdersStream_DecodesStandInPage() throws IOException {
+
+        try (KatasApiStandIn standIn = KatasApiStandIn.start(KatasApiStandIn.Settings.builder().totalOrders(50).build());
+             Response response = createFeignClient(standIn, new Client.Default(null, null)).getClientOrdersStream("1", "100")) {
+            List<ContentClientDTO> orders = new ArrayList<>();
+
+            StreamedPageClientDTO streamedPage = new OrdersPageStreamDecoder(new ObjectMapper())
+                    .decode(response.body().asInputStream(), orders::add);
+
+            assertEquals(50, streamedPage.getContentSize());
+            assertNull(streamedPage.getLinks().getNext());
+            assertEquals(standIn.getGenerator().order(0).getUuid(), orders.get(0).getUuid());
+        }
+    }
+
+    @Test
+    void testErrorsAndThrottling() throws IOException {
+
+        KatasApiStandIn.Settings failing = KatasApiStandIn.Settings.builder().errorRate(1.0).build();
+        try (KatasApiStandIn standIn = KatasApiStandIn.start(failing)) {
+            KatasClientFeign katasClientFeign = createFeignClient(standIn, new Client.Default(null, null));
+
+            assertThrows(FeignException.ServiceUnavailable.class, () -> katasClientFeign.getClientOrders("1", "10"));
+            assertEquals(1, standIn.getErrors());
+        }
+
+        KatasApiStandIn.Settings throttling = KatasApiStandIn.Settings.builder().maxRequestsPerSecond(1).build();
+        try (KatasApiStandIn standIn = KatasApiStandIn.start(throttling)) {
+            AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(new SimpleMeterRegistry(), 8, 1, 64,
+                    0.5, 2.0, 1_000, 60_000, 30_000);
+            KatasClientFeign katasClientFeign = createFeignClient(standIn,
+                    new ConcurrencyLimitedClient(new Client.Default(null, null), limiter));
+
+            katasClientFeign.getClientOrders("1", "10");
+            // Con Retry-After, el decodificador de errores de Feign convierte el 429 en RetryableException
+            assertThrows(RetryableException.class, () -> katasClientFeign.getClientOrders("2", "10"));
+
+            assertEquals(1, standIn.getThrottled());
+            assertEquals(4, limiter.getLimit());
+        }
+    }
+
+    /**
+     * Builder del cliente Feign de la API de Katas apuntando al sustituto, con el mismo contrato, decodificador y
+     * política de reintentos que la aplicación
+     *
+     * @param standIn sustituto de la API de Katas
+     * @param client  transporte HTTP
+     * @return KatasClientFeign
+     */
+    private static KatasClientFeign createFeignClient(KatasApiStandIn standIn, Client client) {
+        return Feign.builder()
+                .client(client)
+                .retryer(Retryer.NEVER_RETRY)
+                .contract(new SpringMvcContract())
+                .decoder(new JacksonDecoder(new ObjectMapper()))
+                .target(KatasClientFeign.class, standIn.getBaseUrl());
+    }
+}
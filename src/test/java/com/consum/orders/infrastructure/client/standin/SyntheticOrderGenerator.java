@@ -0,0 +1,140 @@
+package com.consum.orders.infrastructure.client.standin;
+
+import com.consum.orders.infrastructure.client.dto.ContentClientDTO;
+import com.consum.orders.infrastructure.client.dto.ContentLinksDTO;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.UUID;
+
+/**
+ * Generador determinista de pedidos sintéticos con la forma de la API de Katas.
+ * <p>
+ * Cada pedido depende solo de la semilla y de su posición en el catálogo, así que se puede generar cualquier página sin
+ * generar las anteriores y dos ejecuciones con la misma semilla devuelven los mismos datos. La posición va codificada en
+ * el UUID, de modo que la consulta por UUID tampoco necesita guardar nada en memoria.
+ */
+public class SyntheticOrderGenerator {
+
+    private static final List<String> REGIONS = List.of("Europe", "Asia", "Sub-Saharan Africa",
+            "Middle East and North Africa", "Central America and the Caribbean", "Australia and Oceania", "North America");
+    private static final List<List<String>> COUNTRIES = List.of(
+            List.of("Spain", "France", "Germany", "Italy", "Portugal", "Norway"),
+            List.of("Japan", "China", "India", "Vietnam", "Mongolia"),
+            List.of("Nigeria", "Kenya", "Ghana", "Senegal", "Angola"),
+            List.of("Morocco", "Egypt", "Tunisia", "Jordan", "Oman"),
+            List.of("Mexico", "Cuba", "Panama", "Honduras", "Jamaica"),
+            List.of("Australia", "New Zealand", "Fiji", "Samoa"),
+            List.of("United States", "Canada", "Greenland"));
+    private static final List<String> ITEM_TYPES = List.of("Baby Food", "Beverages", "Cereal", "Clothes", "Cosmetics",
+            "Fruits", "Household", "Meat", "Office Supplies", "Personal Care", "Snacks", "Vegetables");
+    private static final List<String> SALES_CHANNELS = List.of("Online", "Offline");
+    private static final List<String> PRIORITIES = List.of("C", "H", "M", "L");
+
+    private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("dd/MM/yyyy");
+    private static final LocalDate FIRST_DATE = LocalDate.of(2010, 1, 1);
+    private static final int DATE_RANGE_DAYS = 365 * 7;
+    private static final long INDEX_MASK = 0x3FFF_FFFF_FFFF_FFFFL;
+    private static final long UUID_VARIANT = 0x8000_0000_0000_0000L;
+
+    private final long seed;
+    private final int totalOrders;
+    private final String baseUrl;
+
+    /**
+     * @param seed        semilla de los datos
+     * @param totalOrders pedidos del catálogo
+     * @param baseUrl     URL base de la API, con la barra final, para los enlaces HAL
+     */
+    public SyntheticOrderGenerator(long seed, int totalOrders, String baseUrl) {
+        this.seed = seed;
+        this.totalOrders = totalOrders;
+        this.baseUrl = baseUrl;
+    }
+
+    public int getTotalOrders() {
+        return totalOrders;
+    }
+
+    /**
+     * Genera el pedido de una posición del catálogo.
+     *
+     * @param index posición del pedido, desde 0
+     * @return ContentClientDTO con datos sintéticos válidos
+     */
+    public ContentClientDTO order(int index) {
+        SplittableRandom random = new SplittableRandom(mix(seed + index));
+        String uuid = uuid(index, random.nextLong()).toString();
+
+        int region = random.nextInt(REGIONS.size());
+        List<String> countries = COUNTRIES.get(region);
+        LocalDate orderDate = FIRST_DATE.plusDays(random.nextInt(DATE_RANGE_DAYS));
+        LocalDate shipDate = orderDate.plusDays(1 + random.nextInt(50));
+
+        int unitsSold = 1 + random.nextInt(10_000);
+        double unitPrice = cents(5 + random.nextDouble() * 650);
+        double unitCost = cents(unitPrice * (0.4 + random.nextDouble() * 0.5));
+        double totalRevenue = cents(unitsSold * unitPrice);
+        double totalCost = cents(unitsSold * unitCost);
+
+        return new ContentClientDTO(uuid,
+                String.valueOf(100_000_000 + index),
+                REGIONS.get(region),
+                countries.get(random.nextInt(countries.size())),
+                ITEM_TYPES.get(random.nextInt(ITEM_TYPES.size())),
+                SALES_CHANNELS.get(random.nextInt(SALES_CHANNELS.size())),
+                PRIORITIES.get(random.nextInt(PRIORITIES.size())),
+                DATE_FORMAT.format(orderDate),
+                DATE_FORMAT.format(shipDate),
+                unitsSold,
+                unitPrice,
+                unitCost,
+                totalRevenue,
+                totalCost,
+                cents(totalRevenue - totalCost),
+                new ContentLinksDTO(baseUrl + "orders/" + uuid));
+    }
+
+    /**
+     * Localiza la posición de un pedido a partir de su UUID.
+     *
+     * @param uuid UUID del pedido
+     * @return posición del pedido, o -1 si el UUID no pertenece al catálogo
+     */
+    public int indexOf(String uuid) {
+        UUID parsed;
+        try {
+            parsed = UUID.fromString(uuid);
+        } catch (IllegalArgumentException exception) {
+            return -1;
+        }
+
+        long index = parsed.getLeastSignificantBits() & INDEX_MASK;
+        if (index >= totalOrders) {
+            return -1;
+        }
+        return order((int) index).getUuid().equals(uuid) ? (int) index : -1;
+    }
+
+    private static UUID uuid(int index, long randomBits) {
+        // Versión 4 en la parte alta y la posición del pedido en la baja
+        long mostSignificantBits = (randomBits & 0xFFFF_FFFF_FFFF_0FFFL) | 0x0000_0000_0000_4000L;
+        return new UUID(mostSignificantBits, (index & INDEX_MASK) | UUID_VARIANT);
+    }
+
+    private static double cents(double amount) {
+        return Math.round(amount * 100) / 100.0;
+    }
+
+    /**
+     * Mezcla de bits de SplitMix64 para que semillas consecutivas den secuencias independientes.
+     */
+    private static long mix(long value) {
+        long z = value * 0x9E37_79B9_7F4A_7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58_476D_1CE4_E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D0_49BB_1331_11EBL;
+        return z ^ (z >>> 31);
+    }
+}
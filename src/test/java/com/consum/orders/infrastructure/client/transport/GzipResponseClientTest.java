@@ -0,0 +1,98 @@
+package com.consum.orders.infrastructure.client.transport;
+
+import feign.Client;
+import feign.Request;
+import feign.Response;
+import feign.Util;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.GZIPOutputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class GzipResponseClientTest {
+
+    private static final String BODY = "{\"page\":1,\"content\":[]}";
+
+    @Mock
+    private Client delegate;
+
+    @InjectMocks
+    private GzipResponseClient gzipResponseClient;
+
+    @Test
+    void testExecute_DecompressesGzipBody() throws IOException {
+
+        Request request = createRequest(Map.of());
+        ArgumentCaptor<Request> sentRequest = ArgumentCaptor.forClass(Request.class);
+
+        when(delegate.execute(sentRequest.capture(), any())).thenReturn(createResponse(request,
+                Map.of(GzipResponseClient.CONTENT_ENCODING, List.of(GzipResponseClient.GZIP)), gzip(BODY)));
+
+        Response response = gzipResponseClient.execute(request, new Request.Options());
+
+        assertEquals(BODY, Util.toString(response.body().asReader(StandardCharsets.UTF_8)));
+        assertTrue(response.headers().keySet().stream().noneMatch(GzipResponseClient.CONTENT_ENCODING::equalsIgnoreCase));
+        assertEquals(List.of(GzipResponseClient.GZIP),
+                List.copyOf(sentRequest.getValue().headers().get(GzipResponseClient.ACCEPT_ENCODING)));
+    }
+
+    @Test
+    void testExecute_PlainBodyUnchanged() throws IOException {
+
+        Request request = createRequest(Map.of(GzipResponseClient.ACCEPT_ENCODING, List.of("identity")));
+        Response plainResponse = createResponse(request, Map.of(), BODY.getBytes(StandardCharsets.UTF_8));
+
+        when(delegate.execute(request, null)).thenReturn(plainResponse);
+
+        Response response = gzipResponseClient.execute(request, null);
+
+        assertSame(plainResponse, response);
+        verify(delegate, times(1)).execute(request, null);
+    }
+
+    private static byte[] gzip(String content) throws IOException {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzipOutput = new GZIPOutputStream(output)) {
+            gzipOutput.write(content.getBytes(StandardCharsets.UTF_8));
+        }
+        return output.toByteArray();
+    }
+
+    /**
+     * Builder Request de Feign
+     *
+     * @param headers cabeceras de la petición
+     * @return Request
+     */
+    private static Request createRequest(Map<String, Collection<String>> headers) {
+        return Request.create(Request.HttpMethod.GET, "https://kata-espublicotech.g3stiona.com:443/v1/orders",
+                headers, null, StandardCharsets.UTF_8, null);
+    }
+
+    /**
+     * Builder Response de Feign
+     *
+     * @param request petición de origen
+     * @param headers cabeceras de la respuesta
+     * @param body    cuerpo de la respuesta
+     * @return Response
+     */
+    private static Response createResponse(Request request, Map<String, Collection<String>> headers, byte[] body) {
+        return Response.builder().status(200).request(request).headers(headers).body(body).build();
+    }
+}
@@ -0,0 +1,113 @@
+package com.consum.orders.infrastructure.database.cache;
+
+import com.consum.orders.infrastructure.database.entity.Orders;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OrdersSecondLevelCacheTest {
+
+    @Mock
+    private EntityManagerFactory entityManagerFactory;
+
+    @Mock
+    private SessionFactory sessionFactory;
+
+    @Mock
+    private Statistics statistics;
+
+    @Mock
+    private Cache cache;
+
+    private MeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        lenient().when(entityManagerFactory.unwrap(SessionFactory.class)).thenReturn(sessionFactory);
+        lenient().when(sessionFactory.getStatistics()).thenReturn(statistics);
+        lenient().when(sessionFactory.getCache()).thenReturn(cache);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void testEvictAfterCommit_WithoutTransactionEvictsNow() {
+
+        OrdersSecondLevelCache secondLevelCache = new OrdersSecondLevelCache(entityManagerFactory, meterRegistry, true);
+
+        secondLevelCache.evictAfterCommit();
+
+        verify(cache, times(1)).evictEntityData(Orders.class);
+        verify(cache, times(1)).evictQueryRegions();
+        assertEquals(1.0, meterRegistry.get("orders.cache.second-level.evictions").counter().count());
+    }
+
+    @Test
+    void testEvictAfterCommit_InTransactionWaitsForCommit() {
+
+        OrdersSecondLevelCache secondLevelCache = new OrdersSecondLevelCache(entityManagerFactory, meterRegistry, true);
+        TransactionSynchronizationManager.initSynchronization();
+
+        secondLevelCache.evictAfterCommit();
+
+        verifyNoInteractions(cache);
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        verify(cache, times(1)).evictEntityData(Orders.class);
+        verify(cache, times(1)).evictQueryRegions();
+    }
+
+    @Test
+    void testEvictAfterCommit_DisabledDoesNothing() {
+
+        OrdersSecondLevelCache secondLevelCache = new OrdersSecondLevelCache(entityManagerFactory, meterRegistry, false);
+
+        secondLevelCache.evictAfterCommit();
+
+        assertFalse(secondLevelCache.isEnabled());
+        verifyNoInteractions(entityManagerFactory);
+        assertEquals(0, meterRegistry.find("orders.cache.second-level.requests").functionCounters().size());
+    }
+
+    @Test
+    void testMetrics_PublishHibernateStatistics() {
+
+        when(statistics.getSecondLevelCacheHitCount()).thenReturn(7L);
+        when(statistics.getSecondLevelCacheMissCount()).thenReturn(3L);
+        when(statistics.getQueryCacheHitCount()).thenReturn(2L);
+        when(statistics.getQueryCacheMissCount()).thenReturn(1L);
+
+        new OrdersSecondLevelCache(entityManagerFactory, meterRegistry, true);
+
+        assertEquals(7.0, requests("entity", "hit"));
+        assertEquals(3.0, requests("entity", "miss"));
+        assertEquals(2.0, requests("query", "hit"));
+        assertEquals(1.0, requests("query", "miss"));
+    }
+
+    private double requests(String cache, String result) {
+        return meterRegistry.get("orders.cache.second-level.requests")
+                .tag("cache", cache).tag("result", result).functionCounter().count();
+    }
+}
@@ -0,0 +1,28 @@
+package com.consum.orders.infrastructure.database.dimension;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class OrderDimensionConverterTest {
+
+    @Mock
+    private OrderDimensionDictionary dictionary;
+
+    @Test
+    void testConvert_UsesTheDimensionOfTheConverter() {
+
+        when(dictionary.idOf("region", "Europe")).thenReturn((short) 1);
+        when(dictionary.idOf("order_priority", "H")).thenReturn((short) 2);
+        when(dictionary.nameOf((short) 3)).thenReturn("Online");
+
+        assertEquals((short) 1, new OrderDimensionConverter.Region(dictionary).convertToDatabaseColumn("Europe"));
+        assertEquals((short) 2, new OrderDimensionConverter.OrderPriority(dictionary).convertToDatabaseColumn("H"));
+        assertEquals("Online", new OrderDimensionConverter.SalesChannel(dictionary).convertToEntityAttribute((short) 3));
+    }
+}
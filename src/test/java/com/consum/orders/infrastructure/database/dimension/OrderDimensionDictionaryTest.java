@@ -0,0 +1,111 @@
+package com.consum.orders.infrastructure.database.dimension;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OrderDimensionDictionaryTest {
+
+    @Mock
+    private DataSource dataSource;
+
+    @Mock
+    private Connection connection;
+
+    @Mock
+    private PreparedStatement selectAll;
+
+    @Mock
+    private ResultSet allRows;
+
+    private OrderDimensionDictionary dictionary;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        dictionary = new OrderDimensionDictionary(dataSource);
+
+        lenient().when(dataSource.getConnection()).thenReturn(connection);
+        lenient().when(connection.prepareStatement(OrderDimensionDictionary.SELECT_ALL_SQL)).thenReturn(selectAll);
+        lenient().when(selectAll.executeQuery()).thenReturn(allRows);
+    }
+
+    @Test
+    void testIdOf_LoadsDictionaryOnce() throws SQLException {
+
+        mockRows();
+
+        assertEquals((short) 1, dictionary.idOf("region", "Europe"));
+        assertEquals((short) 2, dictionary.idOf("country", "Spain"));
+        assertEquals("Spain", dictionary.nameOf((short) 2));
+
+        verify(dataSource, times(1)).getConnection();
+    }
+
+    @Test
+    void testIdOf_NullValue() {
+
+        assertNull(dictionary.idOf("region", null));
+        assertNull(dictionary.nameOf(null));
+
+        verifyNoInteractions(dataSource);
+    }
+
+    @Test
+    void testIdOf_RegistersNewValueOutsideTheTransaction() throws SQLException {
+
+        PreparedStatement insert = mock(PreparedStatement.class);
+        PreparedStatement selectId = mock(PreparedStatement.class);
+        ResultSet idRow = mock(ResultSet.class);
+        when(connection.prepareStatement(OrderDimensionDictionary.INSERT_SQL)).thenReturn(insert);
+        when(connection.prepareStatement(OrderDimensionDictionary.SELECT_ID_SQL)).thenReturn(selectId);
+        when(selectId.executeQuery()).thenReturn(idRow);
+        when(idRow.next()).thenReturn(true);
+        when(idRow.getShort("id")).thenReturn((short) 9);
+
+        assertEquals((short) 9, dictionary.idOf("item_type", "Fruits"));
+        assertEquals((short) 9, dictionary.idOf("item_type", "Fruits"));
+        assertEquals("Fruits", dictionary.nameOf((short) 9));
+
+        verify(connection).setAutoCommit(true);
+        verify(insert, times(1)).executeUpdate();
+        verify(insert).setString(1, "item_type");
+        verify(insert).setString(2, "Fruits");
+    }
+
+    @Test
+    void testNameOf_ReloadsUnknownIdentifiers() throws SQLException {
+
+        when(allRows.next()).thenReturn(false, true, false);
+        when(allRows.getShort("id")).thenReturn((short) 3);
+        when(allRows.getString("dimension")).thenReturn("sales_channel");
+        when(allRows.getString("name")).thenReturn("Online");
+
+        assertEquals("Online", dictionary.nameOf((short) 3));
+        verify(dataSource, times(2)).getConnection();
+    }
+
+    @Test
+    void testNameOf_UnknownIdentifier() {
+
+        assertThrows(IllegalStateException.class, () -> dictionary.nameOf((short) 99));
+    }
+
+    private void mockRows() throws SQLException {
+        when(allRows.next()).thenReturn(true, true, false);
+        when(allRows.getShort("id")).thenReturn((short) 1, (short) 2);
+        when(allRows.getString("dimension")).thenReturn("region", "country");
+        when(allRows.getString("name")).thenReturn("Europe", "Spain");
+    }
+}
@@ -0,0 +1,125 @@
+package com.consum.orders.infrastructure.database.dimension;
+
+import com.consum.orders.domain.exception.ProcessingException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OrderDimensionMigrationTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void testMigrate_RegistersFillsAndDropsLegacyColumns() {
+
+        when(jdbcTemplate.queryForList(OrderDimensionMigration.LEGACY_COLUMNS_SQL, String.class))
+                .thenReturn(List.of("region", "country"));
+
+        new OrderDimensionMigration(jdbcTemplate, true).afterPropertiesSet();
+
+        InOrder inOrder = inOrder(jdbcTemplate);
+        inOrder.verify(jdbcTemplate).update(String.format(OrderDimensionMigration.REGISTER_SQL, "region"));
+        inOrder.verify(jdbcTemplate).update(String.format(OrderDimensionMigration.FILL_SQL, "region"));
+        inOrder.verify(jdbcTemplate).update(String.format(OrderDimensionMigration.REGISTER_SQL, "country"));
+        inOrder.verify(jdbcTemplate).update(String.format(OrderDimensionMigration.FILL_SQL, "country"));
+        inOrder.verify(jdbcTemplate).queryForObject(String.format(OrderDimensionMigration.UNMIGRATED_SQL, "region"), Long.class);
+        inOrder.verify(jdbcTemplate).queryForObject(String.format(OrderDimensionMigration.UNMIGRATED_SQL, "country"), Long.class);
+        inOrder.verify(jdbcTemplate).execute("ALTER TABLE orders DROP COLUMN region, DROP COLUMN country");
+    }
+
+    @Test
+    void testMigrate_UnmigratedRowsAbortBeforeDrop() {
+
+        when(jdbcTemplate.queryForList(OrderDimensionMigration.LEGACY_COLUMNS_SQL, String.class))
+                .thenReturn(List.of("region", "country"));
+        when(jdbcTemplate.queryForObject(String.format(OrderDimensionMigration.UNMIGRATED_SQL, "region"), Long.class))
+                .thenReturn(0L);
+        when(jdbcTemplate.queryForObject(String.format(OrderDimensionMigration.UNMIGRATED_SQL, "country"), Long.class))
+                .thenReturn(3L);
+
+        OrderDimensionMigration migration = new OrderDimensionMigration(jdbcTemplate, true);
+        ProcessingException exception = assertThrows(ProcessingException.class, migration::afterPropertiesSet);
+
+        assertEquals("Migración de dimensiones incompleta: 3 pedidos con country sin identificador", exception.getMessage());
+        verify(jdbcTemplate, never()).execute(anyString());
+    }
+
+    @Test
+    void testMigrate_NothingToMigrate() {
+
+        when(jdbcTemplate.queryForList(OrderDimensionMigration.LEGACY_COLUMNS_SQL, String.class)).thenReturn(List.of());
+
+        assertTrue(new OrderDimensionMigration(jdbcTemplate, true).migrate().isEmpty());
+
+        verify(jdbcTemplate, never()).update(anyString());
+        verify(jdbcTemplate, never()).execute(anyString());
+    }
+
+    @Test
+    void testMigrate_Disabled() {
+
+        when(jdbcTemplate.queryForList(OrderDimensionMigration.LEGACY_COLUMNS_SQL, String.class)).thenReturn(List.of());
+
+        new OrderDimensionMigration(jdbcTemplate, false).afterPropertiesSet();
+
+        verify(jdbcTemplate, never()).update(anyString());
+        verify(jdbcTemplate, never()).execute(anyString());
+    }
+
+    @Test
+    void testMigrate_DisabledWithPendingRowsStopsStartup() {
+
+        when(jdbcTemplate.queryForList(OrderDimensionMigration.LEGACY_COLUMNS_SQL, String.class))
+                .thenReturn(List.of("region"));
+        when(jdbcTemplate.queryForObject(String.format(OrderDimensionMigration.UNMIGRATED_SQL, "region"), Long.class))
+                .thenReturn(5L);
+
+        OrderDimensionMigration migration = new OrderDimensionMigration(jdbcTemplate, false);
+        ProcessingException exception = assertThrows(ProcessingException.class, migration::afterPropertiesSet);
+
+        assertEquals("Migración de dimensiones pendiente: 5 pedidos con region sin identificador", exception.getMessage());
+        verify(jdbcTemplate, never()).update(anyString());
+        verify(jdbcTemplate, never()).execute(anyString());
+    }
+
+    @Test
+    void testMigrate_DisabledWithMigratedLegacyColumns() {
+
+        when(jdbcTemplate.queryForList(OrderDimensionMigration.LEGACY_COLUMNS_SQL, String.class))
+                .thenReturn(List.of("region"));
+        when(jdbcTemplate.queryForObject(String.format(OrderDimensionMigration.UNMIGRATED_SQL, "region"), Long.class))
+                .thenReturn(0L);
+
+        new OrderDimensionMigration(jdbcTemplate, false).afterPropertiesSet();
+
+        verify(jdbcTemplate, never()).execute(anyString());
+    }
+
+    @Test
+    void testUnmigratedSql_CountsTextWithoutIdentifier() {
+
+        assertEquals("SELECT COUNT(*) FROM orders WHERE country IS NOT NULL AND country_id IS NULL",
+                String.format(OrderDimensionMigration.UNMIGRATED_SQL, "country"));
+    }
+
+    @Test
+    void testFillSql_JoinsTheDictionaryOfTheSameDimension() {
+
+        assertEquals("UPDATE orders o JOIN order_dimension d ON d.dimension = 'item_type' AND d.name = o.item_type "
+                        + "SET o.item_type_id = d.id WHERE o.item_type_id IS NULL",
+                String.format(OrderDimensionMigration.FILL_SQL, "item_type"));
+    }
+}
@@ -0,0 +1,58 @@
+package com.consum.orders.infrastructure.database.partition;
+
+import com.consum.orders.infrastructure.database.entity.Orders;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class OrdersArchiveCutoffTest {
+
+    private static final LocalDate TODAY = LocalDate.of(2024, 7, 15);
+
+    @Test
+    void testCutoff_FirstDayOfOldestKeptMonth() {
+
+        assertEquals(LocalDate.of(2023, 7, 1), OrdersArchiveCutoff.cutoff(YearMonth.from(TODAY), 12));
+    }
+
+    @Test
+    void testRetain_DiscardsOrdersOfArchivedMonths() {
+
+        Orders archived = createOrders("2023-06-30");
+        Orders kept = createOrders("2023-07-01");
+        Orders undated = createOrders(null);
+
+        List<Orders> retained = new OrdersArchiveCutoff(true, 12).retain(List.of(archived, kept, undated), TODAY);
+
+        assertEquals(List.of(kept, undated), retained);
+    }
+
+    @Test
+    void testRetain_NothingArchivedReturnsSameList() {
+
+        List<Orders> ordersList = List.of(createOrders("2024-01-10"));
+
+        assertSame(ordersList, new OrdersArchiveCutoff(true, 12).retain(ordersList, TODAY));
+    }
+
+    @Test
+    void testRetain_ArchivingDisabled() {
+
+        List<Orders> ordersList = List.of(createOrders("2010-01-10"));
+
+        assertSame(ordersList, new OrdersArchiveCutoff(true, 0).retain(ordersList, TODAY));
+        assertSame(ordersList, new OrdersArchiveCutoff(false, 12).retain(ordersList, TODAY));
+    }
+
+    private static Orders createOrders(String orderDate) {
+        Orders orders = new Orders();
+        orders.setOrderDate(orderDate != null ? Date.valueOf(orderDate) : null);
+        return orders;
+    }
+}
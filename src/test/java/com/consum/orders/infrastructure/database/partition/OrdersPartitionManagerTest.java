@@ -0,0 +1,166 @@
+package com.consum.orders.infrastructure.database.partition;
+
+import com.consum.orders.infrastructure.database.cache.OrdersSecondLevelCache;
+import com.consum.orders.infrastructure.database.writer.OrderSummaryWriter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OrdersPartitionManagerTest {
+
+    private static final LocalDate TODAY = LocalDate.of(2024, 7, 15);
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Mock
+    private OrderSummaryWriter orderSummaryWriter;
+
+    @Mock
+    private OrdersSecondLevelCache ordersSecondLevelCache;
+
+    @Mock
+    private CacheManager cacheManager;
+
+    @Mock
+    private Cache cache;
+
+    private OrdersPartitionManager partitionManager;
+
+    @BeforeEach
+    void setUp() {
+        partitionManager = createPartitionManager(0);
+    }
+
+    @Test
+    void testMaintain_PartitionsTableFromOldestOrder() {
+
+        when(jdbcTemplate.queryForList(OrdersPartitionManager.PARTITIONS_SQL, String.class)).thenReturn(List.of());
+        when(jdbcTemplate.queryForObject(OrdersPartitionManager.NULL_DATES_SQL, Long.class)).thenReturn(0L);
+        when(jdbcTemplate.queryForObject(OrdersPartitionManager.MIN_DATE_SQL, Date.class))
+                .thenReturn(Date.valueOf("2024-05-20"));
+
+        OrdersPartitionManager.Maintenance maintenance = partitionManager.maintain(TODAY);
+
+        assertEquals(List.of("p202405", "p202406", "p202407", "p202408", "p202409", "p202410"), maintenance.created());
+        assertTrue(maintenance.archived().isEmpty());
+        verify(jdbcTemplate).execute(String.format(OrdersPartitionManager.PARTITION_TABLE_SQL,
+                OrdersPartitionManager.definitions(maintenance.created(), true)));
+    }
+
+    @Test
+    void testMaintain_OrdersWithoutDateAreNotPartitioned() {
+
+        when(jdbcTemplate.queryForList(OrdersPartitionManager.PARTITIONS_SQL, String.class)).thenReturn(List.of());
+        when(jdbcTemplate.queryForObject(OrdersPartitionManager.NULL_DATES_SQL, Long.class)).thenReturn(3L);
+
+        OrdersPartitionManager.Maintenance maintenance = partitionManager.maintain(TODAY);
+
+        assertTrue(maintenance.created().isEmpty());
+        verify(jdbcTemplate, never()).execute(anyString());
+    }
+
+    @Test
+    void testMaintain_CreatesMissingFuturePartitions() {
+
+        when(jdbcTemplate.queryForList(OrdersPartitionManager.PARTITIONS_SQL, String.class))
+                .thenReturn(List.of("p202407", "p202408", "pmax"));
+
+        OrdersPartitionManager.Maintenance maintenance = partitionManager.maintain(TODAY);
+
+        assertEquals(List.of("p202409", "p202410"), maintenance.created());
+        verify(jdbcTemplate).execute("ALTER TABLE orders REORGANIZE PARTITION pmax INTO ("
+                + "PARTITION p202409 VALUES LESS THAN ('2024-10-01'), "
+                + "PARTITION p202410 VALUES LESS THAN ('2024-11-01'), "
+                + "PARTITION pmax VALUES LESS THAN (MAXVALUE))");
+    }
+
+    @Test
+    void testMaintain_NothingToDo() {
+
+        when(jdbcTemplate.queryForList(OrdersPartitionManager.PARTITIONS_SQL, String.class))
+                .thenReturn(List.of("p202409", "p202410", "pmax"));
+
+        OrdersPartitionManager.Maintenance maintenance = partitionManager.maintain(TODAY);
+
+        assertTrue(maintenance.created().isEmpty());
+        assertTrue(maintenance.archived().isEmpty());
+        verify(jdbcTemplate, never()).execute(anyString());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testMaintain_ArchivesOldPartitions() {
+
+        OrdersPartitionManager manager = createPartitionManager(12);
+        when(jdbcTemplate.queryForList(OrdersPartitionManager.PARTITIONS_SQL, String.class))
+                .thenReturn(List.of("p202306", "p202307", "p202410", "pmax"));
+        when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                invocation.<TransactionCallback<Integer>>getArgument(0).doInTransaction(null));
+        when(jdbcTemplate.update(anyString())).thenReturn(100);
+        when(orderSummaryWriter.isEnabled()).thenReturn(true);
+        when(cacheManager.getCache("orders")).thenReturn(cache);
+
+        OrdersPartitionManager.Maintenance maintenance = manager.maintain(TODAY);
+
+        assertEquals(List.of("p202306"), maintenance.archived());
+        var inOrder = inOrder(jdbcTemplate, orderSummaryWriter);
+        inOrder.verify(jdbcTemplate).execute(OrdersPartitionManager.CREATE_ARCHIVE_SQL);
+        inOrder.verify(jdbcTemplate).update(String.format(OrdersPartitionManager.ARCHIVE_SQL, "p202306"));
+        inOrder.verify(orderSummaryWriter).subtractPartition("p202306");
+        inOrder.verify(jdbcTemplate).update(String.format(OrdersPartitionManager.DELETE_PARTITION_SQL, "p202306"));
+        inOrder.verify(jdbcTemplate).execute("ALTER TABLE orders DROP PARTITION p202306");
+        verify(cache).clear();
+        verify(ordersSecondLevelCache).evictAfterCommit();
+    }
+
+    @Test
+    void testMonthsAndDefinitions() {
+
+        List<String> months = OrdersPartitionManager.months(YearMonth.of(2023, 11), YearMonth.of(2024, 2));
+
+        assertEquals(List.of("p202311", "p202312", "p202401", "p202402"), months);
+        assertEquals("PARTITION p202312 VALUES LESS THAN ('2024-01-01')",
+                OrdersPartitionManager.definitions(List.of("p202312"), false));
+    }
+
+    @Test
+    void testToArchive_SkipsMaxPartition() {
+
+        assertEquals(List.of("p202305"), OrdersPartitionManager.toArchive(
+                List.of("p202305", "p202306", "pmax"), YearMonth.of(2023, 6)));
+    }
+
+    /**
+     * Builder OrdersPartitionManager
+     *
+     * @param archiveAfterMonths meses tras los que se archiva una partición (0 para no archivar)
+     * @return OrdersPartitionManager con 3 meses de particiones por adelantado
+     */
+    private OrdersPartitionManager createPartitionManager(int archiveAfterMonths) {
+        return new OrdersPartitionManager(jdbcTemplate, transactionTemplate, orderSummaryWriter,
+                ordersSecondLevelCache, cacheManager, true, 3, archiveAfterMonths);
+    }
+}
@@ -0,0 +1,149 @@
+package com.consum.orders.infrastructure.database.partition;
+
+import com.consum.orders.infrastructure.database.dimension.OrderDimensionDictionary;
+import com.consum.orders.infrastructure.database.entity.Orders;
+import com.consum.orders.infrastructure.database.repository.OrdersRepository;
+import com.consum.orders.infrastructure.database.writer.OrdersBulkWriter;
+import com.consum.orders.infrastructure.database.writer.OrdersLocalInfileLoader;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.time.YearMonth;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Comprueba contra MySQL el DDL de {@link OrdersPartitionManager} y que un pedido que se vuelve a importar con otra
+ * order_date sigue teniendo una sola fila en la tabla particionada, con la escritura masiva, con LOAD DATA y con
+ * {@code saveAll} de JPA.
+ * <p>
+ * Particiona la tabla orders y la deja como estaba al terminar, vacía, así que necesita una base de datos MySQL propia,
+ * con {@code local_infile=ON}:
+ * {@code mvn test -Pbenchmark -Dtest=OrdersPartitionMySqlTest -Dorders.benchmark.jdbc-url=jdbc:mysql://localhost:3306/katas_benchmark?createDatabaseIfNotExist=true}.
+ */
+@Tag("benchmark")
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({OrderDimensionDictionary.class, OrdersBulkWriter.class, OrdersLocalInfileLoader.class})
+@EnabledIfSystemProperty(named = "orders.benchmark.jdbc-url", matches = ".+")
+class OrdersPartitionMySqlTest {
+
+    private static final String ORDER_ID = "443368995";
+    private static final String COUNT_SQL = "SELECT COUNT(*) FROM orders WHERE order_id = ?";
+    private static final String COUNT_PARTITION_SQL = "SELECT COUNT(*) FROM orders PARTITION (%s)";
+
+    @Autowired
+    private OrdersBulkWriter ordersBulkWriter;
+
+    @Autowired
+    private OrdersLocalInfileLoader ordersLocalInfileLoader;
+
+    @Autowired
+    private OrdersRepository ordersRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) {
+        String url = System.getProperty("orders.benchmark.jdbc-url");
+        registry.add("spring.datasource.url",
+                () -> url + (url.contains("?") ? "&" : "?") + "rewriteBatchedStatements=true&allowLoadLocalInfile=true");
+        registry.add("spring.jpa.hibernate.ddl-auto", () -> "update");
+        registry.add("spring.jpa.show-sql", () -> "false");
+        registry.add("orders.partitioning.enabled", () -> "true");
+    }
+
+    @BeforeEach
+    void partitionTable() {
+        jdbcTemplate.execute("TRUNCATE TABLE orders");
+        List<String> partitions = OrdersPartitionManager.months(YearMonth.of(2014, 1), YearMonth.of(2014, 3));
+        jdbcTemplate.execute(String.format(OrdersPartitionManager.PARTITION_TABLE_SQL,
+                OrdersPartitionManager.definitions(partitions, true)));
+    }
+
+    @AfterEach
+    void removePartitioning() {
+        jdbcTemplate.execute("TRUNCATE TABLE orders");
+        jdbcTemplate.execute("ALTER TABLE orders REMOVE PARTITIONING");
+        jdbcTemplate.execute("ALTER TABLE orders DROP PRIMARY KEY, ADD PRIMARY KEY (order_id)");
+    }
+
+    @Test
+    void testBulkWriter_ReimportWithAnotherDateKeepsOneRow() {
+
+        ordersBulkWriter.upsert(List.of(createOrders("2014-01-15")));
+        ordersBulkWriter.upsert(List.of(createOrders("2014-02-20")));
+
+        assertMovedToFebruary();
+    }
+
+    @Test
+    void testLocalInfileLoader_ReimportWithAnotherDateKeepsOneRow() {
+
+        ordersLocalInfileLoader.load(List.of(createOrders("2014-01-15")));
+        ordersLocalInfileLoader.load(List.of(createOrders("2014-02-20")));
+
+        assertMovedToFebruary();
+    }
+
+    @Test
+    void testSaveAll_ReimportWithAnotherDateKeepsOneRow() {
+
+        ordersRepository.saveAll(List.of(createOrders("2014-01-15")));
+        ordersRepository.saveAll(List.of(createOrders("2014-02-20")));
+
+        assertMovedToFebruary();
+    }
+
+    private void assertMovedToFebruary() {
+        assertEquals(1, jdbcTemplate.queryForObject(COUNT_SQL, Integer.class, ORDER_ID));
+        assertEquals(0, jdbcTemplate.queryForObject(String.format(COUNT_PARTITION_SQL, "p201401"), Integer.class));
+        assertEquals(1, jdbcTemplate.queryForObject(String.format(COUNT_PARTITION_SQL, "p201402"), Integer.class));
+        assertEquals(Date.valueOf("2014-02-20").toLocalDate(),
+                ordersRepository.findById(ORDER_ID).map(orders -> new Date(orders.getOrderDate().getTime()).toLocalDate())
+                        .orElseThrow());
+    }
+
+    /**
+     * Builder Orders
+     *
+     * @param orderDate fecha del pedido, en formato yyyy-MM-dd
+     * @return Orders
+     */
+    private static Orders createOrders(String orderDate) {
+        Orders orders = new Orders();
+        orders.setOrderId(ORDER_ID);
+        orders.setUuid("1858f59d-8884-41d7-b4fc-88cfbbf00c53");
+        orders.setOrderPriority("M");
+        orders.setRegion("Europe");
+        orders.setCountry("Spain");
+        orders.setItemType("Fruits");
+        orders.setSalesChannel("Online");
+        orders.setOrderDate(Date.valueOf(orderDate));
+        orders.setShipDate(Date.valueOf(orderDate));
+        orders.setUnitsSold(10);
+        orders.setUnitPrice(BigDecimal.valueOf(9.33));
+        orders.setUnitCost(BigDecimal.valueOf(6.92));
+        orders.setTotalRevenue(BigDecimal.valueOf(93.30));
+        orders.setTotalCost(BigDecimal.valueOf(69.20));
+        orders.setTotalProfit(BigDecimal.valueOf(24.10));
+        return orders;
+    }
+}
@@ -0,0 +1,45 @@
+package com.consum.orders.infrastructure.database.repository;
+
+import com.consum.orders.domain.mapper.OrdersMapper;
+import com.consum.orders.infrastructure.client.standin.SyntheticOrderGenerator;
+import com.consum.orders.infrastructure.database.entity.Orders;
+import com.consum.orders.infrastructure.database.writer.OrdersBulkWriter;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Carga de pedidos sintéticos para los benchmarks de lectura. Mantiene el número de pedidos cargados para no repetir la
+ * carga entre casos del mismo tamaño.
+ */
+final class OrdersBenchmarkData {
+
+    private static final int CHUNK_SIZE = 1_000;
+
+    private static int loadedRows;
+
+    private OrdersBenchmarkData() {
+    }
+
+    /**
+     * Vacía la tabla orders y la rellena con los pedidos sintéticos, salvo que ya tenga ese número de pedidos.
+     */
+    static void load(int rows, JdbcTemplate jdbcTemplate, OrdersBulkWriter ordersBulkWriter, OrdersMapper ordersMapper) {
+        if (loadedRows == rows) {
+            return;
+        }
+
+        jdbcTemplate.execute("TRUNCATE TABLE orders");
+        SyntheticOrderGenerator generator = new SyntheticOrderGenerator(42L, rows, "http://localhost/v1/");
+        List<Orders> chunk = new ArrayList<>(CHUNK_SIZE);
+        for (int i = 0; i < rows; i++) {
+            chunk.add(ordersMapper.contentClientDTOToOrders(generator.order(i)));
+            if (chunk.size() == CHUNK_SIZE || i == rows - 1) {
+                ordersBulkWriter.upsert(chunk);
+                chunk.clear();
+            }
+        }
+        loadedRows = rows;
+    }
+}
@@ -0,0 +1,112 @@
+package com.consum.orders.infrastructure.database.repository;
+
+import com.consum.orders.domain.mapper.OrdersMapper;
+import com.consum.orders.domain.mapper.OrdersMapperImpl;
+import com.consum.orders.infrastructure.database.dimension.OrderDimensionDictionary;
+import com.consum.orders.infrastructure.database.writer.OrdersBulkWriter;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Compara el tamaño de la tabla orders y de sus índices con las dimensiones guardadas como texto (antes) y como
+ * identificadores de order_dimension (después). Copia los pedidos a una tabla orders_text con el esquema anterior,
+ * actualiza las estadísticas de ambas con ANALYZE TABLE y lee de {@code mysql.innodb_table_stats} las páginas del índice
+ * primario (los datos) y de los índices secundarios.
+ * <p>
+ * Rellena la tabla orders con {@code orders.benchmark.storage-rows} pedidos (por defecto 1000000), así que necesita una
+ * base de datos MySQL propia:
+ * {@code mvn test -Pbenchmark -Dorders.benchmark.jdbc-url=jdbc:mysql://localhost:3306/katas_benchmark?createDatabaseIfNotExist=true}.
+ */
+@Tag("benchmark")
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({OrderDimensionDictionary.class, OrdersBulkWriter.class, OrdersMapperImpl.class})
+@EnabledIfSystemProperty(named = "orders.benchmark.jdbc-url", matches = ".+")
+class OrdersDimensionStorageBenchmarkTest {
+
+    private static final int ROWS = Integer.getInteger("orders.benchmark.storage-rows", 1_000_000);
+
+    private static final String CREATE_TEXT_TABLE_SQL = "CREATE TABLE orders_text ("
+            + "order_id VARCHAR(9) NOT NULL, uuid VARCHAR(255) DEFAULT NULL, "
+            + "order_priority ENUM('L', 'M', 'H', 'C') DEFAULT NULL, region VARCHAR(255) DEFAULT NULL, "
+            + "country VARCHAR(100) DEFAULT NULL, item_type VARCHAR(100) DEFAULT NULL, "
+            + "sales_channel ENUM('Offline', 'Online') DEFAULT NULL, order_date DATE DEFAULT NULL, "
+            + "ship_date DATE DEFAULT NULL, units_sold INT DEFAULT NULL, unit_price DECIMAL(8,2) DEFAULT NULL, "
+            + "unit_cost DECIMAL(8,2) DEFAULT NULL, total_revenue DECIMAL(8,2) DEFAULT NULL, "
+            + "total_cost DECIMAL(8,2) DEFAULT NULL, total_profit DECIMAL(8,2) DEFAULT NULL, "
+            + "PRIMARY KEY (order_id), KEY idx_orders_text_region (region), KEY idx_orders_text_country (country), "
+            + "KEY idx_orders_text_item_type (item_type), KEY idx_orders_text_sales_channel (sales_channel), "
+            + "KEY idx_orders_text_order_priority (order_priority))";
+    private static final String COPY_AS_TEXT_SQL = "INSERT INTO orders_text SELECT o.order_id, o.uuid, p.name, r.name, "
+            + "c.name, i.name, s.name, o.order_date, o.ship_date, o.units_sold, o.unit_price, o.unit_cost, "
+            + "o.total_revenue, o.total_cost, o.total_profit FROM orders o "
+            + "LEFT JOIN order_dimension p ON p.id = o.order_priority_id "
+            + "LEFT JOIN order_dimension r ON r.id = o.region_id "
+            + "LEFT JOIN order_dimension c ON c.id = o.country_id "
+            + "LEFT JOIN order_dimension i ON i.id = o.item_type_id "
+            + "LEFT JOIN order_dimension s ON s.id = o.sales_channel_id";
+    private static final String TABLE_SIZE_SQL = "SELECT clustered_index_size * @@innodb_page_size AS data_bytes, "
+            + "sum_of_other_index_sizes * @@innodb_page_size AS index_bytes FROM mysql.innodb_table_stats "
+            + "WHERE database_name = DATABASE() AND table_name = ?";
+
+    @Autowired
+    private OrdersBulkWriter ordersBulkWriter;
+
+    @Autowired
+    private OrdersMapper ordersMapper;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) {
+        String url = System.getProperty("orders.benchmark.jdbc-url");
+        registry.add("spring.datasource.url",
+                () -> url + (url.contains("?") ? "&" : "?") + "rewriteBatchedStatements=true");
+        registry.add("spring.jpa.hibernate.ddl-auto", () -> "update");
+        registry.add("spring.jpa.show-sql", () -> "false");
+    }
+
+    @Test
+    void benchmarkStorage() {
+
+        OrdersBenchmarkData.load(ROWS, jdbcTemplate, ordersBulkWriter, ordersMapper);
+        jdbcTemplate.execute("DROP TABLE IF EXISTS orders_text");
+        jdbcTemplate.execute(CREATE_TEXT_TABLE_SQL);
+        assertEquals(ROWS, jdbcTemplate.update(COPY_AS_TEXT_SQL));
+        jdbcTemplate.queryForList("ANALYZE TABLE orders, orders_text");
+
+        TableSize text = tableSize("orders_text");
+        TableSize dictionary = tableSize("orders");
+
+        System.out.printf("pedidos=%d dimensiones como texto: %d MB de datos, %d MB de índices | "
+                        + "con diccionario: %d MB de datos, %d MB de índices%n", ROWS,
+                text.dataBytes() >> 20, text.indexBytes() >> 20, dictionary.dataBytes() >> 20,
+                dictionary.indexBytes() >> 20);
+        assertTrue(dictionary.indexBytes() < text.indexBytes());
+        jdbcTemplate.execute("DROP TABLE orders_text");
+    }
+
+    private TableSize tableSize(String table) {
+        return jdbcTemplate.queryForObject(TABLE_SIZE_SQL,
+                (resultSet, rowNum) -> new TableSize(resultSet.getLong("data_bytes"), resultSet.getLong("index_bytes")),
+                table);
+    }
+
+    private record TableSize(long dataBytes, long indexBytes) {
+    }
+}
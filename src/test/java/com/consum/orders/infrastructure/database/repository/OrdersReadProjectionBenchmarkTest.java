@@ -0,0 +1,167 @@
+package com.consum.orders.infrastructure.database.repository;
+
+import com.consum.orders.domain.dto.OrdersDTO;
+import com.consum.orders.domain.mapper.OrdersMapper;
+import com.consum.orders.domain.mapper.OrdersMapperImpl;
+import com.consum.orders.infrastructure.database.dimension.OrderDimensionDictionary;
+import com.consum.orders.infrastructure.database.entity.Orders;
+import com.consum.orders.infrastructure.database.writer.OrdersBulkWriter;
+import jakarta.persistence.EntityManager;
+import org.hibernate.jpa.HibernateHints;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.lang.management.ManagementFactory;
+import java.util.function.IntSupplier;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Compara las lecturas de pedidos con entidades gestionadas y conversión con OrdersMapper (antes) frente a las consultas
+ * de proyección en OrdersDTO en transacciones de solo lectura (después), midiendo latencia y bytes reservados por el
+ * hilo: páginas de {@code GET /orders} de 100, 1000 y 10000 pedidos y el recorrido completo de la exportación CSV.
+ * <p>
+ * Rellena la tabla orders con {@code orders.benchmark.read-rows} pedidos (por defecto 100000), así que necesita una base
+ * de datos MySQL propia:
+ * {@code mvn test -Pbenchmark -Dorders.benchmark.jdbc-url=jdbc:mysql://localhost:3306/katas_benchmark?createDatabaseIfNotExist=true}.
+ */
+@Tag("benchmark")
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({OrderDimensionDictionary.class, OrdersBulkWriter.class, OrdersMapperImpl.class})
+@EnabledIfSystemProperty(named = "orders.benchmark.jdbc-url", matches = ".+")
+class OrdersReadProjectionBenchmarkTest {
+
+    private static final int ROWS = Integer.getInteger("orders.benchmark.read-rows", 100_000);
+    private static final int WARMUP_ROUNDS = 3;
+    private static final int MEASURED_ROUNDS = 5;
+    private static final String ENTITY_PAGE_QUERY = "SELECT o FROM Orders o WHERE o.orderId > :orderId ORDER BY o.orderId";
+    private static final String ENTITY_SCAN_QUERY = "SELECT o FROM Orders o ORDER BY o.orderId";
+
+    @Autowired
+    private OrdersRepository ordersRepository;
+
+    @Autowired
+    private OrdersBulkWriter ordersBulkWriter;
+
+    @Autowired
+    private OrdersMapper ordersMapper;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) {
+        String url = System.getProperty("orders.benchmark.jdbc-url");
+        registry.add("spring.datasource.url",
+                () -> url + (url.contains("?") ? "&" : "?") + "rewriteBatchedStatements=true");
+        registry.add("spring.jpa.hibernate.ddl-auto", () -> "update");
+        registry.add("spring.jpa.show-sql", () -> "false");
+    }
+
+    @BeforeEach
+    void loadOrders() {
+        OrdersBenchmarkData.load(ROWS, jdbcTemplate, ordersBulkWriter, ordersMapper);
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {100, 1_000, 10_000})
+    void benchmarkPage(int size) {
+
+        IntSupplier entities = () -> transaction(false).execute(status -> entityManager
+                .createQuery(ENTITY_PAGE_QUERY, Orders.class)
+                .setParameter("orderId", "")
+                .setMaxResults(size)
+                .getResultStream()
+                .map(ordersMapper::ordersToOrderDTO)
+                .toList()
+                .size());
+        IntSupplier projection = () -> transaction(true).execute(status ->
+                ordersRepository.findOrdersDTOAfter("", PageRequest.of(0, size)).size());
+
+        compare("página de " + size, size, entities, projection);
+    }
+
+    @Test
+    void benchmarkFullScan() {
+
+        IntSupplier entities = () -> transaction(false).execute(status -> {
+            try (Stream<Orders> orders = entityManager.createQuery(ENTITY_SCAN_QUERY, Orders.class)
+                    .setHint(HibernateHints.HINT_FETCH_SIZE, Integer.MIN_VALUE)
+                    .getResultStream()) {
+                return (int) orders.peek(entityManager::detach)
+                        .map(ordersMapper::ordersToOrderDTO)
+                        .filter(ordersDTO -> ordersDTO.getOrderId() != null)
+                        .count();
+            }
+        });
+        IntSupplier projection = () -> transaction(true).execute(status -> {
+            try (Stream<OrdersDTO> orders = ordersRepository.streamAllOrdersDTO()) {
+                return (int) orders.filter(ordersDTO -> ordersDTO.getOrderId() != null).count();
+            }
+        });
+
+        compare("recorrido completo", ROWS, entities, projection);
+    }
+
+    private TransactionTemplate transaction(boolean readOnly) {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setReadOnly(readOnly);
+        return transactionTemplate;
+    }
+
+    private static void compare(String label, int expectedRows, IntSupplier entities, IntSupplier projection) {
+        for (int i = 0; i < WARMUP_ROUNDS; i++) {
+            entities.getAsInt();
+            projection.getAsInt();
+        }
+
+        Measure before = measure(expectedRows, entities);
+        Measure after = measure(expectedRows, projection);
+
+        System.out.printf("%s entidades + mapper: %.2f ms, %d KB reservados | proyección DTO: %.2f ms, %d KB reservados%n",
+                label, before.millis(), before.allocatedBytes() / 1024, after.millis(), after.allocatedBytes() / 1024);
+    }
+
+    private static Measure measure(int expectedRows, IntSupplier round) {
+        com.sun.management.ThreadMXBean threadMXBean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().getId();
+
+        long allocatedBefore = threadMXBean.getThreadAllocatedBytes(threadId);
+        long start = System.nanoTime();
+        for (int i = 0; i < MEASURED_ROUNDS; i++) {
+            assertEquals(expectedRows, round.getAsInt());
+        }
+        long elapsedNanos = System.nanoTime() - start;
+        long allocated = threadMXBean.getThreadAllocatedBytes(threadId) - allocatedBefore;
+
+        return new Measure(elapsedNanos / 1_000_000d / MEASURED_ROUNDS, allocated / MEASURED_ROUNDS);
+    }
+
+    private record Measure(double millis, long allocatedBytes) {
+    }
+}
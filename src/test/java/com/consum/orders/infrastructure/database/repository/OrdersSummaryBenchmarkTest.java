@@ -0,0 +1,128 @@
+package com.consum.orders.infrastructure.database.repository;
+
+import com.consum.orders.application.config.SummaryConfig;
+import com.consum.orders.domain.dto.SummaryDTO;
+import com.consum.orders.domain.mapper.OrdersMapper;
+import com.consum.orders.domain.mapper.OrdersMapperImpl;
+import com.consum.orders.domain.utils.OrdersMethods;
+import com.consum.orders.domain.utils.OrdersValidations;
+import com.consum.orders.infrastructure.database.dimension.OrderDimensionDictionary;
+import com.consum.orders.infrastructure.database.writer.OrderSummaryWriter;
+import com.consum.orders.infrastructure.database.writer.OrdersBulkWriter;
+import com.consum.orders.infrastructure.service.OrdersSketchRedisService;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Compara el resumen global de pedidos calculado en memoria (leer todos los pedidos y agruparlos con
+ * {@link OrdersMethods#generateOrderSummary}) con el calculado en MySQL ({@link OrdersRepository#countByDimension}) y
+ * con el leído del resumen materializado ({@link OrderSummaryRepository#findSummaryCounts}), reconstruido antes de medir.
+ * <p>
+ * Rellena la tabla orders con {@code orders.benchmark.summary-rows} pedidos (por defecto 1000000), así que necesita una
+ * base de datos MySQL propia y heap suficiente para el resumen en memoria:
+ * {@code mvn test -Pbenchmark -DargLine=-Xmx4g -Dorders.benchmark.jdbc-url=jdbc:mysql://localhost:3306/katas_benchmark?createDatabaseIfNotExist=true}.
+ */
+@Tag("benchmark")
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({OrderDimensionDictionary.class, OrdersBulkWriter.class, OrderSummaryWriter.class, OrdersMapperImpl.class,
+        OrdersMethods.class, OrdersValidations.class, SummaryConfig.class})
+@EnabledIfSystemProperty(named = "orders.benchmark.jdbc-url", matches = ".+")
+class OrdersSummaryBenchmarkTest {
+
+    private static final int ROWS = Integer.getInteger("orders.benchmark.summary-rows", 1_000_000);
+    private static final int WARMUP_ROUNDS = 1;
+    private static final int MEASURED_ROUNDS = 3;
+
+    @Autowired
+    private OrdersRepository ordersRepository;
+
+    @Autowired
+    private OrderSummaryRepository orderSummaryRepository;
+
+    @Autowired
+    private OrdersBulkWriter ordersBulkWriter;
+
+    @Autowired
+    private OrderSummaryWriter orderSummaryWriter;
+
+    @Autowired
+    private OrdersMapper ordersMapper;
+
+    @Autowired
+    private OrdersMethods ordersMethods;
+
+    @MockBean
+    private OrdersSketchRedisService ordersSketchRedisService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) {
+        String url = System.getProperty("orders.benchmark.jdbc-url");
+        registry.add("spring.datasource.url",
+                () -> url + (url.contains("?") ? "&" : "?") + "rewriteBatchedStatements=true");
+        registry.add("spring.jpa.hibernate.ddl-auto", () -> "update");
+        registry.add("spring.jpa.show-sql", () -> "false");
+    }
+
+    @Test
+    void benchmarkSummary() {
+
+        OrdersBenchmarkData.load(ROWS, jdbcTemplate, ordersBulkWriter, ordersMapper);
+        orderSummaryWriter.rebuild();
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+
+        Supplier<SummaryDTO> inMemory = () -> readOnly.execute(status ->
+                ordersMethods.generateOrderSummary(ordersMethods.convertToOrdersDTO(ordersRepository.findAll())));
+        Supplier<SummaryDTO> inDatabase = () -> readOnly.execute(status ->
+                ordersMethods.convertToSummary(ordersRepository.countByDimension()));
+        Supplier<SummaryDTO> materialized = () -> readOnly.execute(status ->
+                ordersMethods.convertToSummary(orderSummaryRepository.findSummaryCounts()));
+
+        assertEquals(inMemory.get(), inDatabase.get());
+        assertEquals(inDatabase.get(), materialized.get());
+
+        double inMemoryMillis = measure(inMemory);
+        double inDatabaseMillis = measure(inDatabase);
+        double materializedMillis = measure(materialized);
+
+        System.out.printf("pedidos=%d resumen en memoria: %.2f ms | resumen en MySQL: %.2f ms | "
+                + "resumen materializado: %.2f ms%n", ROWS, inMemoryMillis, inDatabaseMillis, materializedMillis);
+    }
+
+    private static double measure(Supplier<SummaryDTO> summary) {
+        for (int i = 0; i < WARMUP_ROUNDS; i++) {
+            summary.get();
+        }
+
+        long start = System.nanoTime();
+        for (int i = 0; i < MEASURED_ROUNDS; i++) {
+            summary.get();
+        }
+        return (System.nanoTime() - start) / 1_000_000d / MEASURED_ROUNDS;
+    }
+}
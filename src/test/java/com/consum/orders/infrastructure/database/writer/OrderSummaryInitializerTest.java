@@ -0,0 +1,63 @@
+package com.consum.orders.infrastructure.database.writer;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OrderSummaryInitializerTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private OrderSummaryWriter orderSummaryWriter;
+
+    @InjectMocks
+    private OrderSummaryInitializer orderSummaryInitializer;
+
+    @Test
+    void testPopulateIfEmpty_RebuildsEmptySummaryOfExistingOrders() {
+
+        when(jdbcTemplate.queryForObject(OrderSummaryInitializer.SUMMARY_EMPTY_SQL, Boolean.class)).thenReturn(true);
+        when(jdbcTemplate.queryForObject(OrderSummaryInitializer.ORDERS_EXIST_SQL, Boolean.class)).thenReturn(true);
+        when(orderSummaryWriter.rebuild()).thenReturn(42);
+
+        assertEquals(42, orderSummaryInitializer.populateIfEmpty());
+    }
+
+    @Test
+    void testPopulateIfEmpty_SummaryAlreadyLoaded() {
+
+        when(jdbcTemplate.queryForObject(OrderSummaryInitializer.SUMMARY_EMPTY_SQL, Boolean.class)).thenReturn(false);
+
+        assertEquals(0, orderSummaryInitializer.populateIfEmpty());
+        verify(orderSummaryWriter, never()).rebuild();
+    }
+
+    @Test
+    void testPopulateIfEmpty_NoOrders() {
+
+        when(jdbcTemplate.queryForObject(OrderSummaryInitializer.SUMMARY_EMPTY_SQL, Boolean.class)).thenReturn(true);
+        when(jdbcTemplate.queryForObject(OrderSummaryInitializer.ORDERS_EXIST_SQL, Boolean.class)).thenReturn(false);
+
+        assertEquals(0, orderSummaryInitializer.populateIfEmpty());
+        verify(orderSummaryWriter, never()).rebuild();
+    }
+
+    @Test
+    void testAfterPropertiesSet_DisabledSummaryIsNotLoaded() {
+
+        when(orderSummaryWriter.isEnabled()).thenReturn(false);
+
+        orderSummaryInitializer.afterPropertiesSet();
+
+        verifyNoInteractions(jdbcTemplate);
+    }
+}
@@ -0,0 +1,284 @@
+package com.consum.orders.infrastructure.database.writer;
+
+import com.consum.orders.infrastructure.database.dimension.OrderDimensionDictionary;
+import com.consum.orders.infrastructure.database.entity.Orders;
+import com.consum.orders.infrastructure.database.repository.OrdersRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+
+import java.sql.ResultSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyShort;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OrderSummaryWriterTest {
+
+    private static final int LOOKUP_BATCH_SIZE = 2;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private OrderDimensionDictionary dictionary;
+
+    @Mock
+    private ResultSet resultSet;
+
+    private OrderSummaryWriter orderSummaryWriter;
+
+    @BeforeEach
+    void setUp() {
+        orderSummaryWriter = new OrderSummaryWriter(jdbcTemplate, dictionary, true, LOOKUP_BATCH_SIZE);
+    }
+
+    @Test
+    void testComputeDeltas_NewOrdersAddOne() {
+
+        Map<String, Map<String, Long>> deltas = orderSummaryWriter.computeDeltas(
+                List.of(createOrders("1", "Europe", "H"), createOrders("2", "Europe", "L")));
+
+        assertEquals(2L, deltas.get("region").get("Europe"));
+        assertEquals(1L, deltas.get("order_priority").get("H"));
+        assertEquals(1L, deltas.get("order_priority").get("L"));
+        assertEquals(2L, deltas.get("country").get("Spain"));
+    }
+
+    @Test
+    void testComputeDeltas_ReimportedOrdersSubtractPreviousValues() throws Exception {
+
+        mockCurrentRow();
+        doAnswer(invocation -> {
+            invocation.getArgument(1, RowCallbackHandler.class).processRow(resultSet);
+            return null;
+        }).when(jdbcTemplate).query(anyString(), any(RowCallbackHandler.class), any(Object[].class));
+
+        Map<String, Map<String, Long>> deltas = orderSummaryWriter.computeDeltas(
+                List.of(createOrders("1", "Europe", "H")));
+
+        assertEquals(-1L, deltas.get("region").get("Asia"));
+        assertEquals(1L, deltas.get("region").get("Europe"));
+        assertEquals(0L, deltas.get("order_priority").get("H"));
+        assertEquals(0L, deltas.get("country").get("Spain"));
+    }
+
+    @Test
+    void testComputeDeltas_LooksUpInBatchesAndCountsDuplicatesOnce() {
+
+        Map<String, Map<String, Long>> deltas = orderSummaryWriter.computeDeltas(List.of(
+                createOrders("1", "Asia", "H"), createOrders("2", "Asia", "H"), createOrders("1", "Europe", "H")));
+
+        assertEquals(1L, deltas.get("region").get("Asia"));
+        assertEquals(1L, deltas.get("region").get("Europe"));
+        verify(jdbcTemplate, times(1)).query(eq(String.format(OrderSummaryWriter.SELECT_CURRENT_SQL, "?, ?")),
+                any(RowCallbackHandler.class), any(Object[].class));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testApplyChanges_ConcurrentReimportsReadCommittedValue() throws Exception {
+
+        // Pedido 1 guardado con región Asia; dos importaciones lo cambian a la vez a Europe y a Africa
+        Map<String, Short> storedRegion = new ConcurrentHashMap<>(Map.of("1", (short) 1));
+        Map<String, Long> regionSummary = new ConcurrentHashMap<>(Map.of("Asia", 1L));
+        ReentrantLock rowLock = new ReentrantLock();
+        CountDownLatch firstApplied = new CountDownLatch(1);
+        CountDownLatch secondRead = new CountDownLatch(1);
+
+        // Solo se simula la región: el resto de columnas leen el identificador 0, sin nombre en el diccionario
+        Map<Short, String> regions = Map.of((short) 1, "Asia", (short) 2, "Europe", (short) 3, "Africa");
+        when(dictionary.nameOf(anyShort())).thenAnswer(invocation -> regions.get(invocation.<Short>getArgument(0)));
+        doAnswer(invocation -> {
+            if (invocation.<String>getArgument(0).endsWith("FOR UPDATE")) {
+                rowLock.lock();
+            }
+            ResultSet row = mock(ResultSet.class);
+            when(row.getShort(anyString())).thenReturn((short) 0);
+            when(row.getShort("region_id")).thenReturn(storedRegion.get("1"));
+            invocation.getArgument(1, RowCallbackHandler.class).processRow(row);
+            return null;
+        }).when(jdbcTemplate).query(anyString(), any(RowCallbackHandler.class), any(Object[].class));
+        doAnswer(invocation -> {
+            for (Object[] row : invocation.<List<Object[]>>getArgument(1)) {
+                if ("region".equals(row[0])) {
+                    regionSummary.merge((String) row[1], (Long) row[2], Long::sum);
+                }
+            }
+            return new int[0];
+        }).when(jdbcTemplate).batchUpdate(eq(OrderSummaryWriter.APPLY_DELTA_SQL), anyList());
+
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<?> first = executor.submit(() -> {
+                orderSummaryWriter.applyChanges(List.of(createOrders("1", "Europe", "H")));
+                firstApplied.countDown();
+                // La otra importación llega mientras esta transacción sigue abierta
+                long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+                while (!rowLock.hasQueuedThreads() && secondRead.getCount() > 0 && System.nanoTime() < deadline) {
+                    Thread.onSpinWait();
+                }
+                storedRegion.put("1", (short) 2);
+                commit(rowLock);
+                return null;
+            });
+            Future<?> second = executor.submit(() -> {
+                firstApplied.await();
+                orderSummaryWriter.applyChanges(List.of(createOrders("1", "Africa", "H")));
+                secondRead.countDown();
+                storedRegion.put("1", (short) 3);
+                commit(rowLock);
+                return null;
+            });
+            first.get(10, TimeUnit.SECONDS);
+            second.get(10, TimeUnit.SECONDS);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(0L, regionSummary.get("Asia"));
+        assertEquals(0L, regionSummary.get("Europe"));
+        assertEquals(1L, regionSummary.get("Africa"));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testApplyChanges_SkipsUnchangedValues() throws Exception {
+
+        mockCurrentRow();
+        doAnswer(invocation -> {
+            invocation.getArgument(1, RowCallbackHandler.class).processRow(resultSet);
+            return null;
+        }).when(jdbcTemplate).query(anyString(), any(RowCallbackHandler.class), any(Object[].class));
+
+        assertEquals(2, orderSummaryWriter.applyChanges(List.of(createOrders("1", "Europe", "H"))));
+
+        ArgumentCaptor<List<Object[]>> rows = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate).batchUpdate(eq(OrderSummaryWriter.APPLY_DELTA_SQL), rows.capture());
+        assertArrayEquals(new Object[]{"region", "Asia", -1L}, rows.getValue().get(0));
+        assertArrayEquals(new Object[]{"region", "Europe", 1L}, rows.getValue().get(1));
+    }
+
+    @Test
+    void testApplyChanges_EmptyListDoesNothing() {
+
+        assertEquals(0, orderSummaryWriter.applyChanges(List.of()));
+
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testApplyChanges_NoChangesSendsNothing() {
+
+        OrderSummaryWriter writer = spy(orderSummaryWriter);
+        doReturn(Map.of("region", Map.of("Asia", 0L))).when(writer).computeDeltas(anyList());
+
+        assertEquals(0, writer.applyChanges(List.of(createOrders("1", "Asia", "H"))));
+
+        verify(jdbcTemplate, never()).batchUpdate(anyString(), anyList());
+    }
+
+    @Test
+    void testRebuild_ReplacesSummaryFromOrders() {
+
+        when(jdbcTemplate.update(anyString())).thenAnswer(invocation ->
+                OrderSummaryWriter.REBUILD_SQL.equals(invocation.getArgument(0)) ? 250 : 300);
+
+        assertEquals(250, orderSummaryWriter.rebuild());
+
+        var inOrder = inOrder(jdbcTemplate);
+        inOrder.verify(jdbcTemplate).update(OrderSummaryWriter.DELETE_ALL_SQL);
+        inOrder.verify(jdbcTemplate).update(OrderSummaryWriter.REBUILD_SQL);
+    }
+
+    @Test
+    void testSubtractPartition_SubtractsCountsOfPartition() {
+
+        when(jdbcTemplate.update(anyString())).thenReturn(12);
+
+        assertEquals(12, orderSummaryWriter.subtractPartition("p201401"));
+
+        ArgumentCaptor<String> sql = ArgumentCaptor.forClass(String.class);
+        verify(jdbcTemplate).update(sql.capture());
+        assertTrue(sql.getValue().contains("SELECT dimension, name, -total FROM"));
+        assertTrue(sql.getValue().contains("FROM orders PARTITION (p201401) WHERE region_id IS NOT NULL"));
+        assertFalse(sql.getValue().contains("FROM orders WHERE"));
+    }
+
+    @Test
+    void testSql_UsesDimensionColumns() {
+
+        assertTrue(OrderSummaryWriter.SELECT_CURRENT_SQL
+                .startsWith("SELECT region_id, country_id, item_type_id, sales_channel_id, order_priority_id FROM orders"));
+        assertTrue(OrderSummaryWriter.SELECT_CURRENT_SQL.endsWith("WHERE order_id IN (%s) FOR UPDATE"));
+        assertTrue(OrderSummaryWriter.APPLY_DELTA_SQL.endsWith("total = total + VALUES(total)"));
+        assertTrue(OrderSummaryWriter.REBUILD_SQL.endsWith(OrdersRepository.DIMENSION_COUNTS_SQL));
+        assertTrue(orderSummaryWriter.isEnabled());
+    }
+
+    /**
+     * Simula la confirmación de la transacción del hilo actual, que libera el bloqueo de fila si lo tiene.
+     */
+    private static void commit(ReentrantLock rowLock) {
+        if (rowLock.isHeldByCurrentThread()) {
+            rowLock.unlock();
+        }
+    }
+
+    /**
+     * Simula un pedido guardado con región Asia, país Spain, tipo de ítem Fruits, canal Online y prioridad H.
+     */
+    private void mockCurrentRow() throws Exception {
+        when(resultSet.getShort(anyString())).thenAnswer(invocation -> switch (invocation.<String>getArgument(0)) {
+            case "region_id" -> (short) 1;
+            case "country_id" -> (short) 2;
+            case "item_type_id" -> (short) 3;
+            case "sales_channel_id" -> (short) 4;
+            default -> (short) 5;
+        });
+        when(dictionary.nameOf((short) 1)).thenReturn("Asia");
+        when(dictionary.nameOf((short) 2)).thenReturn("Spain");
+        when(dictionary.nameOf((short) 3)).thenReturn("Fruits");
+        when(dictionary.nameOf((short) 4)).thenReturn("Online");
+        when(dictionary.nameOf((short) 5)).thenReturn("H");
+    }
+
+    /**
+     * Builder Orders
+     *
+     * @param orderId       identificador del pedido
+     * @param region        región del pedido
+     * @param orderPriority prioridad del pedido
+     * @return Orders
+     */
+    private static Orders createOrders(String orderId, String region, String orderPriority) {
+        Orders orders = new Orders();
+        orders.setOrderId(orderId);
+        orders.setOrderPriority(orderPriority);
+        orders.setRegion(region);
+        orders.setCountry("Spain");
+        orders.setItemType("Fruits");
+        orders.setSalesChannel("Online");
+        return orders;
+    }
+}
@@ -0,0 +1,136 @@
+package com.consum.orders.infrastructure.database.writer;
+
+import com.consum.orders.infrastructure.client.dto.ContentClientDTO;
+import com.consum.orders.infrastructure.client.standin.SyntheticOrderGenerator;
+import com.consum.orders.infrastructure.database.dimension.OrderDimensionDictionary;
+import com.consum.orders.infrastructure.database.entity.Orders;
+import com.consum.orders.infrastructure.database.repository.OrdersRepository;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Compara {@code OrdersRepository.saveAll} (un merge por pedido) con {@link OrdersBulkWriter}, guardando 10k, 100k y 1M
+ * pedidos en bloques del tamaño de una página de importación, y con {@link OrdersLocalInfileLoader}, que carga todos los
+ * pedidos de una vez. Cada escritura se mide primero con la tabla vacía (inserciones) y después sobre los mismos
+ * pedidos (actualizaciones).
+ * <p>
+ * Vacía la tabla orders, así que necesita una base de datos MySQL propia:
+ * {@code mvn test -Pbenchmark -Dorders.benchmark.jdbc-url=jdbc:mysql://localhost:3306/katas_benchmark?createDatabaseIfNotExist=true}.
+ * Con {@code saveAll} solo se miden los tamaños hasta {@code orders.benchmark.merge-max-rows} (por defecto 100000),
+ * porque el millón de merges tarda decenas de minutos.
+ */
+@Tag("benchmark")
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({OrderDimensionDictionary.class, OrdersBulkWriter.class, OrdersLocalInfileLoader.class})
+@EnabledIfSystemProperty(named = "orders.benchmark.jdbc-url", matches = ".+")
+class OrdersBulkWriterBenchmarkTest {
+
+    private static final int CHUNK_SIZE = 1_000;
+    private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("dd/MM/yyyy");
+
+    @Autowired
+    private OrdersRepository ordersRepository;
+
+    @Autowired
+    private OrdersBulkWriter ordersBulkWriter;
+
+    @Autowired
+    private OrdersLocalInfileLoader ordersLocalInfileLoader;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) {
+        String url = System.getProperty("orders.benchmark.jdbc-url");
+        registry.add("spring.datasource.url",
+                () -> url + (url.contains("?") ? "&" : "?") + "rewriteBatchedStatements=true&allowLoadLocalInfile=true");
+        registry.add("spring.jpa.hibernate.ddl-auto", () -> "update");
+        registry.add("spring.jpa.show-sql", () -> "false");
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {10_000, 100_000, 1_000_000})
+    void benchmarkSaveOrders(int rows) {
+
+        List<Orders> orders = createOrders(rows);
+        int mergeMaxRows = Integer.getInteger("orders.benchmark.merge-max-rows", 100_000);
+
+        String saveAll = "omitido";
+        if (rows <= mergeMaxRows) {
+            saveAll = measure(orders, CHUNK_SIZE, ordersRepository::saveAll);
+        }
+        String bulk = measure(orders, CHUNK_SIZE, ordersBulkWriter::upsert);
+        String localInfile = measure(orders, orders.size(), ordersLocalInfileLoader::load);
+
+        System.out.printf("pedidos=%d saveAll: %s | escritura masiva: %s | LOAD DATA: %s%n", rows, saveAll, bulk,
+                localInfile);
+    }
+
+    /**
+     * Inserta los pedidos con la tabla vacía y los vuelve a guardar para medir las actualizaciones.
+     *
+     * @return filas por segundo de ambas pasadas
+     */
+    private String measure(List<Orders> orders, int chunkSize, Consumer<List<Orders>> writer) {
+        jdbcTemplate.execute("TRUNCATE TABLE orders");
+        double inserts = rowsPerSecond(orders, chunkSize, writer);
+        assertEquals(orders.size(), jdbcTemplate.queryForObject("SELECT COUNT(*) FROM orders", Integer.class));
+        double updates = rowsPerSecond(orders, chunkSize, writer);
+        return String.format("%.0f inserciones/s, %.0f actualizaciones/s", inserts, updates);
+    }
+
+    private static double rowsPerSecond(List<Orders> orders, int chunkSize, Consumer<List<Orders>> writer) {
+        long start = System.nanoTime();
+        for (int from = 0; from < orders.size(); from += chunkSize) {
+            writer.accept(orders.subList(from, Math.min(from + chunkSize, orders.size())));
+        }
+        return orders.size() / ((System.nanoTime() - start) / 1_000_000_000d);
+    }
+
+    private static List<Orders> createOrders(int rows) {
+        SyntheticOrderGenerator generator = new SyntheticOrderGenerator(42L, rows, "http://localhost/v1/");
+        List<Orders> orders = new ArrayList<>(rows);
+        for (int i = 0; i < rows; i++) {
+            orders.add(toOrders(generator.order(i)));
+        }
+        return orders;
+    }
+
+    private static Orders toOrders(ContentClientDTO contentClientDTO) {
+        return new Orders(contentClientDTO.getId(), contentClientDTO.getUuid(), contentClientDTO.getPriority(),
+                contentClientDTO.getRegion(), contentClientDTO.getCountry(), contentClientDTO.getItemType(),
+                contentClientDTO.getSalesChannel(), toDate(contentClientDTO.getDate()), toDate(contentClientDTO.getShipDate()),
+                contentClientDTO.getUnitsSold(), BigDecimal.valueOf(contentClientDTO.getUnitPrice()),
+                BigDecimal.valueOf(contentClientDTO.getUnitCost()), BigDecimal.valueOf(contentClientDTO.getTotalRevenue()),
+                BigDecimal.valueOf(contentClientDTO.getTotalCost()), BigDecimal.valueOf(contentClientDTO.getTotalProfit()));
+    }
+
+    private static Date toDate(String date) {
+        return Date.from(LocalDate.parse(date, DATE_FORMAT).atStartOfDay(ZoneId.systemDefault()).toInstant());
+    }
+}
@@ -0,0 +1,182 @@
+package com.consum.orders.infrastructure.database.writer;
+
+import com.consum.orders.infrastructure.database.dimension.OrderDimensionDictionary;
+import com.consum.orders.infrastructure.database.entity.Orders;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OrdersBulkWriterTest {
+
+    private static final int BATCH_SIZE = 2;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private OrderDimensionDictionary dictionary;
+
+    @Mock
+    private PreparedStatement preparedStatement;
+
+    private OrdersBulkWriter ordersBulkWriter;
+
+    @BeforeEach
+    void setUp() {
+        ordersBulkWriter = new OrdersBulkWriter(jdbcTemplate, dictionary, true, BATCH_SIZE, false);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testUpsert_SendsBatchesOfConfiguredSize() {
+
+        List<Orders> ordersList = List.of(createOrders("1"), createOrders("2"), createOrders("3"));
+
+        when(jdbcTemplate.batchUpdate(eq(OrdersBulkWriter.UPSERT_SQL), eq(ordersList), eq(BATCH_SIZE),
+                any(ParameterizedPreparedStatementSetter.class))).thenReturn(new int[][]{{1, 1}, {2}});
+
+        assertEquals(3, ordersBulkWriter.upsert(ordersList));
+        assertTrue(ordersBulkWriter.isEnabled());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testUpsert_NotPartitionedDoesNotDelete() {
+
+        List<Orders> ordersList = List.of(createOrders("1"));
+
+        when(jdbcTemplate.batchUpdate(eq(OrdersBulkWriter.UPSERT_SQL), eq(ordersList), eq(BATCH_SIZE),
+                any(ParameterizedPreparedStatementSetter.class))).thenReturn(new int[][]{{1}});
+
+        ordersBulkWriter.upsert(ordersList);
+
+        verify(jdbcTemplate, never()).batchUpdate(eq(OrdersBulkWriter.DELETE_MOVED_SQL), anyList(), anyInt(),
+                any(ParameterizedPreparedStatementSetter.class));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testUpsert_PartitionedReimportWithAnotherDateDeletesPreviousRowFirst() throws SQLException {
+
+        OrdersBulkWriter partitionedWriter = new OrdersBulkWriter(jdbcTemplate, dictionary, true, BATCH_SIZE, true);
+        Orders reimported = createOrders("1");
+        reimported.setOrderDate(Date.valueOf("2014-02-20"));
+        Orders undated = createOrders("2");
+        undated.setOrderDate(null);
+        List<Orders> ordersList = List.of(reimported, undated);
+
+        when(jdbcTemplate.batchUpdate(eq(OrdersBulkWriter.DELETE_MOVED_SQL), anyList(), eq(BATCH_SIZE),
+                any(ParameterizedPreparedStatementSetter.class))).thenReturn(new int[][]{{1}});
+        when(jdbcTemplate.batchUpdate(eq(OrdersBulkWriter.UPSERT_SQL), eq(ordersList), eq(BATCH_SIZE),
+                any(ParameterizedPreparedStatementSetter.class))).thenReturn(new int[][]{{1, 1}});
+
+        assertEquals(2, partitionedWriter.upsert(ordersList));
+
+        ArgumentCaptor<List<Orders>> deleted = ArgumentCaptor.forClass(List.class);
+        ArgumentCaptor<ParameterizedPreparedStatementSetter<Orders>> setter =
+                ArgumentCaptor.forClass(ParameterizedPreparedStatementSetter.class);
+        InOrder inOrder = inOrder(jdbcTemplate);
+        inOrder.verify(jdbcTemplate).batchUpdate(eq(OrdersBulkWriter.DELETE_MOVED_SQL), deleted.capture(),
+                eq(BATCH_SIZE), setter.capture());
+        inOrder.verify(jdbcTemplate).batchUpdate(eq(OrdersBulkWriter.UPSERT_SQL), eq(ordersList), eq(BATCH_SIZE),
+                any(ParameterizedPreparedStatementSetter.class));
+        // Los pedidos sin fecha no pueden estar en la tabla particionada
+        assertEquals(List.of(reimported), deleted.getValue());
+
+        setter.getValue().setValues(preparedStatement, reimported);
+        verify(preparedStatement).setString(1, "1");
+        verify(preparedStatement).setDate(2, Date.valueOf("2014-02-20"));
+    }
+
+    @Test
+    void testDeleteMovedSql_KeepsTheRowWithTheSameDate() {
+
+        assertEquals("DELETE FROM orders WHERE order_id = ? AND order_date <> ?", OrdersBulkWriter.DELETE_MOVED_SQL);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testUpsert_EmptyListDoesNothing() {
+
+        assertEquals(0, ordersBulkWriter.upsert(List.of()));
+
+        verify(jdbcTemplate, never()).batchUpdate(anyString(), anyList(), anyInt(),
+                any(ParameterizedPreparedStatementSetter.class));
+    }
+
+    @Test
+    void testUpsertSql_UpdatesEveryColumnButTheKey() {
+
+        assertTrue(OrdersBulkWriter.UPSERT_SQL.startsWith("INSERT INTO orders (order_id, uuid, order_priority_id"));
+        assertTrue(OrdersBulkWriter.UPSERT_SQL.contains("ON DUPLICATE KEY UPDATE uuid = VALUES(uuid)"));
+        assertFalse(OrdersBulkWriter.UPSERT_SQL.contains("order_id = VALUES(order_id)"));
+        assertEquals(OrdersBulkWriter.COLUMNS.size(), OrdersBulkWriter.UPSERT_SQL.chars().filter(c -> c == '?').count());
+    }
+
+    @Test
+    void testSetParameters_FollowsColumnOrder() throws SQLException {
+
+        Orders orders = createOrders("123456");
+        orders.setUnitsSold(null);
+        orders.setCountry(null);
+        when(dictionary.idOf(anyString(), any())).thenReturn(null);
+        when(dictionary.idOf("region", "North America")).thenReturn((short) 7);
+
+        ordersBulkWriter.setParameters(preparedStatement, orders);
+
+        verify(preparedStatement).setString(1, "123456");
+        verify(preparedStatement).setShort(4, (short) 7);
+        verify(preparedStatement).setNull(5, Types.SMALLINT);
+        verify(preparedStatement).setDate(8, new Date(orders.getOrderDate().getTime()));
+        verify(preparedStatement).setNull(10, Types.INTEGER);
+        verify(preparedStatement).setBigDecimal(15, BigDecimal.valueOf(2750.00));
+    }
+
+    /**
+     * Builder Orders
+     *
+     * @param orderId identificador del pedido
+     * @return Orders
+     */
+    private static Orders createOrders(String orderId) {
+        Orders orders = new Orders();
+        orders.setOrderId(orderId);
+        orders.setUuid("ce288666-5618-4460-9e9a-0e62944850e2");
+        orders.setOrderPriority("H");
+        orders.setRegion("North America");
+        orders.setCountry("United States");
+        orders.setItemType("Electronics");
+        orders.setSalesChannel("Online");
+        orders.setOrderDate(new java.util.Date());
+        orders.setShipDate(new java.util.Date());
+        orders.setUnitsSold(50);
+        orders.setUnitPrice(BigDecimal.valueOf(75.00));
+        orders.setUnitCost(BigDecimal.valueOf(20.00));
+        orders.setTotalRevenue(BigDecimal.valueOf(3750.00));
+        orders.setTotalCost(BigDecimal.valueOf(1000.00));
+        orders.setTotalProfit(BigDecimal.valueOf(2750.00));
+        return orders;
+    }
+}
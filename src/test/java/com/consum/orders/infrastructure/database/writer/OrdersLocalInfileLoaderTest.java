@@ -0,0 +1,144 @@
+package com.consum.orders.infrastructure.database.writer;
+
+import com.consum.orders.infrastructure.database.dimension.OrderDimensionDictionary;
+import com.consum.orders.infrastructure.database.entity.Orders;
+import com.mysql.cj.jdbc.JdbcStatement;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.StatementCallback;
+
+import java.io.InputStream;
+import java.sql.Statement;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OrdersLocalInfileLoaderTest {
+
+    private static final int THRESHOLD_ROWS = 2;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private OrderDimensionDictionary dictionary;
+
+    @Mock
+    private Statement statement;
+
+    @Mock
+    private JdbcStatement jdbcStatement;
+
+    private OrdersLocalInfileLoader ordersLocalInfileLoader;
+
+    @BeforeEach
+    void setUp() {
+        ordersLocalInfileLoader = new OrdersLocalInfileLoader(jdbcTemplate, dictionary, true, THRESHOLD_ROWS, false);
+    }
+
+    @Test
+    void testAccepts_RowCountThreshold() {
+
+        assertFalse(ordersLocalInfileLoader.accepts(THRESHOLD_ROWS - 1));
+        assertTrue(ordersLocalInfileLoader.accepts(THRESHOLD_ROWS));
+        assertFalse(new OrdersLocalInfileLoader(jdbcTemplate, dictionary, false, THRESHOLD_ROWS, false).accepts(1_000_000));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testLoad_StagesAndMergesInOneStatement() throws Exception {
+
+        List<Orders> ordersList = List.of(new Orders(), new Orders());
+
+        when(statement.unwrap(JdbcStatement.class)).thenReturn(jdbcStatement);
+        when(statement.executeUpdate(OrdersLocalInfileLoader.LOAD_SQL)).thenReturn(2);
+        // execute(String) comparte nombre con execute(StatementCallback): lenient evita el aviso de Mockito
+        lenient().when(jdbcTemplate.execute(any(StatementCallback.class)))
+                .thenAnswer(invocation -> invocation.<StatementCallback<Integer>>getArgument(0).doInStatement(statement));
+        when(jdbcTemplate.update(OrdersLocalInfileLoader.MERGE_SQL)).thenReturn(3);
+
+        assertEquals(2, ordersLocalInfileLoader.load(ordersList));
+        verify(jdbcTemplate, never()).update(OrdersLocalInfileLoader.DELETE_MOVED_SQL);
+
+        InOrder inOrder = inOrder(jdbcTemplate, jdbcStatement, statement);
+        inOrder.verify(jdbcTemplate).execute(OrdersLocalInfileLoader.CREATE_STAGING_SQL);
+        inOrder.verify(jdbcStatement).setLocalInfileInputStream(any(InputStream.class));
+        inOrder.verify(statement).executeUpdate(OrdersLocalInfileLoader.LOAD_SQL);
+        inOrder.verify(jdbcTemplate).update(OrdersLocalInfileLoader.MERGE_SQL);
+        inOrder.verify(jdbcTemplate).execute(OrdersLocalInfileLoader.DROP_STAGING_SQL);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testLoad_PartitionedDeletesRowsWithAnotherDateBeforeMerge() throws Exception {
+
+        OrdersLocalInfileLoader partitionedLoader = new OrdersLocalInfileLoader(jdbcTemplate, dictionary, true,
+                THRESHOLD_ROWS, true);
+
+        when(statement.unwrap(JdbcStatement.class)).thenReturn(jdbcStatement);
+        when(statement.executeUpdate(OrdersLocalInfileLoader.LOAD_SQL)).thenReturn(1);
+        lenient().when(jdbcTemplate.execute(any(StatementCallback.class)))
+                .thenAnswer(invocation -> invocation.<StatementCallback<Integer>>getArgument(0).doInStatement(statement));
+        when(jdbcTemplate.update(OrdersLocalInfileLoader.DELETE_MOVED_SQL)).thenReturn(1);
+        when(jdbcTemplate.update(OrdersLocalInfileLoader.MERGE_SQL)).thenReturn(1);
+
+        assertEquals(1, partitionedLoader.load(List.of(new Orders())));
+
+        InOrder inOrder = inOrder(jdbcTemplate, statement);
+        inOrder.verify(statement).executeUpdate(OrdersLocalInfileLoader.LOAD_SQL);
+        inOrder.verify(jdbcTemplate).update(OrdersLocalInfileLoader.DELETE_MOVED_SQL);
+        inOrder.verify(jdbcTemplate).update(OrdersLocalInfileLoader.MERGE_SQL);
+        assertEquals("DELETE o FROM orders o JOIN orders_staging s ON s.order_id = o.order_id "
+                + "WHERE o.order_date <> s.order_date", OrdersLocalInfileLoader.DELETE_MOVED_SQL);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testLoad_DropsStagingTableOnFailure() {
+
+        lenient().when(jdbcTemplate.execute(any(StatementCallback.class)))
+                .thenThrow(new DataAccessResourceFailureException("Loading local data is disabled"));
+
+        OrdersLocalInfileLoader.LocalInfileRejectedException exception = assertThrows(
+                OrdersLocalInfileLoader.LocalInfileRejectedException.class,
+                () -> ordersLocalInfileLoader.load(List.of(new Orders())));
+
+        assertInstanceOf(DataAccessResourceFailureException.class, exception.getCause());
+        verify(jdbcTemplate, times(2)).execute(OrdersLocalInfileLoader.DROP_STAGING_SQL);
+        verify(jdbcTemplate, never()).update(OrdersLocalInfileLoader.MERGE_SQL);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testLoad_MergeFailureIsNotRejection() throws Exception {
+
+        when(statement.unwrap(JdbcStatement.class)).thenReturn(jdbcStatement);
+        when(statement.executeUpdate(OrdersLocalInfileLoader.LOAD_SQL)).thenReturn(1);
+        lenient().when(jdbcTemplate.execute(any(StatementCallback.class)))
+                .thenAnswer(invocation -> invocation.<StatementCallback<Integer>>getArgument(0).doInStatement(statement));
+        when(jdbcTemplate.update(OrdersLocalInfileLoader.MERGE_SQL))
+                .thenThrow(new DataAccessResourceFailureException("Lock wait timeout exceeded"));
+
+        // El INSERT ... SELECT puede haber escrito en orders: el fallo se propaga sin convertirse en rechazo
+        assertThrows(DataAccessResourceFailureException.class, () -> ordersLocalInfileLoader.load(List.of(new Orders())));
+
+        verify(jdbcTemplate, times(2)).execute(OrdersLocalInfileLoader.DROP_STAGING_SQL);
+    }
+
+    @Test
+    void testMergeSql_UpdatesFromStagingRows() {
+
+        assertTrue(OrdersLocalInfileLoader.MERGE_SQL.startsWith("INSERT INTO orders (order_id, uuid"));
+        assertTrue(OrdersLocalInfileLoader.MERGE_SQL.contains("FROM orders_staging s ON DUPLICATE KEY UPDATE uuid = s.uuid"));
+        assertFalse(OrdersLocalInfileLoader.MERGE_SQL.contains("order_id = s.order_id"));
+    }
+}
@@ -0,0 +1,117 @@
+package com.consum.orders.infrastructure.database.writer;
+
+import com.consum.orders.infrastructure.database.dimension.OrderDimensionDictionary;
+import com.consum.orders.infrastructure.database.entity.Orders;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.Date;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.lenient;
+
+@ExtendWith(MockitoExtension.class)
+class OrdersTsvInputStreamTest {
+
+    @Mock
+    private OrderDimensionDictionary dictionary;
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(dictionary.idOf("order_priority", "H")).thenReturn((short) 1);
+        lenient().when(dictionary.idOf("region", "North America")).thenReturn((short) 2);
+        lenient().when(dictionary.idOf("region", "Europe")).thenReturn((short) 3);
+        lenient().when(dictionary.idOf("country", "United States")).thenReturn((short) 4);
+        lenient().when(dictionary.idOf("item_type", "Electronics")).thenReturn((short) 5);
+        lenient().when(dictionary.idOf("sales_channel", "Online")).thenReturn((short) 6);
+    }
+
+    @Test
+    void testRead_EncodesRowsInColumnOrder() throws IOException {
+
+        String tsv = readAll(new OrdersTsvInputStream(List.of(createOrders("1", "North America"),
+                createOrders("2", "Europe")), dictionary), 7);
+
+        assertEquals("1\tce288666-5618-4460-9e9a-0e62944850e2\t1\t2\t4\t5\t6\t"
+                + "2013-01-27\t2013-02-12\t50\t75.00\t20.00\t3750.00\t1000.00\t2750.00\n"
+                + "2\tce288666-5618-4460-9e9a-0e62944850e2\t1\t3\t4\t5\t6\t"
+                + "2013-01-27\t2013-02-12\t50\t75.00\t20.00\t3750.00\t1000.00\t2750.00\n", tsv);
+    }
+
+    @Test
+    void testRead_EscapesSeparatorsAndNulls() throws IOException {
+
+        Orders orders = createOrders("1", "Europe");
+        orders.setUuid("Tab\tNew\nBack\\slash");
+        orders.setCountry(null);
+        orders.setShipDate(null);
+        orders.setUnitsSold(null);
+        lenient().when(dictionary.idOf("country", null)).thenReturn(null);
+
+        String[] fields = readAll(new OrdersTsvInputStream(List.of(orders), dictionary), 1024).split("\t");
+
+        assertEquals(OrdersBulkWriter.COLUMNS.size(), fields.length);
+        assertEquals("Tab\\tNew\\nBack\\\\slash", fields[1]);
+        assertEquals("\\N", fields[4]);
+        assertEquals("\\N", fields[8]);
+        assertEquals("\\N", fields[9]);
+    }
+
+    @Test
+    void testRead_EmptyList() throws IOException {
+
+        assertEquals(-1, new OrdersTsvInputStream(List.of(), dictionary).read());
+    }
+
+    private static String readAll(InputStream inputStream, int bufferSize) throws IOException {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        byte[] buffer = new byte[bufferSize];
+        int read;
+        while ((read = inputStream.read(buffer, 0, buffer.length)) != -1) {
+            output.write(buffer, 0, read);
+        }
+        return output.toString(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Builder Orders
+     *
+     * @param orderId identificador del pedido
+     * @param region  región del pedido
+     * @return Orders
+     */
+    private static Orders createOrders(String orderId, String region) {
+        Orders orders = new Orders();
+        orders.setOrderId(orderId);
+        orders.setUuid("ce288666-5618-4460-9e9a-0e62944850e2");
+        orders.setOrderPriority("H");
+        orders.setRegion(region);
+        orders.setCountry("United States");
+        orders.setItemType("Electronics");
+        orders.setSalesChannel("Online");
+        orders.setOrderDate(toDate(LocalDate.of(2013, 1, 27)));
+        orders.setShipDate(toDate(LocalDate.of(2013, 2, 12)));
+        orders.setUnitsSold(50);
+        orders.setUnitPrice(new BigDecimal("75.00"));
+        orders.setUnitCost(new BigDecimal("20.00"));
+        orders.setTotalRevenue(new BigDecimal("3750.00"));
+        orders.setTotalCost(new BigDecimal("1000.00"));
+        orders.setTotalProfit(new BigDecimal("2750.00"));
+        return orders;
+    }
+
+    private static Date toDate(LocalDate date) {
+        return Date.from(date.atStartOfDay(ZoneId.systemDefault()).toInstant());
+    }
+}
@@ -0,0 +1,112 @@
+package com.consum.orders.infrastructure.service;
+
+import com.consum.orders.infrastructure.database.entity.ImportJob;
+import com.consum.orders.infrastructure.database.entity.ImportJobStatus;
+import com.consum.orders.infrastructure.database.repository.ImportJobRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Date;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ImportJobRepositoryServiceTest {
+
+    private static final String JOB_ID = "5b0c5e4f-8d3a-4a8e-9a51-0f2f3c1a7e11";
+    private static final int LEASE_SECONDS = 300;
+
+    @Mock
+    private ImportJobRepository importJobRepository;
+
+    private ImportJobRepositoryService importJobRepositoryService;
+
+    @BeforeEach
+    void setUp() {
+        importJobRepositoryService = new ImportJobRepositoryService(importJobRepository, LEASE_SECONDS);
+    }
+
+    @Test
+    void testUpdateStatus_TruncatesLongErrorMessage() {
+
+        String errorMessage = "x".repeat(ImportJob.ERROR_MESSAGE_LENGTH + 500);
+
+        importJobRepositoryService.updateStatus(JOB_ID, ImportJobStatus.FAILED, errorMessage);
+
+        verify(importJobRepository).updateStatus(eq(JOB_ID), eq(ImportJobStatus.FAILED),
+                eq("x".repeat(ImportJob.ERROR_MESSAGE_LENGTH)), any(Date.class));
+    }
+
+    @Test
+    void testUpdateStatus_KeepsShortOrNullErrorMessage() {
+
+        importJobRepositoryService.updateStatus(JOB_ID, ImportJobStatus.FAILED, "Timeout");
+        importJobRepositoryService.updateStatus(JOB_ID, ImportJobStatus.COMPLETED, null);
+
+        verify(importJobRepository).updateStatus(eq(JOB_ID), eq(ImportJobStatus.FAILED), eq("Timeout"), any(Date.class));
+        verify(importJobRepository).updateStatus(eq(JOB_ID), eq(ImportJobStatus.COMPLETED), isNull(), any(Date.class));
+    }
+
+    @Test
+    void testCreateJob_ReservedForThisInstance() {
+
+        when(importJobRepository.save(any(ImportJob.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        ImportJob importJob = importJobRepositoryService.createJob("100");
+
+        assertEquals(ImportJobStatus.PENDING, importJob.getStatus());
+        assertNotNull(importJob.getOwner());
+        assertTrue(importJob.getLeaseExpiresAt().after(importJob.getCreatedAt()));
+    }
+
+    @Test
+    void testClaim_OnlyUnfinishedJobsWithExpiredLease() {
+
+        ArgumentCaptor<Date> leaseExpiresAt = ArgumentCaptor.forClass(Date.class);
+        ArgumentCaptor<Date> now = ArgumentCaptor.forClass(Date.class);
+        when(importJobRepository.claim(eq(JOB_ID), anyCollection(), anyString(), leaseExpiresAt.capture(), now.capture()))
+                .thenReturn(1, 0);
+
+        assertTrue(importJobRepositoryService.claim(JOB_ID));
+        assertFalse(importJobRepositoryService.claim(JOB_ID));
+
+        verify(importJobRepository, times(2)).claim(eq(JOB_ID),
+                eq(List.of(ImportJobStatus.PENDING, ImportJobStatus.RUNNING, ImportJobStatus.INTERRUPTED)),
+                anyString(), any(Date.class), any(Date.class));
+        assertEquals(LEASE_SECONDS * 1000L,
+                leaseExpiresAt.getValue().getTime() - now.getValue().getTime());
+    }
+
+    @Test
+    void testClaimAndRelease_SameInstance() {
+
+        importJobRepositoryService.claim(JOB_ID);
+        importJobRepositoryService.release(JOB_ID, ImportJobStatus.INTERRUPTED);
+
+        ArgumentCaptor<String> claimOwner = ArgumentCaptor.forClass(String.class);
+        ArgumentCaptor<String> releaseOwner = ArgumentCaptor.forClass(String.class);
+        verify(importJobRepository).claim(eq(JOB_ID), anyCollection(), claimOwner.capture(), any(Date.class), any(Date.class));
+        verify(importJobRepository).release(eq(JOB_ID), releaseOwner.capture(), eq(ImportJobStatus.INTERRUPTED),
+                any(Date.class));
+        assertEquals(claimOwner.getValue(), releaseOwner.getValue());
+    }
+
+    @Test
+    void testRenewLeases_NoRunningJobs() {
+
+        importJobRepositoryService.renewLeases(List.of());
+
+        verifyNoInteractions(importJobRepository);
+    }
+}
@@ -2,21 +2,41 @@ package com.consum.orders.infrastructure.service;
 
 import com.consum.orders.domain.exception.ProcessingException;
 import com.consum.orders.infrastructure.client.KatasClientFeign;
+import com.consum.orders.infrastructure.client.decoder.OrdersPageStreamDecoder;
 import com.consum.orders.infrastructure.client.dto.ContentClientDTO;
 import com.consum.orders.infrastructure.client.dto.ContentLinksDTO;
 import com.consum.orders.infrastructure.client.dto.LinksClientDTO;
 import com.consum.orders.infrastructure.client.dto.PaginatedOrderClientDTO;
+import com.consum.orders.infrastructure.client.dto.StreamedPageClientDTO;
+import com.consum.orders.infrastructure.client.resilience.CircuitBreaker;
+import com.consum.orders.infrastructure.client.resilience.RequestCoalescer;
+import com.consum.orders.infrastructure.client.resilience.RequestHedger;
 import feign.FeignException;
+import feign.Request;
+import feign.Response;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.Cacheable;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -29,7 +49,25 @@ class OrdersClientServiceTest {
     @Mock
     private KatasClientFeign katasClientFeign;
 
-    @InjectMocks
+    @Mock
+    private OrdersPageStreamDecoder ordersPageStreamDecoder;
+
+    @Mock
+    private RequestCoalescer requestCoalescer;
+
+    @Mock
+    private RequestHedger requestHedger;
+
+    @Mock
+    private CacheManager cacheManager;
+
+    @Mock
+    private Cache staleCache;
+
+    @Mock
+    private Cache orderCache;
+
+    private CircuitBreaker circuitBreaker;
     private OrdersClientService ordersClientService;
 
     private ContentClientDTO contentClientDTO;
@@ -38,6 +76,10 @@ class OrdersClientServiceTest {
     @BeforeEach
     void setUp() {
 
+        MeterRegistry meterRegistry = new SimpleMeterRegistry();
+        circuitBreaker = new CircuitBreaker(meterRegistry, 10, 2, 0.5, 60_000, 1);
+        ordersClientService = new OrdersClientService(katasClientFeign, ordersPageStreamDecoder, requestCoalescer,
+                requestHedger, circuitBreaker, cacheManager, meterRegistry);
         contentClientDTO = createContentClientDTO();
         paginatedOrderClientDTO = createPaginatedOrderClientDTO();
     }
@@ -57,6 +99,19 @@ class OrdersClientServiceTest {
         verify(katasClientFeign, times(1)).getClientOrders(PAGE, MAX_PER_PAGE);
     }
 
+    @Test
+    void testFetchPagedOrders_Client_CallsApiEveryTime() throws NoSuchMethodException {
+
+        when(katasClientFeign.getClientOrders(PAGE, MAX_PER_PAGE)).thenReturn(paginatedOrderClientDTO);
+
+        ordersClientService.fetchPagedOrdersClient(PAGE, MAX_PER_PAGE);
+        ordersClientService.fetchPagedOrdersClient(PAGE, MAX_PER_PAGE);
+
+        verify(katasClientFeign, times(2)).getClientOrders(PAGE, MAX_PER_PAGE);
+        assertNull(OrdersClientService.class.getMethod("fetchPagedOrdersClient", String.class, String.class)
+                .getAnnotation(Cacheable.class));
+    }
+
     @Test
     void testGetPagedOrders_Client_EmptyResult() {
 
@@ -84,9 +139,15 @@ class OrdersClientServiceTest {
     }
 
     @Test
+    @SuppressWarnings("unchecked")
     void testGetOrdersByUUID_Client_Success() {
 
         when(katasClientFeign.getClientOrderByUUID(UUID)).thenReturn(contentClientDTO);
+        when(requestCoalescer.execute(eq(OrdersClientService.CLIENT_ORDER_CACHE), eq(UUID), eq(ContentClientDTO.class), any()))
+                .thenAnswer(invocation -> ((Supplier<ContentClientDTO>) invocation.getArgument(3)).get());
+        when(requestHedger.execute(any())).thenAnswer(invocation -> ((Supplier<ContentClientDTO>) invocation.getArgument(0)).get());
+        when(cacheManager.getCache(OrdersClientService.CLIENT_ORDER_CACHE)).thenReturn(orderCache);
+        when(cacheManager.getCache(OrdersClientService.CLIENT_ORDER_STALE_CACHE)).thenReturn(staleCache);
 
         ContentClientDTO result = ordersClientService.getOrderByUUIDClient(UUID);
 
@@ -94,6 +155,171 @@ class OrdersClientServiceTest {
         assertEquals(result.getId(), contentClientDTO.getId());
 
         verify(katasClientFeign, times(1)).getClientOrderByUUID(UUID);
+        verify(staleCache, times(1)).put(UUID, contentClientDTO);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testGetOrdersByUUID_Client_UpstreamErrorServesStaleCopy() {
+
+        when(requestCoalescer.execute(eq(OrdersClientService.CLIENT_ORDER_CACHE), eq(UUID), eq(ContentClientDTO.class), any()))
+                .thenAnswer(invocation -> ((Supplier<ContentClientDTO>) invocation.getArgument(3)).get());
+        when(requestHedger.execute(any())).thenThrow(createFeignException(503));
+        when(cacheManager.getCache(OrdersClientService.CLIENT_ORDER_CACHE)).thenReturn(orderCache);
+        when(cacheManager.getCache(OrdersClientService.CLIENT_ORDER_STALE_CACHE)).thenReturn(staleCache);
+        when(staleCache.get(UUID, ContentClientDTO.class)).thenReturn(contentClientDTO);
+
+        assertSame(contentClientDTO, ordersClientService.getOrderByUUIDClient(UUID));
+        assertSame(contentClientDTO, ordersClientService.getOrderByUUIDClient(UUID));
+        assertEquals(CircuitBreaker.State.OPEN, circuitBreaker.getState());
+
+        // Con el circuito abierto la consulta no llega a la API
+        ordersClientService.getOrderByUUIDClient(UUID);
+        verify(requestHedger, times(2)).execute(any());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testGetOrdersByUUID_Client_UpstreamErrorWithoutStaleCopy() {
+
+        when(requestCoalescer.execute(eq(OrdersClientService.CLIENT_ORDER_CACHE), eq(UUID), eq(ContentClientDTO.class), any()))
+                .thenAnswer(invocation -> ((Supplier<ContentClientDTO>) invocation.getArgument(3)).get());
+        when(requestHedger.execute(any())).thenThrow(createFeignException(503));
+        when(cacheManager.getCache(OrdersClientService.CLIENT_ORDER_CACHE)).thenReturn(orderCache);
+        when(cacheManager.getCache(OrdersClientService.CLIENT_ORDER_STALE_CACHE)).thenReturn(staleCache);
+
+        ProcessingException exception = assertThrows(ProcessingException.class,
+                () -> ordersClientService.getOrderByUUIDClient(UUID));
+
+        assertEquals("Error de comunicación con el servicio externo.", exception.getMessage());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testGetOrdersByUUID_Client_NotFoundIsNotAFailure() {
+
+        when(requestCoalescer.execute(eq(OrdersClientService.CLIENT_ORDER_CACHE), eq(UUID), eq(ContentClientDTO.class), any()))
+                .thenAnswer(invocation -> ((Supplier<ContentClientDTO>) invocation.getArgument(3)).get());
+        when(requestHedger.execute(any())).thenThrow(createFeignException(404));
+
+        for (int i = 0; i < 3; i++) {
+            assertThrows(FeignException.NotFound.class, () -> ordersClientService.getOrderByUUIDClient(UUID));
+        }
+
+        assertEquals(CircuitBreaker.State.CLOSED, circuitBreaker.getState());
+        verify(cacheManager, never()).getCache(OrdersClientService.CLIENT_ORDER_STALE_CACHE);
+    }
+
+    @Test
+    void testGetOrdersByUUID_Client_CachedOrder() {
+
+        when(cacheManager.getCache(OrdersClientService.CLIENT_ORDER_CACHE)).thenReturn(orderCache);
+        when(orderCache.get(UUID, ContentClientDTO.class)).thenReturn(contentClientDTO);
+
+        assertSame(contentClientDTO, ordersClientService.getOrderByUUIDClient(UUID));
+
+        verifyNoInteractions(requestCoalescer, katasClientFeign);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testGetOrdersByUUID_Client_FreshOrderIsLeftToCoalescer() {
+
+        when(katasClientFeign.getClientOrderByUUID(UUID)).thenReturn(contentClientDTO);
+        when(requestCoalescer.execute(eq(OrdersClientService.CLIENT_ORDER_CACHE), eq(UUID), eq(ContentClientDTO.class), any()))
+                .thenAnswer(invocation -> ((Supplier<ContentClientDTO>) invocation.getArgument(3)).get());
+        when(requestHedger.execute(any())).thenAnswer(invocation -> ((Supplier<ContentClientDTO>) invocation.getArgument(0)).get());
+        when(cacheManager.getCache(OrdersClientService.CLIENT_ORDER_CACHE)).thenReturn(orderCache);
+        when(cacheManager.getCache(OrdersClientService.CLIENT_ORDER_STALE_CACHE)).thenReturn(staleCache);
+
+        assertSame(contentClientDTO, ordersClientService.getOrderByUUIDClient(UUID));
+
+        // RequestCoalescer publica el pedido en clientOrderCache; aquí solo se guarda la copia de respaldo
+        verify(orderCache, never()).put(any(), any());
+        verify(staleCache, times(1)).put(UUID, contentClientDTO);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testGetOrdersByUUID_Client_StaleCopyIsNotCached() {
+
+        when(requestCoalescer.execute(eq(OrdersClientService.CLIENT_ORDER_CACHE), eq(UUID), eq(ContentClientDTO.class), any()))
+                .thenAnswer(invocation -> ((Supplier<ContentClientDTO>) invocation.getArgument(3)).get());
+        when(requestHedger.execute(any())).thenThrow(createFeignException(503));
+        when(cacheManager.getCache(OrdersClientService.CLIENT_ORDER_CACHE)).thenReturn(orderCache);
+        when(cacheManager.getCache(OrdersClientService.CLIENT_ORDER_STALE_CACHE)).thenReturn(staleCache);
+        when(staleCache.get(UUID, ContentClientDTO.class)).thenReturn(contentClientDTO);
+
+        // Dos errores abren el circuito y la tercera consulta se resuelve sin llamar a la API
+        for (int i = 0; i < 3; i++) {
+            assertSame(contentClientDTO, ordersClientService.getOrderByUUIDClient(UUID));
+        }
+
+        assertEquals(CircuitBreaker.State.OPEN, circuitBreaker.getState());
+        verify(orderCache, never()).put(any(), any());
+        verify(staleCache, never()).put(any(), any());
+    }
+
+    @Test
+    void testStreamPagedOrders_Client_Success() throws IOException {
+
+        Response response = createResponse(200, "{}");
+        StreamedPageClientDTO streamedPage = new StreamedPageClientDTO(1, 1, null);
+        List<ContentClientDTO> received = new ArrayList<>();
+
+        when(katasClientFeign.getClientOrdersStream(PAGE, MAX_PER_PAGE)).thenReturn(response);
+        when(ordersPageStreamDecoder.decode(any(InputStream.class), any())).thenAnswer(invocation -> {
+            Consumer<ContentClientDTO> consumer = invocation.getArgument(1);
+            consumer.accept(contentClientDTO);
+            return streamedPage;
+        });
+
+        StreamedPageClientDTO result = ordersClientService.streamPagedOrdersClient(PAGE, MAX_PER_PAGE, received::add);
+
+        assertEquals(streamedPage, result);
+        assertEquals(List.of(contentClientDTO), received);
+    }
+
+    @Test
+    void testStreamPagedOrders_Client_ErrorStatus() {
+
+        when(katasClientFeign.getClientOrdersStream(PAGE, MAX_PER_PAGE)).thenReturn(createResponse(503, ""));
+
+        ProcessingException exception = assertThrows(ProcessingException.class,
+                () -> ordersClientService.streamPagedOrdersClient(PAGE, MAX_PER_PAGE, contentClientDTO -> {
+                }));
+
+        assertEquals("Error de comunicación con el servicio externo.", exception.getMessage());
+        verifyNoInteractions(ordersPageStreamDecoder);
+    }
+
+    /**
+     * Builder FeignException
+     *
+     * @param status código de estado HTTP
+     * @return FeignException del estado indicado
+     */
+    private static FeignException createFeignException(int status) {
+        return FeignException.errorStatus("KatasClientFeign#getClientOrderByUUID", createResponse(status, ""));
+    }
+
+    /**
+     * Builder Response de Feign
+     *
+     * @param status código de estado HTTP
+     * @param body   cuerpo de la respuesta
+     * @return Response
+     */
+    private static Response createResponse(int status, String body) {
+        Request request = Request.create(Request.HttpMethod.GET, "https://kata-espublicotech.g3stiona.com:443/v1/orders",
+                Map.of(), null, StandardCharsets.UTF_8, null);
+
+        return Response.builder()
+                .status(status)
+                .request(request)
+                .headers(Map.of())
+                .body(body, StandardCharsets.UTF_8)
+                .build();
     }
 
     /**
@@ -1,22 +1,36 @@
 package com.consum.orders.infrastructure.service;
 
+import com.consum.orders.domain.dto.OrdersDTO;
 import com.consum.orders.domain.exception.ProcessingException;
+import com.consum.orders.infrastructure.database.cache.OrdersSecondLevelCache;
 import com.consum.orders.infrastructure.database.entity.Orders;
+import com.consum.orders.infrastructure.database.partition.OrdersArchiveCutoff;
+import com.consum.orders.infrastructure.database.projection.OrdersSummaryCount;
+import com.consum.orders.infrastructure.database.repository.OrderSummaryRepository;
 import com.consum.orders.infrastructure.database.repository.OrdersRepository;
+import com.consum.orders.infrastructure.database.writer.OrderSummaryWriter;
+import com.consum.orders.infrastructure.database.writer.OrdersBulkWriter;
+import com.consum.orders.infrastructure.database.writer.OrdersLocalInfileLoader;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
 
 import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.util.Date;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -25,6 +39,24 @@ class OrdersRepositoryServiceTest {
     @Mock
     private OrdersRepository ordersRepository;
 
+    @Mock
+    private OrdersBulkWriter ordersBulkWriter;
+
+    @Mock
+    private OrdersLocalInfileLoader ordersLocalInfileLoader;
+
+    @Mock
+    private OrderSummaryRepository orderSummaryRepository;
+
+    @Mock
+    private OrderSummaryWriter orderSummaryWriter;
+
+    @Mock
+    private OrdersSecondLevelCache ordersSecondLevelCache;
+
+    @Spy
+    private OrdersArchiveCutoff ordersArchiveCutoff = new OrdersArchiveCutoff(false, 0);
+
     @InjectMocks
     private OrdersRepositoryService ordersRepositoryService;
 
@@ -43,6 +75,7 @@ class OrdersRepositoryServiceTest {
         ordersRepositoryService.saveAllOrders(ordersList);
 
         verify(ordersRepository, times(1)).saveAll(ordersList);
+        verify(ordersSecondLevelCache, times(1)).evictAfterCommit();
     }
 
     @Test
@@ -53,6 +86,106 @@ class OrdersRepositoryServiceTest {
         assertThrows(ProcessingException.class, () -> ordersRepositoryService.saveAllOrders(ordersList));
     }
 
+    @Test
+    void testSaveAllOrders_ArchivedOrdersAreNotSaved() {
+
+        doReturn(List.of()).when(ordersArchiveCutoff).retain(ordersList);
+
+        ordersRepositoryService.saveAllOrders(ordersList);
+
+        verifyNoInteractions(ordersBulkWriter, ordersRepository, orderSummaryWriter, ordersSecondLevelCache);
+    }
+
+    @Test
+    void testSaveAllOrders_BulkWriter() {
+
+        when(ordersBulkWriter.isEnabled()).thenReturn(true);
+        when(ordersBulkWriter.upsert(ordersList)).thenReturn(ordersList.size());
+
+        ordersRepositoryService.saveAllOrders(ordersList);
+
+        verify(ordersBulkWriter, times(1)).upsert(ordersList);
+        verifyNoInteractions(ordersRepository);
+    }
+
+    @Test
+    void testSaveAllOrders_BulkWriterException() {
+
+        when(ordersBulkWriter.isEnabled()).thenReturn(true);
+        doThrow(RuntimeException.class).when(ordersBulkWriter).upsert(ordersList);
+
+        assertThrows(ProcessingException.class, () -> ordersRepositoryService.saveAllOrders(ordersList));
+    }
+
+    @Test
+    void testSaveAllOrders_LocalInfileAboveThreshold() {
+
+        when(ordersLocalInfileLoader.accepts(ordersList.size())).thenReturn(true);
+        when(ordersLocalInfileLoader.load(ordersList)).thenReturn(ordersList.size());
+
+        ordersRepositoryService.saveAllOrders(ordersList);
+
+        verify(ordersLocalInfileLoader, times(1)).load(ordersList);
+        verifyNoInteractions(ordersBulkWriter, ordersRepository);
+    }
+
+    @Test
+    void testSaveAllOrders_LocalInfileRejectedFallsBackToBulkWriter() {
+
+        when(ordersLocalInfileLoader.accepts(ordersList.size())).thenReturn(true);
+        doThrow(new OrdersLocalInfileLoader.LocalInfileRejectedException(new RuntimeException("local_infile=OFF")))
+                .when(ordersLocalInfileLoader).load(ordersList);
+        when(ordersBulkWriter.isEnabled()).thenReturn(true);
+
+        ordersRepositoryService.saveAllOrders(ordersList);
+
+        verify(ordersBulkWriter, times(1)).upsert(ordersList);
+    }
+
+    @Test
+    void testSaveAllOrders_LocalInfileMergeFailureIsRethrown() {
+
+        when(ordersLocalInfileLoader.accepts(ordersList.size())).thenReturn(true);
+        doThrow(RuntimeException.class).when(ordersLocalInfileLoader).load(ordersList);
+
+        assertThrows(ProcessingException.class, () -> ordersRepositoryService.saveAllOrders(ordersList));
+
+        verifyNoInteractions(ordersBulkWriter, ordersRepository);
+    }
+
+    @Test
+    void testGetLocalInfileThreshold() {
+
+        when(ordersLocalInfileLoader.isEnabled()).thenReturn(true, false);
+        when(ordersLocalInfileLoader.getThresholdRows()).thenReturn(50_000);
+
+        assertEquals(50_000, ordersRepositoryService.getLocalInfileThreshold());
+        assertEquals(0, ordersRepositoryService.getLocalInfileThreshold());
+    }
+
+    @Test
+    void testSaveAllOrders_UpdatesMaterializedSummaryBeforeWriting() {
+
+        when(orderSummaryWriter.isEnabled()).thenReturn(true);
+        when(ordersBulkWriter.isEnabled()).thenReturn(true);
+
+        ordersRepositoryService.saveAllOrders(ordersList);
+
+        var inOrder = inOrder(orderSummaryWriter, ordersBulkWriter);
+        inOrder.verify(orderSummaryWriter).applyChanges(ordersList);
+        inOrder.verify(ordersBulkWriter).upsert(ordersList);
+    }
+
+    @Test
+    void testSaveAllOrders_SummaryFailureAbortsSave() {
+
+        when(orderSummaryWriter.isEnabled()).thenReturn(true);
+        doThrow(RuntimeException.class).when(orderSummaryWriter).applyChanges(ordersList);
+
+        assertThrows(ProcessingException.class, () -> ordersRepositoryService.saveAllOrders(ordersList));
+        verifyNoInteractions(ordersBulkWriter, ordersRepository);
+    }
+
     @Test
     void testFindAll() {
 
@@ -66,7 +199,7 @@ class OrdersRepositoryServiceTest {
 
     @Test
     void testFindById() {
-        Long orderId = 1L;
+        String orderId = "123456";
         Orders expectedOrder = createOrders();
 
         when(ordersRepository.findById(orderId)).thenReturn(Optional.of(expectedOrder));
@@ -77,6 +210,92 @@ class OrdersRepositoryServiceTest {
         verify(ordersRepository, times(1)).findById(orderId);
     }
 
+    @Test
+    void testFindPageAfter() {
+
+        List<OrdersDTO> ordersDTOList = List.of(createOrderDTO());
+        when(ordersRepository.findOrdersDTOAfter("123455", PageRequest.of(0, 101))).thenReturn(ordersDTOList);
+
+        List<OrdersDTO> actualOrders = ordersRepositoryService.findPageAfter("123455", 101);
+
+        assertEquals(ordersDTOList, actualOrders);
+    }
+
+    @Test
+    void testStreamAll() {
+
+        OrdersDTO ordersDTO = createOrderDTO();
+        AtomicBoolean closed = new AtomicBoolean();
+        when(ordersRepository.streamAllOrdersDTO()).thenReturn(Stream.of(ordersDTO).onClose(() -> closed.set(true)));
+
+        List<OrdersDTO> read = ordersRepositoryService.streamAll(Stream::toList);
+
+        assertEquals(List.of(ordersDTO), read);
+        assertTrue(closed.get());
+    }
+
+    @Test
+    void testCountByDimension() {
+
+        List<OrdersSummaryCount> summaryCounts = List.of(mock(OrdersSummaryCount.class));
+        when(ordersRepository.countByDimension()).thenReturn(summaryCounts);
+
+        assertEquals(summaryCounts, ordersRepositoryService.countByDimension());
+        verifyNoInteractions(orderSummaryRepository);
+    }
+
+    @Test
+    void testCountByDimensionBetween_OpenBoundsUseDateLimits() {
+
+        List<OrdersSummaryCount> summaryCounts = List.of(mock(OrdersSummaryCount.class));
+        when(ordersRepository.countByDimensionBetween(java.sql.Date.valueOf("2014-01-01"),
+                java.sql.Date.valueOf(OrdersRepositoryService.MAX_ORDER_DATE))).thenReturn(summaryCounts);
+
+        assertEquals(summaryCounts, ordersRepositoryService.countByDimensionBetween(LocalDate.of(2014, 1, 1), null));
+        verifyNoInteractions(orderSummaryRepository);
+    }
+
+    @Test
+    void testStreamBetween_ClosesStream() {
+
+        OrdersDTO ordersDTO = createOrderDTO();
+        AtomicBoolean closed = new AtomicBoolean();
+        when(ordersRepository.streamOrdersDTOBetween(java.sql.Date.valueOf(OrdersRepositoryService.MIN_ORDER_DATE),
+                java.sql.Date.valueOf("2014-12-31"))).thenReturn(Stream.of(ordersDTO).onClose(() -> closed.set(true)));
+
+        List<OrdersDTO> read = ordersRepositoryService.streamBetween(null, LocalDate.of(2014, 12, 31), Stream::toList);
+
+        assertEquals(List.of(ordersDTO), read);
+        assertTrue(closed.get());
+    }
+
+    @Test
+    void testCountByDimension_ReadsMaterializedSummary() {
+
+        List<OrdersSummaryCount> summaryCounts = List.of(mock(OrdersSummaryCount.class));
+        when(orderSummaryWriter.isEnabled()).thenReturn(true);
+        when(orderSummaryRepository.findSummaryCounts()).thenReturn(summaryCounts);
+
+        assertEquals(summaryCounts, ordersRepositoryService.countByDimension());
+        verify(ordersRepository, never()).countByDimension();
+    }
+
+    @Test
+    void testRebuildSummary() {
+
+        when(orderSummaryWriter.isEnabled()).thenReturn(true);
+        when(orderSummaryWriter.rebuild()).thenReturn(250);
+
+        assertEquals(250, ordersRepositoryService.rebuildSummary());
+    }
+
+    @Test
+    void testRebuildSummary_Disabled() {
+
+        assertThrows(ProcessingException.class, () -> ordersRepositoryService.rebuildSummary());
+        verify(orderSummaryWriter, never()).rebuild();
+    }
+
     /**
      * Builder Orders
      *
@@ -102,4 +321,28 @@ class OrdersRepositoryServiceTest {
 
         return orders;
     }
-}
\ No newline at end of file
+
+    /**
+     * Builder OrderDTO
+     *
+     * @return OrderDTO
+     */
+    private static OrdersDTO createOrderDTO() {
+        return OrdersDTO.builder()
+                .orderId("123456")
+                .orderPriority("H")
+                .orderDate(new Date())
+                .region("North America")
+                .country("United States")
+                .itemType("Electronics")
+                .salesChannel("Online")
+                .shipDate(new Date())
+                .unitsSold(50)
+                .unitPrice(BigDecimal.valueOf(75.00))
+                .unitCost(BigDecimal.valueOf(20.00))
+                .totalRevenue(BigDecimal.valueOf(3750.00))
+                .totalCost(BigDecimal.valueOf(1000.00))
+                .totalProfit(BigDecimal.valueOf(2750.00))
+                .build();
+    }
+}
@@ -0,0 +1,180 @@
+package com.consum.orders.infrastructure.service;
+
+import com.consum.orders.infrastructure.database.cache.OrdersSecondLevelCache;
+import com.consum.orders.infrastructure.database.dimension.OrderDimensionDictionary;
+import com.consum.orders.infrastructure.database.entity.Orders;
+import com.consum.orders.infrastructure.database.partition.OrdersArchiveCutoff;
+import com.consum.orders.infrastructure.database.repository.OrderSummaryRepository;
+import com.consum.orders.infrastructure.database.repository.OrdersRepository;
+import com.consum.orders.infrastructure.database.writer.OrderSummaryWriter;
+import com.consum.orders.infrastructure.database.writer.OrdersBulkWriter;
+import com.consum.orders.infrastructure.database.writer.OrdersLocalInfileLoader;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.StatementCallback;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.EnableTransactionManagement;
+import org.springframework.transaction.support.AbstractPlatformTransactionManager;
+import org.springframework.transaction.support.DefaultTransactionStatus;
+import org.springframework.transaction.support.SmartTransactionObject;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Guarda pedidos a través de los proxies transaccionales de Spring, para comprobar que un rechazo de LOAD DATA dentro
+ * de la transacción de {@link OrdersRepositoryService#saveAllOrders(List)} no impide confirmarla con la escritura por
+ * lotes.
+ */
+@SpringJUnitConfig(OrdersRepositoryServiceTransactionTest.Config.class)
+class OrdersRepositoryServiceTransactionTest {
+
+    @Autowired
+    private OrdersRepositoryService ordersRepositoryService;
+
+    @Autowired
+    private OrdersBulkWriter ordersBulkWriter;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private RecordingTransactionManager transactionManager;
+
+    @BeforeEach
+    void setUp() {
+        reset(ordersBulkWriter, jdbcTemplate);
+        transactionManager.commits = 0;
+        transactionManager.rollbacks = 0;
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testSaveAllOrders_LocalInfileRejectedCommitsBulkWrite() {
+
+        List<Orders> ordersList = List.of(new Orders(), new Orders());
+        when(ordersBulkWriter.isEnabled()).thenReturn(true);
+        when(jdbcTemplate.execute(any(StatementCallback.class)))
+                .thenThrow(new DataAccessResourceFailureException("Loading local data is disabled"));
+
+        ordersRepositoryService.saveAllOrders(ordersList);
+
+        assertEquals(1, transactionManager.commits);
+        assertEquals(0, transactionManager.rollbacks);
+        // La verificación pasa por el proxy del mock y abre su propia transacción: va después de contarlas
+        verify(ordersBulkWriter, times(1)).upsert(ordersList);
+    }
+
+    @Configuration
+    @EnableTransactionManagement
+    static class Config {
+
+        @Bean
+        RecordingTransactionManager transactionManager() {
+            return new RecordingTransactionManager();
+        }
+
+        @Bean
+        JdbcTemplate jdbcTemplate() {
+            return mock(JdbcTemplate.class);
+        }
+
+        @Bean
+        OrdersBulkWriter ordersBulkWriter() {
+            return mock(OrdersBulkWriter.class);
+        }
+
+        @Bean
+        OrdersLocalInfileLoader ordersLocalInfileLoader(JdbcTemplate jdbcTemplate) {
+            return new OrdersLocalInfileLoader(jdbcTemplate, mock(OrderDimensionDictionary.class), true, 1, false);
+        }
+
+        @Bean
+        OrdersRepositoryService ordersRepositoryService(OrdersBulkWriter ordersBulkWriter,
+                                                        OrdersLocalInfileLoader ordersLocalInfileLoader) {
+            return new OrdersRepositoryService(mock(OrdersRepository.class), ordersBulkWriter, ordersLocalInfileLoader,
+                    mock(OrderSummaryRepository.class), mock(OrderSummaryWriter.class),
+                    mock(OrdersSecondLevelCache.class), new OrdersArchiveCutoff(false, 0));
+        }
+    }
+
+    /**
+     * Gestor de transacciones sin base de datos que cuenta confirmaciones y rollbacks. Las transacciones que se unen a
+     * una existente comparten su marca de rollback, como con un gestor real, así que confirmar una transacción marcada
+     * por un método interno lanza {@code UnexpectedRollbackException}.
+     */
+    static class RecordingTransactionManager extends AbstractPlatformTransactionManager {
+
+        private int commits;
+        private int rollbacks;
+
+        @Override
+        protected Object doGetTransaction() {
+            return new RecordingTransaction((RollbackMark) TransactionSynchronizationManager.getResource(this));
+        }
+
+        @Override
+        protected boolean isExistingTransaction(Object transaction) {
+            return ((RecordingTransaction) transaction).mark != null;
+        }
+
+        @Override
+        protected void doBegin(Object transaction, TransactionDefinition definition) {
+            RollbackMark mark = new RollbackMark();
+            ((RecordingTransaction) transaction).mark = mark;
+            TransactionSynchronizationManager.bindResource(this, mark);
+        }
+
+        @Override
+        protected void doCommit(DefaultTransactionStatus status) {
+            commits++;
+        }
+
+        @Override
+        protected void doRollback(DefaultTransactionStatus status) {
+            rollbacks++;
+        }
+
+        @Override
+        protected void doSetRollbackOnly(DefaultTransactionStatus status) {
+            ((RecordingTransaction) status.getTransaction()).mark.rollbackOnly = true;
+        }
+
+        @Override
+        protected void doCleanupAfterCompletion(Object transaction) {
+            TransactionSynchronizationManager.unbindResource(this);
+        }
+    }
+
+    private static class RollbackMark {
+        private boolean rollbackOnly;
+    }
+
+    private static class RecordingTransaction implements SmartTransactionObject {
+
+        private RollbackMark mark;
+
+        private RecordingTransaction(RollbackMark mark) {
+            this.mark = mark;
+        }
+
+        @Override
+        public boolean isRollbackOnly() {
+            return mark.rollbackOnly;
+        }
+
+        @Override
+        public void flush() {
+        }
+    }
+}
@@ -0,0 +1,229 @@
+package com.consum.orders.infrastructure.service;
+
+import com.consum.orders.domain.sketch.CountMinSketch;
+import com.consum.orders.domain.sketch.HeavyHitters;
+import com.consum.orders.domain.summary.CubeDimension;
+import com.consum.orders.infrastructure.database.entity.Orders;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.connection.StringRedisConnection;
+import org.springframework.data.redis.core.HashOperations;
+import org.springframework.data.redis.core.HyperLogLogOperations;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.Date;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OrdersSketchRedisServiceTest {
+
+    private static final int CANDIDATES = 100;
+
+    @Mock
+    private StringRedisTemplate stringRedisTemplate;
+
+    @Mock
+    private StringRedisConnection connection;
+
+    @Mock
+    private HyperLogLogOperations<String, String> hyperLogLogOperations;
+
+    @Mock
+    private HashOperations<String, Object, Object> hashOperations;
+
+    @Mock
+    private ValueOperations<String, String> valueOperations;
+
+    @Mock
+    private ZSetOperations<String, String> zSetOperations;
+
+    private OrdersSketchRedisService ordersSketchRedisService;
+
+    @BeforeEach
+    void setUp() {
+        ordersSketchRedisService = new OrdersSketchRedisService(stringRedisTemplate, true, 0.001, 0.01, CANDIDATES);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void testRecord_UpdatesHyperLogLogsAndCountMinSketches() {
+
+        List<Object> results = new ArrayList<>();
+        lenient().when(connection.hIncrBy(anyString(), anyString(), anyLong())).thenAnswer(invocation -> {
+            results.add(invocation.<Long>getArgument(2));
+            return null;
+        });
+        lenient().when(connection.incrBy(anyString(), anyLong())).thenAnswer(invocation -> {
+            results.add(invocation.<Long>getArgument(1));
+            return null;
+        });
+        when(stringRedisTemplate.executePipelined(any(RedisCallback.class))).thenAnswer(invocation -> {
+            results.clear();
+            invocation.<RedisCallback<?>>getArgument(0).doInRedis(connection);
+            return new ArrayList<>(results);
+        });
+
+        ordersSketchRedisService.record(List.of(
+                createOrder("u1", "Spain", "2014-03-02"),
+                createOrder("u2", "Spain", "2014-03-20"),
+                createOrder("u3", "France", null)));
+
+        verify(connection).pfAdd("orders:sketch:uuids", "u1", "u2", "u3");
+        verify(connection).pfAdd("orders:sketch:uuids:country:Spain", "u1", "u2");
+        verify(connection).pfAdd("orders:sketch:uuids:2014-03", "u1", "u2");
+        verify(connection).pfAdd("orders:sketch:uuids:2014-03:country:Spain", "u1", "u2");
+        verify(connection).pfAdd("orders:sketch:uuids:country:France", "u3");
+        String countryTop = ordersSketchRedisService.topKey(CubeDimension.COUNTRY);
+        assertEquals("orders:sketch:country:2719x5:top", countryTop);
+        verify(connection).incrBy(ordersSketchRedisService.totalKey(CubeDimension.COUNTRY), 3);
+        verify(connection, times(5)).hIncrBy(eq(ordersSketchRedisService.cmsKey(CubeDimension.COUNTRY)), anyString(), eq(2L));
+        verify(connection).zAdd(eq(countryTop), eq(2.0), eq("Spain"), any());
+        verify(connection).zAdd(eq(countryTop), eq(1.0), eq("France"), any());
+        verify(connection).zRemRange(countryTop, 0, -(CANDIDATES + 1L));
+        verify(connection).zAdd(eq(ordersSketchRedisService.topKey(CubeDimension.REGION)), eq(3.0), eq("Europe"), any());
+    }
+
+    @Test
+    void testRecord_RedisErrorDoesNotStopImport() {
+
+        when(stringRedisTemplate.executePipelined(any(RedisCallback.class)))
+                .thenThrow(new RedisConnectionFailureException("Redis caído"));
+
+        ordersSketchRedisService.record(List.of(createOrder("u1", "Spain", null)));
+
+        verify(stringRedisTemplate, times(1)).executePipelined(any(RedisCallback.class));
+    }
+
+    @Test
+    void testRecordAfterCommit_WithoutTransactionRecordsNow() {
+
+        ordersSketchRedisService.recordAfterCommit(List.of(createOrder("u1", "Spain", null)));
+
+        verify(stringRedisTemplate, atLeastOnce()).executePipelined(any(RedisCallback.class));
+    }
+
+    @Test
+    void testRecordAfterCommit_WaitsForCommit() {
+
+        TransactionSynchronizationManager.initSynchronization();
+
+        ordersSketchRedisService.recordAfterCommit(List.of(createOrder("u1", "Spain", null)));
+
+        verifyNoInteractions(stringRedisTemplate);
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        verify(stringRedisTemplate, atLeastOnce()).executePipelined(any(RedisCallback.class));
+    }
+
+    @Test
+    void testRecordAfterCommit_RollbackDoesNotRecord() {
+
+        TransactionSynchronizationManager.initSynchronization();
+
+        ordersSketchRedisService.recordAfterCommit(List.of(createOrder("u1", "Spain", null)));
+
+        TransactionSynchronizationManager.getSynchronizations()
+                .forEach(synchronization -> synchronization.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+        verifyNoInteractions(stringRedisTemplate);
+    }
+
+    @Test
+    void testRecord_Disabled() {
+
+        OrdersSketchRedisService disabled = new OrdersSketchRedisService(stringRedisTemplate, false, 0.001, 0.01, 10);
+
+        disabled.record(List.of(createOrder("u1", "Spain", null)));
+
+        verifyNoInteractions(stringRedisTemplate);
+    }
+
+    @Test
+    void testCountDistinctUuids_UnionOfMonths() {
+
+        when(stringRedisTemplate.opsForHyperLogLog()).thenReturn(hyperLogLogOperations);
+        when(hyperLogLogOperations.size("orders:sketch:uuids:2014-11:country:Spain",
+                "orders:sketch:uuids:2014-12:country:Spain", "orders:sketch:uuids:2015-01:country:Spain"))
+                .thenReturn(42L);
+
+        long result = ordersSketchRedisService.countDistinctUuids("Spain", YearMonth.of(2014, 11), YearMonth.of(2015, 1));
+
+        assertEquals(42L, result);
+    }
+
+    @Test
+    void testCountDistinctUuids_AllOrders() {
+
+        when(stringRedisTemplate.opsForHyperLogLog()).thenReturn(hyperLogLogOperations);
+        when(hyperLogLogOperations.size("orders:sketch:uuids")).thenReturn(7L);
+
+        assertEquals(7L, ordersSketchRedisService.countDistinctUuids(null, null, null));
+    }
+
+    @Test
+    void testLoadHeavyHitters() {
+
+        OrdersSketchRedisService service = new OrdersSketchRedisService(stringRedisTemplate, true, 0.01, 0.01, 2);
+        int[] spainCells = new CountMinSketch(0.01, 0.01).cells("Spain");
+        Map<Object, Object> cells = new HashMap<>();
+        for (int cell : spainCells) {
+            cells.put(Integer.toString(cell), "40");
+        }
+        when(stringRedisTemplate.opsForHash()).thenReturn(hashOperations);
+        when(hashOperations.entries(service.cmsKey(CubeDimension.COUNTRY))).thenReturn(cells);
+        when(stringRedisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(valueOperations.get(service.totalKey(CubeDimension.COUNTRY))).thenReturn("40");
+        when(stringRedisTemplate.opsForZSet()).thenReturn(zSetOperations);
+        when(zSetOperations.reverseRange(service.topKey(CubeDimension.COUNTRY), 0, 1))
+                .thenReturn(new LinkedHashSet<>(List.of("Spain", "France")));
+
+        HeavyHitters heavyHitters = service.loadHeavyHitters(CubeDimension.COUNTRY);
+
+        assertEquals(40L, heavyHitters.getSketch().getTotal());
+        assertEquals(List.of(new HeavyHitters.Candidate("Spain", 40), new HeavyHitters.Candidate("France", 0)),
+                heavyHitters.top(2));
+    }
+
+    /**
+     * Builder Orders
+     *
+     * @param uuid      identificador del pedido
+     * @param country   país
+     * @param orderDate fecha de pedido (ISO), o nulo
+     * @return Orders de la región Europe
+     */
+    private static Orders createOrder(String uuid, String country, String orderDate) {
+        Orders order = new Orders();
+        order.setUuid(uuid);
+        order.setRegion("Europe");
+        order.setCountry(country);
+        order.setOrderDate(orderDate != null ? Date.valueOf(orderDate) : null);
+        return order;
+    }
+}